@@ -1,31 +1,79 @@
 package site.ohgun.api.gateway;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import reactor.core.publisher.Mono;
+import site.ohgun.api.gateway.ratelimit.ClientAddressResolver;
+import site.ohgun.api.gateway.ratelimit.JwtSubjectExtractor;
+import site.ohgun.api.gateway.ratelimit.KeyResolverProperties;
+import site.ohgun.api.gateway.ratelimit.RateLimitKeys;
 
 @SpringBootApplication
+@EnableConfigurationProperties(KeyResolverProperties.class)
 public class GatewayApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(GatewayApplication.class, args);
 	}
 
+	@Bean
+	public ClientAddressResolver clientAddressResolver(KeyResolverProperties properties) {
+		return new ClientAddressResolver(properties.getTrustedProxies());
+	}
+
+	@Bean
+	public JwtSubjectExtractor jwtSubjectExtractor(KeyResolverProperties properties, ObjectMapper objectMapper) {
+		return new JwtSubjectExtractor(properties.getJwtSecret(), properties.isJwtSecretBase64(), objectMapper);
+	}
+
+	/**
+	 * Client IP Key Resolver for Rate Limiting
+	 * Uses X-Forwarded-For only when the request came through a trusted proxy
+	 * Primary so it is the default for routes that do not name a resolver
+	 */
+	@Bean
+	@Primary
+	public KeyResolver clientIpKeyResolver(ClientAddressResolver addressResolver, KeyResolverProperties properties) {
+		return exchange -> Mono.just(
+				RateLimitKeys.key("ip", addressResolver.resolve(exchange.getRequest()), properties.isHashKeys()));
+	}
+
+	/**
+	 * Authenticated subject Key Resolver for Rate Limiting
+	 * Users behind a shared NAT get their own bucket; anonymous requests fall back to the client IP
+	 */
+	@Bean
+	public KeyResolver subjectKeyResolver(ClientAddressResolver addressResolver, JwtSubjectExtractor subjectExtractor,
+			KeyResolverProperties properties) {
+		return exchange -> {
+			String subject = subjectExtractor.extract(exchange.getRequest());
+			if (subject != null) {
+				return Mono.just(RateLimitKeys.key("sub", subject, properties.isHashKeys()));
+			}
+			return Mono.just(
+					RateLimitKeys.key("ip", addressResolver.resolve(exchange.getRequest()), properties.isHashKeys()));
+		};
+	}
+
 	/**
-	 * IP address-based Key Resolver for Rate Limiting
-	 * Moved from RateLimiterKeyResolver.java to keep all configuration in one place
+	 * Client IP + subject Key Resolver for Rate Limiting
+	 * One bucket per user per address, for expensive routes where a single token should not drain the quota of every device
 	 */
 	@Bean
-	public KeyResolver ipKeyResolver() {
+	public KeyResolver ipAndSubjectKeyResolver(ClientAddressResolver addressResolver,
+			JwtSubjectExtractor subjectExtractor, KeyResolverProperties properties) {
 		return exchange -> {
-			String ipAddress = "unknown";
-			var remoteAddr = exchange.getRequest().getRemoteAddress();
-			if (remoteAddr != null && remoteAddr.getAddress() != null) {
-				ipAddress = remoteAddr.getAddress().getHostAddress();
+			String address = addressResolver.resolve(exchange.getRequest());
+			String subject = subjectExtractor.extract(exchange.getRequest());
+			if (subject == null) {
+				return Mono.just(RateLimitKeys.key("ip", address, properties.isHashKeys()));
 			}
-			return Mono.just(ipAddress);
+			return Mono.just(RateLimitKeys.key("ipsub", address + "|" + subject, properties.isHashKeys()));
 		};
 	}
 
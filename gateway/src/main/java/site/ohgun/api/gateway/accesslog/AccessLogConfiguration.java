@@ -0,0 +1,32 @@
+package site.ohgun.api.gateway.accesslog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Structured access log; settings under {@code gateway.access-log.*}, output on the {@code gateway.access} logger.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AccessLogProperties.class)
+@ConditionalOnProperty(name = "gateway.access-log.enabled", matchIfMissing = true)
+public class AccessLogConfiguration {
+
+	@Bean
+	public AccessLogWriter accessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+		return new AccessLogWriter(properties, meterRegistry);
+	}
+
+	@Bean
+	public AccessLogFilter accessLogFilter(AccessLogProperties properties, AccessLogWriter writer) {
+		return new AccessLogFilter(properties, writer);
+	}
+
+	@Bean
+	public AccessLogFilter.RoutingStartFilter accessLogRoutingStartFilter() {
+		return new AccessLogFilter.RoutingStartFilter();
+	}
+
+}
@@ -0,0 +1,151 @@
+package site.ohgun.api.gateway.accesslog;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import site.ohgun.api.gateway.cache.CoalescingCacheGatewayFilterFactory;
+
+/**
+ * Access log for routed requests: route, status, total and upstream latency, response bytes,
+ * rate limit and cache outcome.
+ *
+ * <p>The keep-or-drop decision is made before a record is allocated: errors
+ * ({@code always-log-status}), gateway rejections and slow requests are always kept, the
+ * rest is sampled at {@code sample-rate}. Kept records are handed to the
+ * {@link AccessLogWriter} without blocking.
+ */
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+	private static final String ROUTING_STARTED_ATTR = AccessLogFilter.class.getName() + ".routingStarted";
+
+	private final AccessLogProperties properties;
+
+	private final AccessLogWriter writer;
+
+	public AccessLogFilter(AccessLogProperties properties, AccessLogWriter writer) {
+		this.properties = properties;
+		this.writer = writer;
+	}
+
+	@Override
+	public int getOrder() {
+		return Ordered.HIGHEST_PRECEDENCE;
+	}
+
+	@Override
+	public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+		long start = System.nanoTime();
+		CountingResponse response = new CountingResponse(exchange.getResponse());
+		response.beforeCommit(() -> {
+			response.committedAt = System.nanoTime();
+			return Mono.empty();
+		});
+		return chain.filter(exchange.mutate().response(response).build())
+			.doFinally(signal -> complete(exchange, response, start, signal));
+	}
+
+	private void complete(ServerWebExchange exchange, CountingResponse response, long start, SignalType signal) {
+		long durationNanos = System.nanoTime() - start;
+		HttpStatusCode statusCode = response.getStatusCode();
+		int status = signal == SignalType.CANCEL ? 499 : statusCode != null ? statusCode.value() : 200;
+		boolean rejected = isGatewayRejection(response, status);
+
+		boolean keep = status >= properties.getAlwaysLogStatus()
+				|| (rejected && properties.isAlwaysLogRejected())
+				|| durationNanos >= properties.getSlowThreshold().toNanos()
+				|| ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+		if (!keep) {
+			return;
+		}
+
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		Long routingStarted = exchange.getAttribute(ROUTING_STARTED_ATTR);
+		long upstreamMicros = routingStarted != null && response.committedAt > 0
+				? (response.committedAt - routingStarted) / 1000 : -1;
+		InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+
+		writer.submit(new AccessLogRecord(System.currentTimeMillis(), route != null ? route.getId() : null,
+				exchange.getRequest().getMethod().name(), exchange.getRequest().getPath().value(), status,
+				durationNanos / 1000, upstreamMicros, response.bytes.get(), rateLimitOutcome(response, status),
+				response.getHeaders().getFirst(CoalescingCacheGatewayFilterFactory.CACHE_STATUS_HEADER),
+				remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : null));
+	}
+
+	private static boolean isGatewayRejection(ServerHttpResponse response, int status) {
+		return status == 429 || (status == 503 && response.getHeaders().containsKey("Retry-After"));
+	}
+
+	private static String rateLimitOutcome(ServerHttpResponse response, int status) {
+		if (!response.getHeaders().containsKey(RedisRateLimiter.REMAINING_HEADER)) {
+			return null;
+		}
+		return status == 429 ? "denied" : "allowed";
+	}
+
+	/**
+	 * Marks when the routing filter starts, to split gateway time from upstream time.
+	 */
+	public static class RoutingStartFilter implements GlobalFilter, Ordered {
+
+		@Override
+		public int getOrder() {
+			return NettyRoutingFilter.ORDER - 1;
+		}
+
+		@Override
+		public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+			markRoutingStarted(exchange);
+			return chain.filter(exchange);
+		}
+
+	}
+
+	/**
+	 * Marks the start of upstream time for filters that send the request themselves instead
+	 * of reaching the routing filter.
+	 */
+	public static void markRoutingStarted(ServerWebExchange exchange) {
+		exchange.getAttributes().put(ROUTING_STARTED_ATTR, System.nanoTime());
+	}
+
+	private static final class CountingResponse extends ServerHttpResponseDecorator {
+
+		private final AtomicLong bytes = new AtomicLong();
+
+		private volatile long committedAt;
+
+		CountingResponse(ServerHttpResponse delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			return super.writeAndFlushWith(Flux.from(body)
+				.map(frame -> Flux.from(frame).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+package site.ohgun.api.gateway.accesslog;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Sampled, asynchronous access log of routed requests ({@link AccessLogFilter}).
+ */
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+	private boolean enabled = true;
+
+	/**
+	 * Fraction of ordinary requests that are logged (0..1).
+	 */
+	private double sampleRate = 0.1;
+
+	/**
+	 * Responses with at least this status are always logged.
+	 */
+	private int alwaysLogStatus = 500;
+
+	/**
+	 * Always log requests rejected by a rate or concurrency limiter (429 / 503 from the gateway).
+	 */
+	private boolean alwaysLogRejected = true;
+
+	/**
+	 * Requests slower than this are always logged.
+	 */
+	private Duration slowThreshold = Duration.ofSeconds(2);
+
+	/**
+	 * Records buffered between request threads and the writer; records are dropped when full.
+	 */
+	private int bufferSize = 8192;
+
+	/**
+	 * How long the writer sleeps when the buffer is empty.
+	 */
+	private Duration idleWait = Duration.ofMillis(50);
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public double getSampleRate() {
+		return sampleRate;
+	}
+
+	public void setSampleRate(double sampleRate) {
+		this.sampleRate = sampleRate;
+	}
+
+	public int getAlwaysLogStatus() {
+		return alwaysLogStatus;
+	}
+
+	public void setAlwaysLogStatus(int alwaysLogStatus) {
+		this.alwaysLogStatus = alwaysLogStatus;
+	}
+
+	public boolean isAlwaysLogRejected() {
+		return alwaysLogRejected;
+	}
+
+	public void setAlwaysLogRejected(boolean alwaysLogRejected) {
+		this.alwaysLogRejected = alwaysLogRejected;
+	}
+
+	public Duration getSlowThreshold() {
+		return slowThreshold;
+	}
+
+	public void setSlowThreshold(Duration slowThreshold) {
+		this.slowThreshold = slowThreshold;
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	public Duration getIdleWait() {
+		return idleWait;
+	}
+
+	public void setIdleWait(Duration idleWait) {
+		this.idleWait = idleWait;
+	}
+
+}
@@ -0,0 +1,60 @@
+package site.ohgun.api.gateway.accesslog;
+
+/**
+ * One access log line. Durations are in microseconds; {@code -1} means not measured.
+ */
+record AccessLogRecord(long timestamp, String routeId, String method, String path, int status, long durationMicros,
+		long upstreamMicros, long bytes, String rateLimit, String cache, String client) {
+
+	void appendJson(StringBuilder out) {
+		out.append("{\"ts\":").append(timestamp);
+		field(out, "route", routeId);
+		field(out, "method", method);
+		field(out, "path", path);
+		out.append(",\"status\":").append(status);
+		out.append(",\"duration_ms\":");
+		millis(out, durationMicros);
+		if (upstreamMicros >= 0) {
+			out.append(",\"upstream_ms\":");
+			millis(out, upstreamMicros);
+		}
+		out.append(",\"bytes\":").append(bytes);
+		field(out, "ratelimit", rateLimit);
+		field(out, "cache", cache);
+		field(out, "client", client);
+		out.append('}');
+	}
+
+	private static void millis(StringBuilder out, long micros) {
+		out.append(micros / 1000).append('.');
+		long fraction = micros % 1000;
+		if (fraction < 100) {
+			out.append('0');
+		}
+		if (fraction < 10) {
+			out.append('0');
+		}
+		out.append(fraction);
+	}
+
+	private static void field(StringBuilder out, String name, String value) {
+		if (value == null) {
+			return;
+		}
+		out.append(",\"").append(name).append("\":\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				out.append('\\').append(c);
+			}
+			else if (c < 0x20) {
+				out.append(' ');
+			}
+			else {
+				out.append(c);
+			}
+		}
+		out.append('"');
+	}
+
+}
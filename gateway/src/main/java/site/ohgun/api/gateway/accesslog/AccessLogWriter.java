@@ -0,0 +1,90 @@
+package site.ohgun.api.gateway.accesslog;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Drains access log records on a dedicated thread and writes them as JSON lines to the
+ * {@code gateway.access} logger, so formatting and appender I/O never run on event loops.
+ */
+public class AccessLogWriter implements DisposableBean {
+
+	private static final Log accessLog = LogFactory.getLog("gateway.access");
+
+	private final MpscRingBuffer<AccessLogRecord> buffer;
+
+	private final long idleWaitNanos;
+
+	private final Counter dropped;
+
+	private final Counter written;
+
+	private final Counter failed;
+
+	private final Thread thread;
+
+	private volatile boolean running = true;
+
+	public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+		this.buffer = new MpscRingBuffer<>(properties.getBufferSize());
+		this.idleWaitNanos = properties.getIdleWait().toNanos();
+		this.dropped = Counter.builder("gateway.accesslog.records")
+			.tag("outcome", "dropped")
+			.description("Access log records dropped because the buffer was full")
+			.register(meterRegistry);
+		this.written = Counter.builder("gateway.accesslog.records").tag("outcome", "written").register(meterRegistry);
+		this.failed = Counter.builder("gateway.accesslog.records")
+			.tag("outcome", "failed")
+			.description("Access log records lost because formatting or the appender failed")
+			.register(meterRegistry);
+		Gauge.builder("gateway.accesslog.buffer.size", buffer, MpscRingBuffer::size).register(meterRegistry);
+		this.thread = new Thread(this::run, "gateway-access-log");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Never blocks; drops the record when the writer cannot keep up.
+	 */
+	void submit(AccessLogRecord record) {
+		if (!buffer.offer(record)) {
+			dropped.increment();
+		}
+	}
+
+	private void run() {
+		StringBuilder line = new StringBuilder(256);
+		while (running || buffer.size() > 0) {
+			AccessLogRecord record = buffer.poll();
+			if (record == null) {
+				LockSupport.parkNanos(idleWaitNanos);
+				continue;
+			}
+			line.setLength(0);
+			try {
+				record.appendJson(line);
+				accessLog.info(line.toString());
+				written.increment();
+			}
+			catch (RuntimeException ex) {
+				// The writer thread must survive appender failures; counted apart from buffer overflow
+				failed.increment();
+			}
+		}
+	}
+
+	@Override
+	public void destroy() throws InterruptedException {
+		running = false;
+		LockSupport.unpark(thread);
+		thread.join(TimeUnit.SECONDS.toMillis(2));
+	}
+
+}
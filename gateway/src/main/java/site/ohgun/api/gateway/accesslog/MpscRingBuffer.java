@@ -0,0 +1,65 @@
+package site.ohgun.api.gateway.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ *
+ * <p>Producers claim a slot with a CAS on {@code head} and publish the element with an
+ * ordered write; {@link #offer(Object)} never blocks and returns {@code false} when the
+ * buffer is full. Only one thread may call {@link #poll()}.
+ */
+class MpscRingBuffer<E> {
+
+	private final AtomicReferenceArray<E> slots;
+
+	private final int mask;
+
+	private final AtomicLong head = new AtomicLong();
+
+	private final AtomicLong tail = new AtomicLong();
+
+	MpscRingBuffer(int requestedCapacity) {
+		int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+		this.slots = new AtomicReferenceArray<>(capacity);
+		this.mask = capacity - 1;
+	}
+
+	boolean offer(E element) {
+		while (true) {
+			long claimed = head.get();
+			if (claimed - tail.get() >= slots.length()) {
+				return false;
+			}
+			if (head.compareAndSet(claimed, claimed + 1)) {
+				slots.lazySet((int) claimed & mask, element);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @return the next element, or {@code null} when empty (or the next producer has not published yet)
+	 */
+	E poll() {
+		long current = tail.get();
+		int index = (int) current & mask;
+		E element = slots.get(index);
+		if (element == null) {
+			return null;
+		}
+		slots.lazySet(index, null);
+		tail.lazySet(current + 1);
+		return element;
+	}
+
+	int size() {
+		return (int) Math.max(0, head.get() - tail.get());
+	}
+
+	int capacity() {
+		return slots.length();
+	}
+
+}
@@ -0,0 +1,154 @@
+package site.ohgun.api.gateway.async;
+
+import java.net.URI;
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * A request accepted in async mode. Holds the buffered request until it is dispatched,
+ * then the state and result of the upstream call.
+ */
+public class AsyncJob {
+
+	public enum State {
+
+		QUEUED, RUNNING, COMPLETED, FAILED
+
+	}
+
+	private final String id;
+
+	private final String routeId;
+
+	private final String owner;
+
+	private final String circuitBreaker;
+
+	private final HttpMethod method;
+
+	private final URI uri;
+
+	private final HttpHeaders headers;
+
+	private final Instant createdAt = Instant.now();
+
+	private final Sinks.Many<AsyncJobStatus> events = Sinks.many().replay().latest();
+
+	private byte[] body;
+
+	private volatile State state = State.QUEUED;
+
+	private volatile AsyncJobResult result;
+
+	private volatile String error;
+
+	private volatile Instant finishedAt;
+
+	AsyncJob(String id, String routeId, String owner, String circuitBreaker, HttpMethod method, URI uri,
+			HttpHeaders headers, byte[] body) {
+		this.id = id;
+		this.routeId = routeId;
+		this.owner = owner;
+		this.circuitBreaker = circuitBreaker;
+		this.method = method;
+		this.uri = uri;
+		this.headers = headers;
+		this.body = body;
+		this.events.tryEmitNext(AsyncJobStatus.of(this));
+	}
+
+	public String id() {
+		return id;
+	}
+
+	public String routeId() {
+		return routeId;
+	}
+
+	/**
+	 * Subject of the token that submitted the job.
+	 */
+	public String owner() {
+		return owner;
+	}
+
+	/**
+	 * Circuit breaker the upstream call runs through, or {@code null} for none.
+	 */
+	String circuitBreaker() {
+		return circuitBreaker;
+	}
+
+	HttpMethod method() {
+		return method;
+	}
+
+	URI uri() {
+		return uri;
+	}
+
+	HttpHeaders headers() {
+		return headers;
+	}
+
+	/**
+	 * Hand the request body to the dispatcher and drop the reference held by the job.
+	 */
+	synchronized byte[] takeBody() {
+		byte[] taken = body;
+		body = null;
+		return taken != null ? taken : new byte[0];
+	}
+
+	public State state() {
+		return state;
+	}
+
+	AsyncJobResult result() {
+		return result;
+	}
+
+	String error() {
+		return error;
+	}
+
+	Instant createdAt() {
+		return createdAt;
+	}
+
+	Instant finishedAt() {
+		return finishedAt;
+	}
+
+	Flux<AsyncJobStatus> events() {
+		return events.asFlux();
+	}
+
+	synchronized void markRunning() {
+		state = State.RUNNING;
+		events.tryEmitNext(AsyncJobStatus.of(this));
+	}
+
+	synchronized void complete(AsyncJobResult result) {
+		this.result = result;
+		finish(State.COMPLETED);
+	}
+
+	synchronized void fail(String error) {
+		this.error = error;
+		body = null;
+		finish(State.FAILED);
+	}
+
+	private void finish(State terminal) {
+		finishedAt = Instant.now();
+		state = terminal;
+		events.tryEmitNext(AsyncJobStatus.of(this));
+		events.tryEmitComplete();
+	}
+
+}
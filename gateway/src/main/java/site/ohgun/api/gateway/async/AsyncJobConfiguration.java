@@ -0,0 +1,44 @@
+package site.ohgun.api.gateway.async;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import site.ohgun.api.gateway.ratelimit.JwtSubjectExtractor;
+
+/**
+ * Async job mode for long-running routes.
+ * Enabled per route with the {@code AsyncJob} filter; node settings live under {@code gateway.async-jobs.*}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(AsyncJobProperties.class)
+public class AsyncJobConfiguration {
+
+	@Bean
+	public AsyncJobStore asyncJobStore(AsyncJobProperties properties, MeterRegistry meterRegistry) {
+		return new AsyncJobStore(properties, meterRegistry);
+	}
+
+	@Bean
+	public AsyncJobDispatcher asyncJobDispatcher(WebClient.Builder webClientBuilder, AsyncJobStore store,
+			AsyncJobProperties properties, MeterRegistry meterRegistry,
+			ObjectProvider<ReactiveCircuitBreakerFactory<?, ?>> circuitBreakers) {
+		return new AsyncJobDispatcher(webClientBuilder.build(), store, properties, meterRegistry, circuitBreakers);
+	}
+
+	@Bean
+	public AsyncJobGatewayFilterFactory asyncJobGatewayFilterFactory(AsyncJobStore store,
+			AsyncJobDispatcher dispatcher, AsyncJobProperties properties, JwtSubjectExtractor subjectExtractor,
+			ObjectMapper objectMapper, ObjectProvider<List<HttpHeadersFilter>> headersFilters) {
+		return new AsyncJobGatewayFilterFactory(store, dispatcher, properties, subjectExtractor, objectMapper,
+				headersFilters);
+	}
+
+}
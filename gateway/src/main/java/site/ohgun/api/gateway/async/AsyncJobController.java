@@ -0,0 +1,92 @@
+package site.ohgun.api.gateway.async;
+
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import site.ohgun.api.gateway.ratelimit.JwtSubjectExtractor;
+
+/**
+ * Status, result and progress (SSE) endpoints for jobs accepted by the {@code AsyncJob} filter.
+ *
+ * <p>Jobs can only be read with a valid token of the subject that submitted them; unknown
+ * jobs and jobs of another subject (or requests without a token) all answer 404.
+ */
+@RestController
+@RequestMapping(AsyncJobController.BASE_PATH)
+public class AsyncJobController {
+
+	public static final String BASE_PATH = "/api/jobs";
+
+	private final AsyncJobStore store;
+
+	private final JwtSubjectExtractor subjectExtractor;
+
+	private final ObjectMapper objectMapper;
+
+	public AsyncJobController(AsyncJobStore store, JwtSubjectExtractor subjectExtractor, ObjectMapper objectMapper) {
+		this.store = store;
+		this.subjectExtractor = subjectExtractor;
+		this.objectMapper = objectMapper;
+	}
+
+	@GetMapping("/{jobId}")
+	public Mono<AsyncJobStatus> status(@PathVariable String jobId, ServerWebExchange exchange) {
+		return Mono.fromSupplier(() -> AsyncJobStatus.of(find(jobId, exchange)));
+	}
+
+	/**
+	 * Replays the upstream status, content type and body once the job completed.
+	 * Answers 202 with the job status while it is still running and 502 when it failed.
+	 */
+	@GetMapping("/{jobId}/result")
+	public Mono<Void> result(@PathVariable String jobId, ServerWebExchange exchange) {
+		AsyncJob job = find(jobId, exchange);
+		ServerHttpResponse response = exchange.getResponse();
+		AsyncJobResult result = job.result();
+		if (job.state() != AsyncJob.State.COMPLETED || result == null) {
+			HttpStatus status = job.state() == AsyncJob.State.FAILED ? HttpStatus.BAD_GATEWAY : HttpStatus.ACCEPTED;
+			if (status == HttpStatus.ACCEPTED) {
+				response.getHeaders().set(HttpHeaders.RETRY_AFTER, "5");
+			}
+			response.setStatusCode(status);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			return Mono.fromCallable(() -> objectMapper.writeValueAsBytes(AsyncJobStatus.of(job)))
+				.flatMap(bytes -> response.writeWith(Mono.just(response.bufferFactory().wrap(bytes))));
+		}
+
+		response.setStatusCode(HttpStatus.valueOf(result.status()));
+		if (result.contentType() != null) {
+			response.getHeaders().setContentType(result.contentType());
+		}
+		response.getHeaders().setContentLength(result.size());
+		return response.writeWith(store.readBody(result, response.bufferFactory()));
+	}
+
+	@GetMapping(path = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public Flux<ServerSentEvent<AsyncJobStatus>> events(@PathVariable String jobId, ServerWebExchange exchange) {
+		return Flux.defer(() -> find(jobId, exchange).events())
+			.map(status -> ServerSentEvent.builder(status).event(status.state().name().toLowerCase(Locale.ROOT)).build());
+	}
+
+	private AsyncJob find(String jobId, ServerWebExchange exchange) {
+		AsyncJob job = store.get(jobId);
+		if (job == null || !job.owner().equals(subjectExtractor.extract(exchange.getRequest()))) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+		}
+		return job;
+	}
+
+}
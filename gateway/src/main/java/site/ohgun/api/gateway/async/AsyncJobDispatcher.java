@@ -0,0 +1,169 @@
+package site.ohgun.api.gateway.async;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Runs accepted jobs against their upstream with at most {@code max-concurrency} calls in flight.
+ *
+ * <p>Jobs wait in an in-memory queue bounded by {@code max-queued}; {@link #submit(AsyncJob)}
+ * refuses new work once the queue is full so the caller can answer 503 right away. A job
+ * naming a circuit breaker runs through it, so an open breaker fails the job without
+ * calling the upstream and job failures count towards the route's breaker.
+ */
+public class AsyncJobDispatcher implements DisposableBean {
+
+	private static final Log log = LogFactory.getLog(AsyncJobDispatcher.class);
+
+	private final WebClient webClient;
+
+	private final AsyncJobStore store;
+
+	private final AsyncJobProperties properties;
+
+	private final MeterRegistry meterRegistry;
+
+	private final ObjectProvider<ReactiveCircuitBreakerFactory<?, ?>> circuitBreakers;
+
+	private final AtomicInteger outstanding = new AtomicInteger();
+
+	private final Sinks.Many<AsyncJob> queue = Sinks.many().unicast().onBackpressureBuffer();
+
+	private final Disposable worker;
+
+	public AsyncJobDispatcher(WebClient webClient, AsyncJobStore store, AsyncJobProperties properties,
+			MeterRegistry meterRegistry, ObjectProvider<ReactiveCircuitBreakerFactory<?, ?>> circuitBreakers) {
+		this.webClient = webClient;
+		this.store = store;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.circuitBreakers = circuitBreakers;
+		Gauge.builder("gateway.async.jobs.outstanding", outstanding, AtomicInteger::get)
+			.description("Async jobs queued or running")
+			.register(meterRegistry);
+		this.worker = queue.asFlux().flatMap(this::execute, properties.getMaxConcurrency()).subscribe();
+	}
+
+	/**
+	 * @return {@code false} when the queue is full
+	 */
+	boolean submit(AsyncJob job) {
+		int limit = properties.getMaxQueued() + properties.getMaxConcurrency();
+		if (outstanding.incrementAndGet() > limit) {
+			outstanding.decrementAndGet();
+			return false;
+		}
+		queue.emitNext(job, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+		return true;
+	}
+
+	private Mono<Void> execute(AsyncJob job) {
+		long start = System.nanoTime();
+		Mono<UpstreamResponse> call = Mono.defer(() -> {
+			job.markRunning();
+			byte[] body = job.takeBody();
+			WebClient.RequestBodySpec request = webClient.method(job.method())
+				.uri(job.uri())
+				.headers(headers -> headers.addAll(job.headers()));
+			if (body.length > 0) {
+				request.bodyValue(body);
+			}
+			return request.exchangeToMono(response -> DataBufferUtils
+				.join(response.body(BodyExtractors.toDataBuffers()),
+						(int) properties.getMaxResultSize().toBytes())
+				.map(AsyncJobDispatcher::toBytes)
+				.defaultIfEmpty(new byte[0])
+				.map(bytes -> new UpstreamResponse(response.statusCode().value(),
+						response.headers().contentType().orElse(null), bytes)));
+		}).timeout(properties.getUpstreamTimeout());
+		// Stored outside the breaker so a full result store does not count as an upstream failure
+		return withCircuitBreaker(job, call)
+			.flatMap(response -> store.storeResult(job, response.status(), response.contentType(), response.body()))
+			.doOnNext(job::complete)
+			.onErrorResume(ex -> {
+				if (log.isDebugEnabled()) {
+					log.debug("Async job " + job.id() + " failed", ex);
+				}
+				job.fail(describe(ex));
+				return Mono.empty();
+			})
+			.doFinally(signal -> {
+				outstanding.decrementAndGet();
+				timer(job).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			})
+			.then();
+	}
+
+	private Mono<UpstreamResponse> withCircuitBreaker(AsyncJob job, Mono<UpstreamResponse> call) {
+		ReactiveCircuitBreakerFactory<?, ?> factory = circuitBreakers.getIfAvailable();
+		if (job.circuitBreaker() == null || factory == null) {
+			return call;
+		}
+		return factory.create(job.circuitBreaker()).run(call, Mono::error);
+	}
+
+	private Timer timer(AsyncJob job) {
+		return Timer.builder("gateway.async.jobs.duration")
+			.description("Time from dispatch to a finished async job")
+			.tag("route", job.routeId())
+			.tag("outcome", job.state() == AsyncJob.State.COMPLETED ? "completed" : "failed")
+			.register(meterRegistry);
+	}
+
+	private static byte[] toBytes(DataBuffer buffer) {
+		try {
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			return bytes;
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	private static String describe(Throwable ex) {
+		if (ex instanceof CallNotPermittedException) {
+			return "Upstream circuit breaker is open";
+		}
+		if (ex instanceof TimeoutException) {
+			return "Upstream timed out";
+		}
+		if (ex instanceof DataBufferLimitException) {
+			return "Upstream response exceeds the result size limit";
+		}
+		if (ex instanceof AsyncJobStore.ResultStorageFullException) {
+			return "Result storage is full";
+		}
+		return "Upstream call failed";
+	}
+
+	private record UpstreamResponse(int status, MediaType contentType, byte[] body) {
+	}
+
+	@Override
+	public void destroy() {
+		worker.dispose();
+	}
+
+}
@@ -0,0 +1,220 @@
+package site.ohgun.api.gateway.async;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import site.ohgun.api.gateway.ratelimit.JwtSubjectExtractor;
+
+/**
+ * Route filter that turns a request into an {@link AsyncJob}: the body is buffered, the
+ * client gets {@code 202 Accepted} with the job links and the upstream call runs in the
+ * background through the {@link AsyncJobDispatcher}.
+ *
+ * <p>Clients opt in with {@code Prefer: respond-async}; {@code always: true} makes the
+ * route async-only. Only requests with a valid token become jobs, and each job can only be
+ * read by the subject that submitted it; anonymous requests run synchronously (or get 401
+ * on an async-only route). Runs right after {@link RouteToRequestUrlFilter} so rate
+ * limiting and path rewrites have already been applied to the request that is stored.
+ *
+ * <p>Route filters without an explicit order get orders 1..N and therefore wrap this
+ * filter, but none of them sees the background call. The stored request carries the
+ * headers the routing filter would send, {@code X-Forwarded-*} included, and
+ * {@code circuitBreaker} names the breaker the dispatcher runs the call through.
+ *
+ * <p>When that breaker is also the route's {@code CircuitBreaker} filter, two breakers are
+ * in play. The route filter wraps the submission: it records each fast {@code 202} as a
+ * success, which dilutes its failure rate, and while it is open it rejects submissions
+ * through its fallback. The dispatcher's breaker wraps the background call and fails
+ * queued jobs while open. Only the background calls reflect upstream health.
+ */
+public class AsyncJobGatewayFilterFactory extends AbstractGatewayFilterFactory<AsyncJobGatewayFilterFactory.Config> {
+
+	public static final int ASYNC_JOB_FILTER_ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+
+	private static final String RESPOND_ASYNC = "respond-async";
+
+	private static final Set<String> NON_FORWARDED_HEADERS = Set.of("host", "content-length", "connection",
+			"keep-alive", "transfer-encoding", "te", "trailer", "upgrade", "proxy-connection", "prefer");
+
+	private final AsyncJobStore store;
+
+	private final AsyncJobDispatcher dispatcher;
+
+	private final AsyncJobProperties properties;
+
+	private final JwtSubjectExtractor subjectExtractor;
+
+	private final ObjectMapper objectMapper;
+
+	private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+
+	public AsyncJobGatewayFilterFactory(AsyncJobStore store, AsyncJobDispatcher dispatcher,
+			AsyncJobProperties properties, JwtSubjectExtractor subjectExtractor, ObjectMapper objectMapper,
+			ObjectProvider<List<HttpHeadersFilter>> headersFilters) {
+		super(Config.class);
+		this.store = store;
+		this.dispatcher = dispatcher;
+		this.properties = properties;
+		this.subjectExtractor = subjectExtractor;
+		this.objectMapper = objectMapper;
+		this.headersFilters = headersFilters;
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("always");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			if (!config.isAlways() && !prefersAsync(exchange.getRequest().getHeaders())) {
+				return chain.filter(exchange);
+			}
+			String owner = subjectExtractor.extract(exchange.getRequest());
+			if (owner == null) {
+				return config.isAlways() ? reject(exchange, HttpStatus.UNAUTHORIZED) : chain.filter(exchange);
+			}
+			return accept(exchange, owner, config.getCircuitBreaker());
+		}, ASYNC_JOB_FILTER_ORDER);
+	}
+
+	private Mono<Void> accept(ServerWebExchange exchange, String owner, String circuitBreaker) {
+		ServerHttpRequest request = exchange.getRequest();
+		URI uri = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+		Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		String routeId = route != null ? route.getId() : "unknown";
+		HttpHeaders headers = forwardedHeaders(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange));
+		ServerWebExchangeUtils.setAlreadyRouted(exchange);
+
+		return DataBufferUtils.join(request.getBody(), (int) properties.getMaxRequestSize().toBytes())
+			.map(AsyncJobGatewayFilterFactory::toBytes)
+			.defaultIfEmpty(new byte[0])
+			.flatMap(body -> {
+				AsyncJob job = new AsyncJob(UUID.randomUUID().toString(), routeId, owner, circuitBreaker,
+						request.getMethod(), uri, headers, body);
+				if (!store.register(job)) {
+					return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+				}
+				if (!dispatcher.submit(job)) {
+					store.remove(job.id());
+					return reject(exchange, HttpStatus.SERVICE_UNAVAILABLE);
+				}
+				return accepted(exchange, job);
+			})
+			.onErrorResume(DataBufferLimitException.class,
+					ex -> reject(exchange, HttpStatus.PAYLOAD_TOO_LARGE));
+	}
+
+	private Mono<Void> accepted(ServerWebExchange exchange, AsyncJob job) {
+		AsyncJobStatus status = AsyncJobStatus.of(job);
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(HttpStatus.ACCEPTED);
+		response.getHeaders().setLocation(URI.create(status.statusUrl()));
+		response.getHeaders().set("Preference-Applied", RESPOND_ASYNC);
+		response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		try {
+			byte[] bytes = objectMapper.writeValueAsBytes(status);
+			return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+		}
+		catch (JsonProcessingException ex) {
+			return Mono.error(ex);
+		}
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status) {
+		ServerHttpResponse response = exchange.getResponse();
+		response.setStatusCode(status);
+		if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+			response.getHeaders().set(HttpHeaders.RETRY_AFTER, "5");
+		}
+		return response.setComplete();
+	}
+
+	private static boolean prefersAsync(HttpHeaders headers) {
+		for (String prefer : headers.getOrEmpty("Prefer")) {
+			if (prefer.toLowerCase(Locale.ROOT).contains(RESPOND_ASYNC)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static HttpHeaders forwardedHeaders(HttpHeaders source) {
+		HttpHeaders headers = new HttpHeaders();
+		source.forEach((name, values) -> {
+			if (!NON_FORWARDED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+				headers.addAll(name, values);
+			}
+		});
+		return headers;
+	}
+
+	private static byte[] toBytes(DataBuffer buffer) {
+		try {
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			return bytes;
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	public static class Config {
+
+		/**
+		 * Run every request on the route as a job, not only those sending {@code Prefer: respond-async}.
+		 */
+		private boolean always;
+
+		/**
+		 * Circuit breaker for the background call; use the name of the route's
+		 * {@code CircuitBreaker} filter so both share state.
+		 */
+		private String circuitBreaker;
+
+		public boolean isAlways() {
+			return always;
+		}
+
+		public Config setAlways(boolean always) {
+			this.always = always;
+			return this;
+		}
+
+		public String getCircuitBreaker() {
+			return circuitBreaker;
+		}
+
+		public Config setCircuitBreaker(String circuitBreaker) {
+			this.circuitBreaker = circuitBreaker;
+			return this;
+		}
+
+	}
+
+}
@@ -0,0 +1,142 @@
+package site.ohgun.api.gateway.async;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings of the asynchronous job mode ({@code AsyncJob} route filter).
+ */
+@ConfigurationProperties(prefix = "gateway.async-jobs")
+public class AsyncJobProperties {
+
+	/**
+	 * Upstream calls running at the same time, across all routes.
+	 */
+	private int maxConcurrency = 4;
+
+	/**
+	 * Accepted jobs waiting for a free slot. Further requests are rejected with 503.
+	 */
+	private int maxQueued = 64;
+
+	/**
+	 * Jobs (any state) kept for status and result lookups.
+	 */
+	private int maxJobs = 1000;
+
+	/**
+	 * Largest request body buffered for a job.
+	 */
+	private DataSize maxRequestSize = DataSize.ofMegabytes(1);
+
+	/**
+	 * Largest upstream response stored as a job result.
+	 */
+	private DataSize maxResultSize = DataSize.ofMegabytes(32);
+
+	/**
+	 * Results are kept in memory up to this total; beyond it they are written to {@link #spillDirectory}.
+	 */
+	private DataSize memoryLimit = DataSize.ofMegabytes(64);
+
+	/**
+	 * Total size of results kept in {@link #spillDirectory}. A job whose result does not fit fails.
+	 */
+	private DataSize diskLimit = DataSize.ofGigabytes(1);
+
+	private Path spillDirectory = Path.of(System.getProperty("java.io.tmpdir"), "gateway-jobs");
+
+	/**
+	 * How long finished jobs and their results are kept.
+	 */
+	private Duration resultTtl = Duration.ofMinutes(30);
+
+	/**
+	 * Upper bound for a single upstream call.
+	 */
+	private Duration upstreamTimeout = Duration.ofMinutes(10);
+
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	public int getMaxQueued() {
+		return maxQueued;
+	}
+
+	public void setMaxQueued(int maxQueued) {
+		this.maxQueued = maxQueued;
+	}
+
+	public int getMaxJobs() {
+		return maxJobs;
+	}
+
+	public void setMaxJobs(int maxJobs) {
+		this.maxJobs = maxJobs;
+	}
+
+	public DataSize getMaxRequestSize() {
+		return maxRequestSize;
+	}
+
+	public void setMaxRequestSize(DataSize maxRequestSize) {
+		this.maxRequestSize = maxRequestSize;
+	}
+
+	public DataSize getMaxResultSize() {
+		return maxResultSize;
+	}
+
+	public void setMaxResultSize(DataSize maxResultSize) {
+		this.maxResultSize = maxResultSize;
+	}
+
+	public DataSize getMemoryLimit() {
+		return memoryLimit;
+	}
+
+	public void setMemoryLimit(DataSize memoryLimit) {
+		this.memoryLimit = memoryLimit;
+	}
+
+	public DataSize getDiskLimit() {
+		return diskLimit;
+	}
+
+	public void setDiskLimit(DataSize diskLimit) {
+		this.diskLimit = diskLimit;
+	}
+
+	public Path getSpillDirectory() {
+		return spillDirectory;
+	}
+
+	public void setSpillDirectory(Path spillDirectory) {
+		this.spillDirectory = spillDirectory;
+	}
+
+	public Duration getResultTtl() {
+		return resultTtl;
+	}
+
+	public void setResultTtl(Duration resultTtl) {
+		this.resultTtl = resultTtl;
+	}
+
+	public Duration getUpstreamTimeout() {
+		return upstreamTimeout;
+	}
+
+	public void setUpstreamTimeout(Duration upstreamTimeout) {
+		this.upstreamTimeout = upstreamTimeout;
+	}
+
+}
@@ -0,0 +1,16 @@
+package site.ohgun.api.gateway.async;
+
+import java.nio.file.Path;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Upstream response of a finished job. The body is either held in memory or spilled to {@code file}.
+ */
+record AsyncJobResult(int status, MediaType contentType, long size, byte[] inline, Path file) {
+
+	boolean spilled() {
+		return file != null;
+	}
+
+}
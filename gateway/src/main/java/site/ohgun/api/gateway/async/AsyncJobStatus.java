@@ -0,0 +1,23 @@
+package site.ohgun.api.gateway.async;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Public view of an {@link AsyncJob}, returned by the status endpoints and sent as SSE data.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AsyncJobStatus(String jobId, AsyncJob.State state, String route, Integer upstreamStatus,
+		Long resultSize, String error, Instant createdAt, Instant finishedAt, String statusUrl, String resultUrl,
+		String eventsUrl) {
+
+	static AsyncJobStatus of(AsyncJob job) {
+		AsyncJobResult result = job.result();
+		String base = AsyncJobController.BASE_PATH + "/" + job.id();
+		return new AsyncJobStatus(job.id(), job.state(), job.routeId(), result != null ? result.status() : null,
+				result != null ? result.size() : null, job.error(), job.createdAt(), job.finishedAt(), base,
+				base + "/result", base + "/events");
+	}
+
+}
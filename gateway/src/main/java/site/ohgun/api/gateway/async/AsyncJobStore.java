@@ -0,0 +1,179 @@
+package site.ohgun.api.gateway.async;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bounded store of async jobs and their results.
+ *
+ * <p>Results are kept in memory while the total stays under {@code memory-limit}; larger
+ * totals spill to files in {@code spill-directory}, up to {@code disk-limit} in total.
+ * A result that fits neither fails its job. Finished jobs expire after
+ * {@code result-ttl}. File I/O runs on the bounded elastic scheduler, never on an event loop.
+ */
+public class AsyncJobStore implements DisposableBean {
+
+	private static final Log log = LogFactory.getLog(AsyncJobStore.class);
+
+	private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+	private final AsyncJobProperties properties;
+
+	private final Map<String, AsyncJob> jobs = new ConcurrentHashMap<>();
+
+	private final AtomicLong inMemoryBytes = new AtomicLong();
+
+	private final AtomicLong spilledBytes = new AtomicLong();
+
+	private final Disposable evictionTask;
+
+	public AsyncJobStore(AsyncJobProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		try {
+			Files.createDirectories(properties.getSpillDirectory());
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Cannot create job spill directory " + properties.getSpillDirectory(), ex);
+		}
+		Gauge.builder("gateway.async.jobs.stored", jobs, Map::size)
+			.description("Async jobs held for status and result lookups")
+			.register(meterRegistry);
+		Gauge.builder("gateway.async.results.bytes", inMemoryBytes, AtomicLong::get)
+			.tag("storage", "memory")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		Gauge.builder("gateway.async.results.bytes", spilledBytes, AtomicLong::get)
+			.tag("storage", "disk")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		this.evictionTask = Schedulers.boundedElastic()
+			.schedulePeriodically(this::evictExpired, 1, 1, TimeUnit.MINUTES);
+	}
+
+	/**
+	 * @return {@code false} when the store is full even after dropping expired jobs
+	 */
+	boolean register(AsyncJob job) {
+		if (jobs.size() >= properties.getMaxJobs()) {
+			evictExpired();
+			if (jobs.size() >= properties.getMaxJobs()) {
+				return false;
+			}
+		}
+		jobs.put(job.id(), job);
+		return true;
+	}
+
+	AsyncJob get(String id) {
+		return jobs.get(id);
+	}
+
+	void remove(String id) {
+		AsyncJob job = jobs.remove(id);
+		if (job != null) {
+			release(job);
+		}
+	}
+
+	Mono<AsyncJobResult> storeResult(AsyncJob job, int status, MediaType contentType, byte[] body) {
+		long size = body.length;
+		if (inMemoryBytes.addAndGet(size) <= properties.getMemoryLimit().toBytes()) {
+			return Mono.just(new AsyncJobResult(status, contentType, size, body, null));
+		}
+		inMemoryBytes.addAndGet(-size);
+		if (spilledBytes.addAndGet(size) > properties.getDiskLimit().toBytes()) {
+			spilledBytes.addAndGet(-size);
+			return Mono.error(new ResultStorageFullException());
+		}
+		Path file = properties.getSpillDirectory().resolve(job.id() + ".body");
+		return Mono.fromCallable(() -> {
+			Files.write(file, body);
+			return new AsyncJobResult(status, contentType, size, null, file);
+		}).doOnError(ex -> {
+			spilledBytes.addAndGet(-size);
+			deleteQuietly(file);
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	Flux<DataBuffer> readBody(AsyncJobResult result, DataBufferFactory bufferFactory) {
+		if (!result.spilled()) {
+			return Flux.just(bufferFactory.wrap(result.inline()));
+		}
+		return DataBufferUtils.read(result.file(), bufferFactory, READ_BUFFER_SIZE)
+			.subscribeOn(Schedulers.boundedElastic());
+	}
+
+	private void evictExpired() {
+		Instant cutoff = Instant.now().minus(properties.getResultTtl());
+		jobs.values().removeIf(job -> {
+			Instant finishedAt = job.finishedAt();
+			if (finishedAt != null && finishedAt.isBefore(cutoff)) {
+				release(job);
+				return true;
+			}
+			return false;
+		});
+	}
+
+	private void release(AsyncJob job) {
+		AsyncJobResult result = job.result();
+		if (result == null) {
+			return;
+		}
+		if (!result.spilled()) {
+			inMemoryBytes.addAndGet(-result.size());
+			return;
+		}
+		spilledBytes.addAndGet(-result.size());
+		deleteQuietly(result.file());
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			log.warn("Failed to delete spilled job result " + file, ex);
+		}
+	}
+
+	/**
+	 * Neither the memory nor the disk budget has room for a result.
+	 */
+	static final class ResultStorageFullException extends IllegalStateException {
+
+		ResultStorageFullException() {
+			super("Job result storage is full");
+		}
+
+	}
+
+	@Override
+	public void destroy() {
+		evictionTask.dispose();
+		jobs.values().forEach(this::release);
+		jobs.clear();
+	}
+
+}
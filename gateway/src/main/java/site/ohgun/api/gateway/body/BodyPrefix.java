@@ -0,0 +1,229 @@
+package site.ohgun.api.gateway.body;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Lets a filter look at the first bytes of a request body without aggregating it.
+ *
+ * <p>{@link #peek(ServerWebExchange, int)} reads pooled buffers from the request only until
+ * {@code limit} bytes are available, copies at most {@code limit} bytes for inspection and
+ * returns an exchange whose body replays the held buffers followed by the rest of the
+ * original stream, with backpressure intact. Heap use is bounded by {@code limit} plus the
+ * buffers already in flight, whatever the upload size.
+ *
+ * <p>A filter that forwards calls {@code chain.filter(peeked.exchange())}; one that rejects
+ * must call {@link PeekedBody#release()} so the held buffers go back to the pool.
+ */
+public final class BodyPrefix {
+
+	private BodyPrefix() {
+	}
+
+	public static Mono<PeekedBody> peek(ServerWebExchange exchange, int limit) {
+		return Mono.defer(() -> {
+			PrefixSubscriber subscriber = new PrefixSubscriber(limit);
+			exchange.getRequest().getBody().subscribe(subscriber);
+			return subscriber.prefix.asMono().map(prefix -> new PeekedBody(exchange, subscriber, prefix));
+		});
+	}
+
+	public static final class PeekedBody {
+
+		private final ServerWebExchange exchange;
+
+		private final PrefixSubscriber subscriber;
+
+		private final byte[] prefix;
+
+		private PeekedBody(ServerWebExchange original, PrefixSubscriber subscriber, byte[] prefix) {
+			this.subscriber = subscriber;
+			this.prefix = prefix;
+			ServerHttpRequest request = new ServerHttpRequestDecorator(original.getRequest()) {
+
+				@Override
+				public Flux<DataBuffer> getBody() {
+					return subscriber.body();
+				}
+
+			};
+			this.exchange = original.mutate().request(request).build();
+		}
+
+		/**
+		 * Copy of the first bytes of the body: {@code limit} bytes, or fewer when the body is shorter.
+		 */
+		public byte[] prefix() {
+			return prefix;
+		}
+
+		/**
+		 * Exchange whose request body streams the complete original body.
+		 */
+		public ServerWebExchange exchange() {
+			return exchange;
+		}
+
+		/**
+		 * Drop the body without forwarding it: releases held buffers and cancels the upload.
+		 */
+		public void release() {
+			subscriber.release();
+		}
+
+	}
+
+	private static final class PrefixSubscriber extends BaseSubscriber<DataBuffer> {
+
+		private final int limit;
+
+		private final Sinks.One<byte[]> prefix = Sinks.one();
+
+		private final AtomicBoolean bodySubscribed = new AtomicBoolean();
+
+		private List<DataBuffer> held = new ArrayList<>();
+
+		private int heldBytes;
+
+		private boolean peeking = true;
+
+		private volatile boolean completed;
+
+		private volatile Throwable error;
+
+		private volatile FluxSink<DataBuffer> sink;
+
+		PrefixSubscriber(int limit) {
+			this.limit = limit;
+		}
+
+		@Override
+		protected void hookOnSubscribe(Subscription subscription) {
+			subscription.request(1);
+		}
+
+		@Override
+		protected void hookOnNext(DataBuffer buffer) {
+			if (peeking) {
+				held.add(buffer);
+				heldBytes += buffer.readableByteCount();
+				if (heldBytes >= limit) {
+					finishPeek();
+				}
+				else {
+					request(1);
+				}
+				return;
+			}
+			FluxSink<DataBuffer> target = sink;
+			if (target != null) {
+				target.next(buffer);
+			}
+			else {
+				DataBufferUtils.release(buffer);
+			}
+		}
+
+		@Override
+		protected void hookOnComplete() {
+			completed = true;
+			if (peeking) {
+				finishPeek();
+			}
+			else if (sink != null) {
+				sink.complete();
+			}
+		}
+
+		@Override
+		protected void hookOnError(Throwable throwable) {
+			error = throwable;
+			if (peeking) {
+				peeking = false;
+				releaseHeld();
+				prefix.tryEmitError(throwable);
+			}
+			else if (sink != null) {
+				sink.error(throwable);
+			}
+		}
+
+		private void finishPeek() {
+			peeking = false;
+			byte[] bytes = new byte[Math.min(limit, heldBytes)];
+			int offset = 0;
+			for (DataBuffer buffer : held) {
+				int start = buffer.readPosition();
+				int count = Math.min(buffer.readableByteCount(), bytes.length - offset);
+				for (int i = 0; i < count; i++) {
+					bytes[offset++] = buffer.getByte(start + i);
+				}
+				if (offset == bytes.length) {
+					break;
+				}
+			}
+			prefix.tryEmitValue(bytes);
+		}
+
+		Flux<DataBuffer> body() {
+			return Flux.defer(() -> {
+				if (!bodySubscribed.compareAndSet(false, true)) {
+					return Flux.error(new IllegalStateException("Peeked request body can only be subscribed once"));
+				}
+				List<DataBuffer> replay = held;
+				held = null;
+				Flux<DataBuffer> remainder;
+				if (error != null) {
+					remainder = Flux.error(error);
+				}
+				else if (completed) {
+					remainder = Flux.empty();
+				}
+				else {
+					remainder = Flux.create(this::attach);
+				}
+				return Flux.concat(Flux.fromIterable(replay), remainder)
+					.doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+			});
+		}
+
+		private void attach(FluxSink<DataBuffer> sink) {
+			this.sink = sink;
+			sink.onRequest(this::request);
+			sink.onCancel(this::cancel);
+			if (completed) {
+				sink.complete();
+			}
+		}
+
+		void release() {
+			if (bodySubscribed.compareAndSet(false, true)) {
+				cancel();
+				releaseHeld();
+			}
+		}
+
+		private void releaseHeld() {
+			List<DataBuffer> buffers = held;
+			held = null;
+			if (buffers != null) {
+				buffers.forEach(DataBufferUtils::release);
+			}
+		}
+
+	}
+
+}
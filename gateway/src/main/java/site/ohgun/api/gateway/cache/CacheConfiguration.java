@@ -0,0 +1,18 @@
+package site.ohgun.api.gateway.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * GET request coalescing and response caching, applied per route with the {@code CoalescingCache} filter.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CacheConfiguration {
+
+	@Bean
+	public CoalescingCacheGatewayFilterFactory coalescingCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+		return new CoalescingCacheGatewayFilterFactory(meterRegistry);
+	}
+
+}
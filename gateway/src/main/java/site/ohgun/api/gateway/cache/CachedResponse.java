@@ -0,0 +1,51 @@
+package site.ohgun.api.gateway.cache;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Captured upstream response. Freshness is tracked with {@link System#nanoTime()}.
+ * {@code vary} holds the request values of the headers named in the response {@code Vary}.
+ */
+record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag, long storedAt,
+		long expiresAt, Map<String, String> vary) {
+
+	/**
+	 * Whether a request selects this representation according to the response {@code Vary}.
+	 */
+	boolean matches(HttpHeaders requestHeaders) {
+		for (Map.Entry<String, String> entry : vary.entrySet()) {
+			if (!Objects.equals(entry.getValue(), varyValue(requestHeaders, entry.getKey()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static String varyValue(HttpHeaders requestHeaders, String name) {
+		return requestHeaders.containsKey(name) ? String.join(",", requestHeaders.get(name)) : null;
+	}
+
+	boolean freshAt(long now) {
+		return expiresAt - now > 0;
+	}
+
+	long ageSeconds(long now) {
+		return Math.max(0, (now - storedAt) / 1_000_000_000L);
+	}
+
+	/**
+	 * Same representation, confirmed by the upstream with a 304.
+	 */
+	CachedResponse revalidated(long now, long ttlNanos) {
+		return new CachedResponse(status, headers, body, etag, now, now + ttlNanos, vary);
+	}
+
+	long weight() {
+		return body.length + 256L;
+	}
+
+}
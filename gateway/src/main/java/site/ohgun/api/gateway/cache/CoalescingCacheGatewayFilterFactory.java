@@ -0,0 +1,552 @@
+package site.ohgun.api.gateway.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Request coalescing and a short-TTL response cache for idempotent GETs.
+ *
+ * <p>Concurrent identical GETs share one upstream call: the first request (leader) is
+ * proxied while its response is copied, and the others wait for that copy instead of
+ * going upstream. Only upstream 200s are handed to waiters; any other status, or a circuit
+ * breaker fallback, sends each waiter upstream on its own.
+ *
+ * <p>200 responses whose {@code Cache-Control} allows it ({@code s-maxage}, {@code max-age},
+ * {@code public}, or {@code no-cache} with an ETag) are kept in a per-route LRU cache bounded
+ * by {@code maxCacheSize}, with freshness capped by {@code maxTtl}. Responses without
+ * {@code Cache-Control} are only shared with concurrent waiters, never stored. Stale entries
+ * with an ETag are revalidated with {@code If-None-Match}; clients sending a matching
+ * {@code If-None-Match} get a 304. The upstream {@code Vary} is honoured on lookup.
+ *
+ * <p>The cache key includes a SHA-256 of the Authorization and Cookie headers unless
+ * {@code varyOnAuthorization} is off, so per-user responses are never shared.
+ */
+public class CoalescingCacheGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<CoalescingCacheGatewayFilterFactory.Config> {
+
+	public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+	private static final Set<String> NON_CACHED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+			"content-length", "set-cookie", "age", "x-cache");
+
+	private static final Set<String> KEYED_HEADERS = Set.of("accept", "accept-encoding", "accept-language",
+			"authorization", "cookie");
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	private final Map<String, RouteStore> stores = new ConcurrentHashMap<>();
+
+	public CoalescingCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+		// A route refresh with different limits starts over with an empty store
+		RouteStore routeStore = stores.compute(routeId,
+				(id, existing) -> existing != null && existing.matches(config) ? existing : RouteStore.of(config));
+		ResponseCacheStore store = routeStore.store();
+		Gauge.builder("gateway.cache.size", stores, all -> {
+			RouteStore current = all.get(routeId);
+			return current != null ? current.store().bytes() : 0;
+		}).baseUnit("bytes").tag("route", routeId).strongReference(true).register(meterRegistry);
+		Map<String, Mono<Optional<CachedResponse>>> inflight = new ConcurrentHashMap<>();
+
+		return (exchange, chain) -> {
+			ServerHttpRequest request = exchange.getRequest();
+			if (request.getMethod() != HttpMethod.GET || clientBypass(request.getHeaders())) {
+				count(routeId, "bypass");
+				return chain.filter(exchange);
+			}
+
+			String key = key(request, config);
+			long now = System.nanoTime();
+			CachedResponse cached = config.isCache() ? store.get(key, now) : null;
+			if (cached != null && !cached.matches(request.getHeaders())) {
+				cached = null;
+			}
+			if (cached != null && cached.freshAt(now)) {
+				count(routeId, "hit");
+				return writeCached(exchange, cached, "HIT", now);
+			}
+			if (isConditional(request.getHeaders()) || !config.isCoalesce()) {
+				count(routeId, "miss");
+				return lead(exchange, chain, key, cached, null, store, config, routeId);
+			}
+
+			Sinks.One<Optional<CachedResponse>> result = Sinks.one();
+			Mono<Optional<CachedResponse>> shared = result.asMono();
+			Mono<Optional<CachedResponse>> leader = inflight.putIfAbsent(key, shared);
+			if (leader != null) {
+				count(routeId, "coalesced");
+				return leader.flatMap(response -> response.isPresent() && response.get().matches(request.getHeaders())
+						? writeCached(exchange, response.get(), "COALESCED", System.nanoTime())
+						: chain.filter(exchange));
+			}
+			count(routeId, "miss");
+			return lead(exchange, chain, key, cached, result, store, config, routeId).doFinally(signal -> {
+				inflight.remove(key, shared);
+				result.tryEmitValue(Optional.empty());
+			});
+		};
+	}
+
+	private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, String key, CachedResponse stale,
+			Sinks.One<Optional<CachedResponse>> result, ResponseCacheStore store, Config config, String routeId) {
+		ServerWebExchange target = exchange;
+		CachedResponse revalidating = null;
+		if (stale != null && stale.etag() != null && !isConditional(exchange.getRequest().getHeaders())) {
+			revalidating = stale;
+			String etag = stale.etag();
+			target = exchange.mutate()
+				.request(request -> request.headers(headers -> headers.setIfNoneMatch(etag)))
+				.build();
+		}
+		CapturingResponse response = new CapturingResponse(exchange, key, revalidating, result, store, config,
+				routeId);
+		return chain.filter(target.mutate().response(response).build());
+	}
+
+	private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus, long now) {
+		ServerHttpResponse response = exchange.getResponse();
+		String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+		if (cached.etag() != null && ifNoneMatch != null && etagMatches(ifNoneMatch, cached.etag())) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			response.getHeaders().setETag(cached.etag());
+			copyIfPresent(cached.headers(), response.getHeaders(), HttpHeaders.CACHE_CONTROL);
+			response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+			return response.setComplete();
+		}
+		response.setStatusCode(cached.status());
+		cached.headers().forEach((name, values) -> response.getHeaders().put(name, values));
+		response.getHeaders().setContentLength(cached.body().length);
+		response.getHeaders().set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+		response.getHeaders().set(CACHE_STATUS_HEADER, cacheStatus);
+		return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+	}
+
+	private void count(String routeId, String result) {
+		counters.computeIfAbsent(routeId + ":" + result, k -> Counter.builder("gateway.cache.requests")
+			.description("GET requests by cache outcome (hit, coalesced, revalidated, miss, bypass)")
+			.tag("route", routeId)
+			.tag("result", result)
+			.register(meterRegistry)).increment();
+	}
+
+	static String key(ServerHttpRequest request, Config config) {
+		StringBuilder key = new StringBuilder(128).append(request.getURI().getRawPath());
+		if (request.getURI().getRawQuery() != null) {
+			key.append('?').append(request.getURI().getRawQuery());
+		}
+		HttpHeaders headers = request.getHeaders();
+		key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT));
+		key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+		key.append('|').append(headers.getFirst(HttpHeaders.ACCEPT_LANGUAGE));
+		if (config.isVaryOnAuthorization() && (headers.containsKey(HttpHeaders.AUTHORIZATION)
+				|| headers.containsKey(HttpHeaders.COOKIE))) {
+			key.append('|').append(credentialsHash(headers));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * SHA-256 over the Authorization and Cookie headers, so no two users can share a key.
+	 */
+	private static String credentialsHash(HttpHeaders headers) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (String name : new String[] { HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE }) {
+				for (String value : headers.getOrEmpty(name)) {
+					digest.update(value.getBytes(StandardCharsets.UTF_8));
+					digest.update((byte) '\n');
+				}
+				digest.update((byte) 0);
+			}
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static boolean clientBypass(HttpHeaders headers) {
+		String cacheControl = headers.getFirst(HttpHeaders.CACHE_CONTROL);
+		return cacheControl != null && (cacheControl.contains("no-store") || cacheControl.contains("no-cache"));
+	}
+
+	private static boolean isConditional(HttpHeaders headers) {
+		return headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+	}
+
+	static boolean etagMatches(String ifNoneMatch, String etag) {
+		if ("*".equals(ifNoneMatch.trim())) {
+			return true;
+		}
+		String weakless = etag.startsWith("W/") ? etag.substring(2) : etag;
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if (value.startsWith("W/")) {
+				value = value.substring(2);
+			}
+			if (value.equals(weakless)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void copyIfPresent(HttpHeaders source, HttpHeaders target, String name) {
+		if (source.containsKey(name)) {
+			target.put(name, source.get(name));
+		}
+	}
+
+	/**
+	 * Freshness lifetime from Cache-Control in nanoseconds, or -1 when the response must not be shared.
+	 * 0 means it may be handed to concurrent waiters but is not fresh for later requests.
+	 */
+	static long ttlNanos(HttpHeaders headers, Config config) {
+		if (headers.containsKey(HttpHeaders.SET_COOKIE) || varyHeaders(headers).contains("*")) {
+			return -1;
+		}
+		String cacheControl = headers.getFirst(HttpHeaders.CACHE_CONTROL);
+		if (cacheControl == null) {
+			return 0;
+		}
+		long maxAge = -1;
+		long sharedMaxAge = -1;
+		for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+			String value = directive.trim();
+			if (value.equals("no-store") || value.equals("private")) {
+				return -1;
+			}
+			if (value.equals("no-cache")) {
+				return 0;
+			}
+			if (value.startsWith("s-maxage=")) {
+				sharedMaxAge = parseSeconds(value.substring(9));
+			}
+			else if (value.startsWith("max-age=")) {
+				maxAge = parseSeconds(value.substring(8));
+			}
+		}
+		long seconds = sharedMaxAge >= 0 ? sharedMaxAge : maxAge;
+		long ttl = seconds >= 0 ? Duration.ofSeconds(seconds).toNanos() : 0;
+		return Math.min(ttl, config.getMaxTtl().toNanos());
+	}
+
+	/**
+	 * Whether the upstream explicitly allows storing the response: {@code max-age},
+	 * {@code s-maxage}, {@code public} or {@code no-cache} (store, but revalidate every time).
+	 */
+	static boolean storable(HttpHeaders headers) {
+		String cacheControl = headers.getFirst(HttpHeaders.CACHE_CONTROL);
+		if (cacheControl == null) {
+			return false;
+		}
+		for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+			String value = directive.trim();
+			if (value.startsWith("max-age=") || value.startsWith("s-maxage=") || value.equals("public")
+					|| value.equals("no-cache")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Set<String> varyHeaders(HttpHeaders headers) {
+		Set<String> names = new LinkedHashSet<>();
+		for (String vary : headers.getOrEmpty(HttpHeaders.VARY)) {
+			for (String name : vary.split(",")) {
+				if (!name.isBlank()) {
+					names.add(name.trim().toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+		return names;
+	}
+
+	private static long parseSeconds(String value) {
+		try {
+			return Long.parseLong(value.replace("\"", ""));
+		}
+		catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Proxies the leader's response to its client while copying it for waiters and the cache.
+	 * Turns the upstream 304 of a revalidation the gateway started into the cached 200.
+	 */
+	private final class CapturingResponse extends ServerHttpResponseDecorator {
+
+		private final ServerWebExchange exchange;
+
+		private final String key;
+
+		private final CachedResponse revalidating;
+
+		private final Sinks.One<Optional<CachedResponse>> result;
+
+		private final ResponseCacheStore store;
+
+		private final Config config;
+
+		private final String routeId;
+
+		CapturingResponse(ServerWebExchange exchange, String key, CachedResponse revalidating,
+				Sinks.One<Optional<CachedResponse>> result, ResponseCacheStore store, Config config, String routeId) {
+			super(exchange.getResponse());
+			this.exchange = exchange;
+			this.key = key;
+			this.revalidating = revalidating;
+			this.result = result;
+			this.store = store;
+			this.config = config;
+			this.routeId = routeId;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			HttpStatusCode status = getStatusCode();
+			long ttl = ttlNanos(getHeaders(), config);
+
+			if (revalidating != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+				long now = System.nanoTime();
+				CachedResponse refreshed = revalidating.revalidated(now, Math.max(ttl, 0));
+				store.put(key, refreshed);
+				emit(refreshed);
+				count(routeId, "revalidated");
+				setStatusCode(refreshed.status());
+				getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+				refreshed.headers().forEach((name, values) -> getHeaders().put(name, values));
+				getHeaders().setContentLength(refreshed.body().length);
+				getHeaders().set(CACHE_STATUS_HEADER, "REVALIDATED");
+				return Flux.from(body)
+					.doOnNext(DataBufferUtils::release)
+					.then(super.writeWith(Mono.fromSupplier(() -> bufferFactory().wrap(refreshed.body()))));
+			}
+
+			// Errors and circuit breaker fallbacks are neither cached nor handed to waiters
+			if (ttl < 0 || status == null || status.value() != HttpStatus.OK.value()
+					|| exchange.getAttribute(ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR) != null) {
+				return super.writeWith(body);
+			}
+			boolean storable = storable(getHeaders());
+			Map<String, String> vary = varyValues(getHeaders());
+			getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+			HttpHeaders snapshot = snapshot(getHeaders());
+			int limit = (int) config.getMaxEntrySize().toBytes();
+			ByteArrayOutputStream copy = new ByteArrayOutputStream();
+			boolean[] overflow = new boolean[1];
+			Flux<? extends DataBuffer> teed = Flux.from(body).doOnNext(buffer -> {
+				int length = buffer.readableByteCount();
+				if (overflow[0] || copy.size() + length > limit) {
+					overflow[0] = true;
+					return;
+				}
+				byte[] chunk = new byte[length];
+				buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(chunk), 0, length);
+				copy.write(chunk, 0, length);
+			}).doOnComplete(() -> {
+				if (overflow[0]) {
+					return;
+				}
+				long now = System.nanoTime();
+				CachedResponse captured = new CachedResponse(status, snapshot, copy.toByteArray(),
+						snapshot.getETag(), now, now + ttl, vary);
+				if (config.isCache() && storable && (ttl > 0 || captured.etag() != null)) {
+					store.put(key, captured);
+				}
+				emit(captured);
+			});
+			return super.writeWith(teed);
+		}
+
+		/**
+		 * Request values of the Vary headers that are not already part of the key.
+		 */
+		private Map<String, String> varyValues(HttpHeaders responseHeaders) {
+			Map<String, String> values = new HashMap<>();
+			HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+			for (String name : varyHeaders(responseHeaders)) {
+				if (!KEYED_HEADERS.contains(name)) {
+					values.put(name, CachedResponse.varyValue(requestHeaders, name));
+				}
+			}
+			return values.isEmpty() ? Map.of() : values;
+		}
+
+		private void emit(CachedResponse response) {
+			if (result != null) {
+				result.tryEmitValue(Optional.of(response));
+			}
+		}
+
+		private HttpHeaders snapshot(HttpHeaders headers) {
+			HttpHeaders copy = new HttpHeaders();
+			headers.forEach((name, values) -> {
+				String lower = name.toLowerCase(Locale.ROOT);
+				if (!NON_CACHED_HEADERS.contains(lower) && !lower.startsWith("access-control-")) {
+					copy.put(name, values);
+				}
+			});
+			return HttpHeaders.readOnlyHttpHeaders(copy);
+		}
+
+	}
+
+	/**
+	 * Store of one route together with the settings it was created for.
+	 */
+	private record RouteStore(long maxBytes, Duration maxTtl, boolean varyOnAuthorization, ResponseCacheStore store) {
+
+		static RouteStore of(Config config) {
+			long maxBytes = config.getMaxCacheSize().toBytes();
+			return new RouteStore(maxBytes, config.getMaxTtl(), config.isVaryOnAuthorization(),
+					new ResponseCacheStore(maxBytes));
+		}
+
+		boolean matches(Config config) {
+			return maxBytes == config.getMaxCacheSize().toBytes() && maxTtl.equals(config.getMaxTtl())
+					&& varyOnAuthorization == config.isVaryOnAuthorization();
+		}
+
+	}
+
+	public static class Config implements HasRouteId {
+
+		private String routeId;
+
+		/**
+		 * Share one upstream call between concurrent identical GETs.
+		 */
+		private boolean coalesce = true;
+
+		/**
+		 * Keep shareable responses for their freshness lifetime.
+		 */
+		private boolean cache = true;
+
+		/**
+		 * Upper bound for any freshness lifetime, whatever the upstream says.
+		 */
+		private Duration maxTtl = Duration.ofSeconds(60);
+
+		private DataSize maxEntrySize = DataSize.ofKilobytes(256);
+
+		private DataSize maxCacheSize = DataSize.ofMegabytes(16);
+
+		/**
+		 * Separate entries per Authorization and Cookie headers so per-user responses are never shared.
+		 */
+		private boolean varyOnAuthorization = true;
+
+		@Override
+		public void setRouteId(String routeId) {
+			this.routeId = routeId;
+		}
+
+		@Override
+		public String getRouteId() {
+			return routeId;
+		}
+
+		public boolean isCoalesce() {
+			return coalesce;
+		}
+
+		public Config setCoalesce(boolean coalesce) {
+			this.coalesce = coalesce;
+			return this;
+		}
+
+		public boolean isCache() {
+			return cache;
+		}
+
+		public Config setCache(boolean cache) {
+			this.cache = cache;
+			return this;
+		}
+
+		public Duration getMaxTtl() {
+			return maxTtl;
+		}
+
+		public Config setMaxTtl(Duration maxTtl) {
+			this.maxTtl = maxTtl;
+			return this;
+		}
+
+		public DataSize getMaxEntrySize() {
+			return maxEntrySize;
+		}
+
+		public Config setMaxEntrySize(DataSize maxEntrySize) {
+			this.maxEntrySize = maxEntrySize;
+			return this;
+		}
+
+		public DataSize getMaxCacheSize() {
+			return maxCacheSize;
+		}
+
+		public Config setMaxCacheSize(DataSize maxCacheSize) {
+			this.maxCacheSize = maxCacheSize;
+			return this;
+		}
+
+		public boolean isVaryOnAuthorization() {
+			return varyOnAuthorization;
+		}
+
+		public Config setVaryOnAuthorization(boolean varyOnAuthorization) {
+			this.varyOnAuthorization = varyOnAuthorization;
+			return this;
+		}
+
+	}
+
+}
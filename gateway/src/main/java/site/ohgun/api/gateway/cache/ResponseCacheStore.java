@@ -0,0 +1,63 @@
+package site.ohgun.api.gateway.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU map of cached responses bounded by total body size.
+ * Stale entries that carry an ETag are kept (until evicted) so they can be revalidated.
+ */
+class ResponseCacheStore {
+
+	private final long maxBytes;
+
+	private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+	private long bytes;
+
+	ResponseCacheStore(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	synchronized CachedResponse get(String key, long now) {
+		CachedResponse entry = entries.get(key);
+		if (entry != null && entry.etag() == null && !entry.freshAt(now)) {
+			remove(key);
+			return null;
+		}
+		return entry;
+	}
+
+	synchronized void put(String key, CachedResponse entry) {
+		if (entry.weight() > maxBytes) {
+			return;
+		}
+		CachedResponse previous = entries.put(key, entry);
+		if (previous != null) {
+			bytes -= previous.weight();
+		}
+		bytes += entry.weight();
+		Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+		while (bytes > maxBytes && eldest.hasNext()) {
+			bytes -= eldest.next().getValue().weight();
+			eldest.remove();
+		}
+	}
+
+	synchronized void remove(String key) {
+		CachedResponse removed = entries.remove(key);
+		if (removed != null) {
+			bytes -= removed.weight();
+		}
+	}
+
+	synchronized int size() {
+		return entries.size();
+	}
+
+	synchronized long bytes() {
+		return bytes;
+	}
+
+}
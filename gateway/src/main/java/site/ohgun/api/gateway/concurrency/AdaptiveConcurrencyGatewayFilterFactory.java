@@ -0,0 +1,229 @@
+package site.ohgun.api.gateway.concurrency;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import site.ohgun.api.gateway.async.AsyncJobGatewayFilterFactory;
+
+import static org.springframework.cloud.gateway.support.GatewayToStringStyler.filterToStringCreator;
+
+/**
+ * Per-route adaptive concurrency limit. Upstream latency drives the in-flight limit
+ * ({@link GradientLimit}); calls above the limit get an immediate 503 instead of queueing
+ * until a circuit breaker trips.
+ *
+ * <p>Ordered after the {@code AsyncJob} filter so only synchronous upstream calls are
+ * measured. Latency is taken when the response is committed, i.e. once the upstream
+ * response has arrived, so a slow client reading the body does not count as upstream
+ * latency; the in-flight slot is still held until the exchange completes. The live limit,
+ * in-flight count and rejections show up in {@code /actuator/gateway/routes} and as
+ * {@code gateway.concurrency.*} meters.
+ */
+public class AdaptiveConcurrencyGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+	public static final int ADAPTIVE_CONCURRENCY_FILTER_ORDER = AsyncJobGatewayFilterFactory.ASYNC_JOB_FILTER_ORDER + 1;
+
+	private final MeterRegistry meterRegistry;
+
+	/**
+	 * One limit per route, kept across route refreshes so the learned limit is not lost,
+	 * and rebuilt when the route's limit settings change.
+	 */
+	private final Map<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+	public AdaptiveConcurrencyGatewayFilterFactory(MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+		GradientLimit limit = limits.compute(routeId, (id, existing) -> {
+			if (existing != null && existing.matches(config)) {
+				return existing;
+			}
+			return RouteLimit.of(config, existing != null ? existing.rejected() : 0);
+		}).limit();
+		registerMeters(routeId);
+
+		GatewayFilter filter = new GatewayFilter() {
+
+			@Override
+			public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+				if (!limit.tryAcquire()) {
+					exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+					exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+					return exchange.getResponse().setComplete();
+				}
+				long start = System.nanoTime();
+				AtomicLong upstreamNanos = new AtomicLong(-1);
+				exchange.getResponse().beforeCommit(() -> {
+					upstreamNanos.compareAndSet(-1, System.nanoTime() - start);
+					return Mono.empty();
+				});
+				return chain.filter(exchange).doFinally(signal -> {
+					HttpStatusCode status = exchange.getResponse().getStatusCode();
+					if (signal == SignalType.CANCEL) {
+						limit.onIgnored();
+					}
+					else if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+						limit.onDropped();
+					}
+					else {
+						long rtt = upstreamNanos.get();
+						limit.onSuccess(rtt >= 0 ? rtt : System.nanoTime() - start);
+					}
+				});
+			}
+
+			@Override
+			public String toString() {
+				return filterToStringCreator(AdaptiveConcurrencyGatewayFilterFactory.this)
+					.append("limit", limit.limit())
+					.append("inflight", limit.inflight())
+					.append("rejected", limit.rejected())
+					.append("range", config.getMinLimit() + ".." + config.getMaxLimit())
+					.toString();
+			}
+
+		};
+		return new OrderedGatewayFilter(filter, ADAPTIVE_CONCURRENCY_FILTER_ORDER);
+	}
+
+	private void registerMeters(String routeId) {
+		Gauge.builder("gateway.concurrency.limit", limits, all -> {
+			RouteLimit current = all.get(routeId);
+			return current != null ? current.limit().limit() : 0;
+		}).description("Current adaptive in-flight limit").tag("route", routeId).strongReference(true)
+			.register(meterRegistry);
+		Gauge.builder("gateway.concurrency.inflight", limits, all -> {
+			RouteLimit current = all.get(routeId);
+			return current != null ? current.limit().inflight() : 0;
+		}).tag("route", routeId).strongReference(true).register(meterRegistry);
+		FunctionCounter.builder("gateway.concurrency.rejected", limits, all -> {
+			RouteLimit current = all.get(routeId);
+			return current != null ? current.rejected() : 0;
+		}).description("Calls shed with 503 by the adaptive limit").tag("route", routeId).register(meterRegistry);
+	}
+
+	/**
+	 * A route's limit with the settings it was built from. Rejections of replaced limits are
+	 * carried over so the rejected counter stays monotonic.
+	 */
+	private record RouteLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+			long rejectedBefore, GradientLimit limit) {
+
+		static RouteLimit of(Config config, long rejectedBefore) {
+			return new RouteLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+					config.getTolerance(), config.getSmoothing(), rejectedBefore,
+					new GradientLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+							config.getTolerance(), config.getSmoothing()));
+		}
+
+		boolean matches(Config config) {
+			return initialLimit == config.getInitialLimit() && minLimit == config.getMinLimit()
+					&& maxLimit == config.getMaxLimit() && tolerance == config.getTolerance()
+					&& smoothing == config.getSmoothing();
+		}
+
+		long rejected() {
+			return rejectedBefore + limit.rejected();
+		}
+
+	}
+
+	public static class Config implements HasRouteId {
+
+		private String routeId;
+
+		private int initialLimit = 20;
+
+		private int minLimit = 4;
+
+		private int maxLimit = 200;
+
+		/**
+		 * How far recent latency may rise above the baseline before the limit shrinks.
+		 */
+		private double tolerance = 1.5;
+
+		/**
+		 * Weight of each adjustment (0..1); lower is steadier.
+		 */
+		private double smoothing = 0.2;
+
+		@Override
+		public void setRouteId(String routeId) {
+			this.routeId = routeId;
+		}
+
+		@Override
+		public String getRouteId() {
+			return routeId;
+		}
+
+		public int getInitialLimit() {
+			return initialLimit;
+		}
+
+		public Config setInitialLimit(int initialLimit) {
+			this.initialLimit = initialLimit;
+			return this;
+		}
+
+		public int getMinLimit() {
+			return minLimit;
+		}
+
+		public Config setMinLimit(int minLimit) {
+			this.minLimit = minLimit;
+			return this;
+		}
+
+		public int getMaxLimit() {
+			return maxLimit;
+		}
+
+		public Config setMaxLimit(int maxLimit) {
+			this.maxLimit = maxLimit;
+			return this;
+		}
+
+		public double getTolerance() {
+			return tolerance;
+		}
+
+		public Config setTolerance(double tolerance) {
+			this.tolerance = tolerance;
+			return this;
+		}
+
+		public double getSmoothing() {
+			return smoothing;
+		}
+
+		public Config setSmoothing(double smoothing) {
+			this.smoothing = smoothing;
+			return this;
+		}
+
+	}
+
+}
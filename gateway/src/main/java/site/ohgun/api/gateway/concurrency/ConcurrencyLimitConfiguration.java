@@ -0,0 +1,19 @@
+package site.ohgun.api.gateway.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limiting, applied per route with the {@code AdaptiveConcurrency} filter.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ConcurrencyLimitConfiguration {
+
+	@Bean
+	public AdaptiveConcurrencyGatewayFilterFactory adaptiveConcurrencyGatewayFilterFactory(
+			MeterRegistry meterRegistry) {
+		return new AdaptiveConcurrencyGatewayFilterFactory(meterRegistry);
+	}
+
+}
@@ -0,0 +1,110 @@
+package site.ohgun.api.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gradient based concurrency limit (after Netflix concurrency-limits "Gradient2").
+ *
+ * <p>Compares a short-term latency average against a slow long-term baseline. While the
+ * two agree the limit grows by a queue allowance; when recent latency rises above
+ * {@code tolerance} times the baseline the limit shrinks in proportion. Failed calls
+ * count as an immediate multiplicative decrease.
+ */
+class GradientLimit {
+
+	private static final double LONG_WINDOW_SMOOTHING = 1.0 / 600;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final double tolerance;
+
+	private final double smoothing;
+
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	private final AtomicLong rejected = new AtomicLong();
+
+	private volatile double limit;
+
+	private double shortRtt;
+
+	private double longRtt;
+
+	GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.tolerance = tolerance;
+		this.smoothing = smoothing;
+		this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+	}
+
+	/**
+	 * @return {@code false} when the call must be shed
+	 */
+	boolean tryAcquire() {
+		if (inflight.incrementAndGet() > (int) limit) {
+			inflight.decrementAndGet();
+			rejected.incrementAndGet();
+			return false;
+		}
+		return true;
+	}
+
+	void onSuccess(long rttNanos) {
+		int inflightAtEnd = inflight.getAndDecrement();
+		update(rttNanos, inflightAtEnd);
+	}
+
+	void onDropped() {
+		inflight.decrementAndGet();
+		synchronized (this) {
+			limit = Math.max(minLimit, limit * 0.9);
+		}
+	}
+
+	void onIgnored() {
+		inflight.decrementAndGet();
+	}
+
+	private synchronized void update(long rttNanos, int inflightAtEnd) {
+		double rtt = rttNanos;
+		if (longRtt == 0) {
+			longRtt = rtt;
+			shortRtt = rtt;
+			return;
+		}
+		shortRtt += (rtt - shortRtt) * 0.5;
+		longRtt += (rtt - longRtt) * LONG_WINDOW_SMOOTHING;
+		// Let the baseline recover quickly after a slow period ends
+		if (longRtt / shortRtt > 2) {
+			longRtt *= 0.95;
+		}
+
+		// Only grow when the current limit is actually being used
+		if (inflightAtEnd < limit / 2) {
+			return;
+		}
+
+		double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+		double queueSize = Math.sqrt(limit);
+		double newLimit = limit * gradient + queueSize;
+		newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+		limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+
+	int limit() {
+		return (int) limit;
+	}
+
+	int inflight() {
+		return inflight.get();
+	}
+
+	long rejected() {
+		return rejected.get();
+	}
+
+}
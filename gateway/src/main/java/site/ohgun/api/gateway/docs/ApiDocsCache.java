@@ -0,0 +1,325 @@
+package site.ohgun.api.gateway.docs;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Keeps every upstream OpenAPI document in memory and refreshes it in the background.
+ *
+ * <p>A fetched document is only accepted when it parses as an OpenAPI/Swagger document
+ * with a {@code paths} object; otherwise (or when the upstream is down) the previous copy
+ * keeps being served and is reported as stale. Requests never wait on an upstream unless
+ * the document was never loaded. The background refresh runs while the application context
+ * is running.
+ */
+public class ApiDocsCache implements SmartLifecycle {
+
+	private static final Log log = LogFactory.getLog(ApiDocsCache.class);
+
+	private final ApiDocsProperties properties;
+
+	private final WebClient webClient;
+
+	private final ObjectMapper objectMapper;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	private volatile ApiDocument aggregated;
+
+	private volatile Disposable refreshTask;
+
+	public ApiDocsCache(ApiDocsProperties properties, WebClient webClient, ObjectMapper objectMapper,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.webClient = webClient;
+		this.objectMapper = objectMapper;
+		this.meterRegistry = meterRegistry;
+		for (ApiDocsProperties.Source source : properties.getSources()) {
+			Entry entry = new Entry(source);
+			entries.put(source.getPath(), entry);
+			Gauge.builder("gateway.docs.age", entry, Entry::ageSeconds)
+				.description("Seconds since the cached document was last refreshed")
+				.baseUnit("seconds")
+				.tag("source", source.getPath())
+				.register(meterRegistry);
+		}
+	}
+
+	@Override
+	public void start() {
+		this.refreshTask = Flux.interval(Duration.ZERO, properties.getRefreshInterval())
+			.onBackpressureDrop()
+			.concatMap(tick -> refreshAll().onErrorResume(ex -> {
+				log.warn("Refreshing API docs failed", ex);
+				return Mono.empty();
+			}))
+			.subscribe(null, ex -> log.error("API docs refresh stopped", ex));
+	}
+
+	@Override
+	public void stop() {
+		Disposable task = refreshTask;
+		if (task != null) {
+			task.dispose();
+			refreshTask = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return refreshTask != null;
+	}
+
+	/**
+	 * Cached document for a gateway path; empty for unknown paths. Loads on first use only.
+	 */
+	public Mono<ApiDocument> get(String path) {
+		if (properties.isAggregate() && properties.getAggregatePath().equals(path)) {
+			ApiDocument current = aggregated;
+			return current != null ? Mono.just(current) : refreshAll().then(Mono.fromSupplier(() -> aggregated));
+		}
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			return Mono.empty();
+		}
+		ApiDocument current = entry.document;
+		return current != null ? Mono.just(current) : refresh(entry);
+	}
+
+	public boolean isStale(String path) {
+		if (properties.isAggregate() && properties.getAggregatePath().equals(path)) {
+			return entries.values().stream().anyMatch(entry -> entry.stale);
+		}
+		Entry entry = entries.get(path);
+		return entry != null && entry.stale;
+	}
+
+	private Mono<Void> refreshAll() {
+		return Flux.fromIterable(entries.values())
+			.flatMap(entry -> refresh(entry).onErrorResume(ex -> Mono.empty()), 4)
+			.then(Mono.fromRunnable(this::aggregate));
+	}
+
+	/**
+	 * Fetch one document. Concurrent callers for the same source share the call.
+	 */
+	private Mono<ApiDocument> refresh(Entry entry) {
+		Mono<ApiDocument> pending = entry.inflight.get();
+		if (pending != null) {
+			return pending;
+		}
+		Mono<ApiDocument> call = fetch(entry).doFinally(signal -> entry.inflight.set(null)).cache();
+		if (!entry.inflight.compareAndSet(null, call)) {
+			Mono<ApiDocument> winner = entry.inflight.get();
+			return winner != null ? winner : call;
+		}
+		return call;
+	}
+
+	private Mono<ApiDocument> fetch(Entry entry) {
+		ApiDocsProperties.Source source = entry.source;
+		return webClient.get()
+			.uri(source.getUri())
+			.accept(MediaType.APPLICATION_JSON)
+			.exchangeToMono(response -> {
+				if (!response.statusCode().is2xxSuccessful()) {
+					return response.releaseBody()
+						.then(Mono.error(new IllegalStateException("HTTP " + response.statusCode().value())));
+				}
+				return DataBufferUtils
+					.join(response.body(BodyExtractors.toDataBuffers()), (int) properties.getMaxSize().toBytes())
+					.map(ApiDocsCache::toBytes);
+			})
+			.timeout(properties.getFetchTimeout())
+			.publishOn(Schedulers.boundedElastic())
+			.map(bytes -> accept(entry, bytes))
+			.onErrorResume(ex -> {
+				entry.stale = true;
+				count(source, "failed");
+				log.warn("Refreshing API docs " + source.getPath() + " from " + source.getUri() + " failed: "
+						+ ex.getMessage() + (entry.document != null ? " (serving cached copy)" : ""));
+				ApiDocument previous = entry.document;
+				return previous != null ? Mono.just(previous) : Mono.error(ex);
+			});
+	}
+
+	private ApiDocument accept(Entry entry, byte[] bytes) {
+		JsonNode tree;
+		try {
+			tree = objectMapper.readTree(bytes);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException("Document is not valid JSON", ex);
+		}
+		boolean versioned = tree.path("openapi").isTextual() || tree.path("swagger").isTextual();
+		if (!versioned || !tree.path("paths").isObject()) {
+			throw new IllegalStateException("Document is not an OpenAPI document");
+		}
+
+		ApiDocument previous = entry.document;
+		ApiDocument document = ApiDocument.of(bytes, tree);
+		boolean unchanged = previous != null && previous.etag().equals(document.etag());
+		if (unchanged) {
+			document = new ApiDocument(previous.json(), previous.gzip(), previous.etag(), previous.tree(),
+					document.fetchedAt());
+		}
+		entry.document = document;
+		entry.stale = false;
+		count(entry.source, unchanged ? "unchanged" : "updated");
+		return document;
+	}
+
+	/**
+	 * Merge all documents: paths get the source's gateway prefix, components and tags keep the
+	 * first definition of a name. Sources sharing an upstream URL and prefix are merged once.
+	 * The info version is derived from the source ETags, so it only changes with the content.
+	 */
+	private void aggregate() {
+		if (!properties.isAggregate()) {
+			return;
+		}
+		ObjectNode root = objectMapper.createObjectNode();
+		ObjectNode info = root.putObject("info");
+		info.put("title", "ohgun API (aggregated)");
+		ObjectNode paths = objectMapper.createObjectNode();
+		ObjectNode components = objectMapper.createObjectNode();
+		ArrayNode tags = objectMapper.createArrayNode();
+		Set<String> tagNames = new HashSet<>();
+		Set<String> merged = new HashSet<>();
+		StringBuilder sourceEtags = new StringBuilder();
+		String version = "3.0.1";
+		int conflicts = 0;
+
+		for (Entry entry : entries.values()) {
+			ApiDocument document = entry.document;
+			if (document == null || !merged.add(entry.source.getUri() + " " + entry.source.getPathPrefix())) {
+				continue;
+			}
+			sourceEtags.append(entry.source.getPath()).append('=').append(document.etag()).append('\n');
+			JsonNode tree = document.tree();
+			if (tree.path("openapi").asText().startsWith("3.1")) {
+				version = "3.1.0";
+			}
+			Iterator<Map.Entry<String, JsonNode>> pathIterator = tree.path("paths").fields();
+			while (pathIterator.hasNext()) {
+				Map.Entry<String, JsonNode> path = pathIterator.next();
+				String gatewayPath = entry.source.getPathPrefix() + path.getKey();
+				if (paths.has(gatewayPath)) {
+					conflicts++;
+					continue;
+				}
+				paths.set(gatewayPath, path.getValue());
+			}
+			Iterator<Map.Entry<String, JsonNode>> sections = tree.path("components").fields();
+			while (sections.hasNext()) {
+				Map.Entry<String, JsonNode> section = sections.next();
+				ObjectNode target = components.has(section.getKey()) ? (ObjectNode) components.get(section.getKey())
+						: components.putObject(section.getKey());
+				Iterator<Map.Entry<String, JsonNode>> definitions = section.getValue().fields();
+				while (definitions.hasNext()) {
+					Map.Entry<String, JsonNode> definition = definitions.next();
+					JsonNode existing = target.get(definition.getKey());
+					if (existing == null) {
+						target.set(definition.getKey(), definition.getValue());
+					}
+					else if (!existing.equals(definition.getValue())) {
+						conflicts++;
+					}
+				}
+			}
+			for (JsonNode tag : tree.path("tags")) {
+				if (tagNames.add(tag.path("name").asText())) {
+					tags.add(tag);
+				}
+			}
+		}
+		info.put("version", ApiDocument.etag(sourceEtags.toString().getBytes(StandardCharsets.UTF_8)).replace("\"", ""));
+		root.put("openapi", version);
+		root.set("paths", paths);
+		root.set("components", components);
+		root.set("tags", tags);
+		if (conflicts > 0 && log.isDebugEnabled()) {
+			log.debug("Aggregated API docs kept the first of " + conflicts + " conflicting definitions");
+		}
+
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(root);
+			ApiDocument previous = aggregated;
+			ApiDocument document = ApiDocument.of(json, null);
+			aggregated = previous != null && previous.etag().equals(document.etag()) ? previous : document;
+		}
+		catch (Exception ex) {
+			log.warn("Building the aggregated API docs failed", ex);
+		}
+	}
+
+	private void count(ApiDocsProperties.Source source, String outcome) {
+		Counter.builder("gateway.docs.refresh")
+			.tag("source", source.getPath())
+			.tag("outcome", outcome)
+			.register(meterRegistry)
+			.increment();
+	}
+
+	private static byte[] toBytes(DataBuffer buffer) {
+		try {
+			byte[] bytes = new byte[buffer.readableByteCount()];
+			buffer.read(bytes);
+			return bytes;
+		}
+		finally {
+			DataBufferUtils.release(buffer);
+		}
+	}
+
+	private static final class Entry {
+
+		private final ApiDocsProperties.Source source;
+
+		private final AtomicReference<Mono<ApiDocument>> inflight = new AtomicReference<>();
+
+		private volatile ApiDocument document;
+
+		private volatile boolean stale;
+
+		Entry(ApiDocsProperties.Source source) {
+			this.source = source;
+		}
+
+		double ageSeconds() {
+			ApiDocument current = document;
+			return current != null ? Duration.between(current.fetchedAt(), Instant.now()).toSeconds() : -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,23 @@
+package site.ohgun.api.gateway.docs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Cached OpenAPI documents for Swagger UI; sources are listed under {@code gateway.api-docs.sources}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(ApiDocsProperties.class)
+public class ApiDocsConfiguration {
+
+	@Bean
+	public ApiDocsCache apiDocsCache(ApiDocsProperties properties, WebClient.Builder webClientBuilder,
+			ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+		return new ApiDocsCache(properties, webClientBuilder.build(), objectMapper, meterRegistry);
+	}
+
+}
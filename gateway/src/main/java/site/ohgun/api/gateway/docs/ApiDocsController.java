@@ -0,0 +1,72 @@
+package site.ohgun.api.gateway.docs;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the cached OpenAPI documents used by Swagger UI ({@code /api-docs/**}).
+ *
+ * <p>Responses carry a strong ETag with {@code Cache-Control: no-cache}, so reloading
+ * Swagger UI costs one 304 per document. Clients accepting gzip get the pre-compressed body.
+ * Copies kept after a failed refresh are marked with {@code X-Docs-Stale: true}.
+ */
+@RestController
+public class ApiDocsController {
+
+	private static final String STALE_HEADER = "X-Docs-Stale";
+
+	private final ApiDocsCache cache;
+
+	public ApiDocsController(ApiDocsCache cache) {
+		this.cache = cache;
+	}
+
+	@GetMapping("/api-docs/**")
+	public Mono<Void> docs(ServerWebExchange exchange) {
+		String path = exchange.getRequest().getPath().pathWithinApplication().value();
+		return cache.get(path)
+			.switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+			.onErrorMap(ex -> !(ex instanceof ResponseStatusException),
+					ex -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "API docs not available", ex))
+			.flatMap(document -> write(exchange, document, cache.isStale(path)));
+	}
+
+	private Mono<Void> write(ServerWebExchange exchange, ApiDocument document, boolean stale) {
+		ServerHttpRequest request = exchange.getRequest();
+		ServerHttpResponse response = exchange.getResponse();
+		HttpHeaders headers = response.getHeaders();
+		headers.setETag(document.etag());
+		headers.setCacheControl("no-cache");
+		headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+		if (stale) {
+			headers.set(STALE_HEADER, "true");
+		}
+
+		if (request.getHeaders().getIfNoneMatch().contains(document.etag())) {
+			response.setStatusCode(HttpStatus.NOT_MODIFIED);
+			return response.setComplete();
+		}
+
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		byte[] body = document.json();
+		String acceptEncoding = request.getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+		if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+			body = document.gzip();
+		}
+		headers.setContentLength(body.length);
+		byte[] bytes = body;
+		return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(bytes)));
+	}
+
+}
@@ -0,0 +1,127 @@
+package site.ohgun.api.gateway.docs;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Upstream OpenAPI documents served from the gateway cache ({@link ApiDocsCache}).
+ */
+@ConfigurationProperties(prefix = "gateway.api-docs")
+public class ApiDocsProperties {
+
+	/**
+	 * Background refresh period. Documents are re-fetched ahead of use, never on the request path
+	 * (except the very first request for a document that could not be loaded yet).
+	 */
+	private Duration refreshInterval = Duration.ofMinutes(5);
+
+	private Duration fetchTimeout = Duration.ofSeconds(5);
+
+	private DataSize maxSize = DataSize.ofMegabytes(5);
+
+	/**
+	 * Also serve every source merged into one document.
+	 */
+	private boolean aggregate = true;
+
+	private String aggregatePath = "/api-docs/all";
+
+	private List<Source> sources = new ArrayList<>();
+
+	public Duration getRefreshInterval() {
+		return refreshInterval;
+	}
+
+	public void setRefreshInterval(Duration refreshInterval) {
+		this.refreshInterval = refreshInterval;
+	}
+
+	public Duration getFetchTimeout() {
+		return fetchTimeout;
+	}
+
+	public void setFetchTimeout(Duration fetchTimeout) {
+		this.fetchTimeout = fetchTimeout;
+	}
+
+	public DataSize getMaxSize() {
+		return maxSize;
+	}
+
+	public void setMaxSize(DataSize maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	public boolean isAggregate() {
+		return aggregate;
+	}
+
+	public void setAggregate(boolean aggregate) {
+		this.aggregate = aggregate;
+	}
+
+	public String getAggregatePath() {
+		return aggregatePath;
+	}
+
+	public void setAggregatePath(String aggregatePath) {
+		this.aggregatePath = aggregatePath;
+	}
+
+	public List<Source> getSources() {
+		return sources;
+	}
+
+	public void setSources(List<Source> sources) {
+		this.sources = sources;
+	}
+
+	public static class Source {
+
+		/**
+		 * Gateway path the document is served on, e.g. {@code /api-docs/user}.
+		 */
+		private String path;
+
+		/**
+		 * Upstream document URL, e.g. {@code http://user:8080/v3/api-docs}.
+		 */
+		private String uri;
+
+		/**
+		 * Prefix turning upstream paths into gateway paths in the aggregated document
+		 * (the part removed by the route's StripPrefix).
+		 */
+		private String pathPrefix = "";
+
+		public String getPath() {
+			return path;
+		}
+
+		public void setPath(String path) {
+			this.path = path;
+		}
+
+		public String getUri() {
+			return uri;
+		}
+
+		public void setUri(String uri) {
+			this.uri = uri;
+		}
+
+		public String getPathPrefix() {
+			return pathPrefix;
+		}
+
+		public void setPathPrefix(String pathPrefix) {
+			this.pathPrefix = pathPrefix;
+		}
+
+	}
+
+}
@@ -0,0 +1,44 @@
+package site.ohgun.api.gateway.docs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * A validated OpenAPI document with its strong ETag and pre-compressed body.
+ */
+record ApiDocument(byte[] json, byte[] gzip, String etag, JsonNode tree, Instant fetchedAt) {
+
+	static ApiDocument of(byte[] json, JsonNode tree) {
+		return new ApiDocument(json, gzip(json), etag(json), tree, Instant.now());
+	}
+
+	static String etag(byte[] json) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+			return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static byte[] gzip(byte[] json) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return out.toByteArray();
+	}
+
+}
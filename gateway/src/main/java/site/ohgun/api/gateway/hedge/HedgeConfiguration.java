@@ -0,0 +1,53 @@
+package site.ohgun.api.gateway.hedge;
+
+import java.net.URI;
+import java.util.List;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import site.ohgun.api.gateway.upstream.PerUpstreamNettyRoutingFilter;
+
+/**
+ * Request hedging, applied per route with the {@code Hedge} filter; budget under {@code gateway.hedge.budget.*}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HedgeProperties.class)
+public class HedgeConfiguration {
+
+	@Bean
+	public RetryBudget hedgeRetryBudget(HedgeProperties properties, MeterRegistry meterRegistry) {
+		RetryBudget budget = new RetryBudget(properties.getRatio(), properties.getMaxTokens());
+		Gauge.builder("gateway.hedge.budget.tokens", budget, RetryBudget::tokens)
+			.description("Extra attempts currently available")
+			.register(meterRegistry);
+		return budget;
+	}
+
+	/**
+	 * Hedged attempts use the same per-upstream pool as the routing filter, or the gateway
+	 * client when the upstream has no pool.
+	 */
+	@Bean
+	public HedgeGatewayFilterFactory hedgeGatewayFilterFactory(HttpClient httpClient,
+			ObjectProvider<PerUpstreamNettyRoutingFilter> upstreamRoutingFilter, WebClient.Builder webClientBuilder,
+			ObjectProvider<List<HttpHeadersFilter>> headersFilters, HttpClientProperties httpClientProperties,
+			RetryBudget hedgeRetryBudget, MeterRegistry meterRegistry) {
+		Function<URI, HttpClient> clients = uri -> {
+			PerUpstreamNettyRoutingFilter pools = upstreamRoutingFilter.getIfAvailable();
+			HttpClient pooled = pools != null ? pools.clientFor(uri) : null;
+			return pooled != null ? pooled : httpClient;
+		};
+		return new HedgeGatewayFilterFactory(clients, webClientBuilder, headersFilters, httpClientProperties,
+				hedgeRetryBudget, meterRegistry);
+	}
+
+}
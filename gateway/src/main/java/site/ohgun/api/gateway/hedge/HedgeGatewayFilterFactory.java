@@ -0,0 +1,412 @@
+package site.ohgun.api.gateway.hedge;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import io.netty.channel.ChannelOption;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import site.ohgun.api.gateway.accesslog.AccessLogFilter;
+import site.ohgun.api.gateway.body.BodyPrefix;
+import site.ohgun.api.gateway.concurrency.AdaptiveConcurrencyGatewayFilterFactory;
+
+/**
+ * Hedged requests for idempotent calls.
+ *
+ * <p>The request is sent upstream; if no response headers arrived after the route's
+ * observed latency percentile ({@code percentile}, clamped to {@code minDelay..maxDelay}),
+ * a second attempt is sent and whichever answers first is streamed to the client. The
+ * other attempt is cancelled, or drained if it answered at the same moment. Second attempts
+ * are paid from the gateway-wide {@link RetryBudget}.
+ *
+ * <p>Only {@code methods} are hedged. Request bodies up to {@code maxBodySize} are buffered
+ * so both attempts can send them; larger bodies are proxied normally without hedging.
+ * Both attempts go through the upstream's connection pool (the gateway HTTP client when it
+ * has none), the route's connect and response timeouts, and the usual header filters.
+ *
+ * <p>The hedge delay is learned from primary attempts only: their time to response headers,
+ * or the time at which they were cancelled because the hedge won, so slow primaries are not
+ * left out of the percentile.
+ */
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+	public static final int HEDGE_FILTER_ORDER = AdaptiveConcurrencyGatewayFilterFactory.ADAPTIVE_CONCURRENCY_FILTER_ORDER
+			+ 1;
+
+	private final Function<URI, HttpClient> clients;
+
+	private final WebClient.Builder webClientBuilder;
+
+	private final Map<String, WebClient> webClients = new ConcurrentHashMap<>();
+
+	private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+
+	private final HttpClientProperties httpClientProperties;
+
+	private final RetryBudget budget;
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	public HedgeGatewayFilterFactory(Function<URI, HttpClient> clients, WebClient.Builder webClientBuilder,
+			ObjectProvider<List<HttpHeadersFilter>> headersFilters, HttpClientProperties httpClientProperties,
+			RetryBudget budget, MeterRegistry meterRegistry) {
+		super(Config.class);
+		this.clients = clients;
+		this.webClientBuilder = webClientBuilder;
+		this.headersFilters = headersFilters;
+		this.httpClientProperties = httpClientProperties;
+		this.budget = budget;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		String routeId = config.getRouteId() != null ? config.getRouteId() : "unknown";
+		HedgeDelay delay = new HedgeDelay(Timer.builder("gateway.hedge.latency")
+			.description("Latency to response headers of primary attempts (cancelled ones at cancellation)")
+			.tag("route", routeId)
+			.publishPercentiles(config.getPercentile())
+			.distributionStatisticExpiry(Duration.ofMinutes(1))
+			.register(meterRegistry), config);
+		int maxBody = (int) config.getMaxBodySize().toBytes();
+
+		return new OrderedGatewayFilter((exchange, chain) -> {
+			ServerHttpRequest request = exchange.getRequest();
+			if (!config.getMethods().contains(request.getMethod().name())) {
+				return chain.filter(exchange);
+			}
+			if (!hasBody(request.getHeaders())) {
+				return hedge(exchange, new byte[0], delay, routeId);
+			}
+			return BodyPrefix.peek(exchange, maxBody + 1).flatMap(peeked -> {
+				if (peeked.prefix().length > maxBody) {
+					return chain.filter(peeked.exchange());
+				}
+				byte[] body = peeked.prefix();
+				peeked.release();
+				return hedge(exchange, body, delay, routeId);
+			});
+		}, HEDGE_FILTER_ORDER);
+	}
+
+	private Mono<Void> hedge(ServerWebExchange exchange, byte[] body, HedgeDelay delay, String routeId) {
+		budget.onPrimary();
+		ServerHttpRequest request = exchange.getRequest();
+		Route route = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+		URI uri = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+		WebClient webClient = webClient(route, uri);
+		// Framing headers of the incoming request do not apply to the buffered body
+		HttpHeaders headers = new HttpHeaders();
+		headers.putAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange));
+		headers.remove(HttpHeaders.CONTENT_LENGTH);
+		headers.remove(HttpHeaders.TRANSFER_ENCODING);
+		ServerWebExchangeUtils.setAlreadyRouted(exchange);
+		AccessLogFilter.markRoutingStarted(exchange);
+
+		AtomicBoolean decided = new AtomicBoolean();
+		AtomicBoolean recorded = new AtomicBoolean();
+		long start = System.nanoTime();
+		Runnable recordPrimary = () -> {
+			if (recorded.compareAndSet(false, true)) {
+				delay.record(System.nanoTime() - start);
+			}
+		};
+		count(routeId, "gateway.hedge.attempts", "kind", "primary");
+		Mono<Winner> primary = attempt(webClient, request.getMethod(), uri, headers, body, decided, "primary",
+				recordPrimary)
+			.doOnCancel(recordPrimary);
+		Mono<Winner> hedged = Mono.delay(delay.current()).then(Mono.defer(() -> {
+			if (decided.get()) {
+				return Mono.empty();
+			}
+			if (!budget.tryWithdraw()) {
+				count(routeId, "gateway.hedge.budget.exhausted");
+				return Mono.empty();
+			}
+			count(routeId, "gateway.hedge.attempts", "kind", "hedge");
+			return attempt(webClient, request.getMethod(), uri, headers, body, decided, "hedge", () -> {
+			});
+		}));
+
+		Mono<Winner> first = Mono.firstWithValue(primary, hedged);
+		Duration responseTimeout = responseTimeout(route);
+		if (responseTimeout != null) {
+			first = first.timeout(responseTimeout,
+					Mono.error(new TimeoutException("Response took longer than timeout: " + responseTimeout)))
+				.onErrorMap(TimeoutException.class,
+						ex -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), ex));
+		}
+		return first.flatMap(winner -> {
+			count(routeId, "gateway.hedge.wins", "winner", winner.kind());
+			ResponseEntity<Flux<DataBuffer>> entity = winner.response();
+			ServerHttpResponse response = exchange.getResponse();
+			response.setStatusCode(entity.getStatusCode());
+			response.getHeaders()
+				.putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), entity.getHeaders(), exchange,
+						HttpHeadersFilter.Type.RESPONSE));
+			return response.writeWith(entity.getBody());
+		});
+	}
+
+	private Mono<Winner> attempt(WebClient webClient, HttpMethod method, URI uri, HttpHeaders headers, byte[] body,
+			AtomicBoolean decided, String kind, Runnable onHeaders) {
+		WebClient.RequestBodySpec spec = webClient.method(method).uri(uri).headers(h -> h.addAll(headers));
+		if (body.length > 0) {
+			spec.bodyValue(body);
+		}
+		return spec.retrieve()
+			.onStatus(status -> true, response -> Mono.empty())
+			.toEntityFlux(DataBuffer.class)
+			.doOnNext(entity -> onHeaders.run())
+			.flatMap(entity -> {
+				if (decided.compareAndSet(false, true)) {
+					return Mono.just(new Winner(kind, entity));
+				}
+				// Lost a tie: drain so the connection goes back to the pool
+				return entity.getBody().doOnNext(DataBufferUtils::release).then(Mono.empty());
+			});
+	}
+
+	/**
+	 * Client of the upstream's pool with the route connect timeout, shared per upstream and timeout.
+	 */
+	private WebClient webClient(Route route, URI uri) {
+		Object connectTimeout = route.getMetadata().get(ServerWebExchangeUtils.CONNECT_TIMEOUT_ATTR);
+		String key = uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort() + "|" + connectTimeout;
+		return webClients.computeIfAbsent(key, k -> {
+			HttpClient client = clients.apply(uri);
+			if (connectTimeout != null) {
+				client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, millis(connectTimeout));
+			}
+			return webClientBuilder.clone().clientConnector(new ReactorClientHttpConnector(client)).build();
+		});
+	}
+
+	/**
+	 * Route {@code response-timeout} metadata, else the global one; same rules as the routing filter.
+	 */
+	private Duration responseTimeout(Route route) {
+		Object timeout = route.getMetadata().get(ServerWebExchangeUtils.RESPONSE_TIMEOUT_ATTR);
+		if (timeout != null) {
+			long millis = millis(timeout);
+			return millis < 0 ? null : Duration.ofMillis(millis);
+		}
+		return httpClientProperties.getResponseTimeout();
+	}
+
+	private static int millis(Object value) {
+		return value instanceof Number number ? number.intValue() : Integer.parseInt(value.toString());
+	}
+
+	private void count(String routeId, String name) {
+		counters.computeIfAbsent(routeId + ":" + name, key -> Counter.builder(name)
+			.tag("route", routeId)
+			.register(meterRegistry)).increment();
+	}
+
+	private void count(String routeId, String name, String tag, String value) {
+		counters.computeIfAbsent(routeId + ":" + name + ":" + value, key -> Counter.builder(name)
+			.tag("route", routeId)
+			.tag(tag, value)
+			.register(meterRegistry)).increment();
+	}
+
+	private static boolean hasBody(HttpHeaders headers) {
+		return headers.getContentLength() > 0 || headers.containsKey(HttpHeaders.TRANSFER_ENCODING);
+	}
+
+	private record Winner(String kind, ResponseEntity<Flux<DataBuffer>> response) {
+	}
+
+	/**
+	 * Hedge delay from the latency percentile, recomputed at most once per second.
+	 */
+	private static final class HedgeDelay {
+
+		private static final long RECOMPUTE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+		private final Timer timer;
+
+		private final Config config;
+
+		private volatile Duration current;
+
+		private volatile long computedAt;
+
+		HedgeDelay(Timer timer, Config config) {
+			this.timer = timer;
+			this.config = config;
+			this.current = config.getInitialDelay();
+			this.computedAt = System.nanoTime();
+		}
+
+		void record(long nanos) {
+			timer.record(nanos, TimeUnit.NANOSECONDS);
+		}
+
+		Duration current() {
+			long now = System.nanoTime();
+			if (now - computedAt >= RECOMPUTE_NANOS) {
+				computedAt = now;
+				current = compute();
+			}
+			return current;
+		}
+
+		private Duration compute() {
+			if (timer.count() < config.getMinSamples()) {
+				return config.getInitialDelay();
+			}
+			for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+				long nanos = (long) value.value(TimeUnit.NANOSECONDS);
+				long min = config.getMinDelay().toNanos();
+				long max = config.getMaxDelay().toNanos();
+				return Duration.ofNanos(Math.max(min, Math.min(max, nanos)));
+			}
+			return config.getInitialDelay();
+		}
+
+	}
+
+	public static class Config implements HasRouteId {
+
+		private String routeId;
+
+		/**
+		 * Methods safe to send twice.
+		 */
+		private Set<String> methods = Set.of("GET", "HEAD");
+
+		/**
+		 * Latency percentile after which the second attempt is sent.
+		 */
+		private double percentile = 0.95;
+
+		/**
+		 * Delay used until {@link #minSamples} responses were observed.
+		 */
+		private Duration initialDelay = Duration.ofMillis(200);
+
+		private Duration minDelay = Duration.ofMillis(20);
+
+		private Duration maxDelay = Duration.ofSeconds(2);
+
+		private int minSamples = 50;
+
+		private DataSize maxBodySize = DataSize.ofKilobytes(64);
+
+		@Override
+		public void setRouteId(String routeId) {
+			this.routeId = routeId;
+		}
+
+		@Override
+		public String getRouteId() {
+			return routeId;
+		}
+
+		public Set<String> getMethods() {
+			return methods;
+		}
+
+		public Config setMethods(Set<String> methods) {
+			this.methods = methods;
+			return this;
+		}
+
+		public double getPercentile() {
+			return percentile;
+		}
+
+		public Config setPercentile(double percentile) {
+			this.percentile = percentile;
+			return this;
+		}
+
+		public Duration getInitialDelay() {
+			return initialDelay;
+		}
+
+		public Config setInitialDelay(Duration initialDelay) {
+			this.initialDelay = initialDelay;
+			return this;
+		}
+
+		public Duration getMinDelay() {
+			return minDelay;
+		}
+
+		public Config setMinDelay(Duration minDelay) {
+			this.minDelay = minDelay;
+			return this;
+		}
+
+		public Duration getMaxDelay() {
+			return maxDelay;
+		}
+
+		public Config setMaxDelay(Duration maxDelay) {
+			this.maxDelay = maxDelay;
+			return this;
+		}
+
+		public int getMinSamples() {
+			return minSamples;
+		}
+
+		public Config setMinSamples(int minSamples) {
+			this.minSamples = minSamples;
+			return this;
+		}
+
+		public DataSize getMaxBodySize() {
+			return maxBodySize;
+		}
+
+		public Config setMaxBodySize(DataSize maxBodySize) {
+			this.maxBodySize = maxBodySize;
+			return this;
+		}
+
+	}
+
+}
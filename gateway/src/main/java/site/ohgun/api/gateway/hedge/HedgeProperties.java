@@ -0,0 +1,37 @@
+package site.ohgun.api.gateway.hedge;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Gateway-wide retry budget shared by all routes using the {@code Hedge} filter.
+ */
+@ConfigurationProperties(prefix = "gateway.hedge.budget")
+public class HedgeProperties {
+
+	/**
+	 * Extra attempts allowed per primary request (0.1 = at most 10% more upstream traffic).
+	 */
+	private double ratio = 0.1;
+
+	/**
+	 * Reserve of extra attempts that can be spent in a burst.
+	 */
+	private int maxTokens = 20;
+
+	public double getRatio() {
+		return ratio;
+	}
+
+	public void setRatio(double ratio) {
+		this.ratio = ratio;
+	}
+
+	public int getMaxTokens() {
+		return maxTokens;
+	}
+
+	public void setMaxTokens(int maxTokens) {
+		this.maxTokens = maxTokens;
+	}
+
+}
@@ -0,0 +1,49 @@
+package site.ohgun.api.gateway.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway-wide budget for extra attempts, as a ratio of primary traffic.
+ *
+ * <p>Every primary request deposits {@code ratio} of a token, every hedge withdraws one.
+ * The balance is capped at {@code maxTokens}, so a burst of slow responses can spend at
+ * most that reserve before hedging falls back to the configured ratio. Tokens are kept in
+ * thousandths to stay lock-free.
+ */
+public class RetryBudget {
+
+	private static final long SCALE = 1000;
+
+	private final long deposit;
+
+	private final long capacity;
+
+	private final AtomicLong balance;
+
+	public RetryBudget(double ratio, int maxTokens) {
+		this.deposit = Math.round(ratio * SCALE);
+		this.capacity = maxTokens * SCALE;
+		this.balance = new AtomicLong(capacity);
+	}
+
+	public void onPrimary() {
+		balance.getAndUpdate(current -> Math.min(capacity, current + deposit));
+	}
+
+	public boolean tryWithdraw() {
+		while (true) {
+			long current = balance.get();
+			if (current < SCALE) {
+				return false;
+			}
+			if (balance.compareAndSet(current, current - SCALE)) {
+				return true;
+			}
+		}
+	}
+
+	double tokens() {
+		return balance.get() / (double) SCALE;
+	}
+
+}
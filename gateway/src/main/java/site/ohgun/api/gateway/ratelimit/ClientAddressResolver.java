@@ -0,0 +1,198 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Resolves the client address of a request, honouring X-Forwarded-For only when
+ * the hops that appended to it are trusted proxies.
+ *
+ * <p>The header is walked from right to left and the first address that is not a
+ * trusted proxy is the client. Addresses are parsed as literals only, so no DNS
+ * lookups happen on the request path.
+ */
+public class ClientAddressResolver {
+
+	private static final String UNKNOWN = "unknown";
+
+	private final List<Cidr> trustedProxies = new ArrayList<>();
+
+	public ClientAddressResolver(List<String> trustedProxies) {
+		for (String proxy : trustedProxies) {
+			Cidr cidr = Cidr.parse(proxy.trim());
+			if (cidr != null) {
+				this.trustedProxies.add(cidr);
+			}
+		}
+	}
+
+	public String resolve(ServerHttpRequest request) {
+		InetSocketAddress remoteAddress = request.getRemoteAddress();
+		if (remoteAddress == null || remoteAddress.getAddress() == null) {
+			return UNKNOWN;
+		}
+		InetAddress peer = remoteAddress.getAddress();
+		if (!isTrusted(peer)) {
+			return peer.getHostAddress();
+		}
+
+		List<String> forwardedFor = request.getHeaders().get("X-Forwarded-For");
+		if (forwardedFor == null || forwardedFor.isEmpty()) {
+			return peer.getHostAddress();
+		}
+
+		List<String> hops = new ArrayList<>();
+		for (String value : forwardedFor) {
+			for (String hop : value.split(",")) {
+				String trimmed = hop.trim();
+				if (!trimmed.isEmpty()) {
+					hops.add(trimmed);
+				}
+			}
+		}
+
+		String client = peer.getHostAddress();
+		for (int i = hops.size() - 1; i >= 0; i--) {
+			InetAddress hop = parseLiteral(hops.get(i));
+			if (hop == null) {
+				// Malformed entry: stop at the last address we could verify
+				return client;
+			}
+			client = hop.getHostAddress();
+			if (!isTrusted(hop)) {
+				return client;
+			}
+		}
+		return client;
+	}
+
+	private boolean isTrusted(InetAddress address) {
+		for (Cidr cidr : trustedProxies) {
+			if (cidr.contains(address)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Parse an IPv4/IPv6 literal without ever resolving a host name.
+	 */
+	static InetAddress parseLiteral(String value) {
+		String candidate = value;
+		if (candidate.startsWith("[") && candidate.endsWith("]")) {
+			candidate = candidate.substring(1, candidate.length() - 1);
+		}
+		if (candidate.indexOf(':') < 0 ? !isDottedQuad(candidate) : !isIpv6Shaped(candidate)) {
+			return null;
+		}
+		try {
+			return InetAddress.getByName(candidate);
+		}
+		catch (UnknownHostException | IllegalArgumentException ex) {
+			return null;
+		}
+	}
+
+	private static boolean isDottedQuad(String value) {
+		int parts = 0;
+		int digits = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '.') {
+				if (digits == 0) {
+					return false;
+				}
+				parts++;
+				digits = 0;
+			}
+			else if (c >= '0' && c <= '9' && digits < 3) {
+				digits++;
+			}
+			else {
+				return false;
+			}
+		}
+		return parts == 3 && digits > 0;
+	}
+
+	/**
+	 * Hex digits, ':' and '.' (embedded IPv4) with an optional {@code %zone}; anything else
+	 * would make {@link InetAddress#getByName} fall back to a DNS lookup.
+	 */
+	private static boolean isIpv6Shaped(String value) {
+		int zone = value.indexOf('%');
+		int end = zone < 0 ? value.length() : zone;
+		if (end == 0) {
+			return false;
+		}
+		for (int i = 0; i < end; i++) {
+			char c = value.charAt(i);
+			if (Character.digit(c, 16) < 0 && c != ':' && c != '.') {
+				return false;
+			}
+		}
+		if (zone >= 0) {
+			if (zone == value.length() - 1) {
+				return false;
+			}
+			for (int i = zone + 1; i < value.length(); i++) {
+				char c = value.charAt(i);
+				if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && c != '_'
+						&& c != '-' && c != '.') {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	record Cidr(byte[] network, int prefixLength) {
+
+		static Cidr parse(String value) {
+			int slash = value.indexOf('/');
+			InetAddress address = parseLiteral(slash < 0 ? value : value.substring(0, slash));
+			if (address == null) {
+				return null;
+			}
+			int maxBits = address.getAddress().length * 8;
+			int prefix;
+			try {
+				prefix = slash < 0 ? maxBits : Integer.parseInt(value.substring(slash + 1));
+			}
+			catch (NumberFormatException ex) {
+				return null;
+			}
+			if (prefix < 0) {
+				return null;
+			}
+			return new Cidr(address.getAddress(), Math.min(prefix, maxBits));
+		}
+
+		boolean contains(InetAddress address) {
+			byte[] candidate = address.getAddress();
+			if (candidate.length != network.length) {
+				return false;
+			}
+			int fullBytes = prefixLength / 8;
+			for (int i = 0; i < fullBytes; i++) {
+				if (candidate[i] != network[i]) {
+					return false;
+				}
+			}
+			int remainingBits = prefixLength % 8;
+			if (remainingBits == 0) {
+				return true;
+			}
+			int mask = (0xFF << (8 - remainingBits)) & 0xFF;
+			return (candidate[fullBytes] & mask) == (network[fullBytes] & mask);
+		}
+
+	}
+
+}
@@ -0,0 +1,304 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.filter.ratelimit.RedisRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Two-tier rate limiter: lock-free local token buckets in front of a Redis token bucket.
+ *
+ * <p>Each node leases a batch of tokens from Redis ({@code lease_tokens.lua}) and serves
+ * requests from its local bucket until the batch is spent or the lease expires. Only
+ * requests that find the local bucket empty, plus background prefetches, touch Redis.
+ * Unused tokens of an expired lease are handed back to the Redis bucket with the next lease,
+ * so the cluster-wide rate stays bounded by the Redis bucket without falling below it.
+ *
+ * <p>Requests that find the local bucket empty share one lease. A waiter left without tokens
+ * takes one more lease sized to the demand still waiting before it is denied, so a burst is
+ * only rejected once Redis itself runs dry.
+ *
+ * <p>Each Redis lease is observed as {@code gateway.ratelimit.lease}, so it shows up as a
+ * span under the request span with the Lettuce command span below it.
+ *
+ * <p>Referenced from routes as {@code rate-limiter: "#{@hierarchicalRateLimiter}"} with
+ * {@code hierarchical-rate-limiter.*} args.
+ */
+public class HierarchicalRateLimiter extends AbstractRateLimiter<HierarchicalRateLimiter.Config>
+		implements DisposableBean {
+
+	public static final String CONFIGURATION_PROPERTY_NAME = "hierarchical-rate-limiter";
+
+	private static final Log log = LogFactory.getLog(HierarchicalRateLimiter.class);
+
+	private final ReactiveStringRedisTemplate redisTemplate;
+
+	private final RedisScript<List<Long>> script;
+
+	private final HierarchicalRateLimiterProperties properties;
+
+	private final MeterRegistry meterRegistry;
+
+	private final ObservationRegistry observationRegistry;
+
+	private final Map<String, LocalTokenBucket> buckets = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+	private final Config defaultConfig = new Config();
+
+	private final Disposable evictionTask;
+
+	public HierarchicalRateLimiter(ReactiveStringRedisTemplate redisTemplate, RedisScript<List<Long>> script,
+			ConfigurationService configurationService, HierarchicalRateLimiterProperties properties,
+			MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+		super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+		this.redisTemplate = redisTemplate;
+		this.script = script;
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.observationRegistry = observationRegistry;
+		long idleMillis = properties.getIdleTimeout().toMillis();
+		this.evictionTask = Schedulers.parallel()
+			.schedulePeriodically(this::evictIdleBuckets, idleMillis, idleMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public Mono<Response> isAllowed(String routeId, String id) {
+		Config config = getConfig().getOrDefault(routeId, defaultConfig);
+		String bucketKey = routeId + ":" + id;
+		long now = System.nanoTime();
+		LocalTokenBucket bucket = buckets.computeIfAbsent(bucketKey, key -> new LocalTokenBucket(now));
+
+		if (bucket.tryAcquire(config.getRequestedTokens(), now)) {
+			prefetchIfLow(bucketKey, bucket, config, now);
+			return Mono.just(response(true, bucket, config, now, routeId, "local"));
+		}
+		if (bucket.knownEmpty(now)) {
+			return Mono.just(response(false, bucket, config, now, routeId, "denied_local"));
+		}
+
+		return acquireLeased(routeId, bucketKey, bucket, config, true);
+	}
+
+	private Mono<Response> acquireLeased(String routeId, String bucketKey, LocalTokenBucket bucket, Config config,
+			boolean mayRetry) {
+		int requested = config.getRequestedTokens();
+		return Mono.defer(() -> {
+			bucket.addDemand(requested);
+			return lease(bucketKey, bucket, config);
+		}).flatMap(granted -> {
+			bucket.addDemand(-requested);
+			long leasedAt = System.nanoTime();
+			if (granted < 0) {
+				boolean allowed = failOpen(config);
+				return Mono.just(response(allowed, bucket, config, leasedAt, routeId,
+						allowed ? "fail_open" : "fail_closed"));
+			}
+			if (bucket.tryAcquire(requested, leasedAt)) {
+				return Mono.just(response(true, bucket, config, leasedAt, routeId, "leased"));
+			}
+			if (mayRetry && !bucket.knownEmpty(leasedAt)) {
+				return acquireLeased(routeId, bucketKey, bucket, config, false);
+			}
+			return Mono.just(response(false, bucket, config, leasedAt, routeId, "denied"));
+		});
+	}
+
+	/**
+	 * Lease tokens from Redis. Emits the number of granted tokens, or -1 when Redis failed.
+	 * Concurrent callers on the same bucket share a single Redis call.
+	 */
+	private Mono<Long> lease(String bucketKey, LocalTokenBucket bucket, Config config) {
+		var pending = bucket.pendingLease();
+		Mono<Long> existing = pending.get();
+		if (existing != null) {
+			return existing;
+		}
+
+		// Cleared before the result is emitted, so a waiter that finds no tokens can start a new lease
+		AtomicReference<Mono<Long>> self = new AtomicReference<>();
+		Mono<Long> call = Mono.defer(() -> observeLease(callRedis(bucketKey, bucket, config)))
+			.doOnTerminate(() -> pending.compareAndSet(self.get(), null))
+			.cache();
+		self.set(call);
+		if (pending.compareAndSet(null, call)) {
+			return call;
+		}
+		Mono<Long> winner = pending.get();
+		return winner != null ? winner : call;
+	}
+
+	private Mono<Long> callRedis(String bucketKey, LocalTokenBucket bucket, Config config) {
+		String prefix = "hierarchical_rate_limiter.{" + bucketKey + "}";
+		List<String> keys = List.of(prefix + ".tokens", prefix + ".timestamp");
+		long returned = bucket.drainExpired(System.nanoTime());
+		long size = Math.max(leaseSize(config), Math.min(bucket.demand(), config.getBurstCapacity()));
+		List<String> args = List.of(String.valueOf(config.getReplenishRate()),
+				String.valueOf(config.getBurstCapacity()), String.valueOf(size), String.valueOf(returned));
+
+		return redisTemplate.execute(script, keys, args)
+			.next()
+			.timeout(properties.getRedisTimeout())
+			.map(result -> {
+				long granted = result.get(0);
+				long now = System.nanoTime();
+				bucket.addLease(granted, now, now + properties.getLeaseTtl().toNanos());
+				if (granted < config.getRequestedTokens()) {
+					bucket.markEmpty(now + TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplenishRate()));
+				}
+				return granted;
+			})
+			.onErrorResume(ex -> {
+				if (log.isDebugEnabled()) {
+					log.debug("Rate limiter lease failed for " + bucketKey, ex);
+				}
+				return Mono.just(-1L);
+			})
+			.defaultIfEmpty(-1L);
+	}
+
+	private Mono<Long> observeLease(Mono<Long> lease) {
+		return Mono.deferContextual(context -> {
+			Observation observation = Observation.createNotStarted("gateway.ratelimit.lease", observationRegistry)
+				.parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+				.start();
+			return lease.doOnNext(granted -> observation.lowCardinalityKeyValue("outcome",
+					granted < 0 ? "error" : granted == 0 ? "exhausted" : "granted"))
+				.doFinally(signal -> observation.stop())
+				.contextWrite(inner -> inner.put(ObservationThreadLocalAccessor.KEY, observation));
+		});
+	}
+
+	private void prefetchIfLow(String bucketKey, LocalTokenBucket bucket, Config config, long now) {
+		long threshold = (long) Math.ceil(leaseSize(config) * properties.getPrefetchRatio());
+		if (bucket.available(now) <= threshold && bucket.pendingLease().get() == null) {
+			lease(bucketKey, bucket, config).subscribe();
+		}
+	}
+
+	private long leaseSize(Config config) {
+		if (config.getLeaseSize() > 0) {
+			return Math.max(config.getLeaseSize(), config.getRequestedTokens());
+		}
+		return Math.max(Math.max(1, config.getReplenishRate() / 4), config.getRequestedTokens());
+	}
+
+	private boolean failOpen(Config config) {
+		return config.getFailOpen() != null ? config.getFailOpen() : properties.isFailOpen();
+	}
+
+	private Response response(boolean allowed, LocalTokenBucket bucket, Config config, long now, String routeId,
+			String outcome) {
+		counter(routeId, outcome).increment();
+		Map<String, String> headers = new HashMap<>(4);
+		headers.put(RedisRateLimiter.REMAINING_HEADER, String.valueOf(bucket.available(now)));
+		headers.put(RedisRateLimiter.REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+		headers.put(RedisRateLimiter.BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+		headers.put(RedisRateLimiter.REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()));
+		return new Response(allowed, headers);
+	}
+
+	private Counter counter(String routeId, String outcome) {
+		return counters.computeIfAbsent(routeId + ":" + outcome, key -> Counter.builder("gateway.ratelimit.requests")
+			.description("Rate limiter decisions by tier")
+			.tag("route", routeId)
+			.tag("outcome", outcome)
+			.register(meterRegistry));
+	}
+
+	private void evictIdleBuckets() {
+		long cutoff = System.nanoTime() - properties.getIdleTimeout().toNanos();
+		buckets.entrySet().removeIf(entry -> entry.getValue().lastAccess() - cutoff < 0);
+	}
+
+	@Override
+	public void destroy() {
+		evictionTask.dispose();
+	}
+
+	public static class Config {
+
+		private int replenishRate = 10;
+
+		private int burstCapacity = 20;
+
+		private int requestedTokens = 1;
+
+		/**
+		 * Tokens requested from Redis per lease; 0 = a quarter of the replenish rate.
+		 */
+		private int leaseSize;
+
+		/**
+		 * Overrides {@code gateway.rate-limiter.fail-open} for this route.
+		 */
+		private Boolean failOpen;
+
+		public int getReplenishRate() {
+			return replenishRate;
+		}
+
+		public Config setReplenishRate(int replenishRate) {
+			this.replenishRate = replenishRate;
+			return this;
+		}
+
+		public int getBurstCapacity() {
+			return burstCapacity;
+		}
+
+		public Config setBurstCapacity(int burstCapacity) {
+			this.burstCapacity = burstCapacity;
+			return this;
+		}
+
+		public int getRequestedTokens() {
+			return requestedTokens;
+		}
+
+		public Config setRequestedTokens(int requestedTokens) {
+			this.requestedTokens = requestedTokens;
+			return this;
+		}
+
+		public int getLeaseSize() {
+			return leaseSize;
+		}
+
+		public Config setLeaseSize(int leaseSize) {
+			this.leaseSize = leaseSize;
+			return this;
+		}
+
+		public Boolean getFailOpen() {
+			return failOpen;
+		}
+
+		public Config setFailOpen(Boolean failOpen) {
+			this.failOpen = failOpen;
+			return this;
+		}
+
+	}
+
+}
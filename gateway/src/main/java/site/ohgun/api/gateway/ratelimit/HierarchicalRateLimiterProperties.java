@@ -0,0 +1,79 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Node-wide settings of the {@link HierarchicalRateLimiter}.
+ * Per-route limits are configured on the route as {@code hierarchical-rate-limiter.*} args.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limiter")
+public class HierarchicalRateLimiterProperties {
+
+	/**
+	 * Allow requests when Redis cannot be reached (false = reject with 429).
+	 */
+	private boolean failOpen = true;
+
+	/**
+	 * How long tokens leased from Redis may be spent locally before they expire.
+	 */
+	private Duration leaseTtl = Duration.ofSeconds(1);
+
+	/**
+	 * Start a background lease once the local bucket drops below this fraction of a lease.
+	 */
+	private double prefetchRatio = 0.25;
+
+	/**
+	 * Upper bound for a lease call to Redis.
+	 */
+	private Duration redisTimeout = Duration.ofMillis(250);
+
+	/**
+	 * Local buckets that were not used for this long are dropped.
+	 */
+	private Duration idleTimeout = Duration.ofMinutes(1);
+
+	public boolean isFailOpen() {
+		return failOpen;
+	}
+
+	public void setFailOpen(boolean failOpen) {
+		this.failOpen = failOpen;
+	}
+
+	public Duration getLeaseTtl() {
+		return leaseTtl;
+	}
+
+	public void setLeaseTtl(Duration leaseTtl) {
+		this.leaseTtl = leaseTtl;
+	}
+
+	public double getPrefetchRatio() {
+		return prefetchRatio;
+	}
+
+	public void setPrefetchRatio(double prefetchRatio) {
+		this.prefetchRatio = prefetchRatio;
+	}
+
+	public Duration getRedisTimeout() {
+		return redisTimeout;
+	}
+
+	public void setRedisTimeout(Duration redisTimeout) {
+		this.redisTimeout = redisTimeout;
+	}
+
+	public Duration getIdleTimeout() {
+		return idleTimeout;
+	}
+
+	public void setIdleTimeout(Duration idleTimeout) {
+		this.idleTimeout = idleTimeout;
+	}
+
+}
@@ -0,0 +1,101 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Extracts the subject of an HS256 access token issued by the monolith, locally and
+ * without any network call. The signature and expiry are checked so that a client
+ * cannot spread its traffic over many buckets by forging subjects.
+ */
+public class JwtSubjectExtractor {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private static final String HMAC_SHA256 = "HmacSHA256";
+
+	private final SecretKeySpec key;
+
+	private final ObjectMapper objectMapper;
+
+	private final ThreadLocal<Mac> macs;
+
+	public JwtSubjectExtractor(String secret, boolean base64Secret, ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		if (secret == null || secret.isEmpty()) {
+			this.key = null;
+			this.macs = null;
+			return;
+		}
+		byte[] secretBytes = base64Secret ? Base64.getMimeDecoder().decode(secret)
+				: secret.getBytes(StandardCharsets.UTF_8);
+		this.key = new SecretKeySpec(secretBytes, HMAC_SHA256);
+		this.macs = ThreadLocal.withInitial(this::newMac);
+	}
+
+	/**
+	 * @return the verified subject, or {@code null} when there is no valid token
+	 */
+	public String extract(ServerHttpRequest request) {
+		if (key == null) {
+			return null;
+		}
+		String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+		if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+			return null;
+		}
+		return extract(authorization.substring(BEARER_PREFIX.length()));
+	}
+
+	String extract(String token) {
+		int firstDot = token.indexOf('.');
+		int secondDot = token.indexOf('.', firstDot + 1);
+		if (firstDot <= 0 || secondDot <= firstDot || token.indexOf('.', secondDot + 1) >= 0) {
+			return null;
+		}
+
+		try {
+			byte[] signature = Base64.getUrlDecoder().decode(token.substring(secondDot + 1));
+			Mac mac = macs.get();
+			byte[] expected = mac.doFinal(token.substring(0, secondDot).getBytes(StandardCharsets.US_ASCII));
+			if (!MessageDigest.isEqual(expected, signature)) {
+				return null;
+			}
+
+			JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(firstDot + 1, secondDot)));
+			JsonNode exp = claims.get("exp");
+			if (exp != null && exp.asLong() * 1000 < System.currentTimeMillis()) {
+				return null;
+			}
+			JsonNode subject = claims.get("sub");
+			return subject != null && !subject.asText().isEmpty() ? subject.asText() : null;
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(HMAC_SHA256);
+			mac.init(key);
+			return mac;
+		}
+		catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+			throw new IllegalStateException("Cannot initialise " + HMAC_SHA256, ex);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings shared by the rate limiter key resolvers defined in {@code GatewayApplication}.
+ */
+@ConfigurationProperties(prefix = "gateway.key-resolver")
+public class KeyResolverProperties {
+
+	/**
+	 * Proxies (CIDR or single address) whose X-Forwarded-For entries are trusted.
+	 * The header is ignored when the direct peer is not in this list.
+	 */
+	private List<String> trustedProxies = new ArrayList<>();
+
+	/**
+	 * HMAC secret used by the monolith to sign access tokens (same value as JWT_SECRET).
+	 * Without it the subject resolver cannot verify tokens and falls back to the client IP.
+	 */
+	private String jwtSecret;
+
+	/**
+	 * Whether {@link #jwtSecret} is Base64 encoded (jjwt 0.9.1 decodes string secrets as Base64).
+	 */
+	private boolean jwtSecretBase64 = true;
+
+	/**
+	 * Hash the identifying part of the key to a fixed 16 character value.
+	 */
+	private boolean hashKeys = true;
+
+	public List<String> getTrustedProxies() {
+		return trustedProxies;
+	}
+
+	public void setTrustedProxies(List<String> trustedProxies) {
+		this.trustedProxies = trustedProxies;
+	}
+
+	public String getJwtSecret() {
+		return jwtSecret;
+	}
+
+	public void setJwtSecret(String jwtSecret) {
+		this.jwtSecret = jwtSecret;
+	}
+
+	public boolean isJwtSecretBase64() {
+		return jwtSecretBase64;
+	}
+
+	public void setJwtSecretBase64(boolean jwtSecretBase64) {
+		this.jwtSecretBase64 = jwtSecretBase64;
+	}
+
+	public boolean isHashKeys() {
+		return hashKeys;
+	}
+
+	public void setHashKeys(boolean hashKeys) {
+		this.hashKeys = hashKeys;
+	}
+
+}
@@ -0,0 +1,114 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-node bucket holding tokens leased from Redis.
+ * Acquisition is a CAS loop on a single counter, so the common case never blocks
+ * and never leaves the event-loop thread.
+ */
+class LocalTokenBucket {
+
+	private final AtomicLong tokens = new AtomicLong();
+
+	private final AtomicReference<Mono<Long>> pendingLease = new AtomicReference<>();
+
+	private final AtomicLong demand = new AtomicLong();
+
+	private volatile long leaseExpiresAt;
+
+	private volatile long lastAccess;
+
+	private volatile long emptyUntil;
+
+	LocalTokenBucket(long now) {
+		this.lastAccess = now;
+	}
+
+	/**
+	 * Take {@code requested} tokens if the current lease is still valid and has enough left.
+	 */
+	boolean tryAcquire(long requested, long now) {
+		lastAccess = now;
+		if (now - leaseExpiresAt >= 0) {
+			return false;
+		}
+		while (true) {
+			long available = tokens.get();
+			if (available < requested) {
+				return false;
+			}
+			if (tokens.compareAndSet(available, available - requested)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Add a fresh lease. Tokens of an expired lease that were not taken back with
+	 * {@link #drainExpired(long)} are dropped, which keeps the cluster-wide rate at or below
+	 * the Redis bucket.
+	 */
+	void addLease(long granted, long now, long expiresAt) {
+		if (now - leaseExpiresAt >= 0) {
+			tokens.set(granted);
+		}
+		else {
+			tokens.addAndGet(granted);
+		}
+		leaseExpiresAt = expiresAt;
+	}
+
+	/**
+	 * Take the unused tokens of an expired lease so they can be returned to Redis.
+	 * Returns 0 while the lease is still valid.
+	 */
+	long drainExpired(long now) {
+		if (now - leaseExpiresAt < 0) {
+			return 0;
+		}
+		return tokens.getAndSet(0);
+	}
+
+	/**
+	 * Tokens wanted by requests currently waiting for a lease.
+	 */
+	long demand() {
+		return demand.get();
+	}
+
+	void addDemand(long delta) {
+		demand.addAndGet(delta);
+	}
+
+	/**
+	 * Remember that Redis had no tokens, so that rejected requests do not hit Redis
+	 * again before the bucket can have refilled.
+	 */
+	void markEmpty(long until) {
+		emptyUntil = until;
+	}
+
+	boolean knownEmpty(long now) {
+		return now - emptyUntil < 0;
+	}
+
+	long available(long now) {
+		return now - leaseExpiresAt >= 0 ? 0 : tokens.get();
+	}
+
+	long lastAccess() {
+		return lastAccess;
+	}
+
+	/**
+	 * Ensures only one lease call per bucket is in flight; concurrent callers share its result.
+	 */
+	AtomicReference<Mono<Long>> pendingLease() {
+		return pendingLease;
+	}
+
+}
@@ -0,0 +1,35 @@
+package site.ohgun.api.gateway.ratelimit;
+
+/**
+ * Builds rate limiter keys of bounded length.
+ *
+ * <p>Subjects and addresses are reduced to a 64-bit FNV-1a hash (16 hex characters),
+ * so Redis key size does not depend on client supplied values.
+ */
+public final class RateLimitKeys {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private RateLimitKeys() {
+	}
+
+	public static String key(String type, String value, boolean hash) {
+		return type + ":" + (hash ? hash(value) : value);
+	}
+
+	static String hash(String value) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			hash ^= (c & 0xFF);
+			hash *= FNV_PRIME;
+			hash ^= (c >>> 8);
+			hash *= FNV_PRIME;
+		}
+		String hex = Long.toHexString(hash);
+		return hex.length() == 16 ? hex : "0".repeat(16 - hex.length()) + hex;
+	}
+
+}
@@ -0,0 +1,50 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import java.util.List;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+/**
+ * Rate limiter beans referenced from route definitions.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(HierarchicalRateLimiterProperties.class)
+public class RateLimiterConfiguration {
+
+	public static final String LEASE_SCRIPT_NAME = "hierarchicalRateLimiterLeaseScript";
+
+	@Bean(LEASE_SCRIPT_NAME)
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public RedisScript<List<Long>> hierarchicalRateLimiterLeaseScript() {
+		DefaultRedisScript script = new DefaultRedisScript<>();
+		script.setScriptSource(new ResourceScriptSource(new ClassPathResource("META-INF/scripts/lease_tokens.lua")));
+		script.setResultType(List.class);
+		return script;
+	}
+
+	/**
+	 * Primary so that RequestRateLimiter filters without an explicit {@code rate-limiter} use it too.
+	 */
+	@Bean
+	@Primary
+	public HierarchicalRateLimiter hierarchicalRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+			@Qualifier(LEASE_SCRIPT_NAME) RedisScript<List<Long>> script, ConfigurationService configurationService,
+			HierarchicalRateLimiterProperties properties, MeterRegistry meterRegistry,
+			ObservationRegistry observationRegistry) {
+		return new HierarchicalRateLimiter(redisTemplate, script, configurationService, properties, meterRegistry,
+				observationRegistry);
+	}
+
+}
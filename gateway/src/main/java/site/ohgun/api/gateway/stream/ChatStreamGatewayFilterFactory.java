@@ -0,0 +1,283 @@
+package site.ohgun.api.gateway.stream;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Route filter for long-lived streams (SSE and WebSocket).
+ *
+ * <p>Streams are limited by how many are open at once, per route and per client key,
+ * instead of by request rate; excess streams get 429 right away. SSE responses get a
+ * comment frame ({@code : ping}) whenever the upstream was silent for
+ * {@code heartbeatInterval}, but only between events: while the upstream is in the middle
+ * of an event (no closing blank line yet) the heartbeat is skipped so it cannot end up
+ * inside that event. Heartbeats are dropped rather than queued when the client is slow, so
+ * backpressure from the client still reaches the upstream connection.
+ */
+public class ChatStreamGatewayFilterFactory
+		extends AbstractGatewayFilterFactory<ChatStreamGatewayFilterFactory.Config> {
+
+	private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.US_ASCII);
+
+	private static final Object HEARTBEAT_TICK = new Object();
+
+	private final KeyResolver keyResolver;
+
+	private final StreamMetrics metrics;
+
+	public ChatStreamGatewayFilterFactory(KeyResolver keyResolver, StreamMetrics metrics) {
+		super(Config.class);
+		this.keyResolver = keyResolver;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public List<String> shortcutFieldOrder() {
+		return List.of("maxStreams", "maxStreamsPerKey");
+	}
+
+	@Override
+	public GatewayFilter apply(Config config) {
+		Map<String, Integer> perKey = new ConcurrentHashMap<>();
+		return (exchange, chain) -> {
+			Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+			String routeId = route != null ? route.getId() : "unknown";
+			AtomicInteger routeStreams = metrics.active(routeId);
+			return keyResolver.resolve(exchange).defaultIfEmpty("anonymous").flatMap(key -> {
+				if (routeStreams.incrementAndGet() > config.getMaxStreams()) {
+					routeStreams.decrementAndGet();
+					return reject(exchange, routeId);
+				}
+				if (!acquire(perKey, key, config.getMaxStreamsPerKey())) {
+					routeStreams.decrementAndGet();
+					return reject(exchange, routeId);
+				}
+
+				StreamObserver observer = new StreamObserver(routeId, System.nanoTime());
+				ServerWebExchange observed = exchange.mutate()
+					.response(new StreamingResponse(exchange.getResponse(), observer, config.getHeartbeatInterval()))
+					.build();
+				return chain.filter(observed).doFinally(signal -> {
+					routeStreams.decrementAndGet();
+					perKey.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+					observer.finish(isWebSocket(exchange) ? "websocket" : "sse");
+				});
+			});
+		};
+	}
+
+	private static boolean acquire(Map<String, Integer> perKey, String key, int limit) {
+		boolean[] acquired = new boolean[1];
+		perKey.compute(key, (k, count) -> {
+			int current = count != null ? count : 0;
+			if (current >= limit) {
+				return count;
+			}
+			acquired[0] = true;
+			return current + 1;
+		});
+		return acquired[0];
+	}
+
+	private Mono<Void> reject(ServerWebExchange exchange, String routeId) {
+		metrics.rejected(routeId);
+		exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+		exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+		return exchange.getResponse().setComplete();
+	}
+
+	private static boolean isWebSocket(ServerWebExchange exchange) {
+		return "websocket".equalsIgnoreCase(exchange.getRequest().getHeaders().getUpgrade());
+	}
+
+	/**
+	 * Counts bytes and SSE events (blank-line terminated) as they pass through, and tracks
+	 * whether the bytes seen so far end on an event boundary.
+	 */
+	private final class StreamObserver {
+
+		private final String routeId;
+
+		private final long startedAt;
+
+		private final AtomicLong events = new AtomicLong();
+
+		private final AtomicLong bytes = new AtomicLong();
+
+		private volatile long lastDataAt;
+
+		private volatile boolean firstSeen;
+
+		private volatile boolean atEventBoundary = true;
+
+		private byte previous;
+
+		StreamObserver(String routeId, long startedAt) {
+			this.routeId = routeId;
+			this.startedAt = startedAt;
+			this.lastDataAt = startedAt;
+		}
+
+		void onData(DataBuffer buffer) {
+			long now = System.nanoTime();
+			if (!firstSeen) {
+				firstSeen = true;
+				metrics.timeToFirstEvent(routeId, now - startedAt);
+			}
+			lastDataAt = now;
+			int start = buffer.readPosition();
+			int end = start + buffer.readableByteCount();
+			bytes.addAndGet(end - start);
+			byte last = previous;
+			boolean boundary = atEventBoundary;
+			long count = 0;
+			for (int i = start; i < end; i++) {
+				byte b = buffer.getByte(i);
+				if (b == '\r') {
+					continue;
+				}
+				boundary = b == '\n' && last == '\n';
+				if (boundary) {
+					count++;
+				}
+				last = b;
+			}
+			previous = last;
+			atEventBoundary = boundary;
+			events.addAndGet(count);
+		}
+
+		boolean atEventBoundary() {
+			return atEventBoundary;
+		}
+
+		boolean idleFor(Duration interval) {
+			return System.nanoTime() - lastDataAt >= interval.toNanos();
+		}
+
+		void finish(String kind) {
+			metrics.finished(routeId, kind, System.nanoTime() - startedAt, events.get(), bytes.get());
+		}
+
+	}
+
+	private static final class StreamingResponse extends ServerHttpResponseDecorator {
+
+		private final StreamObserver observer;
+
+		private final Duration heartbeatInterval;
+
+		StreamingResponse(ServerHttpResponse delegate, StreamObserver observer, Duration heartbeatInterval) {
+			super(delegate);
+			this.observer = observer;
+			this.heartbeatInterval = heartbeatInterval;
+		}
+
+		@Override
+		public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+			return super.writeWith(Flux.from(body).doOnNext(observer::onData));
+		}
+
+		@Override
+		public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+			if (!isEventStream() || heartbeatInterval.isZero() || heartbeatInterval.isNegative()) {
+				return super.writeAndFlushWith(Flux.from(body)
+					.map(frame -> Flux.from(frame).doOnNext(observer::onData)));
+			}
+			// Data and heartbeat ticks are merged first and inspected in emission order, so a
+			// tick only becomes a heartbeat if the data written before it ended an event.
+			Flux<DataBuffer> data = Flux.from(body).concatMap(frame -> Flux.<DataBuffer>from(frame));
+			Flux<DataBuffer> merged = data
+				.publish(upstream -> Flux.<Object>merge(1, upstream,
+						heartbeatTicks().takeUntilOther(upstream.ignoreElements())))
+				.handle((item, sink) -> {
+					if (item instanceof DataBuffer buffer) {
+						observer.onData(buffer);
+						sink.next(buffer);
+					}
+					else if (observer.atEventBoundary() && observer.idleFor(heartbeatInterval)) {
+						sink.next(bufferFactory().wrap(HEARTBEAT));
+					}
+				});
+			return super.writeAndFlushWith(merged.map(Mono::just));
+		}
+
+		private Flux<Object> heartbeatTicks() {
+			return Flux.interval(heartbeatInterval).onBackpressureDrop().map(tick -> HEARTBEAT_TICK);
+		}
+
+		private boolean isEventStream() {
+			MediaType contentType = getHeaders().getContentType();
+			return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+		}
+
+	}
+
+	public static class Config {
+
+		/**
+		 * Open streams allowed on the route, per gateway node.
+		 */
+		private int maxStreams = 200;
+
+		/**
+		 * Open streams allowed per client key (subject, or client IP when anonymous).
+		 */
+		private int maxStreamsPerKey = 3;
+
+		/**
+		 * Idle time after which an SSE comment frame is sent. Zero disables heartbeats.
+		 */
+		private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+		public int getMaxStreams() {
+			return maxStreams;
+		}
+
+		public Config setMaxStreams(int maxStreams) {
+			this.maxStreams = maxStreams;
+			return this;
+		}
+
+		public int getMaxStreamsPerKey() {
+			return maxStreamsPerKey;
+		}
+
+		public Config setMaxStreamsPerKey(int maxStreamsPerKey) {
+			this.maxStreamsPerKey = maxStreamsPerKey;
+			return this;
+		}
+
+		public Duration getHeartbeatInterval() {
+			return heartbeatInterval;
+		}
+
+		public Config setHeartbeatInterval(Duration heartbeatInterval) {
+			this.heartbeatInterval = heartbeatInterval;
+			return this;
+		}
+
+	}
+
+}
@@ -0,0 +1,77 @@
+package site.ohgun.api.gateway.stream;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Meters of proxied streams, tagged by route only so cardinality stays bounded.
+ */
+class StreamMetrics {
+
+	private final MeterRegistry meterRegistry;
+
+	private final Map<String, AtomicInteger> active = new ConcurrentHashMap<>();
+
+	private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+
+	StreamMetrics(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	AtomicInteger active(String routeId) {
+		return active.computeIfAbsent(routeId, id -> {
+			AtomicInteger gauge = new AtomicInteger();
+			Gauge.builder("gateway.stream.active", gauge, AtomicInteger::get)
+				.description("Open proxied streams")
+				.tag("route", id)
+				.register(meterRegistry);
+			return gauge;
+		});
+	}
+
+	void rejected(String routeId) {
+		rejected.computeIfAbsent(routeId, id -> Counter.builder("gateway.stream.rejected")
+			.description("Streams refused by the concurrency limit")
+			.tag("route", id)
+			.register(meterRegistry)).increment();
+	}
+
+	void timeToFirstEvent(String routeId, long nanos) {
+		Timer.builder("gateway.stream.time.to.first.event")
+			.description("Time from request to the first body bytes of a stream")
+			.tag("route", routeId)
+			.publishPercentileHistogram()
+			.register(meterRegistry)
+			.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	void finished(String routeId, String kind, long nanos, long events, long bytes) {
+		Timer.builder("gateway.stream.duration")
+			.tag("route", routeId)
+			.tag("kind", kind)
+			.register(meterRegistry)
+			.record(nanos, TimeUnit.NANOSECONDS);
+		if (events > 0) {
+			double seconds = Math.max(nanos, 1) / (double) Duration.ofSeconds(1).toNanos();
+			DistributionSummary.builder("gateway.stream.events.rate")
+				.description("Events (SSE messages) per second, per stream")
+				.baseUnit("events/s")
+				.tag("route", routeId)
+				.publishPercentileHistogram()
+				.register(meterRegistry)
+				.record(events / seconds);
+		}
+		Counter.builder("gateway.stream.bytes").baseUnit("bytes").tag("route", routeId).register(meterRegistry)
+			.increment(bytes);
+	}
+
+}
@@ -0,0 +1,21 @@
+package site.ohgun.api.gateway.stream;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Streaming (SSE / WebSocket) proxy support, applied per route with the {@code ChatStream} filter.
+ */
+@Configuration(proxyBeanMethods = false)
+public class StreamingConfiguration {
+
+	@Bean
+	public ChatStreamGatewayFilterFactory chatStreamGatewayFilterFactory(
+			@Qualifier("subjectKeyResolver") KeyResolver keyResolver, MeterRegistry meterRegistry) {
+		return new ChatStreamGatewayFilterFactory(keyResolver, new StreamMetrics(meterRegistry));
+	}
+
+}
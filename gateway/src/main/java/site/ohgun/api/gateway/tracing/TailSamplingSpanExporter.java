@@ -0,0 +1,170 @@
+package site.ohgun.api.gateway.tracing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Tail-based sampling in front of the real exporter.
+ *
+ * <p>Every request is recorded; spans are buffered per trace until the local root span
+ * (no parent, or a remote parent) ends, then the whole trace is exported if any span
+ * failed, the root took at least {@code slowThreshold}, or the trace id falls into the
+ * {@code baselineRatio} share. The baseline check uses the trace id only, so the gateway
+ * and the monolith keep the same baseline traces. Late spans follow the recorded decision.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+	private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+	private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final SpanExporter delegate;
+
+	private final long slowThresholdNanos;
+
+	private final long baselineBound;
+
+	private final int maxPendingTraces;
+
+	private final long maxTraceAgeNanos;
+
+	private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+
+	private final Map<String, Decision> decisions = new ConcurrentHashMap<>();
+
+	private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+	private final AtomicLong droppedSpans = new AtomicLong();
+
+	public TailSamplingSpanExporter(SpanExporter delegate, TracingProperties properties) {
+		this.delegate = delegate;
+		this.slowThresholdNanos = properties.getSlowThreshold().toNanos();
+		this.baselineBound = (long) (Math.max(0, Math.min(1, properties.getBaselineRatio())) * Long.MAX_VALUE);
+		this.maxPendingTraces = properties.getMaxPendingTraces();
+		this.maxTraceAgeNanos = properties.getMaxTraceAge().toNanos();
+	}
+
+	@Override
+	public CompletableResultCode export(Collection<SpanData> spans) {
+		long now = System.nanoTime();
+		List<SpanData> sampled = new ArrayList<>();
+		for (SpanData span : spans) {
+			String traceId = span.getTraceId();
+			Decision decision = decisions.get(traceId);
+			if (decision != null) {
+				if (decision.keep()) {
+					sampled.add(span);
+				}
+			}
+			else if (isLocalRoot(span)) {
+				PendingTrace trace = pending.remove(traceId);
+				List<SpanData> all = (trace != null) ? trace.spans() : new ArrayList<>();
+				all.add(span);
+				boolean keep = shouldKeep(span, all);
+				decisions.put(traceId, new Decision(keep, now));
+				if (keep) {
+					sampled.addAll(all);
+				}
+			}
+			else {
+				buffer(traceId, span, now);
+			}
+		}
+		evictIfDue(now);
+		return sampled.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(sampled);
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return delegate.flush();
+	}
+
+	@Override
+	public CompletableResultCode shutdown() {
+		pending.clear();
+		decisions.clear();
+		return delegate.shutdown();
+	}
+
+	public long droppedSpans() {
+		return droppedSpans.get();
+	}
+
+	int pendingTraces() {
+		return pending.size();
+	}
+
+	private void buffer(String traceId, SpanData span, long now) {
+		PendingTrace trace = pending.compute(traceId, (id, existing) -> {
+			if (existing == null && pending.size() >= maxPendingTraces) {
+				return null;
+			}
+			PendingTrace target = (existing != null) ? existing : new PendingTrace(new ArrayList<>(), now);
+			target.spans().add(span);
+			return target;
+		});
+		if (trace == null) {
+			droppedSpans.incrementAndGet();
+		}
+	}
+
+	private boolean shouldKeep(SpanData root, List<SpanData> spans) {
+		if (root.getEndEpochNanos() - root.getStartEpochNanos() >= slowThresholdNanos) {
+			return true;
+		}
+		for (SpanData span : spans) {
+			if (isError(span)) {
+				return true;
+			}
+		}
+		long hash = Long.parseUnsignedLong(root.getTraceId().substring(16), 16) & Long.MAX_VALUE;
+		return hash < baselineBound;
+	}
+
+	private void evictIfDue(long now) {
+		long last = lastEviction.get();
+		if (now - last < EVICTION_INTERVAL_NANOS || !lastEviction.compareAndSet(last, now)) {
+			return;
+		}
+		pending.entrySet().removeIf(entry -> {
+			boolean stale = now - entry.getValue().createdAt() >= maxTraceAgeNanos;
+			if (stale) {
+				droppedSpans.addAndGet(entry.getValue().spans().size());
+			}
+			return stale;
+		});
+		decisions.values().removeIf(decision -> now - decision.decidedAt() >= maxTraceAgeNanos);
+	}
+
+	private static boolean isLocalRoot(SpanData span) {
+		SpanContext parent = span.getParentSpanContext();
+		return !parent.isValid() || parent.isRemote();
+	}
+
+	private static boolean isError(SpanData span) {
+		if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+			return true;
+		}
+		String outcome = span.getAttributes().get(OUTCOME);
+		return "error".equals(outcome) || "SERVER_ERROR".equals(outcome);
+	}
+
+	private record PendingTrace(List<SpanData> spans, long createdAt) {
+	}
+
+	private record Decision(boolean keep, long decidedAt) {
+	}
+
+}
@@ -0,0 +1,51 @@
+package site.ohgun.api.gateway.tracing;
+
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Distributed tracing across the gateway hop: W3C {@code traceparent} in and out,
+ * spans for the proxied exchange, the rate limiter lease and its Lettuce commands.
+ *
+ * <p>HTTP server and Netty client spans come from Spring Cloud Gateway's observability
+ * support; this configuration adds Lettuce command tracing and the OTLP export. Without
+ * an OTLP endpoint only the head sampling probability applies; with one, every request
+ * is recorded so {@link TailSamplingSpanExporter} can pick the traces to keep.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfiguration {
+
+	@Bean
+	public ClientResourcesBuilderCustomizer lettuceTracingCustomizer(ObservationRegistry observationRegistry) {
+		return builder -> builder.tracing(new MicrometerTracing(observationRegistry, "gateway-redis"));
+	}
+
+	@Bean
+	@ConditionalOnExpression("!'${gateway.tracing.otlp-endpoint:}'.isEmpty()")
+	public Sampler tailSamplingSampler() {
+		return Sampler.alwaysOn();
+	}
+
+	@Bean
+	@ConditionalOnExpression("!'${gateway.tracing.otlp-endpoint:}'.isEmpty()")
+	public TailSamplingSpanExporter tailSamplingSpanExporter(TracingProperties properties,
+			MeterRegistry meterRegistry) {
+		OtlpHttpSpanExporter otlp = OtlpHttpSpanExporter.builder().setEndpoint(properties.getOtlpEndpoint()).build();
+		TailSamplingSpanExporter exporter = new TailSamplingSpanExporter(otlp, properties);
+		Gauge.builder("gateway.tracing.dropped_spans", exporter, TailSamplingSpanExporter::droppedSpans)
+			.description("Spans dropped because the pending-trace buffer was full or the trace timed out")
+			.register(meterRegistry);
+		return exporter;
+	}
+
+}
@@ -0,0 +1,78 @@
+package site.ohgun.api.gateway.tracing;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Span export with tail-based sampling.
+ */
+@ConfigurationProperties(prefix = "gateway.tracing")
+public class TracingProperties {
+
+	/**
+	 * OTLP/HTTP traces endpoint. Spans are not exported when empty.
+	 */
+	private String otlpEndpoint = "";
+
+	/**
+	 * Traces whose gateway root span takes at least this long are always exported.
+	 */
+	private Duration slowThreshold = Duration.ofMillis(500);
+
+	/**
+	 * Share of fast, successful traces that are exported anyway.
+	 */
+	private double baselineRatio = 0.01;
+
+	/**
+	 * Traces buffered while waiting for their root span to end.
+	 */
+	private int maxPendingTraces = 10000;
+
+	/**
+	 * Buffered traces whose root has not ended after this long are dropped.
+	 */
+	private Duration maxTraceAge = Duration.ofSeconds(30);
+
+	public String getOtlpEndpoint() {
+		return otlpEndpoint;
+	}
+
+	public void setOtlpEndpoint(String otlpEndpoint) {
+		this.otlpEndpoint = otlpEndpoint;
+	}
+
+	public Duration getSlowThreshold() {
+		return slowThreshold;
+	}
+
+	public void setSlowThreshold(Duration slowThreshold) {
+		this.slowThreshold = slowThreshold;
+	}
+
+	public double getBaselineRatio() {
+		return baselineRatio;
+	}
+
+	public void setBaselineRatio(double baselineRatio) {
+		this.baselineRatio = baselineRatio;
+	}
+
+	public int getMaxPendingTraces() {
+		return maxPendingTraces;
+	}
+
+	public void setMaxPendingTraces(int maxPendingTraces) {
+		this.maxPendingTraces = maxPendingTraces;
+	}
+
+	public Duration getMaxTraceAge() {
+		return maxTraceAge;
+	}
+
+	public void setMaxTraceAge(Duration maxTraceAge) {
+		this.maxTraceAge = maxTraceAge;
+	}
+
+}
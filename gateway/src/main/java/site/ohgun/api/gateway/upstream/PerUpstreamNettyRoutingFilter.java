@@ -0,0 +1,115 @@
+package site.ohgun.api.gateway.upstream;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * {@link NettyRoutingFilter} that sends each upstream through its own connection pool
+ * ({@code gateway.upstreams.pools.*}) so slow ML calls cannot exhaust connections of fast
+ * services. Upstreams without a pool use the default gateway client. Pool clients are built
+ * like the gateway client (SSL, proxy, header limits, customizers) with the pool settings on top.
+ *
+ * <p>Pools are created with metrics enabled: Reactor Netty exports
+ * {@code reactor.netty.connection.provider.*} (active, idle, pending, max connections and
+ * pending acquire time) tagged with the pool name and remote address.
+ */
+public class PerUpstreamNettyRoutingFilter extends NettyRoutingFilter implements DisposableBean {
+
+	private final Map<String, HttpClient> clients = new HashMap<>();
+
+	private final Map<String, ConnectionProvider> providers = new HashMap<>();
+
+	public PerUpstreamNettyRoutingFilter(HttpClient httpClient,
+			ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider, HttpClientProperties properties,
+			UpstreamPoolProperties upstreamProperties, Function<ConnectionProvider, HttpClient> baseClient) {
+		super(httpClient, headersFiltersProvider, properties);
+		upstreamProperties.getPools().forEach((name, pool) -> {
+			ConnectionProvider provider = connectionProvider(name, pool);
+			providers.put(name, provider);
+			HttpClient client = httpClient(baseClient.apply(provider), pool);
+			for (String authority : pool.getAuthorities()) {
+				clients.put(authority, client);
+			}
+		});
+	}
+
+	@Override
+	protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+		URI requestUrl = exchange.getRequiredAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+		HttpClient client = clientFor(requestUrl);
+		if (client == null) {
+			return super.getHttpClient(route, exchange);
+		}
+		Object connectTimeout = route.getMetadata().get(ServerWebExchangeUtils.CONNECT_TIMEOUT_ATTR);
+		if (connectTimeout != null) {
+			int millis = connectTimeout instanceof Number number ? number.intValue()
+					: Integer.parseInt(connectTimeout.toString());
+			return client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, millis);
+		}
+		return client;
+	}
+
+	/**
+	 * Pool client for the upstream of {@code uri}, or {@code null} when it has no pool. Used by
+	 * filters that call upstreams themselves, such as hedged attempts.
+	 */
+	public HttpClient clientFor(URI uri) {
+		return clients.get(uri.getHost() + ":" + port(uri));
+	}
+
+	private static ConnectionProvider connectionProvider(String name, UpstreamPoolProperties.Pool pool) {
+		ConnectionProvider.Builder builder = ConnectionProvider.builder("upstream-" + name)
+			.maxConnections(pool.getMaxConnections())
+			.pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+			.pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+			.maxIdleTime(pool.getMaxIdleTime())
+			.maxLifeTime(pool.getMaxLifeTime())
+			.metrics(true);
+		if (!pool.getEvictInBackground().isZero()) {
+			builder.evictInBackground(pool.getEvictInBackground());
+		}
+		return builder.build();
+	}
+
+	private static HttpClient httpClient(HttpClient base, UpstreamPoolProperties.Pool pool) {
+		HttpClient client = base.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) pool.getConnectTimeout().toMillis());
+		client = switch (pool.getProtocol()) {
+			case HTTP11 -> client.protocol(HttpProtocol.HTTP11);
+			case H2C -> client.protocol(HttpProtocol.H2C);
+			case H2C_UPGRADE -> client.protocol(HttpProtocol.HTTP11, HttpProtocol.H2C);
+		};
+		if (pool.getResponseTimeout() != null) {
+			client = client.responseTimeout(pool.getResponseTimeout());
+		}
+		return client;
+	}
+
+	private static int port(URI uri) {
+		if (uri.getPort() != -1) {
+			return uri.getPort();
+		}
+		return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+	}
+
+	@Override
+	public void destroy() {
+		providers.values().forEach(ConnectionProvider::dispose);
+	}
+
+}
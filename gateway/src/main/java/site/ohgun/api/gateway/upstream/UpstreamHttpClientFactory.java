@@ -0,0 +1,38 @@
+package site.ohgun.api.gateway.upstream;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds the gateway {@link HttpClient} (SSL/trust, proxy, max header size, wiretap,
+ * compression and {@link HttpClientCustomizer}s) on top of a given connection pool instead
+ * of the one from {@code spring.cloud.gateway.httpclient.pool}.
+ */
+class UpstreamHttpClientFactory extends HttpClientFactory {
+
+	private final ConnectionProvider connectionProvider;
+
+	UpstreamHttpClientFactory(ConnectionProvider connectionProvider, HttpClientProperties properties,
+			ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+			List<HttpClientCustomizer> customizers) {
+		super(properties, serverProperties, sslConfigurer, customizers);
+		this.connectionProvider = connectionProvider;
+	}
+
+	HttpClient create() {
+		return createInstance();
+	}
+
+	@Override
+	protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+		return connectionProvider;
+	}
+
+}
@@ -0,0 +1,49 @@
+package site.ohgun.api.gateway.upstream;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Replaces the default routing filter with {@link PerUpstreamNettyRoutingFilter} when it is
+ * switched off with {@code spring.cloud.gateway.global-filter.netty-routing.enabled=false}.
+ *
+ * <p>The same switch also removes {@link NettyWriteResponseFilter}, which writes the proxied
+ * response body, so it is registered here again.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(UpstreamPoolProperties.class)
+@ConditionalOnProperty(name = "spring.cloud.gateway.global-filter.netty-routing.enabled", havingValue = "false")
+public class UpstreamPoolConfiguration {
+
+	@Bean
+	public PerUpstreamNettyRoutingFilter perUpstreamNettyRoutingFilter(HttpClient httpClient,
+			ObjectProvider<List<HttpHeadersFilter>> headersFilters, HttpClientProperties httpClientProperties,
+			ServerProperties serverProperties, HttpClientSslConfigurer sslConfigurer,
+			ObjectProvider<HttpClientCustomizer> customizers, UpstreamPoolProperties upstreamPoolProperties) {
+		List<HttpClientCustomizer> customizerList = customizers.orderedStream().toList();
+		return new PerUpstreamNettyRoutingFilter(httpClient, headersFilters, httpClientProperties,
+				upstreamPoolProperties, provider -> new UpstreamHttpClientFactory(provider, httpClientProperties,
+						serverProperties, sslConfigurer, customizerList).create());
+	}
+
+	@Bean
+	@ConditionalOnMissingBean
+	public NettyWriteResponseFilter nettyWriteResponseFilter(GatewayProperties gatewayProperties) {
+		return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes());
+	}
+
+}
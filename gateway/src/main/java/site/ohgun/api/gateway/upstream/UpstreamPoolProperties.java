@@ -0,0 +1,166 @@
+package site.ohgun.api.gateway.upstream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Connection pools per upstream group. Each pool applies its limits to every upstream
+ * (host:port) listed in {@code authorities}; Reactor Netty keeps one pool per remote address.
+ */
+@ConfigurationProperties(prefix = "gateway.upstreams")
+public class UpstreamPoolProperties {
+
+	private Map<String, Pool> pools = new LinkedHashMap<>();
+
+	public Map<String, Pool> getPools() {
+		return pools;
+	}
+
+	public void setPools(Map<String, Pool> pools) {
+		this.pools = pools;
+	}
+
+	public enum Protocol {
+
+		/**
+		 * HTTP/1.1 only.
+		 */
+		HTTP11,
+
+		/**
+		 * HTTP/2 over cleartext with prior knowledge; the upstream must speak h2c.
+		 */
+		H2C,
+
+		/**
+		 * HTTP/1.1 with an h2c upgrade attempt, falling back to HTTP/1.1.
+		 */
+		H2C_UPGRADE
+
+	}
+
+	public static class Pool {
+
+		/**
+		 * Upstreams using this pool, as host:port of the route URI.
+		 */
+		private List<String> authorities = new ArrayList<>();
+
+		private Protocol protocol = Protocol.HTTP11;
+
+		/**
+		 * Connections per upstream address (HTTP/2: connections, each multiplexing streams).
+		 */
+		private int maxConnections = 100;
+
+		/**
+		 * Requests allowed to wait for a connection; beyond it they fail immediately.
+		 */
+		private int pendingAcquireMaxCount = 200;
+
+		private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+
+		private Duration maxIdleTime = Duration.ofSeconds(30);
+
+		private Duration maxLifeTime = Duration.ofMinutes(5);
+
+		/**
+		 * Background eviction period for idle/expired connections. Zero disables it.
+		 */
+		private Duration evictInBackground = Duration.ofSeconds(30);
+
+		private Duration connectTimeout = Duration.ofSeconds(10);
+
+		/**
+		 * Max time between reads of a response. The route and global response timeouts still apply.
+		 */
+		private Duration responseTimeout;
+
+		public List<String> getAuthorities() {
+			return authorities;
+		}
+
+		public void setAuthorities(List<String> authorities) {
+			this.authorities = authorities;
+		}
+
+		public Protocol getProtocol() {
+			return protocol;
+		}
+
+		public void setProtocol(Protocol protocol) {
+			this.protocol = protocol;
+		}
+
+		public int getMaxConnections() {
+			return maxConnections;
+		}
+
+		public void setMaxConnections(int maxConnections) {
+			this.maxConnections = maxConnections;
+		}
+
+		public int getPendingAcquireMaxCount() {
+			return pendingAcquireMaxCount;
+		}
+
+		public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+			this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+		}
+
+		public Duration getPendingAcquireTimeout() {
+			return pendingAcquireTimeout;
+		}
+
+		public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+			this.pendingAcquireTimeout = pendingAcquireTimeout;
+		}
+
+		public Duration getMaxIdleTime() {
+			return maxIdleTime;
+		}
+
+		public void setMaxIdleTime(Duration maxIdleTime) {
+			this.maxIdleTime = maxIdleTime;
+		}
+
+		public Duration getMaxLifeTime() {
+			return maxLifeTime;
+		}
+
+		public void setMaxLifeTime(Duration maxLifeTime) {
+			this.maxLifeTime = maxLifeTime;
+		}
+
+		public Duration getEvictInBackground() {
+			return evictInBackground;
+		}
+
+		public void setEvictInBackground(Duration evictInBackground) {
+			this.evictInBackground = evictInBackground;
+		}
+
+		public Duration getConnectTimeout() {
+			return connectTimeout;
+		}
+
+		public void setConnectTimeout(Duration connectTimeout) {
+			this.connectTimeout = connectTimeout;
+		}
+
+		public Duration getResponseTimeout() {
+			return responseTimeout;
+		}
+
+		public void setResponseTimeout(Duration responseTimeout) {
+			this.responseTimeout = responseTimeout;
+		}
+
+	}
+
+}
@@ -0,0 +1,48 @@
+-- Token bucket lease for the hierarchical rate limiter.
+-- Grants up to ARGV[3] tokens at once so that gateway nodes can serve
+-- several requests from their local bucket before coming back to Redis.
+--
+-- KEYS[1]: tokens key
+-- KEYS[2]: timestamp key
+-- ARGV[1]: replenish rate (tokens per second)
+-- ARGV[2]: burst capacity
+-- ARGV[3]: requested lease size
+-- ARGV[4]: unused tokens of an expired lease handed back by the node
+-- returns { granted, remaining }
+
+local tokens_key = KEYS[1]
+local timestamp_key = KEYS[2]
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+local returned = tonumber(ARGV[4]) or 0
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) + tonumber(time[2]) / 1000000
+
+local fill_time = capacity / rate
+local ttl = math.floor(fill_time * 2)
+if ttl < 1 then
+  ttl = 1
+end
+
+local last_tokens = tonumber(redis.call('get', tokens_key))
+if last_tokens == nil then
+  last_tokens = capacity
+end
+
+local last_refreshed = tonumber(redis.call('get', timestamp_key))
+if last_refreshed == nil then
+  last_refreshed = 0
+end
+
+local delta = math.max(0, now - last_refreshed)
+local filled = math.min(capacity, last_tokens + (delta * rate) + returned)
+local granted = math.floor(math.min(filled, requested))
+local remaining = filled - granted
+
+redis.call('setex', tokens_key, ttl, remaining)
+redis.call('setex', timestamp_key, ttl, now)
+
+return { granted, math.floor(remaining) }
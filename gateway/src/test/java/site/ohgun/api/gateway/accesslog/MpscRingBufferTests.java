@@ -0,0 +1,104 @@
+package site.ohgun.api.gateway.accesslog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTests {
+
+	@Test
+	void roundsCapacityUpToAPowerOfTwo() {
+		assertThat(new MpscRingBuffer<>(1000).capacity()).isEqualTo(1024);
+		assertThat(new MpscRingBuffer<>(1024).capacity()).isEqualTo(1024);
+		assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsOffersWhenFullAndAcceptsAgainAfterPoll() {
+		MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(2);
+
+		assertThat(buffer.offer(1)).isTrue();
+		assertThat(buffer.offer(2)).isTrue();
+		assertThat(buffer.offer(3)).isFalse();
+		assertThat(buffer.poll()).isEqualTo(1);
+		assertThat(buffer.offer(3)).isTrue();
+		assertThat(buffer.poll()).isEqualTo(2);
+		assertThat(buffer.poll()).isEqualTo(3);
+		assertThat(buffer.poll()).isNull();
+		assertThat(buffer.size()).isZero();
+	}
+
+	@Test
+	void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+		int producers = 4;
+		int perProducer = 200_000;
+		MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> rejections = new ArrayList<>();
+		try {
+			for (int p = 0; p < producers; p++) {
+				long producer = p;
+				rejections.add(executor.submit(() -> {
+					start.await();
+					int rejected = 0;
+					for (long sequence = 0; sequence < perProducer; sequence++) {
+						if (!buffer.offer(new long[] { producer, sequence })) {
+							rejected++;
+							// Let the consumer catch up so the buffer wraps many times
+							Thread.yield();
+						}
+					}
+					return rejected;
+				}));
+			}
+			start.countDown();
+
+			// Single consumer: every accepted element arrives once, in order per producer
+			long[] lastSequence = new long[producers];
+			Arrays.fill(lastSequence, -1);
+			long consumed = 0;
+			while (!allDone(rejections) || buffer.size() > 0) {
+				long[] element = buffer.poll();
+				if (element == null) {
+					Thread.onSpinWait();
+					continue;
+				}
+				int producer = (int) element[0];
+				assertThat(element[1]).isGreaterThan(lastSequence[producer]);
+				lastSequence[producer] = element[1];
+				consumed++;
+			}
+
+			long rejected = 0;
+			for (Future<Integer> future : rejections) {
+				rejected += future.get(10, TimeUnit.SECONDS);
+			}
+			assertThat(consumed + rejected).isEqualTo((long) producers * perProducer);
+			assertThat(consumed).isPositive();
+			assertThat(buffer.size()).isZero();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static boolean allDone(List<? extends Future<?>> futures) {
+		for (Future<?> future : futures) {
+			if (!future.isDone()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
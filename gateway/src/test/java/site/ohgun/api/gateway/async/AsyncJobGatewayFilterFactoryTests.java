@@ -0,0 +1,219 @@
+package site.ohgun.api.gateway.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import site.ohgun.api.gateway.ratelimit.JwtSubjectExtractor;
+
+/**
+ * Job submission, background dispatch and job ownership, with a stubbed upstream.
+ */
+class AsyncJobGatewayFilterFactoryTests {
+
+	private static final String SECRET = "async-job-test-secret-0123456789abcdef";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final JwtSubjectExtractor subjectExtractor = new JwtSubjectExtractor(SECRET, false, objectMapper);
+
+	private final AtomicReference<HttpHeaders> upstreamHeaders = new AtomicReference<>();
+
+	private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+	@SuppressWarnings("unchecked")
+	private final ObjectProvider<ReactiveCircuitBreakerFactory<?, ?>> circuitBreakers = mock(ObjectProvider.class);
+
+	@TempDir
+	private Path spillDirectory;
+
+	private AsyncJobStore store;
+
+	private AsyncJobDispatcher dispatcher;
+
+	private AsyncJobGatewayFilterFactory factory;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		AsyncJobProperties properties = new AsyncJobProperties();
+		properties.setSpillDirectory(spillDirectory);
+		WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+			upstreamCalls.incrementAndGet();
+			upstreamHeaders.set(request.headers());
+			return Mono.just(ClientResponse.create(HttpStatus.OK).body("done").build());
+		}).build();
+		store = new AsyncJobStore(properties, meterRegistry);
+		dispatcher = new AsyncJobDispatcher(webClient, store, properties, meterRegistry, circuitBreakers);
+		HttpHeadersFilter xForwarded = (headers, exchange) -> {
+			HttpHeaders filtered = new HttpHeaders();
+			filtered.putAll(headers);
+			filtered.set("X-Forwarded-For", exchange.getRequest().getRemoteAddress().getHostString());
+			return filtered;
+		};
+		ObjectProvider<List<HttpHeadersFilter>> headersFilters = mock(ObjectProvider.class);
+		when(headersFilters.getIfAvailable()).thenReturn(List.of(xForwarded));
+		factory = new AsyncJobGatewayFilterFactory(store, dispatcher, properties, subjectExtractor, objectMapper,
+				headersFilters);
+	}
+
+	@AfterEach
+	void tearDown() {
+		dispatcher.destroy();
+		store.destroy();
+	}
+
+	@Test
+	void anonymousRequestsRunSynchronously() {
+		AtomicBoolean routed = new AtomicBoolean();
+		MockServerWebExchange exchange = exchange(null);
+
+		factory.apply(new AsyncJobGatewayFilterFactory.Config())
+			.filter(exchange, ex -> Mono.fromRunnable(() -> routed.set(true)))
+			.block(Duration.ofSeconds(5));
+
+		assertThat(routed).isTrue();
+		assertThat(exchange.getResponse().getStatusCode()).isNull();
+	}
+
+	@Test
+	void anonymousRequestsOnAsyncOnlyRoutesAreUnauthorized() {
+		MockServerWebExchange exchange = exchange(null);
+
+		factory.apply(new AsyncJobGatewayFilterFactory.Config().setAlways(true))
+			.filter(exchange, ex -> Mono.error(new AssertionError("must not route")))
+			.block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+		assertThat(upstreamCalls).hasValue(0);
+	}
+
+	@Test
+	void backgroundCallCarriesTheRoutingHeaders() {
+		AsyncJob job = submit(new AsyncJobGatewayFilterFactory.Config(), token("alice"));
+
+		assertThat(job.state()).isEqualTo(AsyncJob.State.COMPLETED);
+		assertThat(job.owner()).isEqualTo("alice");
+		assertThat(upstreamHeaders.get().getFirst("X-Forwarded-For")).isEqualTo("203.0.113.7");
+		assertThat(upstreamHeaders.get().getFirst(HttpHeaders.AUTHORIZATION)).isEqualTo("Bearer " + token("alice"));
+		assertThat(upstreamHeaders.get().containsKey("Prefer")).isFalse();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void openCircuitBreakerFailsTheJobWithoutCallingUpstream() {
+		ReactiveCircuitBreakerFactory<?, ?> breakerFactory = mock(ReactiveCircuitBreakerFactory.class);
+		ReactiveCircuitBreaker breaker = mock(ReactiveCircuitBreaker.class);
+		CallNotPermittedException open = CallNotPermittedException
+			.createCallNotPermittedException(CircuitBreaker.ofDefaults("mlsCircuitBreaker"));
+		when(circuitBreakers.getIfAvailable()).thenReturn(breakerFactory);
+		when(breakerFactory.create("mlsCircuitBreaker")).thenReturn(breaker);
+		when(breaker.run(any(Mono.class), any(Function.class)))
+			.thenAnswer(invocation -> invocation.<Function<Throwable, Mono<?>>>getArgument(1).apply(open));
+
+		AsyncJob job = submit(new AsyncJobGatewayFilterFactory.Config().setCircuitBreaker("mlsCircuitBreaker"),
+				token("alice"));
+
+		assertThat(job.state()).isEqualTo(AsyncJob.State.FAILED);
+		assertThat(job.error()).isEqualTo("Upstream circuit breaker is open");
+		assertThat(upstreamCalls).hasValue(0);
+	}
+
+	@Test
+	void jobsAreOnlyReadableByTheirSubject() {
+		AsyncJob job = submit(new AsyncJobGatewayFilterFactory.Config(), token("alice"));
+		AsyncJobController controller = new AsyncJobController(store, subjectExtractor, objectMapper);
+
+		assertThat(controller.status(job.id(), exchange(token("alice"))).block(Duration.ofSeconds(5)).jobId())
+			.isEqualTo(job.id());
+		for (String other : new String[] { token("mallory"), null }) {
+			assertThatThrownBy(() -> controller.status(job.id(), exchange(other)).block(Duration.ofSeconds(5)))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+		}
+	}
+
+	private AsyncJob submit(AsyncJobGatewayFilterFactory.Config config, String token) {
+		GatewayFilter filter = factory.apply(config);
+		MockServerWebExchange exchange = exchange(token);
+
+		filter.filter(exchange, ex -> Mono.error(new AssertionError("must not route"))).block(Duration.ofSeconds(5));
+
+		assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+		String location = exchange.getResponse().getHeaders().getLocation().getPath();
+		AsyncJob job = store.get(location.substring(location.lastIndexOf('/') + 1));
+		job.events().blockLast(Duration.ofSeconds(5));
+		return job;
+	}
+
+	private static MockServerWebExchange exchange(String token) {
+		MockServerHttpRequest.BodyBuilder request = MockServerHttpRequest.post("http://gateway/api/mls/predict")
+			.header("Prefer", "respond-async")
+			.remoteAddress(new InetSocketAddress("203.0.113.7", 50000));
+		if (token != null) {
+			request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+		}
+		MockServerWebExchange exchange = MockServerWebExchange.from(request.body("{}"));
+		exchange.getAttributes()
+			.put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, URI.create("http://mlsservice:9004/predict"));
+		return exchange;
+	}
+
+	private static String token(String subject) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String header = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8));
+		String claims = encoder.encodeToString(("{\"sub\":\"" + subject + "\",\"exp\":"
+				+ (System.currentTimeMillis() / 1000 + 600) + "}").getBytes(StandardCharsets.UTF_8));
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+			byte[] signature = mac.doFinal((header + "." + claims).getBytes(StandardCharsets.US_ASCII));
+			return header + "." + claims + "." + encoder.encodeToString(signature);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
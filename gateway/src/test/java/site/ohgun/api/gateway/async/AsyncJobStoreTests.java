@@ -0,0 +1,97 @@
+package site.ohgun.api.gateway.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Memory and disk budgets of stored job results.
+ */
+class AsyncJobStoreTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@TempDir
+	private Path spillDirectory;
+
+	private AsyncJobStore store;
+
+	@BeforeEach
+	void setUp() {
+		AsyncJobProperties properties = new AsyncJobProperties();
+		properties.setSpillDirectory(spillDirectory);
+		properties.setMemoryLimit(DataSize.ofBytes(4));
+		properties.setDiskLimit(DataSize.ofBytes(10));
+		store = new AsyncJobStore(properties, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		store.destroy();
+	}
+
+	@Test
+	void keepsSmallResultsInMemoryAndSpillsTheRest() {
+		AsyncJobResult inline = storeResult(job("a"), 4);
+		AsyncJobResult spilled = storeResult(job("b"), 8);
+
+		assertThat(inline.spilled()).isFalse();
+		assertThat(spilled.spilled()).isTrue();
+		assertThat(spilled.file()).exists();
+		assertThat(bytes("disk")).isEqualTo(8);
+	}
+
+	@Test
+	void failsResultsBeyondTheDiskLimitUntilSpaceIsReleased() {
+		AsyncJob first = job("a");
+		first.complete(storeResult(first, 8));
+
+		assertThatThrownBy(() -> storeResult(job("b"), 8))
+			.isInstanceOf(AsyncJobStore.ResultStorageFullException.class);
+		assertThat(bytes("disk")).isEqualTo(8);
+
+		Path file = first.result().file();
+		store.remove(first.id());
+
+		assertThat(file).doesNotExist();
+		assertThat(bytes("disk")).isZero();
+		assertThat(storeResult(job("c"), 8).spilled()).isTrue();
+	}
+
+	@Test
+	void releasesTheReservationWhenTheSpillWriteFails() throws Exception {
+		// The job id becomes the file name; a directory in its place makes the write fail
+		Files.createDirectory(spillDirectory.resolve("blocked.body"));
+
+		assertThatThrownBy(() -> storeResult(job("blocked"), 8)).isNotNull();
+		assertThat(bytes("disk")).isZero();
+	}
+
+	private AsyncJobResult storeResult(AsyncJob job, int size) {
+		assertThat(store.register(job)).isTrue();
+		return store.storeResult(job, 200, null, new byte[size]).block(Duration.ofSeconds(5));
+	}
+
+	private double bytes(String storage) {
+		return meterRegistry.get("gateway.async.results.bytes").tag("storage", storage).gauge().value();
+	}
+
+	private static AsyncJob job(String id) {
+		return new AsyncJob(id, "route", "alice", null, HttpMethod.POST, URI.create("http://upstream/predict"),
+				new HttpHeaders(), new byte[0]);
+	}
+
+}
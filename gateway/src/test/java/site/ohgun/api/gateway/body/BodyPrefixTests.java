@@ -0,0 +1,91 @@
+package site.ohgun.api.gateway.body;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+
+/**
+ * Runs with Netty leak detection at PARANOID and checks that every pooled buffer of the
+ * body is released, whether the body is forwarded or dropped after peeking.
+ */
+class BodyPrefixTests {
+
+	private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+	private final List<NettyDataBuffer> allocated = new CopyOnWriteArrayList<>();
+
+	@BeforeAll
+	static void enableLeakDetection() {
+		ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+	}
+
+	@AfterEach
+	void assertNoLeaks() {
+		assertThat(allocated).allSatisfy(buffer -> assertThat(buffer.getNativeBuffer().refCnt()).isZero());
+	}
+
+	@Test
+	void forwardsCompleteBodyAfterPeekingPrefix() {
+		MockServerWebExchange exchange = exchange(chunks("0123456789", 5));
+
+		BodyPrefix.PeekedBody peeked = BodyPrefix.peek(exchange, 16).block();
+
+		assertThat(new String(peeked.prefix(), StandardCharsets.UTF_8)).isEqualTo("0123456789012345");
+		DataBuffer body = DataBufferUtils.join(peeked.exchange().getRequest().getBody()).block();
+		assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("0123456789".repeat(5));
+		DataBufferUtils.release(body);
+	}
+
+	@Test
+	void peeksWholeBodyWhenShorterThanLimit() {
+		MockServerWebExchange exchange = exchange(chunks("abc", 1));
+
+		BodyPrefix.PeekedBody peeked = BodyPrefix.peek(exchange, 1024).block();
+
+		assertThat(new String(peeked.prefix(), StandardCharsets.UTF_8)).isEqualTo("abc");
+		DataBuffer body = DataBufferUtils.join(peeked.exchange().getRequest().getBody()).block();
+		assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("abc");
+		DataBufferUtils.release(body);
+	}
+
+	@Test
+	void releasesHeldBuffersWhenRejected() {
+		MockServerWebExchange exchange = exchange(chunks("0123456789", 1000));
+
+		BodyPrefix.PeekedBody peeked = BodyPrefix.peek(exchange, 25).block();
+		peeked.release();
+
+		assertThat(peeked.prefix()).hasSize(25);
+		assertThat(allocated).hasSizeLessThan(10);
+	}
+
+	private MockServerWebExchange exchange(Flux<DataBuffer> body) {
+		return MockServerWebExchange.from(MockServerHttpRequest.post("/upload").body(body));
+	}
+
+	private Flux<DataBuffer> chunks(String chunk, int count) {
+		byte[] bytes = chunk.getBytes(StandardCharsets.UTF_8);
+		return Flux.range(0, count).map(i -> {
+			NettyDataBuffer buffer = bufferFactory.allocateBuffer(bytes.length);
+			buffer.write(bytes);
+			allocated.add(buffer);
+			return buffer;
+		});
+	}
+
+}
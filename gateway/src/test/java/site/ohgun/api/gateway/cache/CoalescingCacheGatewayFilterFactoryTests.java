@@ -0,0 +1,120 @@
+package site.ohgun.api.gateway.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+class CoalescingCacheGatewayFilterFactoryTests {
+
+	private final CoalescingCacheGatewayFilterFactory.Config config = new CoalescingCacheGatewayFilterFactory.Config()
+		.setMaxTtl(Duration.ofSeconds(30));
+
+	@Test
+	void keySeparatesUsersByAuthorization() {
+		String alice = key(MockServerHttpRequest.get("/api/common/items?page=1").header(HttpHeaders.AUTHORIZATION,
+				"Bearer alice"));
+		String bob = key(MockServerHttpRequest.get("/api/common/items?page=1").header(HttpHeaders.AUTHORIZATION,
+				"Bearer bob"));
+		String anonymous = key(MockServerHttpRequest.get("/api/common/items?page=1"));
+
+		assertThat(alice).isNotEqualTo(bob).isNotEqualTo(anonymous).startsWith("/api/common/items?page=1|");
+		assertThat(alice).isEqualTo(key(MockServerHttpRequest.get("/api/common/items?page=1")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer alice")));
+	}
+
+	@Test
+	void keySeparatesUsersByCookie() {
+		String first = key(MockServerHttpRequest.get("/items").header(HttpHeaders.COOKIE, "session=a"));
+		String second = key(MockServerHttpRequest.get("/items").header(HttpHeaders.COOKIE, "session=b"));
+
+		assertThat(first).isNotEqualTo(second).isNotEqualTo(key(MockServerHttpRequest.get("/items")));
+	}
+
+	@Test
+	void keyDoesNotMixAuthorizationAndCookie() {
+		String authorization = key(MockServerHttpRequest.get("/items").header(HttpHeaders.AUTHORIZATION, "x"));
+		String cookie = key(MockServerHttpRequest.get("/items").header(HttpHeaders.COOKIE, "x"));
+
+		assertThat(authorization).isNotEqualTo(cookie);
+	}
+
+	@Test
+	void keyIgnoresCredentialsWhenNotVarying() {
+		config.setVaryOnAuthorization(false);
+
+		assertThat(key(MockServerHttpRequest.get("/items").header(HttpHeaders.AUTHORIZATION, "Bearer alice")))
+			.isEqualTo(key(MockServerHttpRequest.get("/items")));
+	}
+
+	@Test
+	void keyIncludesNegotiationHeaders() {
+		assertThat(key(MockServerHttpRequest.get("/items").header(HttpHeaders.ACCEPT, "application/json")))
+			.isNotEqualTo(key(MockServerHttpRequest.get("/items").header(HttpHeaders.ACCEPT, "text/csv")));
+	}
+
+	@Test
+	void responseWithoutCacheControlIsOnlyShared() {
+		HttpHeaders headers = new HttpHeaders();
+
+		assertThat(CoalescingCacheGatewayFilterFactory.ttlNanos(headers, config)).isZero();
+		assertThat(CoalescingCacheGatewayFilterFactory.storable(headers)).isFalse();
+	}
+
+	@Test
+	void sharedMaxAgeWinsAndIsCapped() {
+		assertThat(ttl("max-age=5")).isEqualTo(Duration.ofSeconds(5).toNanos());
+		assertThat(ttl("public, max-age=5, s-maxage=10")).isEqualTo(Duration.ofSeconds(10).toNanos());
+		assertThat(ttl("max-age=3600")).isEqualTo(Duration.ofSeconds(30).toNanos());
+		assertThat(ttl("public")).isZero();
+		assertThat(ttl("max-age=oops")).isZero();
+	}
+
+	@Test
+	void privateNoStoreCookiesAndVaryStarAreNeverShared() {
+		assertThat(ttl("private, max-age=60")).isEqualTo(-1);
+		assertThat(ttl("no-store")).isEqualTo(-1);
+
+		HttpHeaders cookie = cacheControl("max-age=60");
+		cookie.add(HttpHeaders.SET_COOKIE, "session=a");
+		assertThat(CoalescingCacheGatewayFilterFactory.ttlNanos(cookie, config)).isEqualTo(-1);
+
+		HttpHeaders varyAll = cacheControl("max-age=60");
+		varyAll.add(HttpHeaders.VARY, "Accept, *");
+		assertThat(CoalescingCacheGatewayFilterFactory.ttlNanos(varyAll, config)).isEqualTo(-1);
+	}
+
+	@Test
+	void noCacheIsStoredForRevalidationOnly() {
+		assertThat(ttl("no-cache")).isZero();
+		assertThat(CoalescingCacheGatewayFilterFactory.storable(cacheControl("no-cache"))).isTrue();
+		assertThat(CoalescingCacheGatewayFilterFactory.storable(cacheControl("must-revalidate"))).isFalse();
+	}
+
+	@Test
+	void etagMatchesIgnoresWeaknessAndLists() {
+		assertThat(CoalescingCacheGatewayFilterFactory.etagMatches("\"a\"", "\"a\"")).isTrue();
+		assertThat(CoalescingCacheGatewayFilterFactory.etagMatches("W/\"a\"", "\"a\"")).isTrue();
+		assertThat(CoalescingCacheGatewayFilterFactory.etagMatches("\"b\", W/\"a\"", "W/\"a\"")).isTrue();
+		assertThat(CoalescingCacheGatewayFilterFactory.etagMatches(" * ", "\"a\"")).isTrue();
+		assertThat(CoalescingCacheGatewayFilterFactory.etagMatches("\"b\"", "\"a\"")).isFalse();
+	}
+
+	private String key(MockServerHttpRequest.BaseBuilder<?> request) {
+		return CoalescingCacheGatewayFilterFactory.key(request.build(), config);
+	}
+
+	private long ttl(String cacheControl) {
+		return CoalescingCacheGatewayFilterFactory.ttlNanos(cacheControl(cacheControl), config);
+	}
+
+	private static HttpHeaders cacheControl(String value) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setCacheControl(value);
+		return headers;
+	}
+
+}
@@ -0,0 +1,77 @@
+package site.ohgun.api.gateway.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class ResponseCacheStoreTests {
+
+	@Test
+	void evictsLeastRecentlyUsedWhenOverBudget() {
+		ResponseCacheStore store = new ResponseCacheStore(3 * entry(null, 100).weight());
+		store.put("a", entry(null, 100));
+		store.put("b", entry(null, 100));
+		store.put("c", entry(null, 100));
+
+		store.get("a", 0);
+		store.put("d", entry(null, 100));
+
+		assertThat(store.get("a", 0)).isNotNull();
+		assertThat(store.get("b", 0)).isNull();
+		assertThat(store.get("c", 0)).isNotNull();
+		assertThat(store.get("d", 0)).isNotNull();
+		assertThat(store.bytes()).isEqualTo(3 * entry(null, 100).weight());
+	}
+
+	@Test
+	void replacingEntryKeepsByteCount() {
+		ResponseCacheStore store = new ResponseCacheStore(10_000);
+		store.put("a", entry(null, 100));
+		store.put("a", entry(null, 50));
+
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.bytes()).isEqualTo(entry(null, 50).weight());
+	}
+
+	@Test
+	void skipsEntriesLargerThanStore() {
+		ResponseCacheStore store = new ResponseCacheStore(100);
+		store.put("a", entry(null, 1000));
+
+		assertThat(store.size()).isZero();
+	}
+
+	@Test
+	void dropsStaleEntriesWithoutEtagButKeepsRevalidatable() {
+		ResponseCacheStore store = new ResponseCacheStore(10_000);
+		store.put("plain", entry(null, 10));
+		store.put("tagged", entry("\"v1\"", 10));
+
+		assertThat(store.get("plain", 2_000)).isNull();
+		assertThat(store.get("tagged", 2_000)).isNotNull();
+		assertThat(store.size()).isEqualTo(1);
+	}
+
+	@Test
+	void varyValuesSelectRepresentation() {
+		CachedResponse response = new CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[0], null, 0, 1000,
+				Map.of("x-tenant", "a"));
+		HttpHeaders tenantA = new HttpHeaders();
+		tenantA.add("X-Tenant", "a");
+		HttpHeaders tenantB = new HttpHeaders();
+		tenantB.add("X-Tenant", "b");
+
+		assertThat(response.matches(tenantA)).isTrue();
+		assertThat(response.matches(tenantB)).isFalse();
+		assertThat(response.matches(new HttpHeaders())).isFalse();
+	}
+
+	private static CachedResponse entry(String etag, int size) {
+		return new CachedResponse(HttpStatus.OK, new HttpHeaders(), new byte[size], etag, 0, 1_000, Map.of());
+	}
+
+}
@@ -0,0 +1,62 @@
+package site.ohgun.api.gateway.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+class AdaptiveConcurrencyGatewayFilterFactoryTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final AdaptiveConcurrencyGatewayFilterFactory factory = new AdaptiveConcurrencyGatewayFilterFactory(
+			meterRegistry);
+
+	@Test
+	void keepsTheLearnedLimitWhileSettingsAreUnchanged() {
+		GatewayFilter filter = factory.apply(config(1));
+		MockServerWebExchange inner = exchange();
+
+		filter.filter(exchange(), ex -> filter.filter(inner, next -> Mono.empty())).block(Duration.ofSeconds(5));
+		factory.apply(config(1));
+
+		assertThat(inner.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(meterRegistry.get("gateway.concurrency.rejected").functionCounter().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(1);
+	}
+
+	@Test
+	void rebuildsTheLimitWhenSettingsChange() {
+		GatewayFilter filter = factory.apply(config(1));
+		filter.filter(exchange(), ex -> filter.filter(exchange(), next -> Mono.empty())).block(Duration.ofSeconds(5));
+
+		GatewayFilter rebuilt = factory.apply(config(2));
+		MockServerWebExchange inner = exchange();
+		rebuilt.filter(exchange(), ex -> rebuilt.filter(inner, next -> Mono.empty())).block(Duration.ofSeconds(5));
+
+		assertThat(inner.getResponse().getStatusCode()).isNull();
+		assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(2);
+		assertThat(meterRegistry.get("gateway.concurrency.rejected").functionCounter().count()).isEqualTo(1);
+	}
+
+	private static AdaptiveConcurrencyGatewayFilterFactory.Config config(int limit) {
+		AdaptiveConcurrencyGatewayFilterFactory.Config config = new AdaptiveConcurrencyGatewayFilterFactory.Config()
+			.setInitialLimit(limit)
+			.setMinLimit(limit)
+			.setMaxLimit(limit);
+		config.setRouteId("test");
+		return config;
+	}
+
+	private static MockServerWebExchange exchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/api/test"));
+	}
+
+}
@@ -0,0 +1,97 @@
+package site.ohgun.api.gateway.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class GradientLimitTests {
+
+	@Test
+	void shedsCallsAboveTheLimit() {
+		GradientLimit limit = new GradientLimit(2, 1, 10, 1.5, 0.2);
+
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.tryAcquire()).isFalse();
+		assertThat(limit.inflight()).isEqualTo(2);
+		assertThat(limit.rejected()).isEqualTo(1);
+
+		limit.onIgnored();
+		assertThat(limit.tryAcquire()).isTrue();
+		assertThat(limit.limit()).isEqualTo(2);
+	}
+
+	@Test
+	void growsWhileLatencyIsSteadyAndTheLimitIsUsed() {
+		GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+		hold(limit, 15);
+
+		sample(limit, 10, 20);
+
+		assertThat(limit.limit()).isGreaterThan(20);
+	}
+
+	@Test
+	void doesNotGrowWhileMostlyIdle() {
+		GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+
+		sample(limit, 10, 50);
+
+		assertThat(limit.limit()).isEqualTo(20);
+	}
+
+	@Test
+	void shrinksWhenRecentLatencyRisesAboveTheBaseline() {
+		GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+		hold(limit, 15);
+		sample(limit, 10, 10);
+		int before = limit.limit();
+
+		sample(limit, 100, 5);
+
+		assertThat(limit.limit()).isLessThan(before);
+	}
+
+	@Test
+	void staysWithinConfiguredBounds() {
+		GradientLimit limit = new GradientLimit(20, 4, 24, 1.5, 0.2);
+		hold(limit, 15);
+
+		sample(limit, 10, 200);
+		assertThat(limit.limit()).isEqualTo(24);
+
+		GradientLimit failing = new GradientLimit(20, 4, 24, 1.5, 0.2);
+		for (int i = 0; i < 50; i++) {
+			assertThat(failing.tryAcquire()).isTrue();
+			failing.onDropped();
+		}
+		assertThat(failing.limit()).isEqualTo(4);
+	}
+
+	@Test
+	void failedCallsCutTheLimitMultiplicatively() {
+		GradientLimit limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+
+		limit.tryAcquire();
+		limit.onDropped();
+
+		assertThat(limit.limit()).isEqualTo(18);
+		assertThat(limit.inflight()).isZero();
+	}
+
+	private static void hold(GradientLimit limit, int calls) {
+		for (int i = 0; i < calls; i++) {
+			assertThat(limit.tryAcquire()).isTrue();
+		}
+	}
+
+	private static void sample(GradientLimit limit, long rttMillis, int samples) {
+		for (int i = 0; i < samples; i++) {
+			assertThat(limit.tryAcquire()).isTrue();
+			limit.onSuccess(TimeUnit.MILLISECONDS.toNanos(rttMillis));
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+package site.ohgun.api.gateway.docs;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+class ApiDocsCacheTests {
+
+	private static final String ML = """
+			{"openapi":"3.0.1","paths":{"/titanic/predict":{},"/seoul/predict":{}},
+			 "components":{"schemas":{"Prediction":{"type":"object"}}},"tags":[{"name":"ml"}]}""";
+
+	private static final String USER = """
+			{"openapi":"3.0.1","paths":{"/users":{}},
+			 "components":{"schemas":{"Prediction":{"type":"string"},"User":{"type":"object"}}},
+			 "tags":[{"name":"ml"},{"name":"user"}]}""";
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void rejectsDocumentsThatAreNotOpenApi() {
+		ApiDocsCache cache = cache(Map.of("http://ml/openapi.json", "{\"paths\":{}}"),
+				source("/api-docs/ml", "http://ml/openapi.json", "/api"));
+
+		assertThatThrownBy(() -> cache.get("/api-docs/ml").block(Duration.ofSeconds(5)))
+			.hasMessageContaining("not an OpenAPI document");
+		assertThat(cache.isStale("/api-docs/ml")).isTrue();
+		assertThat(meterRegistry.get("gateway.docs.refresh").tag("outcome", "failed").counter().count())
+			.isEqualTo(1);
+	}
+
+	@Test
+	void rejectsDocumentsThatAreNotJson() {
+		ApiDocsCache cache = cache(Map.of("http://ml/openapi.json", "<html>"),
+				source("/api-docs/ml", "http://ml/openapi.json", "/api"));
+
+		assertThatThrownBy(() -> cache.get("/api-docs/ml").block(Duration.ofSeconds(5)))
+			.hasMessageContaining("not valid JSON");
+	}
+
+	@Test
+	void servesValidDocumentsWithStrongEtag() {
+		ApiDocsCache cache = cache(Map.of("http://ml/openapi.json", ML),
+				source("/api-docs/ml", "http://ml/openapi.json", "/api"));
+
+		ApiDocument document = cache.get("/api-docs/ml").block(Duration.ofSeconds(5));
+
+		assertThat(document.etag()).startsWith("\"").endsWith("\"");
+		assertThat(cache.isStale("/api-docs/ml")).isFalse();
+		assertThat(cache.get("/api-docs/unknown").block(Duration.ofSeconds(5))).isNull();
+	}
+
+	@Test
+	void aggregateAppliesEachPrefixOfASharedUpstream() throws Exception {
+		ApiDocsCache cache = cache(Map.of("http://ml/openapi.json", ML),
+				source("/api-docs/titanic", "http://ml/openapi.json", "/api"),
+				source("/api-docs/ml/seoul", "http://ml/openapi.json", "/api/ml"),
+				source("/api-docs/ml/again", "http://ml/openapi.json", "/api/ml"));
+
+		JsonNode paths = aggregated(cache).path("paths");
+
+		assertThat(paths.has("/api/titanic/predict")).isTrue();
+		assertThat(paths.has("/api/ml/seoul/predict")).isTrue();
+		assertThat(paths.size()).isEqualTo(4);
+	}
+
+	@Test
+	void aggregateKeepsFirstDefinitionOfComponentsAndTags() throws Exception {
+		ApiDocsCache cache = cache(Map.of("http://ml/openapi.json", ML, "http://user/v3/api-docs", USER),
+				source("/api-docs/ml", "http://ml/openapi.json", "/api"),
+				source("/api-docs/user", "http://user/v3/api-docs", "/api"));
+
+		JsonNode tree = aggregated(cache);
+
+		assertThat(tree.at("/components/schemas/Prediction/type").asText()).isEqualTo("object");
+		assertThat(tree.at("/components/schemas/User/type").asText()).isEqualTo("object");
+		assertThat(tree.path("tags").findValuesAsText("name")).containsExactly("ml", "user");
+		assertThat(tree.path("paths").has("/api/users")).isTrue();
+	}
+
+	@Test
+	void aggregateVersionAndEtagOnlyChangeWithSourceContent() throws Exception {
+		ApiDocsProperties.Source ml = source("/api-docs/ml", "http://ml/openapi.json", "/api");
+		ApiDocsCache first = cache(Map.of("http://ml/openapi.json", ML), ml);
+		ApiDocsCache second = cache(Map.of("http://ml/openapi.json", ML), ml);
+		ApiDocsCache changed = cache(Map.of("http://ml/openapi.json", USER), ml);
+
+		ApiDocument a = first.get("/api-docs/all").block(Duration.ofSeconds(5));
+		ApiDocument b = second.get("/api-docs/all").block(Duration.ofSeconds(5));
+		ApiDocument c = changed.get("/api-docs/all").block(Duration.ofSeconds(5));
+
+		assertThat(b.etag()).isEqualTo(a.etag());
+		assertThat(c.etag()).isNotEqualTo(a.etag());
+		assertThat(objectMapper.readTree(a.json()).at("/info/version").asText())
+			.isNotBlank()
+			.isEqualTo(objectMapper.readTree(b.json()).at("/info/version").asText())
+			.isNotEqualTo(objectMapper.readTree(c.json()).at("/info/version").asText());
+	}
+
+	@Test
+	void doesNotRefreshUntilStarted() {
+		ApiDocsCache cache = cache(Map.of("http://ml/openapi.json", ML),
+				source("/api-docs/ml", "http://ml/openapi.json", "/api"));
+
+		assertThat(cache.isRunning()).isFalse();
+		cache.start();
+		assertThat(cache.isRunning()).isTrue();
+		cache.stop();
+		assertThat(cache.isRunning()).isFalse();
+	}
+
+	private JsonNode aggregated(ApiDocsCache cache) throws Exception {
+		return objectMapper.readTree(cache.get("/api-docs/all").block(Duration.ofSeconds(5)).json());
+	}
+
+	private ApiDocsCache cache(Map<String, String> documents, ApiDocsProperties.Source... sources) {
+		ApiDocsProperties properties = new ApiDocsProperties();
+		properties.setSources(List.of(sources));
+		WebClient webClient = WebClient.builder().exchangeFunction(request -> {
+			String body = documents.get(request.url().toString());
+			return Mono.just(body != null
+					? ClientResponse.create(HttpStatus.OK)
+						.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+						.body(body)
+						.build()
+					: ClientResponse.create(HttpStatus.NOT_FOUND).build());
+		}).build();
+		return new ApiDocsCache(properties, webClient, objectMapper, meterRegistry);
+	}
+
+	private static ApiDocsProperties.Source source(String path, String uri, String pathPrefix) {
+		ApiDocsProperties.Source source = new ApiDocsProperties.Source();
+		source.setPath(path);
+		source.setUri(uri);
+		source.setPathPrefix(pathPrefix);
+		return source;
+	}
+
+}
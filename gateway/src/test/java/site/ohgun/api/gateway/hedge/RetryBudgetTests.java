@@ -0,0 +1,80 @@
+package site.ohgun.api.gateway.hedge;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTests {
+
+	@Test
+	void startsWithFullReserve() {
+		RetryBudget budget = new RetryBudget(0.1, 3);
+
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isTrue();
+		assertThat(budget.tryWithdraw()).isFalse();
+	}
+
+	@Test
+	void primariesEarnTheConfiguredRatio() {
+		RetryBudget budget = new RetryBudget(0.1, 1);
+		budget.tryWithdraw();
+
+		for (int i = 0; i < 9; i++) {
+			budget.onPrimary();
+		}
+		assertThat(budget.tryWithdraw()).isFalse();
+
+		budget.onPrimary();
+		assertThat(budget.tokens()).isEqualTo(1.0);
+		assertThat(budget.tryWithdraw()).isTrue();
+	}
+
+	@Test
+	void balanceIsCappedAtMaxTokens() {
+		RetryBudget budget = new RetryBudget(0.5, 2);
+
+		for (int i = 0; i < 100; i++) {
+			budget.onPrimary();
+		}
+
+		assertThat(budget.tokens()).isEqualTo(2.0);
+	}
+
+	@Test
+	void concurrentWithdrawalsNeverOverspend() throws InterruptedException {
+		RetryBudget budget = new RetryBudget(0, 100);
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < 8; i++) {
+			executor.execute(() -> {
+				try {
+					start.await();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				for (int j = 0; j < 1000; j++) {
+					if (budget.tryWithdraw()) {
+						granted.incrementAndGet();
+					}
+				}
+			});
+		}
+		start.countDown();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(granted).hasValue(100);
+		assertThat(budget.tokens()).isZero();
+	}
+
+}
@@ -0,0 +1,90 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+class ClientAddressResolverTests {
+
+	private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.12.0/24", " 2001:db8::/32 "));
+
+	@Test
+	void parsesCidrsAndSingleAddresses() {
+		ClientAddressResolver.Cidr ingress = ClientAddressResolver.Cidr.parse("10.0.12.0/24");
+		ClientAddressResolver.Cidr odd = ClientAddressResolver.Cidr.parse("172.16.0.0/12");
+		ClientAddressResolver.Cidr single = ClientAddressResolver.Cidr.parse("192.0.2.10");
+		ClientAddressResolver.Cidr v6 = ClientAddressResolver.Cidr.parse("2001:db8::/32");
+
+		assertThat(ingress.contains(ClientAddressResolver.parseLiteral("10.0.12.255"))).isTrue();
+		assertThat(ingress.contains(ClientAddressResolver.parseLiteral("10.0.13.1"))).isFalse();
+		assertThat(odd.contains(ClientAddressResolver.parseLiteral("172.31.255.1"))).isTrue();
+		assertThat(odd.contains(ClientAddressResolver.parseLiteral("172.32.0.1"))).isFalse();
+		assertThat(single.prefixLength()).isEqualTo(32);
+		assertThat(single.contains(ClientAddressResolver.parseLiteral("192.0.2.11"))).isFalse();
+		assertThat(v6.contains(ClientAddressResolver.parseLiteral("2001:db8:1::1"))).isTrue();
+		assertThat(v6.contains(ClientAddressResolver.parseLiteral("10.0.12.1"))).isFalse();
+		assertThat(ClientAddressResolver.Cidr.parse("10.0.0.0/40").prefixLength()).isEqualTo(32);
+	}
+
+	@Test
+	void rejectsHostNamesAndMalformedLiterals() {
+		assertThat(ClientAddressResolver.Cidr.parse("ingress.internal/24")).isNull();
+		assertThat(ClientAddressResolver.Cidr.parse("10.0.0.0/x")).isNull();
+		assertThat(ClientAddressResolver.Cidr.parse("10.0.0.0/-1")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("localhost")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("10.0.0")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("10.0.0.1234")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("[::1]")).isNotNull();
+		assertThat(ClientAddressResolver.parseLiteral("::ffff:10.0.0.1")).isNotNull();
+		assertThat(ClientAddressResolver.parseLiteral("evil.example.com:80")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("[ingress.internal]:8080")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("fe80::1%")).isNull();
+		assertThat(ClientAddressResolver.parseLiteral("fe80::1%eth0/x")).isNull();
+	}
+
+	@Test
+	void ignoresForwardedForFromUntrustedPeers() {
+		assertThat(resolve("198.51.100.7", "203.0.113.9")).isEqualTo("198.51.100.7");
+		assertThat(resolve("192.168.1.20", "203.0.113.9")).isEqualTo("192.168.1.20");
+	}
+
+	@Test
+	void walksForwardedForFromTheRight() {
+		assertThat(resolve("10.0.12.5", "203.0.113.9")).isEqualTo("203.0.113.9");
+		// The left-most entry is client controlled; the first untrusted hop from the right wins
+		assertThat(resolve("10.0.12.5", "1.2.3.4, 203.0.113.9, 10.0.12.7")).isEqualTo("203.0.113.9");
+		assertThat(resolve("10.0.12.5", "1.2.3.4", "203.0.113.9")).isEqualTo("203.0.113.9");
+	}
+
+	@Test
+	void stopsAtTheLastVerifiedHop() {
+		assertThat(resolve("10.0.12.5", "203.0.113.9, not-an-ip")).isEqualTo("10.0.12.5");
+		assertThat(resolve("10.0.12.5", "10.0.12.6, 10.0.12.7")).isEqualTo("10.0.12.6");
+		assertThat(resolve("10.0.12.5")).isEqualTo("10.0.12.5");
+	}
+
+	@Test
+	void trustsNothingByDefault() {
+		ClientAddressResolver untrusting = new ClientAddressResolver(List.of());
+
+		assertThat(untrusting.resolve(request("10.0.12.5", "203.0.113.9"))).isEqualTo("10.0.12.5");
+	}
+
+	private String resolve(String peer, String... forwardedFor) {
+		return resolver.resolve(request(peer, forwardedFor));
+	}
+
+	private static MockServerHttpRequest request(String peer, String... forwardedFor) {
+		MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/api/user")
+			.remoteAddress(new InetSocketAddress(ClientAddressResolver.parseLiteral(peer), 40000));
+		if (forwardedFor.length > 0) {
+			builder.header("X-Forwarded-For", forwardedFor);
+		}
+		return builder.build();
+	}
+
+}
@@ -0,0 +1,156 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter.Response;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Runs the limiter against a stubbed lease script that grants {@code min(requested, left)}
+ * from a fixed pool of Redis tokens.
+ */
+class HierarchicalRateLimiterTests {
+
+	private static final String ROUTE = "route";
+
+	private final ReactiveStringRedisTemplate redisTemplate = mock(ReactiveStringRedisTemplate.class);
+
+	@SuppressWarnings("unchecked")
+	private final RedisScript<List<Long>> script = mock(RedisScript.class);
+
+	private final HierarchicalRateLimiterProperties properties = new HierarchicalRateLimiterProperties();
+
+	private final List<List<String>> leaseArgs = new CopyOnWriteArrayList<>();
+
+	private final AtomicLong redisTokens = new AtomicLong();
+
+	private HierarchicalRateLimiter limiter;
+
+	@AfterEach
+	void destroy() {
+		if (limiter != null) {
+			limiter.destroy();
+		}
+	}
+
+	@Test
+	void waitersWithoutTokensTakeOneLeaseSizedToTheirDemand() {
+		redisTokens.set(50);
+		Sinks.One<Boolean> firstLease = Sinks.one();
+		stubRedis(firstLease.asMono());
+		limiter = limiter(new HierarchicalRateLimiter.Config().setReplenishRate(4).setBurstCapacity(50));
+
+		List<Response> responses = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			limiter.isAllowed(ROUTE, "client").subscribe(responses::add);
+		}
+		assertThat(leaseArgs).hasSize(1);
+		firstLease.tryEmitValue(true);
+
+		assertThat(responses).hasSize(10).allMatch(Response::isAllowed);
+		assertThat(leaseArgs).hasSize(2);
+		assertThat(leaseArgs.get(0).get(2)).isEqualTo("1");
+		assertThat(Long.parseLong(leaseArgs.get(1).get(2))).isGreaterThanOrEqualTo(9);
+	}
+
+	@Test
+	void deniesOnceRedisRunsDry() {
+		redisTokens.set(3);
+		stubRedis(Mono.just(true));
+		limiter = limiter(new HierarchicalRateLimiter.Config().setReplenishRate(1).setBurstCapacity(3));
+
+		List<Boolean> allowed = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			allowed.add(limiter.isAllowed(ROUTE, "client").block().isAllowed());
+		}
+
+		assertThat(allowed).containsExactly(true, true, true, false, false);
+	}
+
+	@Test
+	void returnsUnusedTokensOfExpiredLease() throws InterruptedException {
+		redisTokens.set(20);
+		stubRedis(Mono.just(true));
+		properties.setLeaseTtl(Duration.ofMillis(20));
+		limiter = limiter(new HierarchicalRateLimiter.Config().setReplenishRate(10)
+			.setBurstCapacity(20)
+			.setLeaseSize(5));
+
+		assertThat(limiter.isAllowed(ROUTE, "client").block().isAllowed()).isTrue();
+		Thread.sleep(50);
+		assertThat(limiter.isAllowed(ROUTE, "client").block().isAllowed()).isTrue();
+
+		assertThat(leaseArgs.get(0).get(3)).isEqualTo("0");
+		assertThat(leaseArgs.get(leaseArgs.size() - 1).get(3)).isEqualTo("4");
+	}
+
+	@Test
+	void allowsWhenRedisFailsAndFailOpen() {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+			.thenReturn(Flux.error(new IllegalStateException("down")));
+		limiter = limiter(new HierarchicalRateLimiter.Config());
+
+		assertThat(limiter.isAllowed(ROUTE, "client").block().isAllowed()).isTrue();
+	}
+
+	@Test
+	void deniesWhenRedisFailsAndFailClosed() {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+			.thenReturn(Flux.error(new IllegalStateException("down")));
+		limiter = limiter(new HierarchicalRateLimiter.Config().setFailOpen(false));
+
+		assertThat(limiter.isAllowed(ROUTE, "client").block().isAllowed()).isFalse();
+	}
+
+	@Test
+	void timesOutSlowRedisAsFailure() {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.never());
+		properties.setRedisTimeout(Duration.ofMillis(20));
+		limiter = limiter(new HierarchicalRateLimiter.Config().setFailOpen(false));
+
+		assertThat(limiter.isAllowed(ROUTE, "client").block(Duration.ofSeconds(1)).isAllowed()).isFalse();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stubRedis(Mono<Boolean> gate) {
+		when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenAnswer(invocation -> {
+			List<String> args = invocation.getArgument(2);
+			boolean first = leaseArgs.isEmpty();
+			leaseArgs.add(args);
+			Mono<Boolean> ready = first ? gate : Mono.just(true);
+			return ready.map(ignored -> {
+				long returned = Long.parseLong(args.get(3));
+				long left = redisTokens.addAndGet(returned);
+				long granted = Math.min(Long.parseLong(args.get(2)), left);
+				redisTokens.addAndGet(-granted);
+				return List.of(granted, left - granted);
+			}).flux();
+		});
+	}
+
+	private HierarchicalRateLimiter limiter(HierarchicalRateLimiter.Config config) {
+		HierarchicalRateLimiter limiter = new HierarchicalRateLimiter(redisTemplate, script, null, properties,
+				new SimpleMeterRegistry(), ObservationRegistry.NOOP);
+		limiter.getConfig().put(ROUTE, config);
+		return limiter;
+	}
+
+}
@@ -0,0 +1,96 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+class JwtSubjectExtractorTests {
+
+	private static final byte[] SECRET = "rate-limit-test-secret-0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+	private static final String SECRET_BASE64 = Base64.getEncoder().encodeToString(SECRET);
+
+	private final JwtSubjectExtractor extractor = new JwtSubjectExtractor(SECRET_BASE64, true, new ObjectMapper());
+
+	@Test
+	void returnsSubjectOfValidToken() {
+		String token = sign(SECRET, "{\"sub\":\"42\",\"exp\":" + inSeconds(600) + "}");
+
+		assertThat(extractor.extract(token)).isEqualTo("42");
+		assertThat(extractor.extract(MockServerHttpRequest.get("/")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+			.build())).isEqualTo("42");
+	}
+
+	@Test
+	void rejectsTokensSignedWithAnotherKey() {
+		String forged = sign("another-secret".getBytes(StandardCharsets.UTF_8), "{\"sub\":\"42\"}");
+
+		assertThat(extractor.extract(forged)).isNull();
+	}
+
+	@Test
+	void rejectsTamperedClaims() {
+		String token = sign(SECRET, "{\"sub\":\"42\"}");
+		String[] parts = token.split("\\.");
+		String claims = Base64.getUrlEncoder().withoutPadding()
+			.encodeToString("{\"sub\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+
+		assertThat(extractor.extract(parts[0] + "." + claims + "." + parts[2])).isNull();
+	}
+
+	@Test
+	void rejectsExpiredAndSubjectlessTokens() {
+		assertThat(extractor.extract(sign(SECRET, "{\"sub\":\"42\",\"exp\":" + inSeconds(-60) + "}"))).isNull();
+		assertThat(extractor.extract(sign(SECRET, "{\"sub\":\"\"}"))).isNull();
+		assertThat(extractor.extract(sign(SECRET, "{\"name\":\"x\"}"))).isNull();
+	}
+
+	@Test
+	void rejectsMalformedTokensAndHeaders() {
+		assertThat(extractor.extract("not-a-token")).isNull();
+		assertThat(extractor.extract("a.b.c.d")).isNull();
+		assertThat(extractor.extract("a.%%%.c")).isNull();
+		assertThat(extractor.extract(MockServerHttpRequest.get("/")
+			.header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz")
+			.build())).isNull();
+		assertThat(extractor.extract(MockServerHttpRequest.get("/").build())).isNull();
+	}
+
+	@Test
+	void withoutSecretNoTokenIsTrusted() {
+		JwtSubjectExtractor unconfigured = new JwtSubjectExtractor("", true, new ObjectMapper());
+
+		assertThat(unconfigured.extract(MockServerHttpRequest.get("/")
+			.header(HttpHeaders.AUTHORIZATION, "Bearer " + sign(SECRET, "{\"sub\":\"42\"}"))
+			.build())).isNull();
+	}
+
+	private static long inSeconds(long seconds) {
+		return System.currentTimeMillis() / 1000 + seconds;
+	}
+
+	private static String sign(byte[] secret, String claims) {
+		Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+		String unsigned = encoder.encodeToString("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+				+ encoder.encodeToString(claims.getBytes(StandardCharsets.UTF_8));
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+			return unsigned + "." + encoder.encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII)));
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
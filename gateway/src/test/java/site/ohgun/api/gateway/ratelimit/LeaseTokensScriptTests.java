@@ -0,0 +1,80 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs {@code lease_tokens.lua} against a real Redis.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class LeaseTokensScriptTests {
+
+	@Container
+	static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+	private static LettuceConnectionFactory connectionFactory;
+
+	private static ReactiveStringRedisTemplate redisTemplate;
+
+	private final RedisScript<List<Long>> script = new RateLimiterConfiguration().hierarchicalRateLimiterLeaseScript();
+
+	@BeforeAll
+	static void connect() {
+		connectionFactory = new LettuceConnectionFactory(
+				new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+	}
+
+	@Test
+	void grantsUpToLeaseSizeFromFullBucket() {
+		assertThat(lease("full", 1, 10, 4, 0)).containsExactly(4L, 6L);
+	}
+
+	@Test
+	void grantsOnlyWhatIsLeft() {
+		lease("drain", 1, 10, 8, 0);
+
+		assertThat(lease("drain", 1, 10, 8, 0)).containsExactly(2L, 0L);
+		assertThat(lease("drain", 1, 10, 8, 0).get(0)).isZero();
+	}
+
+	@Test
+	void returnedTokensGoBackIntoBucket() {
+		lease("returned", 1, 10, 10, 0);
+
+		assertThat(lease("returned", 1, 10, 5, 3)).containsExactly(3L, 0L);
+	}
+
+	@Test
+	void returnedTokensNeverExceedCapacity() {
+		assertThat(lease("capped", 1, 10, 20, 50)).containsExactly(10L, 0L);
+	}
+
+	private List<Long> lease(String key, int rate, int capacity, long size, long returned) {
+		String prefix = "hierarchical_rate_limiter.{" + key + "}";
+		return redisTemplate.execute(script, List.of(prefix + ".tokens", prefix + ".timestamp"),
+				List.of(String.valueOf(rate), String.valueOf(capacity), String.valueOf(size), String.valueOf(returned)))
+			.next()
+			.block();
+	}
+
+}
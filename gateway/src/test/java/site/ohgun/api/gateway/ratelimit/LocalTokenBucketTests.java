@@ -0,0 +1,81 @@
+package site.ohgun.api.gateway.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class LocalTokenBucketTests {
+
+	private final LocalTokenBucket bucket = new LocalTokenBucket(0);
+
+	@Test
+	void servesTokensOfValidLeaseOnly() {
+		assertThat(bucket.tryAcquire(1, 0)).isFalse();
+
+		bucket.addLease(3, 0, 100);
+
+		assertThat(bucket.tryAcquire(2, 10)).isTrue();
+		assertThat(bucket.tryAcquire(2, 10)).isFalse();
+		assertThat(bucket.tryAcquire(1, 10)).isTrue();
+		assertThat(bucket.available(10)).isZero();
+	}
+
+	@Test
+	void expiredLeaseServesNothing() {
+		bucket.addLease(5, 0, 100);
+
+		assertThat(bucket.available(99)).isEqualTo(5);
+		assertThat(bucket.available(100)).isZero();
+		assertThat(bucket.tryAcquire(1, 100)).isFalse();
+	}
+
+	@Test
+	void leaseOnValidLeaseAddsTokens() {
+		bucket.addLease(2, 0, 100);
+		bucket.tryAcquire(1, 10);
+
+		bucket.addLease(3, 20, 120);
+
+		assertThat(bucket.available(110)).isEqualTo(4);
+	}
+
+	@Test
+	void drainsUnusedTokensOnlyOnceLeaseExpired() {
+		bucket.addLease(5, 0, 100);
+		bucket.tryAcquire(2, 10);
+
+		assertThat(bucket.drainExpired(50)).isZero();
+		assertThat(bucket.drainExpired(100)).isEqualTo(3);
+		assertThat(bucket.drainExpired(100)).isZero();
+
+		bucket.addLease(4, 110, 200);
+		assertThat(bucket.available(110)).isEqualTo(4);
+	}
+
+	@Test
+	void leaseAfterExpiryDropsUndrainedTokens() {
+		bucket.addLease(5, 0, 100);
+
+		bucket.addLease(1, 150, 250);
+
+		assertThat(bucket.available(150)).isEqualTo(1);
+	}
+
+	@Test
+	void tracksWaitingDemand() {
+		bucket.addDemand(3);
+		bucket.addDemand(2);
+		bucket.addDemand(-3);
+
+		assertThat(bucket.demand()).isEqualTo(2);
+	}
+
+	@Test
+	void knownEmptyUntilRefill() {
+		bucket.markEmpty(100);
+
+		assertThat(bucket.knownEmpty(99)).isTrue();
+		assertThat(bucket.knownEmpty(100)).isFalse();
+	}
+
+}
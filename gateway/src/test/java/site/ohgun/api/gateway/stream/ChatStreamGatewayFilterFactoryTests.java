@@ -0,0 +1,127 @@
+package site.ohgun.api.gateway.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ChatStreamGatewayFilterFactoryTests {
+
+	private static final Duration HEARTBEAT = Duration.ofMillis(50);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final ChatStreamGatewayFilterFactory factory = new ChatStreamGatewayFilterFactory(
+			exchange -> Mono.just("client"), new StreamMetrics(meterRegistry));
+
+	@Test
+	void sendsHeartbeatBetweenEventsWhenUpstreamIsIdle() {
+		String body = stream(Flux.concat(chunk("data: a\n\n"),
+				chunk("data: b\n\n").delaySubscription(Duration.ofMillis(300))));
+
+		assertThat(body).startsWith("data: a\n\n").endsWith("data: b\n\n").contains(": ping\n\n");
+		for (String event : body.split("\n\n")) {
+			assertThat(event).isIn("data: a", "data: b", ": ping");
+		}
+	}
+
+	@Test
+	void sendsHeartbeatBeforeTheFirstEventWhenUpstreamIsSlowToStart() {
+		String body = stream(chunk("data: a\n\n").delaySubscription(Duration.ofMillis(300)));
+
+		assertThat(body).startsWith(": ping\n\n").endsWith("data: a\n\n");
+	}
+
+	@Test
+	void skipsHeartbeatWhileAnEventIsIncomplete() {
+		String body = stream(Flux.concat(chunk("data: a\n"),
+				chunk("data: b\r\n").delaySubscription(Duration.ofMillis(300)),
+				chunk("\r\n").delaySubscription(Duration.ofMillis(300))));
+
+		assertThat(body).isEqualTo("data: a\ndata: b\r\n\r\n");
+	}
+
+	@Test
+	void skipsHeartbeatWhileUpstreamIsBusy() {
+		String body = stream(Flux.range(0, 20)
+			.concatMap(i -> chunk("data: " + i + "\n\n").delaySubscription(Duration.ofMillis(10))), Duration.ofMillis(200));
+
+		assertThat(body).doesNotContain(": ping");
+	}
+
+	@Test
+	void releasesStreamSlotsWhenUpstreamTimesOut() {
+		GatewayFilter filter = factory.apply(new ChatStreamGatewayFilterFactory.Config().setMaxStreamsPerKey(1)
+			.setHeartbeatInterval(HEARTBEAT));
+		MockServerWebExchange exchange = sseExchange();
+
+		Mono<Void> timedOut = filter.filter(exchange, ex -> {
+			ex.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+			Flux<DataBuffer> upstream = Flux.concat(chunk("data: a\n"), Mono.error(new TimeoutException()));
+			return ex.getResponse().writeAndFlushWith(upstream.map(Mono::just));
+		});
+
+		assertThatThrownBy(() -> timedOut.block(Duration.ofSeconds(5))).hasCauseInstanceOf(TimeoutException.class);
+
+		assertThat(meterRegistry.get("gateway.stream.active").gauge().value()).isZero();
+		assertThat(meterRegistry.get("gateway.stream.duration").tag("kind", "sse").timer().count()).isEqualTo(1);
+
+		MockServerWebExchange next = sseExchange();
+		filter.filter(next, ex -> ex.getResponse().setComplete()).block(Duration.ofSeconds(5));
+		assertThat(next.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	@Test
+	void rejectsStreamsOverThePerKeyLimit() {
+		GatewayFilter filter = factory.apply(new ChatStreamGatewayFilterFactory.Config().setMaxStreamsPerKey(1));
+		MockServerWebExchange second = sseExchange();
+
+		filter.filter(sseExchange(), ex -> filter.filter(second, inner -> Mono.empty())).block(Duration.ofSeconds(5));
+
+		assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+		assertThat(meterRegistry.get("gateway.stream.rejected").counter().count()).isEqualTo(1);
+	}
+
+	private String stream(Publisher<DataBuffer> upstream) {
+		return stream(upstream, HEARTBEAT);
+	}
+
+	private String stream(Publisher<DataBuffer> upstream, Duration heartbeatInterval) {
+		GatewayFilter filter = factory
+			.apply(new ChatStreamGatewayFilterFactory.Config().setHeartbeatInterval(heartbeatInterval));
+		MockServerWebExchange exchange = sseExchange();
+
+		filter.filter(exchange, ex -> {
+			ex.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+			return ex.getResponse().writeAndFlushWith(Flux.from(upstream).map(Mono::just));
+		}).block(Duration.ofSeconds(5));
+
+		return exchange.getResponse().getBodyAsString().block(Duration.ofSeconds(5));
+	}
+
+	private static Mono<DataBuffer> chunk(String text) {
+		return Mono.fromSupplier(
+				() -> DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static MockServerWebExchange sseExchange() {
+		return MockServerWebExchange.from(MockServerHttpRequest.get("/chatbot/stream")
+			.accept(MediaType.TEXT_EVENT_STREAM));
+	}
+
+}
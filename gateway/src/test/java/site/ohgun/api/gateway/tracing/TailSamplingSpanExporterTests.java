@@ -0,0 +1,102 @@
+package site.ohgun.api.gateway.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tail sampling decisions of the gateway exporter, checked against an in-memory exporter.
+ */
+class TailSamplingSpanExporterTests {
+
+	private InMemorySpanExporter spans;
+
+	private TailSamplingSpanExporter exporter;
+
+	private SdkTracerProvider tracerProvider;
+
+	private Tracer tracer;
+
+	@BeforeEach
+	void setUp() {
+		TracingProperties properties = new TracingProperties();
+		properties.setSlowThreshold(Duration.ofMillis(500));
+		properties.setBaselineRatio(0.0);
+		properties.setMaxPendingTraces(100);
+		spans = InMemorySpanExporter.create();
+		exporter = new TailSamplingSpanExporter(spans, properties);
+		tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(exporter)).build();
+		tracer = tracerProvider.get("test");
+	}
+
+	@AfterEach
+	void tearDown() {
+		tracerProvider.close();
+	}
+
+	@Test
+	void fastSuccessfulTraceIsDropped() {
+		Span root = tracer.spanBuilder("GET /api/user").startSpan();
+		try (Scope ignored = root.makeCurrent()) {
+			tracer.spanBuilder("rate-limiter.lease").startSpan().end();
+		}
+		root.end();
+
+		assertThat(spans.getFinishedSpanItems()).isEmpty();
+		assertThat(exporter.pendingTraces()).isZero();
+	}
+
+	@Test
+	void slowTraceIsKeptWithChildren() {
+		long start = System.nanoTime();
+		Span root = tracer.spanBuilder("GET /api/chatbot").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+		try (Scope ignored = root.makeCurrent()) {
+			tracer.spanBuilder("HTTP GET").startSpan().end();
+		}
+		root.end(start + TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS);
+
+		assertThat(spans.getFinishedSpanItems()).extracting(SpanData::getName)
+			.containsExactly("HTTP GET", "GET /api/chatbot");
+	}
+
+	@Test
+	void errorInChildKeepsWholeTrace() {
+		Span root = tracer.spanBuilder("GET /api/crawler").startSpan();
+		try (Scope ignored = root.makeCurrent()) {
+			tracer.spanBuilder("HTTP GET").startSpan().setStatus(StatusCode.ERROR).end();
+			tracer.spanBuilder("EVALSHA").startSpan().end();
+		}
+		root.end();
+
+		assertThat(spans.getFinishedSpanItems()).hasSize(3);
+	}
+
+	@Test
+	void lateSpansFollowTheRecordedDecision() {
+		Span root = tracer.spanBuilder("GET /api/crawler").startSpan();
+		Span late;
+		try (Scope ignored = root.makeCurrent()) {
+			tracer.spanBuilder("HTTP GET").startSpan().setStatus(StatusCode.ERROR).end();
+			late = tracer.spanBuilder("EVALSHA").startSpan();
+		}
+		root.end();
+		late.end();
+
+		assertThat(spans.getFinishedSpanItems()).extracting(SpanData::getName)
+			.containsExactly("HTTP GET", "GET /api/crawler", "EVALSHA");
+	}
+
+}
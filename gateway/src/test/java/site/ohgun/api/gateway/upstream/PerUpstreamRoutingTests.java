@@ -0,0 +1,79 @@
+package site.ohgun.api.gateway.upstream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Routes a request end to end through {@link PerUpstreamNettyRoutingFilter} with the default
+ * routing filter switched off and checks that the upstream response body reaches the client.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@TestPropertySource(properties = {
+	"spring.cloud.config.enabled=false",
+	"spring.config.import=",
+	"spring.cloud.gateway.global-filter.netty-routing.enabled=false",
+	"spring.cloud.gateway.routes[0].id=pooled",
+	"spring.cloud.gateway.routes[0].predicates[0]=Path=/pooled/**",
+	"spring.cloud.gateway.routes[0].filters[0]=StripPrefix=1"
+})
+class PerUpstreamRoutingTests {
+
+	private static final String BODY = "upstream-body-".repeat(1024);
+
+	private static final DisposableServer upstream = HttpServer.create()
+		.host("localhost")
+		.port(0)
+		.route(routes -> routes.get("/hello",
+				(request, response) -> response.header("X-Upstream", "pooled").sendString(Mono.just(BODY))))
+		.bindNow();
+
+	@DynamicPropertySource
+	static void upstreamProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.cloud.gateway.routes[0].uri", () -> "http://localhost:" + upstream.port());
+		registry.add("gateway.upstreams.pools.test.authorities[0]", () -> "localhost:" + upstream.port());
+		registry.add("gateway.upstreams.pools.test.max-connections", () -> "2");
+	}
+
+	@AfterAll
+	static void stopUpstream() {
+		upstream.disposeNow();
+	}
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void routesThroughUpstreamPoolAndWritesResponseBody() {
+		assertThat(context.getBeansOfType(NettyRoutingFilter.class).values())
+			.singleElement()
+			.isInstanceOf(PerUpstreamNettyRoutingFilter.class);
+		assertThat(context.getBeansOfType(NettyWriteResponseFilter.class)).hasSize(1);
+
+		webTestClient.get()
+			.uri("/pooled/hello")
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().valueEquals("X-Upstream", "pooled")
+			.expectBody(String.class).isEqualTo(BODY);
+	}
+
+}
@@ -0,0 +1,85 @@
+#!/usr/bin/env sh
+# ========================================
+# 네이티브 이미지 스모크 테스트
+#
+# 로컬 대체 환경(Postgres, Redis, WireMock 네이버)에서 네이티브 이미지를 실행하고
+# OAuth 로그인 → 토큰 재발급 → 검증 → 로그아웃 흐름을 확인합니다.
+#
+# 사용법:
+#   docker build -f Dockerfile.native -t ohgun-api:native .
+#   scripts/native-smoke-test.sh
+# 다른 이미지(JVM 이미지 등)로 실행: SMOKE_IMAGE=ohgun-api:latest scripts/native-smoke-test.sh
+# ========================================
+set -eu
+
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+COMPOSE="docker compose -f ${SCRIPT_DIR}/smoke/docker-compose.smoke.yaml -p ohgun-smoke"
+PORT="${SMOKE_PORT:-18080}"
+BASE_URL="http://localhost:${PORT}"
+
+cleanup() {
+  ${COMPOSE} logs api > "${SCRIPT_DIR}/../build/native-smoke-api.log" 2>&1 || true
+  ${COMPOSE} down -v >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+mkdir -p "${SCRIPT_DIR}/../build"
+
+fail() {
+  echo "FAIL: $1" >&2
+  exit 1
+}
+
+${COMPOSE} up -d
+
+# 1. 기동 대기 (readiness)
+start=$(date +%s%3N)
+ready=""
+for _ in $(seq 1 300); do
+  if curl -fs -o /dev/null "${BASE_URL}/actuator/health/readiness"; then
+    ready=$(date +%s%3N)
+    break
+  fi
+  sleep 0.1
+done
+[ -n "${ready}" ] || fail "application not ready"
+echo "ready in $((ready - start)) ms (including container start)"
+
+# 2. 로그인 URL
+curl -fs "${BASE_URL}/oauth/naver/login-url" | grep -q '"url"' || fail "login-url"
+
+# 3. 네이버 콜백 (WireMock) → 프론트엔드 리다이렉트에 토큰 포함
+location=$(curl -s -o /dev/null -w '%{redirect_url}' "${BASE_URL}/oauth/naver/callback?code=smoke&state=smoke")
+echo "${location}" | grep -q '/oauth/callback' || fail "callback redirect: ${location}"
+access_token=$(echo "${location}" | sed -n 's/.*[?&]accessToken=\([^&]*\).*/\1/p')
+refresh_token=$(echo "${location}" | sed -n 's/.*[?&]refreshToken=\([^&]*\).*/\1/p')
+[ -n "${access_token}" ] || fail "access token missing"
+[ -n "${refresh_token}" ] || fail "refresh token missing"
+
+# 4. 토큰 검증
+curl -fs -X POST -H 'Content-Type: application/json' \
+  -d "{\"token\":\"${access_token}\"}" "${BASE_URL}/api/auth/verify" | grep -q '"valid":true' || fail "verify"
+
+# 5. 토큰 재발급 (회전)
+first=$(curl -fs -X POST -H "Cookie: refreshToken=${refresh_token}" "${BASE_URL}/api/auth/refresh") \
+  || fail "refresh"
+
+# 6. grace 기간(JWT_REFRESH_GRACE_SECONDS=2) 안의 재사용 → 같은 Access Token
+second=$(curl -fs -X POST -H "Cookie: refreshToken=${refresh_token}" "${BASE_URL}/api/auth/refresh") \
+  || fail "refresh within grace window"
+[ "${first}" = "${second}" ] || fail "refresh within grace window returned a different token"
+
+# 6-1. grace 기간 이후 재사용 거부 (탈취로 간주)
+sleep 3
+status=$(curl -s -o /dev/null -w '%{http_code}' -X POST \
+  -H "Cookie: refreshToken=${refresh_token}" "${BASE_URL}/api/auth/refresh")
+[ "${status}" = "401" ] || fail "reused refresh token returned ${status}"
+
+# 7. 로그아웃
+curl -fs -X POST "${BASE_URL}/api/auth/logout" | grep -q '"message"' || fail "logout"
+
+# 8. 메모리 사용량
+container=$(${COMPOSE} ps -q api)
+rss=$(docker stats --no-stream --format '{{.MemUsage}}' "${container}")
+echo "memory: ${rss}"
+
+echo "native smoke test passed"
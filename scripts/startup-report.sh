@@ -0,0 +1,73 @@
+#!/usr/bin/env sh
+# ========================================
+# 컨테이너 시작 시간 / 메모리 비교 리포트
+#
+# 기존 이미지와 fast-startup 이미지를 같은 .env 로 실행해
+# - time-to-ready: docker run 부터 readiness 200 까지 걸린 시간 (ms)
+# - rss: ready 시점 JVM 프로세스 RSS (kB)
+# 를 측정하고 JSON 한 줄씩 출력합니다.
+#
+# 사용법:
+#   scripts/startup-report.sh [baseline-image] [candidate-image] [env-file]
+# 예:
+#   docker build -t ohgun-api:fast-startup .
+#   scripts/startup-report.sh ohgun0325/ohgun-api:latest ohgun-api:fast-startup ../.env
+# ========================================
+set -eu
+
+BASELINE_IMAGE="${1:-ohgun0325/ohgun-api:latest}"
+CANDIDATE_IMAGE="${2:-ohgun-api:fast-startup}"
+ENV_FILE="${3:-../.env}"
+RUNS="${RUNS:-3}"
+PORT="${PORT:-18080}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-180}"
+
+now_ms() {
+  date +%s%3N
+}
+
+wait_ready() {
+  deadline=$(( $(date +%s) + TIMEOUT_SECONDS ))
+  while [ "$(date +%s)" -lt "$deadline" ]; do
+    # 이전 이미지는 probes 가 비활성화되어 있으므로 /actuator/health 로 대체
+    for path in /actuator/health/readiness /actuator/health; do
+      if curl -fs -o /dev/null "http://localhost:${PORT}${path}"; then
+        return 0
+      fi
+    done
+    sleep 0.1
+  done
+  return 1
+}
+
+measure() {
+  label="$1"
+  image="$2"
+  shift 2
+
+  i=1
+  while [ "$i" -le "$RUNS" ]; do
+    name="startup-report-${label}-${i}"
+    docker rm -f "$name" >/dev/null 2>&1 || true
+
+    start=$(now_ms)
+    docker run -d --name "$name" -p "${PORT}:8080" --env-file "$ENV_FILE" "$@" "$image" >/dev/null
+
+    if wait_ready; then
+      ready=$(now_ms)
+      rss=$(docker exec "$name" sh -c "grep VmRSS /proc/1/status | awk '{print \$2}'")
+      echo "{\"image\":\"${image}\",\"mode\":\"${label}\",\"run\":${i},\"timeToReadyMs\":$((ready - start)),\"rssKb\":${rss}}"
+    else
+      echo "{\"image\":\"${image}\",\"mode\":\"${label}\",\"run\":${i},\"error\":\"not ready within ${TIMEOUT_SECONDS}s\"}"
+    fi
+
+    docker rm -f "$name" >/dev/null
+    i=$((i + 1))
+  done
+}
+
+measure baseline "$BASELINE_IMAGE"
+measure cds "$CANDIDATE_IMAGE"
+measure fast-startup "$CANDIDATE_IMAGE" \
+  -e SPRING_PROFILES_ACTIVE=fast-startup \
+  -e JAVA_OPTS=-Dspring.aot.enabled=true
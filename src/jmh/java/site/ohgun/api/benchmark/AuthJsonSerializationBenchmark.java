@@ -0,0 +1,167 @@
+package site.ohgun.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import site.ohgun.api.oauth.AuthResponses;
+import site.ohgun.api.oauth.dto.ErrorResponse;
+import site.ohgun.api.oauth.dto.TokenRefreshResponse;
+import site.ohgun.api.oauth.dto.TokenVerifyResponse;
+import site.ohgun.api.oauth.naver.dto.NaverTokenResponse;
+import site.ohgun.api.oauth.naver.dto.NaverUserInfo;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 인증 DTO / 응답 본문 Jackson 직렬화 벤치마크
+ *
+ * - NaverTokenResponse / NaverUserInfo: RestTemplate 이 네이버 응답을 역직렬화하는 경로
+ * - 컨트롤러 응답 Map: 기존 AuthController / NaverController 가 매 요청 생성하던 Map.of(...) 본문
+ * - 응답 record / 미리 인코딩된 고정 응답: Map 본문을 대체한 현재 구현
+ *
+ * mapper 파라미터로 기본 ObjectMapper 와 Blackbird 모듈 적용 ObjectMapper 를 비교합니다.
+ */
+@State(Scope.Benchmark)
+public class AuthJsonSerializationBenchmark {
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private AuthResponses authResponses;
+
+    private NaverTokenResponse naverTokenResponse;
+    private NaverUserInfo naverUserInfo;
+    private byte[] naverTokenResponseJson;
+    private byte[] naverUserInfoJson;
+
+    private String accessToken;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        // Spring MVC 의 MappingJackson2HttpMessageConverter 와 동일한 기본 설정
+        objectMapper = "blackbird".equals(mapper)
+                ? Jackson2ObjectMapperBuilder.json().modulesToInstall(new BlackbirdModule()).build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        authResponses = new AuthResponses(objectMapper);
+
+        naverTokenResponse = new NaverTokenResponse();
+        naverTokenResponse.setAccessToken("AAAAN0bV9Yq2rQ7dJ1vKj3uX8mZpLwE4sT6gHcFiOaB5nRyUe");
+        naverTokenResponse.setRefreshToken("c8ceMEJisO4Se7uGisHoX0f5JEii7JnipglQipkOn5Zp3tyP7dHQoP0zNKHUq2gY");
+        naverTokenResponse.setTokenType("bearer");
+        naverTokenResponse.setExpiresIn(3600);
+
+        NaverUserInfo.Response response = new NaverUserInfo.Response();
+        response.setId("32742776");
+        response.setEmail("bench@ohgun.kr");
+        response.setName("벤치마크");
+        response.setNickname("bench");
+        response.setProfileImage("https://ssl.pstatic.net/static/pwe/address/img_profile.png");
+        naverUserInfo = new NaverUserInfo();
+        naverUserInfo.setResultCode("00");
+        naverUserInfo.setMessage("success");
+        naverUserInfo.setResponse(response);
+
+        naverTokenResponseJson = objectMapper.writeValueAsBytes(naverTokenResponse);
+        naverUserInfoJson = objectMapper.writeValueAsBytes(naverUserInfo);
+
+        accessToken = BenchmarkFixtures.jwtTokenProvider()
+                .createAccessToken(BenchmarkFixtures.USER_ID, BenchmarkFixtures.accessTokenClaims());
+    }
+
+    @Benchmark
+    public byte[] writeNaverTokenResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(naverTokenResponse);
+    }
+
+    @Benchmark
+    public NaverTokenResponse readNaverTokenResponse() throws IOException {
+        return objectMapper.readValue(naverTokenResponseJson, NaverTokenResponse.class);
+    }
+
+    @Benchmark
+    public byte[] writeNaverUserInfo() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(naverUserInfo);
+    }
+
+    @Benchmark
+    public NaverUserInfo readNaverUserInfo() throws IOException {
+        return objectMapper.readValue(naverUserInfoJson, NaverUserInfo.class);
+    }
+
+    /**
+     * POST /api/auth/refresh 성공 응답
+     */
+    @Benchmark
+    public byte[] writeRefreshResponseMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "accessToken", accessToken,
+                "message", "토큰이 재발급되었습니다."
+        ));
+    }
+
+    /**
+     * POST /api/auth/verify 성공 응답
+     */
+    @Benchmark
+    public byte[] writeVerifyResponseMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "valid", true,
+                "userId", 1024L,
+                "email", "bench@ohgun.kr",
+                "role", "ROLE_USER",
+                "exp", 1767225600000L
+        ));
+    }
+
+    /**
+     * 고정 에러 응답 (예: Refresh Token 누락)
+     */
+    @Benchmark
+    public byte[] writeErrorResponseMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of("error", "Refresh token이 필요합니다."));
+    }
+
+    /**
+     * GET /oauth/naver/login-url 응답
+     */
+    @Benchmark
+    public byte[] writeLoginUrlResponseMap() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(Map.of(
+                "url", "https://nid.naver.com/oauth2.0/authorize?response_type=code&client_id=bench",
+                "state", "5f0c2a8e-4d6b-4f0a-9a1e-2b3c4d5e6f70"
+        ));
+    }
+
+    @Benchmark
+    public byte[] writeRefreshResponseRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(TokenRefreshResponse.of(accessToken));
+    }
+
+    @Benchmark
+    public byte[] writeVerifyResponseRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+                TokenVerifyResponse.valid(1024L, "bench@ohgun.kr", "ROLE_USER", 1767225600000L));
+    }
+
+    @Benchmark
+    public byte[] writeErrorResponseRecord() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ErrorResponse("Refresh token이 필요합니다."));
+    }
+
+    /**
+     * 미리 인코딩된 고정 에러 응답 (요청당 직렬화 없음)
+     */
+    @Benchmark
+    public ResponseEntity<byte[]> preEncodedErrorResponse() {
+        return authResponses.of(AuthResponses.Constant.REFRESH_TOKEN_REQUIRED);
+    }
+}
@@ -0,0 +1,62 @@
+package site.ohgun.api.benchmark;
+
+import site.ohgun.api.oauth.jwt.JwtProperties;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.util.Map;
+
+/**
+ * 벤치마크 공용 픽스처
+ *
+ * 역할:
+ * - 운영과 동일한 형태의 JWT 설정/클레임 제공
+ * - 벤치마크 간 입력 데이터를 일치시켜 결과 비교 가능하게 유지
+ */
+final class BenchmarkFixtures {
+
+    /**
+     * jjwt 0.9.1 은 문자열 secret 을 Base64 로 디코딩하므로 유효한 Base64 값을 사용
+     */
+    static final String SECRET = "b2hndW4tYmVuY2htYXJrLXNlY3JldC1rZXktbWluLTI1Ni1iaXRzLWxvbmc=";
+
+    static final String USER_ID = "1024";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties jwtProperties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenValidityInSeconds(86400);
+        properties.setRefreshTokenValidityInSeconds(2592000);
+        return properties;
+    }
+
+    static JwtTokenProvider jwtTokenProvider() {
+        return new JwtTokenProvider(jwtProperties(), AuthObservations.noop());
+    }
+
+    /**
+     * NaverController / AuthController 가 Access Token 에 넣는 클레임과 동일한 구성
+     */
+    static Map<String, Object> accessTokenClaims() {
+        return Map.of(
+                "userId", 1024L,
+                "email", "bench@ohgun.kr",
+                "name", "벤치마크",
+                "role", "ROLE_USER"
+        );
+    }
+
+    /**
+     * Refresh Token 에 넣는 클레임과 동일한 구성
+     */
+    static Map<String, Object> refreshTokenClaims() {
+        return Map.of(
+                "userId", 1024L,
+                "email", "bench@ohgun.kr",
+                "role", "ROLE_USER"
+        );
+    }
+}
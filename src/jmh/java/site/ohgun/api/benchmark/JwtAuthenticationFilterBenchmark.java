@@ -0,0 +1,73 @@
+package site.ohgun.api.benchmark;
+
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import site.ohgun.api.oauth.config.JwtAuthenticationFilter;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.oauth.revocation.AccessTokenDenyList;
+
+import java.io.IOException;
+
+/**
+ * JwtAuthenticationFilter 요청당 오버헤드 벤치마크
+ *
+ * - withValidToken: 인증이 필요한 API 요청 (토큰 파싱 + SecurityContext 설정)
+ * - withoutToken: 공개 엔드포인트 요청 (헤더 확인만 수행)
+ * - withInvalidToken: 서명이 맞지 않는 토큰 (예외 경로)
+ */
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String validHeader;
+    private String invalidHeader;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider jwtTokenProvider = BenchmarkFixtures.jwtTokenProvider();
+        filter = new JwtAuthenticationFilter(
+                jwtTokenProvider, new AccessTokenDenyList(BenchmarkFixtures.jwtProperties()));
+
+        String token = jwtTokenProvider.createAccessToken(
+                BenchmarkFixtures.USER_ID, BenchmarkFixtures.accessTokenClaims());
+        validHeader = "Bearer " + token;
+        invalidHeader = "Bearer " + token.substring(0, token.length() - 4) + "AAAA";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withValidToken() throws ServletException, IOException {
+        return doFilter(validHeader);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withoutToken() throws ServletException, IOException {
+        return doFilter(null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse withInvalidToken() throws ServletException, IOException {
+        return doFilter(invalidHeader);
+    }
+
+    private MockHttpServletResponse doFilter(String authorization) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/me");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
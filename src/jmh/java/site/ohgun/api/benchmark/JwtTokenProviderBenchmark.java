@@ -0,0 +1,48 @@
+package site.ohgun.api.benchmark;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+
+import java.util.Map;
+
+/**
+ * JwtTokenProvider 서명/파싱 벤치마크
+ *
+ * 로그인 콜백과 /api/auth/refresh 는 요청마다 Access/Refresh Token 을 각각 서명하고,
+ * JwtAuthenticationFilter 는 인증이 필요한 모든 요청에서 토큰을 파싱합니다.
+ */
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private Map<String, Object> accessClaims;
+    private Map<String, Object> refreshClaims;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = BenchmarkFixtures.jwtTokenProvider();
+        accessClaims = BenchmarkFixtures.accessTokenClaims();
+        refreshClaims = BenchmarkFixtures.refreshTokenClaims();
+        accessToken = jwtTokenProvider.createAccessToken(BenchmarkFixtures.USER_ID, accessClaims);
+    }
+
+    @Benchmark
+    public String signAccessToken() {
+        return jwtTokenProvider.createAccessToken(BenchmarkFixtures.USER_ID, accessClaims);
+    }
+
+    @Benchmark
+    public String signRefreshToken() {
+        return jwtTokenProvider.createRefreshToken(BenchmarkFixtures.USER_ID, refreshClaims);
+    }
+
+    @Benchmark
+    public Claims parseAccessToken() {
+        return jwtTokenProvider.parseToken(accessToken);
+    }
+}
@@ -0,0 +1,103 @@
+package site.ohgun.api.benchmark;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import site.ohgun.api.oauth.degraded.DegradedModeConfig;
+import site.ohgun.api.oauth.degraded.DegradedModeProperties;
+import site.ohgun.api.oauth.degraded.LocalTokenCache;
+import site.ohgun.api.oauth.degraded.TokenStoreGuard;
+import site.ohgun.api.oauth.redis.RefreshTokenService;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RefreshTokenService Redis 연산 벤치마크 (로컬 Redis 필요)
+ *
+ * 운영의 Upstash(TLS) 대신 로컬 Redis 에 평문으로 접속하여
+ * 명령 수/직렬화 비용 변화만 추적합니다. 네트워크 지연은 포함되지 않습니다.
+ * 운영과 같이 서킷 브레이커(TokenStoreGuard)와 로컬 유효성 캐시를 거칩니다.
+ *
+ * 접속 정보: -Djmh.redis.host / -Djmh.redis.port / -Djmh.redis.password
+ */
+@State(Scope.Benchmark)
+public class RefreshTokenServiceBenchmark {
+
+    private static final long EXPIRATION_SECONDS = 60;
+
+    private LettuceConnectionFactory connectionFactory;
+    private TokenStoreGuard tokenStoreGuard;
+    private RefreshTokenService refreshTokenService;
+    private String existingToken;
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisStandaloneConfiguration serverConfig = new RedisStandaloneConfiguration();
+        serverConfig.setHostName(System.getProperty("jmh.redis.host", "localhost"));
+        serverConfig.setPort(Integer.getInteger("jmh.redis.port", 6379));
+        String password = System.getProperty("jmh.redis.password", "");
+        if (!password.isEmpty()) {
+            serverConfig.setPassword(RedisPassword.of(password));
+        }
+
+        connectionFactory = new LettuceConnectionFactory(serverConfig);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        RedisTemplate<String, String> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
+        template.afterPropertiesSet();
+
+        DegradedModeProperties degradedMode = new DegradedModeProperties();
+        tokenStoreGuard = new TokenStoreGuard(degradedMode,
+                CircuitBreaker.ofDefaults(DegradedModeConfig.CIRCUIT_BREAKER), new SimpleMeterRegistry());
+        refreshTokenService = new RefreshTokenService(template, AuthObservations.noop(),
+                tokenStoreGuard, new LocalTokenCache(degradedMode));
+
+        existingToken = "bench-" + UUID.randomUUID();
+        refreshTokenService.saveRefreshToken(BenchmarkFixtures.USER_ID, existingToken, EXPIRATION_SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        refreshTokenService.deleteAllUserTokens(BenchmarkFixtures.USER_ID);
+        tokenStoreGuard.destroy();
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public boolean isValidRefreshToken() {
+        return refreshTokenService.isValidRefreshToken(existingToken);
+    }
+
+    @Benchmark
+    public String getUserIdByRefreshToken() {
+        return refreshTokenService.getUserIdByRefreshToken(existingToken);
+    }
+
+    /**
+     * /api/auth/refresh 의 회전 단계 (블랙리스트 + 새 토큰 저장)
+     */
+    @Benchmark
+    public void rotateRefreshToken() {
+        String newToken = "bench-rotated-" + sequence.incrementAndGet();
+        refreshTokenService.rotateRefreshToken(BenchmarkFixtures.USER_ID, existingToken, newToken, EXPIRATION_SECONDS);
+    }
+}
@@ -2,6 +2,7 @@ package site.ohgun.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
@@ -15,9 +16,12 @@ public class MonolithicApplication {
         SpringApplication.run(MonolithicApplication.class, args);
     }
 
+    /**
+     * RestTemplateBuilder 를 사용해 Spring Boot 가 구성한 메시지 컨버터(ObjectMapper 포함)를 공유
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+        return restTemplateBuilder.build();
     }
 }
 
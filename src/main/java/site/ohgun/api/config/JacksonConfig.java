@@ -0,0 +1,34 @@
+package site.ohgun.api.config;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Jackson 설정
+ *
+ * 역할:
+ * - Blackbird 모듈 등록: 리플렉션 대신 LambdaMetafactory 로 생성한 접근자를 사용해
+ *   인증 DTO(NaverTokenResponse, NaverUserInfo, 응답 record 등)의 직렬화/역직렬화 비용 절감
+ *
+ * Spring Boot 가 구성하는 ObjectMapper 에 적용되므로 MVC 메시지 컨버터와 RestTemplate 모두에 적용됩니다.
+ *
+ * Boot 가 등록한 모듈(JsonComponentModule, ParameterNamesModule 등 Module 빈) 목록을 교체하지 않고 추가합니다.
+ *
+ * 네이티브 이미지에서는 런타임 람다 생성을 사용할 수 없으므로 등록하지 않습니다.
+ * (AOT 처리 시점이 아닌 실행 시점에 판단하도록 빈 조건 대신 Customizer 에서 확인)
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.modulesToInstall(modules -> modules.add(new BlackbirdModule()));
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package site.ohgun.api.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import site.ohgun.api.oauth.dto.ErrorResponse;
+import site.ohgun.api.oauth.dto.LoginUrlResponse;
+import site.ohgun.api.oauth.dto.MessageResponse;
+import site.ohgun.api.oauth.dto.TokenRefreshResponse;
+import site.ohgun.api.oauth.dto.TokenVerifyResponse;
+import site.ohgun.api.oauth.naver.dto.NaverTokenResponse;
+import site.ohgun.api.oauth.naver.dto.NaverUserInfo;
+import site.ohgun.api.oauth.naver.dto.OAuthLoginResponse;
+
+import java.util.List;
+
+/**
+ * GraalVM 네이티브 이미지 도달성(reachability) 힌트
+ *
+ * 역할:
+ * - Jackson 으로 (역)직렬화되는 DTO 등록 (ResponseEntity<?> 반환이라 AOT 가 추론하지 못함)
+ * - jjwt 0.9.1 내부 구현 클래스 / JAXB Base64 변환기 등록
+ * - springdoc swagger-ui 정적 리소스 등록
+ *
+ * JPA 엔티티(User, LoginHistory)는 Spring AOT 가 PersistenceManagedTypes 로 처리하고,
+ * Lettuce/Netty(SSL)는 GraalVM reachability metadata 저장소의 메타데이터를 사용합니다.
+ * JVM 실행 시에는 아무 영향이 없습니다.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.AuthRuntimeHints.class)
+@RegisterReflectionForBinding({
+        NaverTokenResponse.class,
+        NaverUserInfo.class,
+        NaverUserInfo.Response.class,
+        OAuthLoginResponse.class,
+        OAuthLoginResponse.UserInfo.class,
+        ErrorResponse.class,
+        MessageResponse.class,
+        LoginUrlResponse.class,
+        TokenRefreshResponse.class,
+        TokenVerifyResponse.class
+})
+public class NativeHintsConfig {
+
+    static class AuthRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * jjwt 0.9.1 이 리플렉션/동적 로딩으로 접근하는 클래스
+         */
+        private static final List<String> JJWT_TYPES = List.of(
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParser",
+                "io.jsonwebtoken.impl.DefaultClaims",
+                "io.jsonwebtoken.impl.DefaultHeader",
+                "io.jsonwebtoken.impl.DefaultJwsHeader",
+                "io.jsonwebtoken.impl.DefaultJws",
+                "io.jsonwebtoken.impl.DefaultJwt",
+                "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                "io.jsonwebtoken.impl.compression.DeflateCompressionCodec",
+                "io.jsonwebtoken.impl.compression.GzipCompressionCodec",
+                "io.jsonwebtoken.impl.crypto.DefaultJwtSignatureValidator",
+                "io.jsonwebtoken.impl.crypto.MacSigner",
+                "io.jsonwebtoken.impl.crypto.MacValidator",
+                "javax.xml.bind.DatatypeConverterImpl"
+        );
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String type : JJWT_TYPES) {
+                hints.reflection().registerType(
+                        TypeReference.of(type),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS
+                );
+            }
+
+            // HmacSHA256 (jjwt HS256 서명)
+            hints.reflection().registerType(
+                    TypeReference.of("com.sun.crypto.provider.HmacCore$HmacSHA256"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS
+            );
+
+            // springdoc swagger-ui / api-docs 정적 리소스
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/*");
+            hints.resources().registerPattern("META-INF/resources/webjars/swagger-ui/**");
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package site.ohgun.api.config;
 
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,16 +18,31 @@ import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactor
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+
 /**
  * Redis 설정 (Upstash Redis)
  *
  * 역할:
  * - Upstash Redis에 TLS로 연결되는 커스텀 LettuceConnectionFactory 구성
  * - Refresh Token 저장용 RedisTemplate 제공
+ * - Lettuce 명령 추적 (Observation → span, 요청 span 의 자식)
+ * - 짧은 명령/연결 타임아웃과 연결 끊김 시 즉시 실패 (요청 스레드가 Lettuce 에서 기다리며 쌓이지 않도록)
  */
 @Configuration
 public class RedisConfig {
 
+    /**
+     * Lettuce 공용 리소스 (이벤트 루프, 명령 추적)
+     * 커스텀 LettuceConnectionFactory 는 Spring Boot 의 Lettuce 자동 구성을 거치지 않으므로 여기서 직접 추적을 켭니다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ClientResources lettuceClientResources(ObservationRegistry observationRegistry) {
+        return DefaultClientResources.builder()
+                .tracing(new MicrometerTracing(observationRegistry, "ohgun-redis"))
+                .build();
+    }
+
     /**
      * Upstash Redis에 연결하기 위한 커스텀 LettuceConnectionFactory.
      * Spring Boot 기본 spring.data.redis.* / spring.redis.* 설정과 무관하게
@@ -30,7 +52,11 @@ public class RedisConfig {
     public LettuceConnectionFactory redisConnectionFactory(
             @Value("${UPSTASH_REDIS_HOST}") String host,
             @Value("${UPSTASH_REDIS_PORT}") int port,
-            @Value("${UPSTASH_REDIS_PASSWORD}") String password) {
+            @Value("${UPSTASH_REDIS_PASSWORD}") String password,
+            @Value("${UPSTASH_REDIS_SSL:true}") boolean ssl,
+            @Value("${UPSTASH_REDIS_COMMAND_TIMEOUT:500ms}") Duration commandTimeout,
+            @Value("${UPSTASH_REDIS_CONNECT_TIMEOUT:2s}") Duration connectTimeout,
+            ClientResources clientResources) {
 
         // Standalone Redis 설정 (호스트/포트/패스워드)
         RedisStandaloneConfiguration serverConfig = new RedisStandaloneConfiguration();
@@ -38,10 +64,23 @@ public class RedisConfig {
         serverConfig.setPort(port);
         serverConfig.setPassword(RedisPassword.of(password));
 
-        // Upstash 는 TLS(rediss) 필수이므로 SSL 활성화
-        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
-                .useSsl()
+        // Upstash 는 TLS(rediss) 필수이므로 SSL 활성화 (로컬/스모크 테스트용 Redis 는 UPSTASH_REDIS_SSL=false)
+        // 명령 타임아웃은 TokenStoreGuard 서킷 브레이커가 실패로 집계 (Redis 장애 시 degraded mode)
+        // 재연결 중에는 명령을 큐에 쌓지 않고 바로 실패시켜 fallback 으로 넘김
+        ClientOptions clientOptions = ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(connectTimeout).build())
+                .timeoutOptions(TimeoutOptions.enabled(commandTimeout))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
                 .build();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfigBuilder =
+                LettuceClientConfiguration.builder()
+                        .clientResources(clientResources)
+                        .clientOptions(clientOptions)
+                        .commandTimeout(commandTimeout);
+        if (ssl) {
+            clientConfigBuilder.useSsl();
+        }
+        LettuceClientConfiguration clientConfig = clientConfigBuilder.build();
 
         return new LettuceConnectionFactory(serverConfig, clientConfig);
     }
@@ -0,0 +1,40 @@
+package site.ohgun.api.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import site.ohgun.api.oauth.AuthController;
+import site.ohgun.api.oauth.config.JwtAuthenticationFilter;
+import site.ohgun.api.oauth.degraded.TokenStoreGuard;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.oauth.redis.RefreshTokenService;
+import site.ohgun.api.oauth.refresh.RefreshCoalescer;
+import site.ohgun.api.oauth.revocation.AccessTokenDenyList;
+
+/**
+ * 시작 시간 관련 설정
+ *
+ * 역할:
+ * - spring.main.lazy-initialization 사용 시(fast-startup 프로필) 지연 초기화에서 제외할 빈 지정
+ *
+ * 토큰 재발급/검증 경로는 배포 직후에도 첫 요청이 느려지면 안 되므로 즉시 초기화합니다.
+ * 그 외 빈(springdoc, 네이버 로그인 등)은 첫 사용 시 초기화됩니다.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter authHotPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                JwtAuthenticationFilter.class,
+                JwtTokenProvider.class,
+                AuthController.class,
+                RefreshTokenService.class,
+                TokenStoreGuard.class,
+                RefreshCoalescer.class,
+                AccessTokenDenyList.class,
+                RedisConnectionFactory.class
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package site.ohgun.api.fault;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+/**
+ * RestTemplate(네이버 API) 요청 장애 주입
+ *
+ * - 끊김: ConnectException (RestTemplate 이 ResourceAccessException 으로 감쌈)
+ * - 오류: 503 응답과 같은 HttpServerErrorException
+ */
+public class FaultInjectingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final FaultInjector injector;
+
+    public FaultInjectingInterceptor(FaultInjector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        switch (injector.inject(FaultTarget.NAVER)) {
+            case DROP -> throw new ConnectException("Injected fault: connection to " + request.getURI().getHost() + " dropped");
+            case ERROR -> throw HttpServerErrorException.create(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Injected fault", HttpHeaders.EMPTY, new byte[0], null);
+            case NONE -> {
+            }
+        }
+        return execution.execute(request, body);
+    }
+}
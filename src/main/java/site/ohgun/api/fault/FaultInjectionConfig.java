@@ -0,0 +1,46 @@
+package site.ohgun.api.fault;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 외부 의존성 장애 주입 설정 (테스트/스테이징 전용)
+ *
+ * fault-injection.enabled=true 일 때만 등록되며, 꺼져 있으면 어떤 빈도 감싸지 않습니다.
+ * 느린/실패하는 Redis, Postgres, 네이버 아래에서 스레드 풀, 타임아웃, 서킷 브레이커 동작을 측정하는 데 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "fault-injection", name = "enabled", havingValue = "true")
+public class FaultInjectionConfig {
+
+    @Bean
+    public FaultInjector faultInjector(MeterRegistry meterRegistry, FaultInjectionProperties properties) {
+        FaultInjector injector = new FaultInjector(meterRegistry);
+        injector.setRule(FaultTarget.REDIS, properties.getRedis().toRule());
+        injector.setRule(FaultTarget.POSTGRES, properties.getPostgres().toRule());
+        injector.setRule(FaultTarget.NAVER, properties.getNaver().toRule());
+        return injector;
+    }
+
+    /**
+     * BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 등록하고 FaultInjector 는 지연 조회
+     */
+    @Bean
+    public static FaultInjectionPostProcessor faultInjectionPostProcessor(ObjectProvider<FaultInjector> injector) {
+        return new FaultInjectionPostProcessor(injector);
+    }
+
+    @Bean
+    public RestTemplateCustomizer faultInjectingRestTemplateCustomizer(FaultInjector injector) {
+        return restTemplate -> restTemplate.getInterceptors().add(new FaultInjectingInterceptor(injector));
+    }
+
+    @Bean
+    public FaultInjectionEndpoint faultInjectionEndpoint(FaultInjector injector) {
+        return new FaultInjectionEndpoint(injector);
+    }
+}
@@ -0,0 +1,75 @@
+package site.ohgun.api.fault;
+
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 장애 규칙 actuator 엔드포인트 (/actuator/faults, fault-injection.enabled=true 일 때만 등록)
+ *
+ * - GET    /actuator/faults                                                    : 현재 규칙
+ * - POST   /actuator/faults/redis?latency=2s&jitter=100ms&errorRate=0.1&dropRate=0 : 대상 규칙 교체
+ * - DELETE /actuator/faults                                                    : 모든 규칙 해제
+ *
+ * 기본 접근 권한은 없음(none)이며, 스테이징에서 management.endpoint.faults.access 로 엽니다.
+ */
+@Endpoint(id = "faults", defaultAccess = Access.NONE)
+public class FaultInjectionEndpoint {
+
+    private final FaultInjector injector;
+
+    public FaultInjectionEndpoint(FaultInjector injector) {
+        this.injector = injector;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> rules() {
+        Map<String, Map<String, Object>> rules = new LinkedHashMap<>();
+        for (FaultTarget target : FaultTarget.values()) {
+            rules.put(target.key(), describe(injector.getRule(target)));
+        }
+        return rules;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> set(
+            @Selector String target,
+            @Nullable Duration latency,
+            @Nullable Duration jitter,
+            @Nullable Double errorRate,
+            @Nullable Double dropRate) {
+        try {
+            FaultRule rule = new FaultRule(latency, jitter,
+                    errorRate != null ? errorRate : 0,
+                    dropRate != null ? dropRate : 0);
+            injector.setRule(FaultTarget.of(target), rule);
+            return new WebEndpointResponse<>(describe(rule));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Map<String, Object>> clear() {
+        injector.clear();
+        return rules();
+    }
+
+    private static Map<String, Object> describe(FaultRule rule) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("latency", rule.latency().toString());
+        description.put("jitter", rule.jitter().toString());
+        description.put("errorRate", rule.errorRate());
+        description.put("dropRate", rule.dropRate());
+        return description;
+    }
+}
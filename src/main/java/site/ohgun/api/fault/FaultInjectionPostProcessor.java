@@ -0,0 +1,94 @@
+package site.ohgun.api.fault;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+
+/**
+ * Redis/DataSource 빈을 장애 주입 프록시로 감쌈
+ *
+ * - Redis: RedisConnectionFactory.getConnection() (RedisTemplate 작업/구독 한 번당 한 번)
+ * - Postgres: Connection 의 문장 생성 (prepareStatement/prepareCall/createStatement, JDBC 문장 한 번당 한 번)
+ *
+ * 인터페이스 프록시이므로 Lifecycle/DisposableBean 등 원래 빈의 계약은 그대로 위임됩니다.
+ */
+@Slf4j
+public class FaultInjectionPostProcessor implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final ObjectProvider<FaultInjector> injectorProvider;
+
+    public FaultInjectionPostProcessor(ObjectProvider<FaultInjector> injectorProvider) {
+        this.injectorProvider = injectorProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof RedisConnectionFactory) {
+            log.warn("Fault injection enabled for Redis connection factory '{}'", beanName);
+            return proxy(bean, redisInterceptor(injectorProvider.getObject()));
+        }
+        if (bean instanceof DataSource) {
+            log.warn("Fault injection enabled for DataSource '{}'", beanName);
+            return proxy(bean, dataSourceInterceptor(injectorProvider.getObject()));
+        }
+        return bean;
+    }
+
+    private static MethodInterceptor redisInterceptor(FaultInjector injector) {
+        return invocation -> {
+            if ("getConnection".equals(invocation.getMethod().getName())) {
+                switch (injector.inject(FaultTarget.REDIS)) {
+                    case DROP -> throw new RedisConnectionFailureException("Injected fault: Redis connection dropped");
+                    case ERROR -> throw new RedisSystemException("Injected fault: Redis command failed", null);
+                    case NONE -> {
+                    }
+                }
+            }
+            return invocation.proceed();
+        };
+    }
+
+    private static MethodInterceptor dataSourceInterceptor(FaultInjector injector) {
+        MethodInterceptor connectionInterceptor = invocation -> {
+            if (STATEMENT_METHODS.contains(invocation.getMethod().getName())) {
+                switch (injector.inject(FaultTarget.POSTGRES)) {
+                    case DROP -> throw new SQLTransientConnectionException("Injected fault: connection dropped", "08006");
+                    case ERROR -> throw new SQLException("Injected fault: statement canceled", "57014");
+                    case NONE -> {
+                    }
+                }
+            }
+            return invocation.proceed();
+        };
+        return invocation -> {
+            Object result = invocation.proceed();
+            if (result instanceof Connection connection) {
+                ProxyFactory factory = new ProxyFactory(connection);
+                factory.setInterfaces(Connection.class);
+                factory.addAdvice(connectionInterceptor);
+                return factory.getProxy();
+            }
+            return result;
+        };
+    }
+
+    private static Object proxy(Object bean, MethodInterceptor interceptor) {
+        ProxyFactory factory = new ProxyFactory(bean);
+        factory.setProxyTargetClass(false);
+        factory.addAdvice(interceptor);
+        return factory.getProxy();
+    }
+}
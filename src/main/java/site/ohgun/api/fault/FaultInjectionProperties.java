@@ -0,0 +1,59 @@
+package site.ohgun.api.fault;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 장애 주입 설정 (테스트/스테이징 전용)
+ *
+ * fault-injection.enabled=true 일 때만 Redis/DataSource/RestTemplate 을 감쌉니다.
+ * 기동 시 규칙은 여기서, 실행 중 변경은 /actuator/faults 또는 FaultInjector 로 합니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "fault-injection")
+public class FaultInjectionProperties {
+
+    private boolean enabled = false;
+
+    private Rule redis = new Rule();
+
+    private Rule postgres = new Rule();
+
+    private Rule naver = new Rule();
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        /**
+         * 호출마다 더할 고정 지연
+         */
+        private Duration latency = Duration.ZERO;
+
+        /**
+         * 추가 지연 상한 (0 ~ jitter 균등 분포)
+         */
+        private Duration jitter = Duration.ZERO;
+
+        /**
+         * 오류 확률 (Redis: RedisSystemException, Postgres: SQLException, 네이버: 503)
+         */
+        private double errorRate = 0;
+
+        /**
+         * 연결 끊김 확률 (Redis: RedisConnectionFailureException, Postgres: SQLTransientConnectionException,
+         * 네이버: ConnectException)
+         */
+        private double dropRate = 0;
+
+        public FaultRule toRule() {
+            return new FaultRule(latency, jitter, errorRate, dropRate);
+        }
+    }
+}
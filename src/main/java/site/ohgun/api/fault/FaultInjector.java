@@ -0,0 +1,117 @@
+package site.ohgun.api.fault;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 의존성 호출 직전에 장애 규칙을 적용
+ *
+ * 지연은 호출 스레드에서 sleep 하므로 느린 의존성이 Tomcat 워커/커넥션 풀을 점유하는 모습을 그대로 재현합니다.
+ * 오류/끊김은 결과만 돌려주고, 의존성별 예외 타입은 감싸는 쪽(프록시/인터셉터)이 정합니다.
+ *
+ * 메트릭: fault.injected{target, kind=latency|error|drop}
+ */
+@Slf4j
+public class FaultInjector {
+
+    public enum Fault {
+        NONE, ERROR, DROP
+    }
+
+    private final Map<FaultTarget, FaultRule> rules = new ConcurrentHashMap<>();
+    private final Map<FaultTarget, Map<String, Counter>> counters = new EnumMap<>(FaultTarget.class);
+
+    public FaultInjector(MeterRegistry meterRegistry) {
+        for (FaultTarget target : FaultTarget.values()) {
+            rules.put(target, FaultRule.NONE);
+            counters.put(target, Map.of(
+                    "latency", counter(meterRegistry, target, "latency"),
+                    "error", counter(meterRegistry, target, "error"),
+                    "drop", counter(meterRegistry, target, "drop")
+            ));
+        }
+    }
+
+    /**
+     * 규칙에 따라 지연시킨 뒤 낼 장애를 결정
+     *
+     * @param target - 호출하려는 의존성
+     * @return 주입할 장애 (NONE 이면 정상 호출)
+     */
+    public Fault inject(FaultTarget target) {
+        FaultRule rule = rules.get(target);
+        if (rule.isNone()) {
+            return Fault.NONE;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long delayNanos = rule.latency().toNanos();
+        if (!rule.jitter().isZero()) {
+            delayNanos += random.nextLong(rule.jitter().toNanos() + 1);
+        }
+        if (delayNanos > 0) {
+            counters.get(target).get("latency").increment();
+            sleep(delayNanos);
+        }
+
+        double roll = random.nextDouble();
+        if (roll < rule.dropRate()) {
+            counters.get(target).get("drop").increment();
+            return Fault.DROP;
+        }
+        if (roll < rule.dropRate() + rule.errorRate()) {
+            counters.get(target).get("error").increment();
+            return Fault.ERROR;
+        }
+        return Fault.NONE;
+    }
+
+    public void setRule(FaultTarget target, FaultRule rule) {
+        FaultRule applied = rule != null ? rule : FaultRule.NONE;
+        rules.put(target, applied);
+        if (!applied.isNone()) {
+            log.warn("Fault rule for {} set to {}", target.key(), applied);
+        }
+    }
+
+    public FaultRule getRule(FaultTarget target) {
+        return rules.get(target);
+    }
+
+    public Map<FaultTarget, FaultRule> getRules() {
+        return Map.copyOf(rules);
+    }
+
+    /**
+     * 모든 의존성을 정상으로 되돌림
+     */
+    public void clear() {
+        for (FaultTarget target : FaultTarget.values()) {
+            rules.put(target, FaultRule.NONE);
+        }
+        log.warn("Fault rules cleared");
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, FaultTarget target, String kind) {
+        return Counter.builder("fault.injected")
+                .description("Faults injected into dependency calls")
+                .tag("target", target.key())
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
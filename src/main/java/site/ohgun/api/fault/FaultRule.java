@@ -0,0 +1,45 @@
+package site.ohgun.api.fault;
+
+import java.time.Duration;
+
+/**
+ * 의존성 하나에 적용할 장애 규칙
+ *
+ * 호출마다 latency + [0, jitter] 만큼 지연시킨 뒤 dropRate 확률로 연결 끊김, errorRate 확률로 오류를 냅니다.
+ *
+ * @param latency - 고정 지연
+ * @param jitter - 추가 지연 상한 (균등 분포)
+ * @param errorRate - 오류 확률 (0 ~ 1)
+ * @param dropRate - 연결 끊김 확률 (0 ~ 1)
+ */
+public record FaultRule(Duration latency, Duration jitter, double errorRate, double dropRate) {
+
+    public static final FaultRule NONE = new FaultRule(Duration.ZERO, Duration.ZERO, 0, 0);
+
+    public FaultRule {
+        latency = latency != null ? latency : Duration.ZERO;
+        jitter = jitter != null ? jitter : Duration.ZERO;
+        if (latency.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("Fault latency and jitter must not be negative");
+        }
+        if (errorRate < 0 || dropRate < 0 || errorRate + dropRate > 1) {
+            throw new IllegalArgumentException("Fault errorRate + dropRate must be within [0, 1]");
+        }
+    }
+
+    public static FaultRule latency(Duration latency) {
+        return new FaultRule(latency, Duration.ZERO, 0, 0);
+    }
+
+    public static FaultRule errors(double errorRate) {
+        return new FaultRule(Duration.ZERO, Duration.ZERO, errorRate, 0);
+    }
+
+    public static FaultRule drops(double dropRate) {
+        return new FaultRule(Duration.ZERO, Duration.ZERO, 0, dropRate);
+    }
+
+    public boolean isNone() {
+        return latency.isZero() && jitter.isZero() && errorRate == 0 && dropRate == 0;
+    }
+}
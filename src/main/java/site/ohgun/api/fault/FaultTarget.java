@@ -0,0 +1,41 @@
+package site.ohgun.api.fault;
+
+import java.util.Arrays;
+
+/**
+ * 장애 주입 대상 외부 의존성
+ */
+public enum FaultTarget {
+
+    /**
+     * Upstash Redis (RedisTemplate 작업 단위)
+     */
+    REDIS("redis"),
+
+    /**
+     * Neon PostgreSQL (JDBC 문장 단위)
+     */
+    POSTGRES("postgres"),
+
+    /**
+     * 네이버 API (RestTemplate 요청 단위)
+     */
+    NAVER("naver");
+
+    private final String key;
+
+    FaultTarget(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static FaultTarget of(String key) {
+        return Arrays.stream(values())
+                .filter(target -> target.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown fault target: " + key));
+    }
+}
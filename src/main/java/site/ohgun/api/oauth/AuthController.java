@@ -1,17 +1,26 @@
 package site.ohgun.api.oauth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import site.ohgun.api.oauth.AuthResponses.Constant;
+import site.ohgun.api.oauth.dto.TokenRefreshResponse;
+import site.ohgun.api.oauth.dto.TokenVerifyResponse;
 import site.ohgun.api.oauth.jwt.JwtProperties;
 import site.ohgun.api.oauth.jwt.JwtTokenProvider;
 import site.ohgun.api.oauth.redis.RefreshTokenService;
+import site.ohgun.api.oauth.refresh.RefreshCoalescer;
+import site.ohgun.api.oauth.refresh.RefreshResult;
+import site.ohgun.api.oauth.revocation.AccessTokenDenyList;
+import site.ohgun.api.oauth.revocation.TokenRevocationService;
+import site.ohgun.api.observability.AuthObservations;
 import site.ohgun.api.user.entity.User;
 import site.ohgun.api.user.repository.UserRepository;
 
@@ -26,6 +35,7 @@ import java.util.Optional;
  * - Refresh Token으로 Access Token 재발급 (회전 포함)
  * - 토큰 검증
  * - 로그아웃 (서버 측 처리)
+ * - 전체 기기 로그아웃 (강제 로그아웃)
  */
 @RestController
 @RequestMapping("/api/auth")
@@ -36,7 +46,12 @@ public class AuthController {
     private final JwtTokenProvider jwtTokenProvider;
     private final JwtProperties jwtProperties;
     private final RefreshTokenService refreshTokenService;
+    private final RefreshCoalescer refreshCoalescer;
+    private final TokenRevocationService tokenRevocationService;
+    private final AccessTokenDenyList accessTokenDenyList;
     private final UserRepository userRepository;
+    private final AuthResponses authResponses;
+    private final AuthObservations observations;
 
     /**
      * Refresh Token으로 Access Token 재발급
@@ -45,6 +60,11 @@ public class AuthController {
      * Refresh Token 회전(Rotation) 적용:
      * - 이전 Refresh Token을 블랙리스트에 추가
      * - 새 Access Token과 새 Refresh Token 발급
+     *
+     * 동시 재발급 병합 (RefreshCoalescer):
+     * - 같은 토큰으로 동시에 들어온 요청은 회전을 한 번만 수행하고 같은 토큰 쌍을 응답
+     * - 회전 후 grace 기간 안의 재사용에도 같은 토큰 쌍을 응답
+     * - grace 기간이 지난 재사용은 탈취로 보고 사용자의 모든 토큰을 폐기
      */
     @PostMapping("/refresh")
     public ResponseEntity<?> refreshToken(
@@ -65,81 +85,109 @@ public class AuthController {
             }
 
             if (refreshToken == null || refreshToken.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "Refresh token이 필요합니다."));
+                return authResponses.of(Constant.REFRESH_TOKEN_REQUIRED);
             }
 
-            // 2. Refresh Token 유효성 검증 (Redis)
-            if (!refreshTokenService.isValidRefreshToken(refreshToken)) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "유효하지 않은 Refresh Token입니다."));
+            // 2~7. 회전 (동시 요청/grace 기간 재사용은 같은 결과 공유)
+            String presentedToken = refreshToken;
+            RefreshResult result = refreshCoalescer.refresh(presentedToken, () -> rotate(presentedToken));
+            if (!result.isIssued()) {
+                return authResponses.of(result.error());
             }
 
-            // 3. Refresh Token에서 사용자 ID 추출
-            String userId = refreshTokenService.getUserIdByRefreshToken(refreshToken);
-            if (userId == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "Refresh Token을 찾을 수 없습니다."));
-            }
-
-            // 4. 사용자 정보 조회
-            Optional<User> userOpt = userRepository.findById(Long.parseLong(userId));
-            if (userOpt.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body(Map.of("error", "사용자를 찾을 수 없습니다."));
-            }
-            User user = userOpt.get();
-
-            // 5. 새 Access Token 발급
-            String newAccessToken = jwtTokenProvider.createAccessToken(
-                    user.getId().toString(),
-                    Map.of(
-                            "userId", user.getId(),
-                            "email", user.getEmail() != null ? user.getEmail() : "",
-                            "name", user.getName() != null ? user.getName() : "",
-                            "role", user.getRole()
-                    )
-            );
-
-            // 6. 새 Refresh Token 발급 (회전)
-            String newRefreshToken = jwtTokenProvider.createRefreshToken(
-                    user.getId().toString(),
-                    Map.of(
-                            "userId", user.getId(),
-                            "email", user.getEmail() != null ? user.getEmail() : "",
-                            "role", user.getRole()
-                    )
-            );
-
-            // 7. Refresh Token 회전 (이전 토큰 블랙리스트, 새 토큰 저장)
-            refreshTokenService.rotateRefreshToken(
-                    userId,
-                    refreshToken,
-                    newRefreshToken,
-                    jwtProperties.getRefreshTokenValidityInSeconds()
-            );
-
             // 8. 새 Refresh Token을 HttpOnly 쿠키에 설정
-            Cookie cookie = new Cookie("refreshToken", newRefreshToken);
+            Cookie cookie = new Cookie("refreshToken", result.refreshToken());
             cookie.setHttpOnly(true);
             cookie.setSecure(true); // HTTPS에서만 전송
             cookie.setPath("/");
             cookie.setMaxAge((int) jwtProperties.getRefreshTokenValidityInSeconds());
             response.addCookie(cookie);
 
-            log.debug("Token refreshed for user: {}", userId);
-
             // 9. 새 Access Token 반환
-            return ResponseEntity.ok(Map.of(
-                    "accessToken", newAccessToken,
-                    "message", "토큰이 재발급되었습니다."
-            ));
+            return ResponseEntity.ok(TokenRefreshResponse.of(result.accessToken()));
 
         } catch (Exception e) {
             log.error("Token refresh error", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "토큰 재발급 중 오류가 발생했습니다."));
+            return authResponses.of(Constant.REFRESH_FAILED);
+        }
+    }
+
+    /**
+     * Refresh Token 검증 후 새 토큰 쌍 발급 및 회전
+     */
+    private RefreshResult rotate(String refreshToken) {
+        // 2. Refresh Token 유효성 검증 (Redis)
+        if (!refreshTokenService.isValidRefreshToken(refreshToken)) {
+            detectReuse(refreshToken);
+            return RefreshResult.failed(Constant.INVALID_REFRESH_TOKEN);
+        }
+
+        // 3. Refresh Token에서 사용자 ID 추출
+        String userId = refreshTokenService.getUserIdByRefreshToken(refreshToken);
+        if (userId == null) {
+            return RefreshResult.failed(Constant.REFRESH_TOKEN_NOT_FOUND);
+        }
+
+        // 4. 사용자 정보 조회
+        Optional<User> userOpt = observations.datastore(AuthObservations.POSTGRES, "user.find_by_id",
+                () -> userRepository.findById(Long.parseLong(userId)));
+        if (userOpt.isEmpty()) {
+            return RefreshResult.failed(Constant.USER_NOT_FOUND);
+        }
+        User user = userOpt.get();
+
+        // 5. 새 Access Token 발급
+        String newAccessToken = jwtTokenProvider.createAccessToken(
+                user.getId().toString(),
+                Map.of(
+                        "userId", user.getId(),
+                        "email", user.getEmail() != null ? user.getEmail() : "",
+                        "name", user.getName() != null ? user.getName() : "",
+                        "role", user.getRole()
+                )
+        );
+
+        // 6. 새 Refresh Token 발급 (회전)
+        String newRefreshToken = jwtTokenProvider.createRefreshToken(
+                user.getId().toString(),
+                Map.of(
+                        "userId", user.getId(),
+                        "email", user.getEmail() != null ? user.getEmail() : "",
+                        "role", user.getRole()
+                )
+        );
+
+        // 7. Refresh Token 회전 (이전 토큰 블랙리스트, 새 토큰 저장)
+        refreshTokenService.rotateRefreshToken(
+                userId,
+                refreshToken,
+                newRefreshToken,
+                jwtProperties.getRefreshTokenValidityInSeconds()
+        );
+
+        log.debug("Token refreshed for user: {}", userId);
+        return RefreshResult.issued(newAccessToken, newRefreshToken);
+    }
+
+    /**
+     * 회전된 Refresh Token 재사용 판별
+     *
+     * grace 기간 안이면 다른 노드에서 회전된 동시 요청으로 보고 거부만 합니다.
+     * 그 이후의 재사용은 탈취로 보고 사용자의 모든 Refresh/Access Token 을 폐기합니다.
+     */
+    private void detectReuse(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.getRotation(refreshToken);
+        if (rotation == null) {
+            return;
+        }
+        long elapsedMillis = System.currentTimeMillis() - rotation.rotatedAtMillis();
+        if (elapsedMillis < jwtProperties.getRefreshReuseGraceSeconds() * 1000) {
+            return;
         }
+        log.warn("Rotated refresh token reused after {} ms, revoking all tokens for user: {}",
+                elapsedMillis, rotation.userId());
+        refreshTokenService.deleteAllUserTokens(rotation.userId());
+        tokenRevocationService.revokeAllForUser(rotation.userId());
     }
 
     /**
@@ -151,26 +199,24 @@ public class AuthController {
         try {
             String token = request.get("token");
             if (token == null || token.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(Map.of("error", "토큰이 필요합니다."));
+                return authResponses.of(Constant.TOKEN_REQUIRED);
             }
 
             // JWT 토큰 파싱 및 검증
             Claims claims = jwtTokenProvider.parseToken(token);
-            
-            return ResponseEntity.ok(Map.of(
-                    "valid", true,
-                    "userId", claims.get("userId"),
-                    "email", claims.get("email"),
-                    "role", claims.get("role"),
-                    "exp", claims.getExpiration().getTime()
+            if (accessTokenDenyList.isRevoked(claims)) {
+                return authResponses.of(Constant.INVALID_TOKEN);
+            }
+
+            return ResponseEntity.ok(TokenVerifyResponse.valid(
+                    claims.get("userId", Long.class),
+                    claims.get("email", String.class),
+                    claims.get("role", String.class),
+                    claims.getExpiration().getTime()
             ));
         } catch (Exception e) {
             log.debug("Token verification failed", e);
-            return ResponseEntity.ok(Map.of(
-                    "valid", false,
-                    "error", "유효하지 않은 토큰입니다."
-            ));
+            return authResponses.of(Constant.INVALID_TOKEN);
         }
     }
 
@@ -180,6 +226,7 @@ public class AuthController {
      * 
      * - Refresh Token을 Redis에서 삭제
      * - Refresh Token을 블랙리스트에 추가
+     * - Authorization 헤더의 Access Token 폐기 (모든 노드에 전파)
      * - HttpOnly 쿠키 삭제
      */
     @PostMapping("/logout")
@@ -201,6 +248,16 @@ public class AuthController {
                 }
             }
 
+            // Access Token 폐기 (만료/위조 토큰은 폐기할 필요 없음)
+            String authorization = request.getHeader("Authorization");
+            if (authorization != null && authorization.startsWith("Bearer ")) {
+                try {
+                    tokenRevocationService.revokeAccessToken(jwtTokenProvider.parseToken(authorization.substring(7)));
+                } catch (JwtException e) {
+                    log.debug("Access token not revoked on logout: {}", e.getMessage());
+                }
+            }
+
             // HttpOnly 쿠키 삭제
             Cookie cookie = new Cookie("refreshToken", null);
             cookie.setHttpOnly(true);
@@ -209,12 +266,39 @@ public class AuthController {
             cookie.setMaxAge(0);
             response.addCookie(cookie);
 
-            return ResponseEntity.ok(Map.of("message", "로그아웃되었습니다."));
+            return authResponses.of(Constant.LOGGED_OUT);
         } catch (Exception e) {
             log.error("Logout error", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "로그아웃 중 오류가 발생했습니다."));
+            return authResponses.of(Constant.LOGOUT_FAILED);
         }
     }
-}
 
+    /**
+     * 전체 기기 로그아웃 (강제 로그아웃)
+     * POST /api/auth/logout-all
+     *
+     * - 사용자의 모든 Refresh Token 삭제
+     * - 지금까지 발급된 사용자의 모든 Access Token 폐기 (모든 노드에 전파)
+     * - HttpOnly 쿠키 삭제
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(Authentication authentication, HttpServletResponse response) {
+        try {
+            String userId = authentication.getName();
+            refreshTokenService.deleteAllUserTokens(userId);
+            tokenRevocationService.revokeAllForUser(userId);
+
+            Cookie cookie = new Cookie("refreshToken", null);
+            cookie.setHttpOnly(true);
+            cookie.setSecure(true);
+            cookie.setPath("/");
+            cookie.setMaxAge(0);
+            response.addCookie(cookie);
+
+            return authResponses.of(Constant.LOGGED_OUT);
+        } catch (Exception e) {
+            log.error("Logout-all error", e);
+            return authResponses.of(Constant.LOGOUT_FAILED);
+        }
+    }
+}
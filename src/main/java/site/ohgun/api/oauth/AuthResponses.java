@@ -0,0 +1,71 @@
+package site.ohgun.api.oauth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import site.ohgun.api.oauth.dto.ErrorResponse;
+import site.ohgun.api.oauth.dto.MessageResponse;
+import site.ohgun.api.oauth.dto.TokenVerifyResponse;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 인증 API 고정 응답 본문
+ *
+ * 역할:
+ * - 내용이 바뀌지 않는 에러/안내 응답을 애플리케이션 시작 시 한 번만 JSON 으로 인코딩
+ * - 요청마다 Map 생성과 Jackson 직렬화를 반복하지 않고 byte[] 를 그대로 응답
+ *
+ * 인코딩에는 Spring MVC 와 동일한 ObjectMapper 를 사용하므로 응답 형식은 기존과 같습니다.
+ */
+@Component
+public class AuthResponses {
+
+    /**
+     * 고정 응답 목록
+     */
+    public enum Constant {
+        REFRESH_TOKEN_REQUIRED(HttpStatus.UNAUTHORIZED, new ErrorResponse("Refresh token이 필요합니다.")),
+        INVALID_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, new ErrorResponse("유효하지 않은 Refresh Token입니다.")),
+        REFRESH_TOKEN_NOT_FOUND(HttpStatus.UNAUTHORIZED, new ErrorResponse("Refresh Token을 찾을 수 없습니다.")),
+        USER_NOT_FOUND(HttpStatus.UNAUTHORIZED, new ErrorResponse("사용자를 찾을 수 없습니다.")),
+        REFRESH_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, new ErrorResponse("토큰 재발급 중 오류가 발생했습니다.")),
+        TOKEN_REQUIRED(HttpStatus.BAD_REQUEST, new ErrorResponse("토큰이 필요합니다.")),
+        INVALID_TOKEN(HttpStatus.OK, TokenVerifyResponse.invalid("유효하지 않은 토큰입니다.")),
+        LOGGED_OUT(HttpStatus.OK, new MessageResponse("로그아웃되었습니다.")),
+        LOGOUT_FAILED(HttpStatus.INTERNAL_SERVER_ERROR, new ErrorResponse("로그아웃 중 오류가 발생했습니다."));
+
+        private final HttpStatus status;
+        private final Object body;
+
+        Constant(HttpStatus status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+    }
+
+    private final Map<Constant, byte[]> encodedBodies = new EnumMap<>(Constant.class);
+
+    public AuthResponses(ObjectMapper objectMapper) throws JsonProcessingException {
+        for (Constant constant : Constant.values()) {
+            encodedBodies.put(constant, objectMapper.writeValueAsBytes(constant.body));
+        }
+    }
+
+    /**
+     * 미리 인코딩된 본문으로 응답 생성
+     */
+    public ResponseEntity<byte[]> of(Constant constant) {
+        return ResponseEntity.status(constant.status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(encodedBodies.get(constant));
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.oauth.revocation.AccessTokenDenyList;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -24,7 +25,8 @@ import java.util.List;
  * 
  * 동작 방식:
  * 1. 요청 헤더에서 "Authorization: Bearer <token>" 형식의 토큰 추출
- * 2. 토큰 검증 (JwtTokenProvider 사용)
+ * 2. 토큰 검증 (JwtTokenProvider 사용, 파싱은 한 번만 수행)
+ *    + 폐기 여부 확인 (AccessTokenDenyList, 메모리 조회만 수행)
  * 3. 검증 성공 시 SecurityContext에 인증 정보 설정
  * 4. 검증 실패 시 다음 필터로 진행 (인증 실패는 SecurityConfig에서 처리)
  */
@@ -33,6 +35,7 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final AccessTokenDenyList denyList;
 
     @Override
     protected void doFilterInternal(
@@ -44,9 +47,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // 1. 요청 헤더에서 JWT 토큰 추출
             String token = extractTokenFromRequest(request);
 
-            // 2. 토큰이 있고 유효한 경우 인증 정보 설정
-            if (StringUtils.hasText(token) && validateToken(token)) {
-                Claims claims = jwtTokenProvider.parseToken(token);
+            // 2. 토큰이 있고 유효하며 폐기되지 않은 경우 인증 정보 설정
+            Claims claims = StringUtils.hasText(token) ? parseToken(token) : null;
+            if (claims != null && !denyList.isRevoked(claims)) {
                 String userId = claims.getSubject();
 
                 // 3. 인증 정보 생성 (권한은 필요시 claims에서 추출)
@@ -85,14 +88,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     /**
-     * JWT 토큰 유효성 검증
+     * JWT 토큰 파싱 및 유효성 검증 (실패 시 null)
      */
-    private boolean validateToken(String token) {
+    private Claims parseToken(String token) {
         try {
-            jwtTokenProvider.parseToken(token);
-            return true;
+            return jwtTokenProvider.parseToken(token);
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 }
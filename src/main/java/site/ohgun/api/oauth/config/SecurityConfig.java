@@ -35,6 +35,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // OPTIONS 요청은 모든 경로에서 허용 (CORS Preflight)
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // JFR 녹화 파일 다운로드는 인증 필요 (/actuator/** 공개 규칙보다 먼저 적용)
+                        .requestMatchers("/actuator/jfr", "/actuator/jfr/**").authenticated()
                         // 공개 엔드포인트 (인증 불필요)
                         .requestMatchers(
                                 "/",
@@ -0,0 +1,57 @@
+package site.ohgun.api.oauth.degraded;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+
+/**
+ * Refresh Token 저장소 서킷 브레이커 설정
+ *
+ * Redis 예외(DataAccessException: 연결 실패, 명령 타임아웃)만 실패로 집계합니다.
+ * 상태 메트릭: resilience4j.circuitbreaker.state{name="token-store", state}
+ */
+@Configuration
+public class DegradedModeConfig {
+
+    public static final String CIRCUIT_BREAKER = "token-store";
+
+    @Bean
+    public CircuitBreakerRegistry tokenStoreCircuitBreakerRegistry(DegradedModeProperties properties) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.getFailureRateThreshold())
+                .slowCallDurationThreshold(properties.getSlowCallDurationThreshold())
+                .slowCallRateThreshold(properties.getSlowCallRateThreshold())
+                .slidingWindowSize(properties.getSlidingWindowSize())
+                .minimumNumberOfCalls(properties.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(properties.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(properties.getPermittedCallsInHalfOpenState())
+                // 트래픽이 없어도 OPEN 이후 시험 호출(저널 재반영)이 가능하도록
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordExceptions(DataAccessException.class)
+                .build();
+        return CircuitBreakerRegistry.of(config);
+    }
+
+    @Bean
+    public CircuitBreaker tokenStoreCircuitBreaker(CircuitBreakerRegistry tokenStoreCircuitBreakerRegistry) {
+        return tokenStoreCircuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+    }
+
+    @Bean
+    public MeterBinder tokenStoreCircuitBreakerMetrics(CircuitBreakerRegistry tokenStoreCircuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(tokenStoreCircuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder localTokenCacheMetrics(LocalTokenCache localTokenCache) {
+        return registry -> Gauge.builder("token_store.validity_cache.size", localTokenCache, LocalTokenCache::size)
+                .description("Refresh tokens remembered locally for degraded mode")
+                .register(registry);
+    }
+}
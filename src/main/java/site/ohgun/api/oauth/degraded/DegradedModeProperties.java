@@ -0,0 +1,81 @@
+package site.ohgun.api.oauth.degraded;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Redis 장애 시 Refresh Token 저장소 degraded mode 설정
+ *
+ * 서킷 브레이커 임계값, 로컬 write-ahead 저널 크기, 로컬 유효성 캐시 기간을 정합니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "token-store.degraded")
+public class DegradedModeProperties {
+
+    /**
+     * false 이면 Redis 예외를 그대로 전파 (이전 동작)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 실패율(%)이 이 이상이면 서킷 OPEN
+     */
+    private float failureRateThreshold = 50;
+
+    /**
+     * 이보다 오래 걸린 호출은 느린 호출로 집계
+     */
+    private Duration slowCallDurationThreshold = Duration.ofMillis(300);
+
+    /**
+     * 느린 호출 비율(%)이 이 이상이면 서킷 OPEN
+     */
+    private float slowCallRateThreshold = 80;
+
+    /**
+     * 판단에 쓰는 최근 호출 수
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * 이 수만큼 호출된 뒤부터 실패율을 판단
+     */
+    private int minimumNumberOfCalls = 20;
+
+    /**
+     * OPEN 유지 시간 (이후 HALF_OPEN 으로 전환해 시험 호출)
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+    /**
+     * HALF_OPEN 상태에서 허용하는 시험 호출 수
+     */
+    private int permittedCallsInHalfOpenState = 5;
+
+    /**
+     * Redis 에 반영하지 못한 쓰기(회전/저장/삭제)를 보관할 최대 개수 (넘치면 쓰기 실패)
+     */
+    private int journalCapacity = 10000;
+
+    /**
+     * 저널 재반영 시도 간격
+     */
+    private Duration replayInterval = Duration.ofSeconds(5);
+
+    /**
+     * 최근 확인/발급한 Refresh Token 을 Redis 없이 인정하는 기간
+     * 서킷이 열린 동안 다른 노드에서 회전/폐기한 토큰도 이 기간 안에서는 통과하므로 짧게 유지
+     */
+    private Duration validityCacheTtl = Duration.ofMinutes(1);
+
+    /**
+     * 로컬 유효성 캐시 최대 항목 수
+     */
+    private int validityCacheSize = 100000;
+}
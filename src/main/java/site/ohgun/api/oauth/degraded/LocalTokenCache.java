@@ -0,0 +1,127 @@
+package site.ohgun.api.oauth.degraded;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 확인/발급한 Refresh Token 의 노드 로컬 유효성 캐시 (메모리)
+ *
+ * 역할:
+ * - Redis 를 쓸 수 없을 때 validityCacheTtl 안에 이 노드가 발급했거나 Redis 로 확인한 토큰을 인정
+ * - 이 노드에서 폐기/회전한 토큰은 Redis 와 무관하게 거부 (폐기는 되돌리지 않음)
+ *
+ * 다른 노드에서의 폐기는 Redis 가 복구될 때까지 알 수 없으므로, 인정 기간을 짧게 유지해 위험을 제한합니다.
+ * 크기는 validityCacheSize 로 제한되며 가득 차면 새 유효 토큰은 기억하지 않습니다(폐기는 항상 기록).
+ */
+@Component
+public class LocalTokenCache {
+
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public LocalTokenCache(DegradedModeProperties properties) {
+        this.ttlMillis = properties.getValidityCacheTtl().toMillis();
+        this.maxSize = properties.getValidityCacheSize();
+    }
+
+    /**
+     * 유효한 토큰으로 기억 (이미 폐기된 토큰은 그대로 둠)
+     */
+    public void remember(String refreshToken, String userId) {
+        purgeIfDue();
+        if (tokens.size() >= maxSize && !tokens.containsKey(refreshToken)) {
+            return;
+        }
+        long until = System.currentTimeMillis() + ttlMillis;
+        tokens.compute(refreshToken, (token, existing) ->
+                existing != null && existing.revoked() ? existing : new CachedToken(userId, until, false, 0));
+    }
+
+    /**
+     * 폐기 (로그아웃, 블랙리스트)
+     */
+    public void revoke(String refreshToken) {
+        purgeIfDue();
+        long until = System.currentTimeMillis() + ttlMillis;
+        tokens.compute(refreshToken, (token, existing) -> new CachedToken(
+                existing != null ? existing.userId() : null,
+                until,
+                true,
+                existing != null ? existing.rotatedAtMillis() : 0));
+    }
+
+    /**
+     * 회전으로 폐기 (재사용 판별용 회전 시각 보관)
+     */
+    public void rotated(String refreshToken, String userId, long rotatedAtMillis) {
+        purgeIfDue();
+        long until = System.currentTimeMillis() + ttlMillis;
+        tokens.put(refreshToken, new CachedToken(userId, until, true, rotatedAtMillis));
+    }
+
+    /**
+     * 사용자의 기억된 토큰 전체 폐기 (강제 로그아웃)
+     */
+    public void revokeUser(String userId) {
+        tokens.replaceAll((token, cached) -> userId.equals(cached.userId()) && !cached.revoked()
+                ? new CachedToken(cached.userId(), cached.seenUntilMillis(), true, cached.rotatedAtMillis())
+                : cached);
+    }
+
+    /**
+     * 인정 기간 안의 폐기되지 않은 토큰이면 사용자 ID, 아니면 null
+     */
+    public String validUserId(String refreshToken) {
+        CachedToken cached = current(refreshToken);
+        return cached != null && !cached.revoked() ? cached.userId() : null;
+    }
+
+    public boolean isRevoked(String refreshToken) {
+        CachedToken cached = current(refreshToken);
+        return cached != null && cached.revoked();
+    }
+
+    /**
+     * 이 노드에서 회전한 토큰이면 회전 기록, 아니면 null
+     */
+    public CachedToken rotation(String refreshToken) {
+        CachedToken cached = current(refreshToken);
+        return cached != null && cached.rotatedAtMillis() > 0 ? cached : null;
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    private CachedToken current(String refreshToken) {
+        CachedToken cached = tokens.get(refreshToken);
+        return cached != null && cached.seenUntilMillis() > System.currentTimeMillis() ? cached : null;
+    }
+
+    private void purgeIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastPurge.get();
+        boolean full = tokens.size() >= maxSize;
+        if ((full || now - last >= PURGE_INTERVAL_MILLIS) && lastPurge.compareAndSet(last, now)) {
+            tokens.values().removeIf(cached -> cached.seenUntilMillis() <= now);
+        }
+    }
+
+    /**
+     * @param userId - 토큰 소유 사용자 ID (폐기만 기록된 경우 null 일 수 있음)
+     * @param seenUntilMillis - 이 시각까지 인정/기억
+     * @param revoked - 폐기 여부
+     * @param rotatedAtMillis - 회전 시각 (회전되지 않았으면 0)
+     */
+    public record CachedToken(String userId, long seenUntilMillis, boolean revoked, long rotatedAtMillis) {
+    }
+}
@@ -0,0 +1,278 @@
+package site.ohgun.api.oauth.degraded;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Refresh Token 저장소(Redis) 호출 보호 - 서킷 브레이커 + 로컬 write-ahead 저널
+ *
+ * 역할:
+ * - 조회: 서킷이 열렸거나 Redis 호출이 실패하면 기다리지 않고 fallback(LocalTokenCache) 결과 사용
+ * - 쓰기: 실패하면 저널에 순서대로 보관하고 Redis 복구 후 재반영 (저널이 비기 전의 쓰기도 순서 유지를 위해 저널로)
+ * - 저널이 가득 차면 쓰기를 거부 (회전/로그인 실패)
+ *
+ * 메트릭:
+ * - token_store.degraded (서킷이 CLOSED 가 아니거나 재반영할 쓰기가 남아 있으면 1)
+ * - token_store.journal.pending / token_store.journal.capacity
+ * - token_store.fallback{operation}, token_store.journal.replayed, token_store.journal.dropped{reason}
+ */
+@Component
+@Slf4j
+public class TokenStoreGuard implements DisposableBean {
+
+    private final boolean enabled;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    private final LinkedBlockingDeque<PendingWrite> journal;
+    private final Map<String, Integer> pendingKeys = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService replayExecutor;
+    private final AtomicBoolean replayRequested = new AtomicBoolean();
+
+    private final Counter replayed;
+    private final Counter droppedExpired;
+    private final Counter droppedFull;
+    private final Counter droppedError;
+
+    public TokenStoreGuard(
+            DegradedModeProperties properties,
+            CircuitBreaker tokenStoreCircuitBreaker,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = properties.isEnabled();
+        this.circuitBreaker = tokenStoreCircuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.journal = new LinkedBlockingDeque<>(properties.getJournalCapacity());
+
+        this.replayed = Counter.builder("token_store.journal.replayed")
+                .description("Journaled token store writes applied to Redis after recovery")
+                .register(meterRegistry);
+        this.droppedExpired = dropped("expired");
+        this.droppedFull = dropped("full");
+        this.droppedError = dropped("error");
+
+        Gauge.builder("token_store.degraded", this, guard -> guard.isDegraded() ? 1 : 0)
+                .description("1 while the token store runs without Redis or has writes to replay")
+                .register(meterRegistry);
+        Gauge.builder("token_store.journal.pending", journal, LinkedBlockingDeque::size)
+                .description("Token store writes waiting to be replayed to Redis")
+                .register(meterRegistry);
+        Gauge.builder("token_store.journal.capacity", properties, DegradedModeProperties::getJournalCapacity)
+                .register(meterRegistry);
+
+        this.replayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-store-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            long interval = properties.getReplayInterval().toMillis();
+            replayExecutor.scheduleWithFixedDelay(this::replay, interval, interval, TimeUnit.MILLISECONDS);
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                log.warn("Token store circuit breaker {}", event.getStateTransition());
+                if (event.getStateTransition().getToState() != CircuitBreaker.State.OPEN) {
+                    requestReplay();
+                }
+            });
+        }
+    }
+
+    /**
+     * Redis 조회, 실패 시 fallback
+     *
+     * @param operation - 메트릭 태그 (auth.datastore 의 operation 과 같은 이름)
+     * @param redisCall - Redis 조회
+     * @param fallback - Redis 를 쓸 수 없을 때의 결과 (로컬 캐시)
+     */
+    public <T> T read(String operation, Supplier<T> redisCall, Supplier<T> fallback) {
+        if (!enabled) {
+            return redisCall.get();
+        }
+        try {
+            return circuitBreaker.executeSupplier(redisCall);
+        } catch (CallNotPermittedException | DataAccessException e) {
+            recordFallback(operation, e);
+            return fallback.get();
+        }
+    }
+
+    /**
+     * Redis 쓰기, 실패하거나 앞선 쓰기가 저널에 남아 있으면 저널에 보관
+     *
+     * @param operation - 메트릭 태그
+     * @param ttlSeconds - 쓰는 키의 유효 시간 (0 이면 만료 없음 - 삭제 등). 재반영 시 남은 시간으로 다시 계산
+     * @param write - 남은 유효 시간(초)을 받아 Redis 에 쓰는 작업
+     */
+    public void write(String operation, long ttlSeconds, RedisWrite write) {
+        write(operation, ttlSeconds, null, write);
+    }
+
+    /**
+     * {@link #write(String, long, RedisWrite)} 과 같으며, 저널에 남아 있는 동안 key 로
+     * {@link #hasPendingWrite(String)} 를 확인할 수 있음
+     *
+     * @param key - 쓰는 대상 (예: Refresh Token), null 이면 추적하지 않음
+     */
+    public void write(String operation, long ttlSeconds, String key, RedisWrite write) {
+        if (!enabled) {
+            write.apply(ttlSeconds);
+            return;
+        }
+        long expiresAtMillis = ttlSeconds > 0 ? System.currentTimeMillis() + ttlSeconds * 1000 : Long.MAX_VALUE;
+        PendingWrite pending = new PendingWrite(operation, expiresAtMillis, key, write);
+
+        RuntimeException cause = null;
+        if (journal.isEmpty()) {
+            try {
+                circuitBreaker.executeRunnable(() -> write.apply(ttlSeconds));
+                return;
+            } catch (CallNotPermittedException | DataAccessException e) {
+                recordFallback(operation, e);
+                cause = e;
+            }
+        }
+
+        track(pending);
+        if (!journal.offerLast(pending)) {
+            release(pending);
+            droppedFull.increment();
+            log.error("Token store journal is full ({} writes), rejecting {}", journal.size(), operation);
+            throw cause != null ? cause : new IllegalStateException("Token store journal is full, rejecting " + operation);
+        }
+        if (circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+            requestReplay();
+        }
+    }
+
+    /**
+     * 재반영할 쓰기가 남아 있는지 (Redis 의 값이 이 노드보다 오래되었을 수 있음)
+     */
+    public boolean hasPendingWrites() {
+        return !journal.isEmpty();
+    }
+
+    /**
+     * key 로 보관한 쓰기가 아직 Redis 에 반영되지 않았는지
+     */
+    public boolean hasPendingWrite(String key) {
+        return pendingKeys.containsKey(key);
+    }
+
+    public boolean isDegraded() {
+        return circuitBreaker.getState() != CircuitBreaker.State.CLOSED || !journal.isEmpty();
+    }
+
+    /**
+     * 저널을 앞에서부터 Redis 에 반영 (replay 스레드에서만 실행)
+     */
+    private void replay() {
+        replayRequested.set(false);
+        if (journal.isEmpty() || circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            return;
+        }
+        int applied = 0;
+        PendingWrite next;
+        while ((next = journal.peekFirst()) != null) {
+            long now = System.currentTimeMillis();
+            if (next.expiresAtMillis() <= now) {
+                release(journal.pollFirst());
+                droppedExpired.increment();
+                continue;
+            }
+            long ttlSeconds = next.expiresAtMillis() == Long.MAX_VALUE
+                    ? 0
+                    : Math.max(1, (next.expiresAtMillis() - now) / 1000);
+            PendingWrite current = next;
+            try {
+                circuitBreaker.executeRunnable(() -> current.write().apply(ttlSeconds));
+            } catch (CallNotPermittedException | DataAccessException e) {
+                log.debug("Token store replay paused after {} writes: {}", applied, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Dropping journaled token store write {}", current.operation(), e);
+                release(journal.pollFirst());
+                droppedError.increment();
+                continue;
+            }
+            release(journal.pollFirst());
+            replayed.increment();
+            applied++;
+        }
+        if (applied > 0) {
+            log.info("Token store journal replayed {} writes to Redis", applied);
+        }
+    }
+
+    private void track(PendingWrite pending) {
+        if (pending.key() != null) {
+            pendingKeys.merge(pending.key(), 1, Integer::sum);
+        }
+    }
+
+    private void release(PendingWrite pending) {
+        if (pending != null && pending.key() != null) {
+            pendingKeys.computeIfPresent(pending.key(), (key, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void requestReplay() {
+        if (replayRequested.compareAndSet(false, true)) {
+            replayExecutor.execute(this::replay);
+        }
+    }
+
+    private void recordFallback(String operation, RuntimeException e) {
+        Counter.builder("token_store.fallback")
+                .description("Token store calls served without Redis")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+        if (e instanceof CallNotPermittedException) {
+            log.debug("Token store circuit open, {} served locally", operation);
+        } else {
+            log.warn("Token store {} failed, serving locally: {}", operation, e.getMessage());
+        }
+    }
+
+    private Counter dropped(String reason) {
+        return Counter.builder("token_store.journal.dropped")
+                .description("Journaled token store writes that were not replayed")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        replayExecutor.shutdownNow();
+        if (!journal.isEmpty()) {
+            log.warn("Shutting down with {} token store writes not replayed to Redis", journal.size());
+        }
+    }
+
+    /**
+     * 저널에 보관할 Redis 쓰기 작업
+     */
+    @FunctionalInterface
+    public interface RedisWrite {
+        void apply(long ttlSeconds);
+    }
+
+    private record PendingWrite(String operation, long expiresAtMillis, String key, RedisWrite write) {
+    }
+}
@@ -0,0 +1,9 @@
+package site.ohgun.api.oauth.dto;
+
+/**
+ * 인증 API 공통 에러 응답
+ *
+ * @param error - 에러 메시지
+ */
+public record ErrorResponse(String error) {
+}
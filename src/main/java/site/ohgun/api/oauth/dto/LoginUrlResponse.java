@@ -0,0 +1,10 @@
+package site.ohgun.api.oauth.dto;
+
+/**
+ * GET /oauth/{provider}/login-url 응답
+ *
+ * @param url - OAuth 제공자 인가 URL
+ * @param state - CSRF 방지용 state 값
+ */
+public record LoginUrlResponse(String url, String state) {
+}
@@ -0,0 +1,9 @@
+package site.ohgun.api.oauth.dto;
+
+/**
+ * 메시지만 포함하는 응답 (로그아웃 등)
+ *
+ * @param message - 안내 메시지
+ */
+public record MessageResponse(String message) {
+}
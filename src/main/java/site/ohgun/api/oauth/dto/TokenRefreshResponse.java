@@ -0,0 +1,16 @@
+package site.ohgun.api.oauth.dto;
+
+/**
+ * POST /api/auth/refresh 성공 응답
+ *
+ * @param accessToken - 새로 발급된 Access Token
+ * @param message - 안내 메시지
+ */
+public record TokenRefreshResponse(String accessToken, String message) {
+
+    private static final String REFRESHED_MESSAGE = "토큰이 재발급되었습니다.";
+
+    public static TokenRefreshResponse of(String accessToken) {
+        return new TokenRefreshResponse(accessToken, REFRESHED_MESSAGE);
+    }
+}
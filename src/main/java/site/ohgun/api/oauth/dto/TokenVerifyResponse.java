@@ -0,0 +1,34 @@
+package site.ohgun.api.oauth.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * POST /api/auth/verify 응답
+ *
+ * 검증 실패 응답({"valid": false, "error": ...})은 고정값이므로 AuthResponses 에서 미리 인코딩합니다.
+ *
+ * @param valid - 토큰 유효 여부
+ * @param userId - 사용자 ID
+ * @param email - 이메일
+ * @param role - 권한
+ * @param exp - 만료 시각 (epoch millis)
+ * @param error - 에러 메시지 (실패한 경우)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenVerifyResponse(
+        boolean valid,
+        Long userId,
+        String email,
+        String role,
+        Long exp,
+        String error
+) {
+
+    public static TokenVerifyResponse valid(Long userId, String email, String role, long exp) {
+        return new TokenVerifyResponse(true, userId, email, role, exp, null);
+    }
+
+    public static TokenVerifyResponse invalid(String error) {
+        return new TokenVerifyResponse(false, null, null, null, null, error);
+    }
+}
@@ -14,5 +14,7 @@ public class JwtProperties {
     private String secret = "default-secret-key-change-in-production-min-256-bits";
     private long accessTokenValidityInSeconds = 86400; // 24시간
     private long refreshTokenValidityInSeconds = 2592000; // 30일
+    private long refreshReuseGraceSeconds = 10; // 회전 직후 이전 Refresh Token 재사용 허용 시간 (동시 재발급)
+    private long refreshWaitTimeoutMillis = 5000; // 동시 재발급 요청이 진행 중인 회전을 기다리는 최대 시간
 }
 
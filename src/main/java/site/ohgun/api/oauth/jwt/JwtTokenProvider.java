@@ -5,24 +5,34 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import site.ohgun.api.observability.AuthObservations;
 
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    /**
+     * 밀리초 단위 발급 시각 (표준 iat 는 초 단위라 강제 로그아웃 직후 같은 초에 발급된 토큰과 구분할 수 없음)
+     */
+    public static final String ISSUED_AT_MILLIS = "iat_ms";
+
     private final JwtProperties jwtProperties;
+    private final AuthObservations observations;
 
     public String createAccessToken(String subject, Map<String, Object> claims) {
-        return createToken(subject, claims, jwtProperties.getAccessTokenValidityInSeconds());
+        return observations.stage("jwt.sign",
+                () -> createToken(subject, claims, jwtProperties.getAccessTokenValidityInSeconds()));
     }
 
     public String createRefreshToken(String subject, Map<String, Object> claims) {
-        return createToken(subject, claims, jwtProperties.getRefreshTokenValidityInSeconds());
+        return observations.stage("jwt.sign",
+                () -> createToken(subject, claims, jwtProperties.getRefreshTokenValidityInSeconds()));
     }
 
     private String createToken(String subject, Map<String, Object> claims, long validitySeconds) {
@@ -31,20 +41,25 @@ public class JwtTokenProvider {
 
         Map<String, Object> mutableClaims = new HashMap<>(claims);
 
+        // setClaims 는 클레임 전체를 교체하므로 sub/jti 는 그 뒤에 설정
+        // jti: 로그아웃 시 토큰 단위 폐기에 사용 (TokenRevocationService)
+        // iat_ms: 강제 로그아웃 epoch 비교에 사용 (AccessTokenDenyList)
         return Jwts.builder()
-                .setSubject(subject)
                 .setClaims(mutableClaims)
+                .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(Date.from(now))
+                .claim(ISSUED_AT_MILLIS, now.toEpochMilli())
                 .setExpiration(Date.from(expiry))
                 .signWith(SignatureAlgorithm.HS256, jwtProperties.getSecret())
                 .compact();
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parser()
+        return observations.stage("jwt.verify", () -> Jwts.parser()
                 .setSigningKey(jwtProperties.getSecret())
                 .parseClaimsJws(token)
-                .getBody();
+                .getBody());
     }
 }
 
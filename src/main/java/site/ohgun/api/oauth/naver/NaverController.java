@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
+import site.ohgun.api.oauth.dto.LoginUrlResponse;
 import site.ohgun.api.oauth.jwt.JwtProperties;
 import site.ohgun.api.oauth.jwt.JwtTokenProvider;
 import site.ohgun.api.oauth.naver.dto.NaverTokenResponse;
@@ -39,11 +40,11 @@ public class NaverController {
     private String frontendRedirectUrl;
 
     @GetMapping("/login-url")
-    public ResponseEntity<Map<String, String>> getLoginUrl() {
+    public ResponseEntity<LoginUrlResponse> getLoginUrl() {
         String state = UUID.randomUUID().toString();
         String url = naverService.buildAuthorizeUrl(state);
         // TODO: state? Redis? ???? CSRF ?? ??
-        return ResponseEntity.ok(Map.of("url", url, "state", state));
+        return ResponseEntity.ok(new LoginUrlResponse(url, state));
     }
 
     @GetMapping("/callback")
@@ -13,12 +13,14 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 import site.ohgun.api.oauth.naver.dto.NaverTokenResponse;
 import site.ohgun.api.oauth.naver.dto.NaverUserInfo;
+import site.ohgun.api.observability.AuthObservations;
 
 @Service
 @RequiredArgsConstructor
 public class NaverService {
 
     private final RestTemplate restTemplate;
+    private final AuthObservations observations;
 
     @Value("${oauth.naver.client-id:}")
     private String clientId;
@@ -63,12 +65,12 @@ public class NaverService {
 
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
 
-        return restTemplate.exchange(
+        return observations.stage("naver.token", () -> restTemplate.exchange(
                 tokenUrl,
                 HttpMethod.POST,
                 request,
                 NaverTokenResponse.class
-        ).getBody();
+        ).getBody());
     }
 
     public NaverUserInfo fetchUserInfo(String accessToken) {
@@ -77,12 +79,12 @@ public class NaverService {
 
         HttpEntity<Void> request = new HttpEntity<>(headers);
 
-        return restTemplate.exchange(
+        return observations.stage("naver.userinfo", () -> restTemplate.exchange(
                 userInfoUrl,
                 HttpMethod.GET,
                 request,
                 NaverUserInfo.class
-        ).getBody();
+        ).getBody());
     }
 }
 
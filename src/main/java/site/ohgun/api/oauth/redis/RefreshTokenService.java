@@ -4,6 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
+import site.ohgun.api.oauth.degraded.LocalTokenCache;
+import site.ohgun.api.oauth.degraded.TokenStoreGuard;
+import site.ohgun.api.observability.AuthObservations;
 
 import java.util.concurrent.TimeUnit;
 
@@ -15,6 +18,15 @@ import java.util.concurrent.TimeUnit;
  * - Refresh Token 회전 (Rotation)
  * - Refresh Token 블랙리스트 관리
  * - 강제 로그아웃 처리
+ * - 회전된 토큰 재사용(탈취) 판별용 회전 기록
+ *
+ * Redis 호출은 auth.datastore{datastore=redis, operation=...} 로 계측합니다.
+ * 여러 호출로 이루어진 메서드(검증, 회전)는 각 호출이 따로 기록되므로 겹쳐 세지 않도록 감싸지 않습니다.
+ *
+ * Redis 장애 시 (degraded mode, TokenStoreGuard):
+ * - 조회는 LocalTokenCache 로 대체 (최근 확인/발급한 토큰만 인정, 이 노드에서 폐기한 토큰은 거부)
+ * - 블랙리스트는 Redis 없이 확인할 수 없으므로, 다른 노드에서 회전한 토큰은 인정 기간(validity-cache-ttl) 동안 통과 가능
+ * - 쓰기는 로컬 저널에 보관했다가 Redis 복구 후 순서대로 재반영
  */
 @Service
 @RequiredArgsConstructor
@@ -22,6 +34,9 @@ import java.util.concurrent.TimeUnit;
 public class RefreshTokenService {
 
     private final RedisTemplate<String, String> redisTemplate;
+    private final AuthObservations observations;
+    private final TokenStoreGuard guard;
+    private final LocalTokenCache localTokens;
 
     /**
      * Redis Key Prefix
@@ -29,6 +44,7 @@ public class RefreshTokenService {
     private static final String REFRESH_TOKEN_PREFIX = "refresh_token:";
     private static final String BLACKLIST_PREFIX = "blacklist:";
     private static final String USER_TOKENS_PREFIX = "user_tokens:";
+    private static final String ROTATED_PREFIX = "rotated:";
 
     /**
      * Refresh Token 저장
@@ -41,12 +57,16 @@ public class RefreshTokenService {
         String tokenKey = REFRESH_TOKEN_PREFIX + refreshToken;
         String userTokensKey = USER_TOKENS_PREFIX + userId;
 
-        // Refresh Token 저장 (토큰 자체를 키로 사용)
-        redisTemplate.opsForValue().set(tokenKey, userId, expirationSeconds, TimeUnit.SECONDS);
+        localTokens.remember(refreshToken, userId);
+        guard.write("refresh_token.save", expirationSeconds, refreshToken,
+                ttl -> observations.datastore(AuthObservations.REDIS, "refresh_token.save", () -> {
+                    // Refresh Token 저장 (토큰 자체를 키로 사용)
+                    redisTemplate.opsForValue().set(tokenKey, userId, ttl, TimeUnit.SECONDS);
 
-        // 사용자별 토큰 목록에 추가 (회전 시 이전 토큰 찾기 위해)
-        redisTemplate.opsForSet().add(userTokensKey, refreshToken);
-        redisTemplate.expire(userTokensKey, expirationSeconds, TimeUnit.SECONDS);
+                    // 사용자별 토큰 목록에 추가 (회전 시 이전 토큰 찾기 위해)
+                    redisTemplate.opsForSet().add(userTokensKey, refreshToken);
+                    redisTemplate.expire(userTokensKey, ttl, TimeUnit.SECONDS);
+                }));
 
         log.debug("Refresh token saved for user: {}", userId);
     }
@@ -59,7 +79,19 @@ public class RefreshTokenService {
      */
     public String getUserIdByRefreshToken(String refreshToken) {
         String tokenKey = REFRESH_TOKEN_PREFIX + refreshToken;
-        return redisTemplate.opsForValue().get(tokenKey);
+        String userId = guard.read("refresh_token.get",
+                () -> observations.datastore(AuthObservations.REDIS, "refresh_token.get",
+                        () -> redisTemplate.opsForValue().get(tokenKey)),
+                () -> localTokens.validUserId(refreshToken));
+
+        if (userId != null) {
+            localTokens.remember(refreshToken, userId);
+        } else if (guard.hasPendingWrite(refreshToken)) {
+            // 이 노드에서 발급한 이 토큰의 저장이 아직 Redis 에 재반영되지 않음
+            // (Redis 가 정상일 때 null 은 다른 노드의 로그아웃/탈취 대응으로 삭제된 것이므로 로컬 캐시를 믿지 않음)
+            userId = localTokens.validUserId(refreshToken);
+        }
+        return userId;
     }
 
     /**
@@ -91,11 +123,15 @@ public class RefreshTokenService {
             String tokenKey = REFRESH_TOKEN_PREFIX + refreshToken;
             String userTokensKey = USER_TOKENS_PREFIX + userId;
 
-            // 토큰 삭제
-            redisTemplate.delete(tokenKey);
-            
-            // 사용자별 토큰 목록에서 제거
-            redisTemplate.opsForSet().remove(userTokensKey, refreshToken);
+            localTokens.revoke(refreshToken);
+            guard.write("refresh_token.delete", 0,
+                    ttl -> observations.datastore(AuthObservations.REDIS, "refresh_token.delete", () -> {
+                        // 토큰 삭제
+                        redisTemplate.delete(tokenKey);
+
+                        // 사용자별 토큰 목록에서 제거
+                        redisTemplate.opsForSet().remove(userTokensKey, refreshToken);
+                    }));
 
             log.debug("Refresh token deleted for user: {}", userId);
         }
@@ -109,14 +145,18 @@ public class RefreshTokenService {
     public void deleteAllUserTokens(String userId) {
         String userTokensKey = USER_TOKENS_PREFIX + userId;
         
-        // 사용자의 모든 토큰 조회
-        redisTemplate.opsForSet().members(userTokensKey).forEach(token -> {
-            String tokenKey = REFRESH_TOKEN_PREFIX + token;
-            redisTemplate.delete(tokenKey);
-        });
-
-        // 사용자별 토큰 목록 삭제
-        redisTemplate.delete(userTokensKey);
+        localTokens.revokeUser(userId);
+        guard.write("refresh_token.delete_all", 0,
+                ttl -> observations.datastore(AuthObservations.REDIS, "refresh_token.delete_all", () -> {
+                    // 사용자의 모든 토큰 조회
+                    redisTemplate.opsForSet().members(userTokensKey).forEach(token -> {
+                        String tokenKey = REFRESH_TOKEN_PREFIX + token;
+                        redisTemplate.delete(tokenKey);
+                    });
+
+                    // 사용자별 토큰 목록 삭제
+                    redisTemplate.delete(userTokensKey);
+                }));
 
         log.info("All refresh tokens deleted for user: {}", userId);
     }
@@ -134,6 +174,15 @@ public class RefreshTokenService {
         // 이전 토큰을 블랙리스트에 추가
         blacklistToken(oldRefreshToken, expirationSeconds);
 
+        // 재사용 시 사용자/회전 시각을 알 수 있도록 회전 기록 저장 (userId:epochMillis)
+        // 회전 시각은 저널 재반영 시점이 아닌 실제 회전 시점으로 기록
+        long rotatedAtMillis = System.currentTimeMillis();
+        localTokens.rotated(oldRefreshToken, userId, rotatedAtMillis);
+        guard.write("rotation.save", expirationSeconds,
+                ttl -> observations.datastore(AuthObservations.REDIS, "rotation.save",
+                        () -> redisTemplate.opsForValue().set(ROTATED_PREFIX + oldRefreshToken,
+                                userId + ":" + rotatedAtMillis, ttl, TimeUnit.SECONDS)));
+
         // 새 토큰 저장
         saveRefreshToken(userId, newRefreshToken, expirationSeconds);
 
@@ -148,7 +197,10 @@ public class RefreshTokenService {
      */
     public void blacklistToken(String refreshToken, long expirationSeconds) {
         String blacklistKey = BLACKLIST_PREFIX + refreshToken;
-        redisTemplate.opsForValue().set(blacklistKey, "blacklisted", expirationSeconds, TimeUnit.SECONDS);
+        localTokens.revoke(refreshToken);
+        guard.write("blacklist.add", expirationSeconds,
+                ttl -> observations.datastore(AuthObservations.REDIS, "blacklist.add",
+                        () -> redisTemplate.opsForValue().set(blacklistKey, "blacklisted", ttl, TimeUnit.SECONDS)));
         log.debug("Refresh token blacklisted: {}", refreshToken);
     }
 
@@ -160,7 +212,38 @@ public class RefreshTokenService {
      */
     public boolean isBlacklisted(String refreshToken) {
         String blacklistKey = BLACKLIST_PREFIX + refreshToken;
-        return Boolean.TRUE.equals(redisTemplate.hasKey(blacklistKey));
+        // 이 노드에서 폐기한 토큰은 Redis 반영 여부와 무관하게 블랙리스트
+        return localTokens.isRevoked(refreshToken) || guard.read("blacklist.check",
+                () -> observations.datastore(AuthObservations.REDIS, "blacklist.check",
+                        () -> Boolean.TRUE.equals(redisTemplate.hasKey(blacklistKey))),
+                () -> false);
     }
-}
 
+    /**
+     * 회전으로 폐기된 Refresh Token 의 회전 기록 조회
+     *
+     * @param refreshToken - 확인할 토큰
+     * @return 회전 기록 (회전된 토큰이 아니면 null)
+     */
+    public Rotation getRotation(String refreshToken) {
+        String value = guard.read("rotation.get",
+                () -> observations.datastore(AuthObservations.REDIS, "rotation.get",
+                        () -> redisTemplate.opsForValue().get(ROTATED_PREFIX + refreshToken)),
+                () -> null);
+        if (value == null) {
+            LocalTokenCache.CachedToken rotated = localTokens.rotation(refreshToken);
+            return rotated != null ? new Rotation(rotated.userId(), rotated.rotatedAtMillis()) : null;
+        }
+        int separator = value.lastIndexOf(':');
+        return new Rotation(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+    }
+
+    /**
+     * 회전 기록
+     *
+     * @param userId - 토큰 소유 사용자 ID
+     * @param rotatedAtMillis - 회전 시각 (epoch millis)
+     */
+    public record Rotation(String userId, long rotatedAtMillis) {
+    }
+}
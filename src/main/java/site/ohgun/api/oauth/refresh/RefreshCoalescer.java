@@ -0,0 +1,107 @@
+package site.ohgun.api.oauth.refresh;
+
+import org.springframework.stereotype.Component;
+import site.ohgun.api.oauth.AuthResponses.Constant;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 같은 Refresh Token 으로 동시에 들어온 재발급 요청 병합 (노드 로컬)
+ *
+ * 브라우저 탭 여러 개가 같은 쿠키로 동시에 /api/auth/refresh 를 호출하면
+ * 첫 요청만 회전을 수행하고, 나머지는 진행 중인 결과를 기다려 같은 토큰 쌍을 받습니다.
+ * 회전이 끝난 뒤에도 grace 기간(jwt.refresh-reuse-grace-seconds) 동안은 이전 토큰 재사용에
+ * 같은 토큰 쌍을 돌려줍니다. 기간이 지난 재사용은 캐시에 없으므로 일반 경로에서 탈취로 처리됩니다.
+ *
+ * 실패 결과는 대기 중이던 요청에만 전달하고 보관하지 않습니다.
+ * 대기는 jwt.refresh-wait-timeout-millis 까지만 하며, 첫 요청이 그 안에 끝나지 않으면
+ * 대기 중인 요청은 재발급 실패로 응답합니다 (요청 스레드가 무기한 묶이지 않도록).
+ */
+@Component
+public class RefreshCoalescer {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long graceNanos;
+
+    private final long waitTimeoutNanos;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+
+    public RefreshCoalescer(JwtProperties jwtProperties) {
+        this.graceNanos = TimeUnit.SECONDS.toNanos(jwtProperties.getRefreshReuseGraceSeconds());
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(jwtProperties.getRefreshWaitTimeoutMillis());
+    }
+
+    /**
+     * @param refreshToken - 요청에 담긴 Refresh Token
+     * @param rotation - 실제 회전 (검증, 토큰 발급, Redis 회전)
+     */
+    public RefreshResult refresh(String refreshToken, Supplier<RefreshResult> rotation) {
+        long now = System.nanoTime();
+        sweepIfDue(now);
+
+        CompletableFuture<RefreshResult> mine = new CompletableFuture<>();
+        Entry entry = entries.compute(refreshToken, (token, existing) ->
+                existing != null && !existing.isExpired(now, graceNanos) ? existing : new Entry(mine, now));
+        if (entry.result() != mine) {
+            return await(entry.result());
+        }
+
+        try {
+            RefreshResult result = rotation.get();
+            mine.complete(result);
+            if (!result.isIssued()) {
+                entries.remove(refreshToken, entry);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            entries.remove(refreshToken, entry);
+            throw e;
+        }
+    }
+
+    /**
+     * 진행 중인 회전 결과 대기 (제한 시간 초과/인터럽트 시 재발급 실패)
+     */
+    private RefreshResult await(CompletableFuture<RefreshResult> result) {
+        try {
+            return result.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return RefreshResult.failed(Constant.REFRESH_FAILED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return RefreshResult.failed(Constant.REFRESH_FAILED);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void sweepIfDue(long now) {
+        long last = lastSweep.get();
+        if (now - last >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(last, now)) {
+            entries.values().removeIf(entry -> entry.isExpired(now, graceNanos));
+        }
+    }
+
+    private record Entry(CompletableFuture<RefreshResult> result, long startedAt) {
+
+        boolean isExpired(long now, long graceNanos) {
+            return result.isDone() && now - startedAt >= graceNanos;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package site.ohgun.api.oauth.refresh;
+
+import site.ohgun.api.oauth.AuthResponses.Constant;
+
+/**
+ * 토큰 재발급 결과
+ *
+ * 성공 시 새 토큰 쌍, 실패 시 응답할 고정 에러(AuthResponses.Constant)를 담습니다.
+ */
+public record RefreshResult(String accessToken, String refreshToken, Constant error) {
+
+    public static RefreshResult issued(String accessToken, String refreshToken) {
+        return new RefreshResult(accessToken, refreshToken, null);
+    }
+
+    public static RefreshResult failed(Constant error) {
+        return new RefreshResult(null, null, error);
+    }
+
+    public boolean isIssued() {
+        return error == null;
+    }
+}
@@ -0,0 +1,122 @@
+package site.ohgun.api.oauth.revocation;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 폐기된 Access Token 의 노드 로컬 목록 (메모리)
+ *
+ * 역할:
+ * - jti 단위 폐기: 로그아웃한 토큰 (토큰 exp 까지 보관)
+ * - 사용자 단위 폐기(epoch): 해당 시각 이전에 발급된 그 사용자의 토큰 전체 (epoch + Access Token 유효 시간까지 보관)
+ *
+ * epoch 는 밀리초 단위로 토큰의 iat_ms 와 비교합니다. 초 단위로 비교하면 강제 로그아웃 직후
+ * 같은 초에 다시 로그인해 받은 토큰까지 폐기됩니다. iat_ms 가 없는 이전 토큰은 iat 초의 시작으로 봅니다 (같은 초에 발급됐으면 폐기).
+ *
+ * JwtAuthenticationFilter 가 요청마다 조회하므로 해시 조회 두 번으로 끝나야 합니다.
+ * 원본은 Redis 에 있고 TokenRevocationService / RevocationMessageListener 가 이 목록을 채웁니다.
+ * 만료 항목은 변경 시점에 최대 1분 간격으로 정리합니다.
+ */
+@Component
+public class AccessTokenDenyList {
+
+    private static final long PURGE_INTERVAL_SECONDS = 60;
+
+    private final long accessTokenValidityMillis;
+
+    /** jti → 토큰 만료 시각 (epoch seconds) */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** userId → 이 시각(epoch millis) 이하에 발급된 토큰은 폐기 */
+    private final Map<String, Long> userEpochs = new ConcurrentHashMap<>();
+
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    public AccessTokenDenyList(JwtProperties jwtProperties) {
+        this.accessTokenValidityMillis = TimeUnit.SECONDS.toMillis(jwtProperties.getAccessTokenValidityInSeconds());
+    }
+
+    /**
+     * 파싱(서명/만료 검증)이 끝난 토큰의 폐기 여부
+     */
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti != null && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        String userId = claims.getSubject();
+        if (userId == null || userEpochs.isEmpty()) {
+            return false;
+        }
+        Long epoch = userEpochs.get(userId);
+        if (epoch == null) {
+            return false;
+        }
+        Long issuedAtMillis = issuedAtMillis(claims);
+        return issuedAtMillis == null || issuedAtMillis <= epoch;
+    }
+
+    public void revokeToken(String jti, long expiresAtSeconds) {
+        if (expiresAtSeconds > now()) {
+            revokedTokens.put(jti, expiresAtSeconds);
+        }
+        purgeIfDue();
+    }
+
+    public void revokeUser(String userId, long epochMillis) {
+        userEpochs.merge(userId, epochMillis, Math::max);
+        purgeIfDue();
+    }
+
+    /**
+     * Redis 목록 반영 (재연결 시 재동기화)
+     *
+     * 폐기는 되돌리지 않으므로 합치기만 하고 만료분을 정리합니다.
+     * 동기화 도중 도착한 pub/sub 이벤트도 그대로 남습니다.
+     */
+    public void mergeAll(Map<String, Long> tokens, Map<String, Long> epochs) {
+        revokedTokens.putAll(tokens);
+        epochs.forEach((userId, epoch) -> userEpochs.merge(userId, epoch, Math::max));
+        purge();
+    }
+
+    public int size() {
+        return revokedTokens.size() + userEpochs.size();
+    }
+
+    private void purgeIfDue() {
+        long now = now();
+        long last = lastPurge.get();
+        if (now - last >= PURGE_INTERVAL_SECONDS && lastPurge.compareAndSet(last, now)) {
+            purge();
+        }
+    }
+
+    private void purge() {
+        long now = now();
+        long nowMillis = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        userEpochs.values().removeIf(epoch -> epoch + accessTokenValidityMillis <= nowMillis);
+    }
+
+    private static Long issuedAtMillis(Claims claims) {
+        if (claims.get(JwtTokenProvider.ISSUED_AT_MILLIS) instanceof Number millis) {
+            return millis.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() / 1000 * 1000 : null;
+    }
+
+    private static long now() {
+        return Instant.now().getEpochSecond();
+    }
+}
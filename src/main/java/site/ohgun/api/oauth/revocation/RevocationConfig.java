@@ -0,0 +1,40 @@
+package site.ohgun.api.oauth.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Access Token 폐기 이벤트 구독 설정
+ *
+ * jwt.revocation.enabled=false 이면 구독하지 않습니다. (단일 노드/테스트용)
+ * 이 경우 폐기는 이 노드의 메모리와 Redis 에만 반영됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jwt.revocation", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RevocationConfig {
+
+    @Bean
+    public RevocationMessageListener revocationMessageListener(TokenRevocationService revocationService) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("revocation-resync-");
+        executor.setVirtualThreads(true);
+        return new RevocationMessageListener(revocationService, executor);
+    }
+
+    /**
+     * 연결이 끊기면 컨테이너가 재구독하고, 재구독 시 리스너가 전체 재동기화를 수행합니다.
+     */
+    @Bean
+    public RedisMessageListenerContainer revocationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            RevocationMessageListener revocationMessageListener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(revocationMessageListener, new ChannelTopic(TokenRevocationService.CHANNEL));
+        return container;
+    }
+}
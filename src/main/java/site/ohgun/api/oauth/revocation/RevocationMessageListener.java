@@ -0,0 +1,46 @@
+package site.ohgun.api.oauth.revocation;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+
+/**
+ * 폐기 이벤트 구독 리스너
+ *
+ * - 메시지 수신: 메모리 폐기 목록에 즉시 반영
+ * - 채널 구독 완료(최초 기동 및 Redis 재연결 후 재구독): 구독이 끊겨 있던 동안의 이벤트를
+ *   놓쳤을 수 있으므로 Redis 에서 전체 재동기화
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RevocationMessageListener implements MessageListener, SubscriptionListener {
+
+    private final TokenRevocationService revocationService;
+    private final Executor executor;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            revocationService.apply(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("Failed to apply revocation event: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        // 구독 스레드를 막지 않도록 별도 스레드에서 수행
+        executor.execute(() -> {
+            try {
+                revocationService.resync();
+            } catch (Exception e) {
+                log.warn("Revocation list resync failed: {}", e.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package site.ohgun.api.oauth.revocation;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Access Token 폐기 서비스 (Upstash Redis)
+ *
+ * 역할:
+ * - 로그아웃: 토큰 jti 폐기
+ * - 강제 로그아웃: 사용자 epoch 폐기 (그 시각 이전 발급 토큰 전체, epoch millis)
+ * - 폐기 목록 재동기화 (노드 기동/Redis 재연결 시)
+ *
+ * 폐기 항목은 Redis ZSET 에 만료 시각(score)과 함께 저장하고 pub/sub 채널로 모든 노드에 알립니다.
+ * 각 노드는 AccessTokenDenyList(메모리)만 조회하므로 요청 경로에는 Redis 호출이 없습니다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationService {
+
+    /**
+     * 폐기 이벤트 채널 / Redis Key
+     */
+    public static final String CHANNEL = "token_revocations";
+    private static final String REVOKED_TOKENS_KEY = "revoked_access_tokens";
+    private static final String USER_EPOCHS_KEY = "revoked_user_epochs_ms";
+
+    // 사용자 epoch 가 초 단위였던 이전 노드가 밀리초 값을 초로 해석하지 않도록 이벤트 이름도 구분
+    private static final String TOKEN_EVENT = "jti";
+    private static final String USER_EVENT = "user_ms";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final AccessTokenDenyList denyList;
+    private final JwtProperties jwtProperties;
+    private final AuthObservations observations;
+
+    /**
+     * Access Token 폐기 (로그아웃)
+     *
+     * @param claims - 검증된 Access Token 클레임 (jti 없는 이전 토큰은 폐기할 수 없음)
+     */
+    public void revokeAccessToken(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            log.debug("Access token without jti, skipping revocation for user: {}", claims.getSubject());
+            return;
+        }
+        long expiresAt = claims.getExpiration().getTime() / 1000;
+
+        denyList.revokeToken(jti, expiresAt);
+        observations.datastore(AuthObservations.REDIS, "revocation.token", () -> {
+            redisTemplate.opsForZSet().add(REVOKED_TOKENS_KEY, jti, expiresAt);
+            redisTemplate.convertAndSend(CHANNEL, TOKEN_EVENT + " " + jti + " " + expiresAt);
+        });
+
+        log.debug("Access token revoked for user: {}", claims.getSubject());
+    }
+
+    /**
+     * 사용자의 현재까지 발급된 모든 Access Token 폐기 (강제 로그아웃)
+     *
+     * @param userId - 사용자 ID
+     */
+    public void revokeAllForUser(String userId) {
+        long epoch = System.currentTimeMillis();
+
+        denyList.revokeUser(userId, epoch);
+        observations.datastore(AuthObservations.REDIS, "revocation.user", () -> {
+            redisTemplate.opsForZSet().add(USER_EPOCHS_KEY, userId, epoch);
+            redisTemplate.convertAndSend(CHANNEL, USER_EVENT + " " + userId + " " + epoch);
+        });
+
+        log.info("All access tokens revoked for user: {}", userId);
+    }
+
+    /**
+     * pub/sub 으로 받은 폐기 이벤트 반영
+     *
+     * @param message - "jti <jti> <exp>" 또는 "user_ms <userId> <epoch millis>"
+     */
+    public void apply(String message) {
+        String[] parts = message.split(" ");
+        if (parts.length != 3) {
+            log.warn("Malformed revocation event: {}", message);
+            return;
+        }
+        long time = Long.parseLong(parts[2]);
+        switch (parts[0]) {
+            case TOKEN_EVENT -> denyList.revokeToken(parts[1], time);
+            case USER_EVENT -> denyList.revokeUser(parts[1], time);
+            default -> log.warn("Unknown revocation event: {}", message);
+        }
+    }
+
+    /**
+     * Redis 의 폐기 목록 전체를 메모리 목록에 반영
+     *
+     * 만료된 항목은 Redis 에서도 함께 정리합니다.
+     */
+    public void resync() {
+        long now = Instant.now().getEpochSecond();
+        long epochCutoff = System.currentTimeMillis() - jwtProperties.getAccessTokenValidityInSeconds() * 1000;
+
+        ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+        Map<String, Long> tokens = new HashMap<>();
+        Map<String, Long> epochs = new HashMap<>();
+        observations.datastore(AuthObservations.REDIS, "revocation.resync", () -> {
+            zSet.removeRangeByScore(REVOKED_TOKENS_KEY, 0, now);
+            zSet.removeRangeByScore(USER_EPOCHS_KEY, 0, epochCutoff);
+
+            tokens.putAll(toMap(zSet.rangeByScoreWithScores(REVOKED_TOKENS_KEY, now, Double.MAX_VALUE)));
+            epochs.putAll(toMap(zSet.rangeByScoreWithScores(USER_EPOCHS_KEY, epochCutoff, Double.MAX_VALUE)));
+        });
+        denyList.mergeAll(tokens, epochs);
+
+        log.info("Revocation list resynced: {} tokens, {} users", tokens.size(), epochs.size());
+    }
+
+    private static Map<String, Long> toMap(Set<ZSetOperations.TypedTuple<String>> tuples) {
+        Map<String, Long> map = new HashMap<>();
+        if (tuples != null) {
+            tuples.forEach(tuple -> map.put(tuple.getValue(), tuple.getScore().longValue()));
+        }
+        return map;
+    }
+}
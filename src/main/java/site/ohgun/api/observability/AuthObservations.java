@@ -0,0 +1,75 @@
+package site.ohgun.api.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * 인증 단계 / 데이터스토어 호출 계측 (Micrometer Observation)
+ *
+ * 역할:
+ * - auth.stage: 인증 단계 (네이버 API, JWT 서명/검증) - 태그 stage, outcome
+ * - auth.datastore: 데이터스토어 호출 (Postgres, Redis) - 태그 datastore, operation, outcome
+ *
+ * Observation 은 요청 Observation(http.server.requests) 의 자식으로 열리므로 트레이서가 있으면 요청 span 아래 span 이 되고,
+ * 메트릭으로는 히스토그램 버킷이 있는 Timer 가 됩니다. (management.metrics.distribution 참고)
+ *
+ * 카디널리티를 위해 태그에는 고정된 이름만 사용합니다. 토큰, 사용자 ID 등 요청마다 달라지는 값은 넣지 않습니다.
+ */
+@Component
+public class AuthObservations {
+
+    public static final String STAGE = "auth.stage";
+    public static final String DATASTORE = "auth.datastore";
+
+    public static final String POSTGRES = "postgres";
+    public static final String REDIS = "redis";
+
+    private final ObservationRegistry registry;
+
+    public AuthObservations(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 계측하지 않는 인스턴스 (벤치마크/단위 테스트용)
+     */
+    public static AuthObservations noop() {
+        return new AuthObservations(ObservationRegistry.NOOP);
+    }
+
+    public <T> T stage(String stage, Supplier<T> action) {
+        return observe(Observation.createNotStarted(STAGE, registry)
+                .lowCardinalityKeyValue("stage", stage), action);
+    }
+
+    public <T> T datastore(String datastore, String operation, Supplier<T> action) {
+        return observe(Observation.createNotStarted(DATASTORE, registry)
+                .lowCardinalityKeyValue("datastore", datastore)
+                .lowCardinalityKeyValue("operation", operation), action);
+    }
+
+    public void datastore(String datastore, String operation, Runnable action) {
+        datastore(datastore, operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static <T> T observe(Observation observation, Supplier<T> action) {
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = action.get();
+            observation.lowCardinalityKeyValue("outcome", "success");
+            return result;
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", "error");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package site.ohgun.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 인증 단계 JFR 이벤트 (auth.stage Observation 과 같은 구간)
+ */
+@Name("site.ohgun.AuthStage")
+@Label("Auth Stage")
+@Description("네이버 API 호출, JWT 서명/검증 등 인증 단계")
+@Category({"ohgun", "Auth"})
+@StackTrace(false)
+class AuthStageEvent extends ObservedEvent {
+
+    @Label("Stage")
+    String stage;
+}
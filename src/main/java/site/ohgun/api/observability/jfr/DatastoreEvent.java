@@ -0,0 +1,24 @@
+package site.ohgun.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 데이터스토어 호출 JFR 이벤트 (auth.datastore Observation 과 같은 구간)
+ */
+@Name("site.ohgun.Datastore")
+@Label("Datastore Call")
+@Description("Postgres(JPA) 쿼리 / Redis 명령")
+@Category({"ohgun", "Datastore"})
+@StackTrace(false)
+class DatastoreEvent extends ObservedEvent {
+
+    @Label("Datastore")
+    String datastore;
+
+    @Label("Operation")
+    String operation;
+}
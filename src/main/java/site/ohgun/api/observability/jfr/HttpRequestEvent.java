@@ -0,0 +1,30 @@
+package site.ohgun.api.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 인증 엔드포인트 요청 JFR 이벤트 (http.server.requests Observation 과 같은 구간)
+ *
+ * 같은 스레드의 AuthStage / Datastore 이벤트가 이 구간 안에 들어가므로
+ * JMC 에서 로그인(/oauth/naver/callback), 재발급(/api/auth/refresh) 요청을 단계별로 나눠 볼 수 있습니다.
+ */
+@Name("site.ohgun.HttpRequest")
+@Label("Auth HTTP Request")
+@Description("/oauth/**, /api/auth/** 요청")
+@Category({"ohgun", "Auth"})
+@StackTrace(false)
+class HttpRequestEvent extends ObservedEvent {
+
+    @Label("Method")
+    String method;
+
+    @Label("URI")
+    String uri;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,32 @@
+package site.ohgun.api.observability.jfr;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * JFR 이벤트 / 녹화 엔드포인트 설정
+ *
+ * observability.jfr.enabled=false 이면 Observation 을 JFR 이벤트로 옮기지 않습니다.
+ * 켜져 있어도 녹화 중이 아니면 이벤트는 만들어지지 않습니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "observability.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public JfrObservationHandler jfrObservationHandler() {
+        return new JfrObservationHandler();
+    }
+
+    @Bean
+    public JfrRecordingEndpoint jfrRecordingEndpoint(
+            @Value("${observability.jfr.max-duration:10m}") Duration maxDuration,
+            @Value("${observability.jfr.max-size:256MB}") DataSize maxSize) {
+        return new JfrRecordingEndpoint(maxDuration, maxSize);
+    }
+}
@@ -0,0 +1,90 @@
+package site.ohgun.api.observability.jfr;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import jdk.jfr.EventType;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import site.ohgun.api.observability.AuthObservations;
+
+/**
+ * Observation 을 JFR 이벤트로 기록하는 핸들러
+ *
+ * - auth.stage → site.ohgun.AuthStage
+ * - auth.datastore → site.ohgun.Datastore
+ * - http.server.requests (/oauth/**, /api/auth/**) → site.ohgun.HttpRequest
+ *
+ * 이벤트가 비활성(기록 중이 아니거나 설정에서 꺼짐)이면 이벤트를 만들기 전에 돌아가므로
+ * 요청마다 드는 비용은 EventType.isEnabled() 확인 한 번입니다.
+ */
+public class JfrObservationHandler implements ObservationHandler<Observation.Context> {
+
+    private static final EventType AUTH_STAGE = EventType.getEventType(AuthStageEvent.class);
+    private static final EventType DATASTORE = EventType.getEventType(DatastoreEvent.class);
+    private static final EventType HTTP_REQUEST = EventType.getEventType(HttpRequestEvent.class);
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        String name = context.getName();
+        return AuthObservations.STAGE.equals(name)
+                || AuthObservations.DATASTORE.equals(name)
+                || context instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        ObservedEvent event = switch (context.getName()) {
+            case AuthObservations.STAGE -> AUTH_STAGE.isEnabled() ? new AuthStageEvent() : null;
+            case AuthObservations.DATASTORE -> DATASTORE.isEnabled() ? new DatastoreEvent() : null;
+            default -> HTTP_REQUEST.isEnabled() && isAuthRequest(context) ? new HttpRequestEvent() : null;
+        };
+        if (event == null) {
+            return;
+        }
+        event.begin();
+        context.put(ObservedEvent.class, event);
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        ObservedEvent event = context.get(ObservedEvent.class);
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        switch (event) {
+            case AuthStageEvent stage -> stage.stage = value(context, "stage");
+            case DatastoreEvent datastore -> {
+                datastore.datastore = value(context, "datastore");
+                datastore.operation = value(context, "operation");
+            }
+            case HttpRequestEvent request -> {
+                ServerRequestObservationContext serverContext = (ServerRequestObservationContext) context;
+                request.method = serverContext.getCarrier().getMethod();
+                request.uri = value(context, "uri");
+                request.status = serverContext.getResponse() != null ? serverContext.getResponse().getStatus() : 0;
+            }
+            default -> {
+            }
+        }
+        event.outcome = event instanceof HttpRequestEvent ? value(context, "outcome").toLowerCase()
+                : value(context, "outcome");
+        event.commit();
+    }
+
+    private static boolean isAuthRequest(Observation.Context context) {
+        if (!(context instanceof ServerRequestObservationContext serverContext)) {
+            return false;
+        }
+        String path = serverContext.getCarrier().getRequestURI();
+        return path.startsWith("/oauth/") || path.startsWith("/api/auth/");
+    }
+
+    private static String value(Observation.Context context, String key) {
+        KeyValue keyValue = context.getLowCardinalityKeyValue(key);
+        return keyValue != null ? keyValue.getValue() : "unknown";
+    }
+}
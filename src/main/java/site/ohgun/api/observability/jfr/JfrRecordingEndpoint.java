@@ -0,0 +1,140 @@
+package site.ohgun.api.observability.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.Access;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JFR 녹화 actuator 엔드포인트 (/actuator/jfr)
+ *
+ * - POST   /actuator/jfr?duration=60s&size=64MB    : 녹화 시작 (한 번에 하나, 기간/크기 상한 적용)
+ * - GET    /actuator/jfr                           : 현재까지(또는 종료된) 녹화를 .jfr 파일로 다운로드
+ * - DELETE /actuator/jfr                           : 녹화 중지 및 파일 삭제
+ *
+ * JDK "profile" 설정에 ohgun 이벤트(AuthStage, Datastore, HttpRequest)를 켜서 녹화합니다.
+ * 환경 변수/시스템 프로퍼티/JVM 인자/프로세스 명령줄 이벤트는 JWT_SECRET, Redis/DB 비밀번호 등이
+ * 파일에 담기지 않도록 끕니다. 엔드포인트 자체는 SecurityConfig 에서 인증을 요구합니다.
+ * 기본 접근 권한은 없음(none)이며, 관리 포트를 분리한 환경에서만 management.endpoint.jfr.access 로 엽니다.
+ */
+@Endpoint(id = "jfr", defaultAccess = Access.NONE)
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private static final Duration DEFAULT_DURATION = Duration.ofSeconds(60);
+    private static final DataSize DEFAULT_MAX_SIZE = DataSize.ofMegabytes(64);
+
+    /**
+     * 비밀 값이 들어 있을 수 있는 JDK 이벤트
+     */
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation",
+            "jdk.SystemProcess");
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private Path dumpFile;
+
+    public JfrRecordingEndpoint(Duration maxDuration, DataSize maxSize) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download() throws IOException {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.dump(dumpFile);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(dumpFile));
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration, @Nullable DataSize size)
+            throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(), 409);
+        }
+        discard();
+
+        Duration bounded = min(duration != null ? duration : DEFAULT_DURATION, maxDuration);
+        long boundedSize = Math.min((size != null ? size : DEFAULT_MAX_SIZE).toBytes(), maxSize.toBytes());
+
+        Recording newRecording = new Recording(Configuration.getConfiguration("profile"));
+        newRecording.setName("ohgun-auth");
+        newRecording.enable(AuthStageEvent.class);
+        newRecording.enable(DatastoreEvent.class);
+        newRecording.enable(HttpRequestEvent.class);
+        SENSITIVE_EVENTS.forEach(newRecording::disable);
+        newRecording.setToDisk(true);
+        newRecording.setMaxSize(boundedSize);
+        newRecording.setDuration(bounded);
+        dumpFile = Files.createTempFile("ohgun-auth-", ".jfr");
+        newRecording.setDestination(dumpFile);
+        newRecording.start();
+        recording = newRecording;
+
+        log.info("JFR recording started: duration={}, maxSize={} bytes", bounded, boundedSize);
+        return new WebEndpointResponse<>(describe());
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() throws IOException {
+        discard();
+        return Map.of("state", "none");
+    }
+
+    private void discard() throws IOException {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            log.info("JFR recording closed");
+        }
+        if (dumpFile != null) {
+            Files.deleteIfExists(dumpFile);
+            dumpFile = null;
+        }
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("state", recording.getState().name().toLowerCase());
+        Instant startTime = recording.getStartTime();
+        if (startTime != null) {
+            description.put("startTime", startTime.toString());
+        }
+        description.put("duration", recording.getDuration().toString());
+        description.put("maxSize", recording.getMaxSize());
+        return description;
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,15 @@
+package site.ohgun.api.observability.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Observation 구간을 그대로 기록하는 JFR 이벤트 공통 필드
+ *
+ * 구간 길이는 JFR 이벤트 자체의 duration(begin/end)으로 기록됩니다.
+ */
+abstract class ObservedEvent extends Event {
+
+    @Label("Outcome")
+    String outcome;
+}
@@ -0,0 +1,15 @@
+package site.ohgun.api.observability.query;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비하는 SQL 을 QueryCounter 에 기록 (SQL 은 바꾸지 않음)
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
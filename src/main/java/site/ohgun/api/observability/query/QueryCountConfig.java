@@ -0,0 +1,37 @@
+package site.ohgun.api.observability.query;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import site.ohgun.api.warmup.WarmupRequests;
+
+/**
+ * SQL 문장 수 계측 설정 (N+1 감시)
+ *
+ * - Hibernate StatementInspector 로 모든 문장을 셈 (JDBC 프록시 없이 Hibernate 가 준비하는 문장 기준)
+ * - 요청 단위 메트릭/로그는 QueryCountFilter, 테스트 단위 검증은 QueryCounter.start() 구간으로 수행
+ */
+@Configuration
+public class QueryCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer countingStatementInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(
+            MeterRegistry meterRegistry,
+            WarmupRequests warmupRequests,
+            @Value("${observability.queries.warn-threshold:10}") int warnThreshold) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(
+                new QueryCountFilter(meterRegistry, warnThreshold, warmupRequests::isWarmup));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
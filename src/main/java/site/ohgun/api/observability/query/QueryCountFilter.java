@@ -0,0 +1,69 @@
+package site.ohgun.api.observability.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+/**
+ * 요청당 SQL 문장 수 기록
+ *
+ * - 메트릭: http.server.requests.queries{method, uri} (uri 는 매핑 패턴이라 카디널리티가 고정)
+ * - 로그: 문장 수가 warnThreshold 를 넘으면 WARN (N+1 의심), 그 외 문장이 있으면 DEBUG
+ * - excluded 에 해당하는 요청(기동 워밍업 등)은 세지 않음
+ */
+@Slf4j
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final Predicate<HttpServletRequest> excluded;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, int warnThreshold, Predicate<HttpServletRequest> excluded) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.excluded = excluded;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excluded.test(request);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryCounter.Counts counts;
+        try (QueryCounter.Scope scope = QueryCounter.start()) {
+            counts = scope.counts();
+            filterChain.doFilter(request, response);
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(counts.total());
+
+        if (counts.total() > warnThreshold) {
+            log.warn("{} {} issued {} SQL statements: {}", request.getMethod(), uri, counts.total(), counts);
+        } else if (counts.total() > 0) {
+            log.debug("{} {} issued {}", request.getMethod(), uri, counts);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package site.ohgun.api.observability.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 현재 스레드에서 실행된 SQL 문장 수 (요청/테스트 구간 단위)
+ *
+ * CountingStatementInspector 가 Hibernate 가 준비하는 모든 문장을 여기에 기록합니다.
+ * 구간은 start() 로 열고 닫으며, 열린 구간이 없으면 기록하지 않습니다.
+ * 서블릿 요청과 MockMvc 테스트는 한 스레드에서 처리되므로 ThreadLocal 로 충분합니다.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<Counts> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    /**
+     * 카운트 구간 시작 (try-with-resources 로 닫음, 바깥 구간은 닫을 때 복원)
+     */
+    public static Scope start() {
+        Counts previous = CURRENT.get();
+        Counts counts = new Counts();
+        CURRENT.set(counts);
+        return new Scope(counts, previous);
+    }
+
+    static void record(String sql) {
+        Counts counts = CURRENT.get();
+        if (counts != null) {
+            counts.record(sql);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Counts counts;
+        private final Counts previous;
+
+        private Scope(Counts counts, Counts previous) {
+            this.counts = counts;
+            this.previous = previous;
+        }
+
+        public Counts counts() {
+            return counts;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                previous.add(counts);
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * 문장 종류별 수와 (최대 MAX_RECORDED 개의) 실행된 SQL
+     */
+    public static final class Counts {
+
+        private static final int MAX_RECORDED = 50;
+
+        private int select;
+        private int insert;
+        private int update;
+        private int delete;
+        private int other;
+        private final List<String> statements = new ArrayList<>();
+
+        private void record(String sql) {
+            String verb = sql.stripLeading();
+            int end = verb.indexOf(' ');
+            switch ((end > 0 ? verb.substring(0, end) : verb).toLowerCase(Locale.ROOT)) {
+                case "select", "with" -> select++;
+                case "insert" -> insert++;
+                case "update" -> update++;
+                case "delete" -> delete++;
+                default -> other++;
+            }
+            if (statements.size() < MAX_RECORDED) {
+                statements.add(sql);
+            }
+        }
+
+        private void add(Counts inner) {
+            select += inner.select;
+            insert += inner.insert;
+            update += inner.update;
+            delete += inner.delete;
+            other += inner.other;
+            for (String sql : inner.statements) {
+                if (statements.size() < MAX_RECORDED) {
+                    statements.add(sql);
+                }
+            }
+        }
+
+        public int total() {
+            return select + insert + update + delete + other;
+        }
+
+        public int select() {
+            return select;
+        }
+
+        public int insert() {
+            return insert;
+        }
+
+        public int update() {
+            return update;
+        }
+
+        public int delete() {
+            return delete;
+        }
+
+        public List<String> statements() {
+            return Collections.unmodifiableList(statements);
+        }
+
+        @Override
+        public String toString() {
+            return "total=" + total() + " (select=" + select + ", insert=" + insert
+                    + ", update=" + update + ", delete=" + delete + ", other=" + other + ")";
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package site.ohgun.api.observability.tracing;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 꼬리 기반(tail-based) 샘플링 SpanExporter
+ *
+ * 모든 요청을 기록(sampling.probability=1.0)하고, 이 노드에서의 루트 span(부모가 없거나 원격인 span)이
+ * 끝났을 때 trace 전체를 보낼지 결정합니다.
+ * - 에러 span 이 하나라도 있으면 보냄 (span status ERROR, outcome=error / SERVER_ERROR)
+ * - 루트 span 이 slowThreshold 이상이면 보냄
+ * - 나머지는 baselineRatio 만큼만 보냄 (traceId 기준이라 게이트웨이와 같은 trace 를 고름)
+ *
+ * 루트가 끝나기 전 span 은 traceId 별로 메모리에 보관하며, 보관 trace 수(maxPendingTraces)와
+ * 보관 시간(maxTraceAge)을 넘으면 버립니다. 결정 후 늦게 끝난 span 은 같은 결정을 따릅니다.
+ */
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final SpanExporter delegate;
+    private final long slowThresholdNanos;
+    private final long baselineBound;
+    private final int maxPendingTraces;
+    private final long maxTraceAgeNanos;
+
+    private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final Map<String, Decision> decisions = new ConcurrentHashMap<>();
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+    private final AtomicLong droppedSpans = new AtomicLong();
+
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration slowThreshold, double baselineRatio,
+                                    int maxPendingTraces, Duration maxTraceAge) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.baselineBound = (long) (Math.max(0, Math.min(1, baselineRatio)) * Long.MAX_VALUE);
+        this.maxPendingTraces = maxPendingTraces;
+        this.maxTraceAgeNanos = maxTraceAge.toNanos();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        long now = System.nanoTime();
+        List<SpanData> sampled = new ArrayList<>();
+        for (SpanData span : spans) {
+            String traceId = span.getTraceId();
+            Decision decision = decisions.get(traceId);
+            if (decision != null) {
+                if (decision.keep()) {
+                    sampled.add(span);
+                }
+            } else if (isLocalRoot(span)) {
+                PendingTrace trace = pending.remove(traceId);
+                List<SpanData> all = trace != null ? trace.spans() : new ArrayList<>();
+                all.add(span);
+                boolean keep = shouldKeep(span, all);
+                decisions.put(traceId, new Decision(keep, now));
+                if (keep) {
+                    sampled.addAll(all);
+                }
+            } else {
+                buffer(traceId, span, now);
+            }
+        }
+        evictIfDue(now);
+        return sampled.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(sampled);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.clear();
+        decisions.clear();
+        return delegate.shutdown();
+    }
+
+    /**
+     * 보관 한도 / 보관 시간 초과로 버린 span 수
+     */
+    public long droppedSpans() {
+        return droppedSpans.get();
+    }
+
+    int pendingTraces() {
+        return pending.size();
+    }
+
+    private void buffer(String traceId, SpanData span, long now) {
+        PendingTrace trace = pending.compute(traceId, (id, existing) -> {
+            if (existing == null && pending.size() >= maxPendingTraces) {
+                return null;
+            }
+            PendingTrace target = existing != null ? existing : new PendingTrace(new ArrayList<>(), now);
+            target.spans().add(span);
+            return target;
+        });
+        if (trace == null) {
+            droppedSpans.incrementAndGet();
+        }
+    }
+
+    private boolean shouldKeep(SpanData root, List<SpanData> spans) {
+        if (root.getEndEpochNanos() - root.getStartEpochNanos() >= slowThresholdNanos) {
+            return true;
+        }
+        for (SpanData span : spans) {
+            if (isError(span)) {
+                return true;
+            }
+        }
+        // traceId 하위 64비트로 결정 (같은 trace 는 어느 노드에서든 같은 결과)
+        long hash = Long.parseUnsignedLong(root.getTraceId().substring(16), 16) & Long.MAX_VALUE;
+        return hash < baselineBound;
+    }
+
+    private void evictIfDue(long now) {
+        long last = lastEviction.get();
+        if (now - last < EVICTION_INTERVAL_NANOS || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+        pending.entrySet().removeIf(entry -> {
+            boolean stale = now - entry.getValue().createdAt() >= maxTraceAgeNanos;
+            if (stale) {
+                droppedSpans.addAndGet(entry.getValue().spans().size());
+            }
+            return stale;
+        });
+        decisions.values().removeIf(decision -> now - decision.decidedAt() >= maxTraceAgeNanos);
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static boolean isError(SpanData span) {
+        if (span.getStatus().getStatusCode() == StatusCode.ERROR) {
+            return true;
+        }
+        String outcome = span.getAttributes().get(OUTCOME);
+        return "error".equals(outcome) || "SERVER_ERROR".equals(outcome);
+    }
+
+    private record PendingTrace(List<SpanData> spans, long createdAt) {
+    }
+
+    private record Decision(boolean keep, long decidedAt) {
+    }
+}
@@ -0,0 +1,72 @@
+package site.ohgun.api.observability.tracing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 분산 추적 span 내보내기 설정 (OpenTelemetry, W3C traceparent)
+ *
+ * 계측은 Micrometer Observation → OTel 브리지가 담당합니다.
+ * - HTTP 요청 / RestTemplate(네이버): Spring Boot 자동 구성
+ * - Lettuce 명령: RedisConfig 의 ClientResources (MicrometerTracing)
+ * - JDBC 문장: datasource-micrometer
+ * - 인증 단계 / 데이터스토어 호출: AuthObservations
+ *
+ * observability.tracing.otlp-endpoint 가 설정된 경우에만 OTLP 로 내보내며,
+ * 모든 span 을 기록한 뒤 TailSamplingSpanExporter 가 느린/에러 trace 만 골라 보냅니다.
+ * 엔드포인트가 없으면 management.tracing.sampling.probability (head 샘플링) 만 적용됩니다.
+ *
+ * 빈은 항상 등록하고 엔드포인트 유무는 빈 생성 시점(실행 시점)에 판단합니다.
+ * 빈 조건은 Spring AOT(processAot) 시점에 고정되므로, 빌드 때 엔드포인트가 없으면
+ * 실행 시 엔드포인트를 설정해도 내보내기가 켜지지 않기 때문입니다. (JacksonConfig 와 같은 이유)
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * 엔드포인트가 있으면 꼬리 기반 샘플링을 위해 상위 노드의 sampled 플래그와 무관하게 모두 기록,
+     * 없으면 Spring Boot 기본 Sampler 와 같은 head 샘플링
+     */
+    @Bean
+    public Sampler tailSamplingSampler(
+            @Value("${observability.tracing.otlp-endpoint:}") String endpoint,
+            @Value("${management.tracing.sampling.probability:0.1}") double probability) {
+        if (endpoint.isEmpty()) {
+            return Sampler.parentBased(Sampler.traceIdRatioBased(probability));
+        }
+        return Sampler.alwaysOn();
+    }
+
+    /**
+     * 엔드포인트가 없으면 아무것도 내보내지 않는 exporter
+     */
+    @Bean
+    public SpanExporter tailSamplingSpanExporter(
+            @Value("${observability.tracing.otlp-endpoint:}") String endpoint,
+            @Value("${observability.tracing.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${observability.tracing.baseline-ratio:0.01}") double baselineRatio,
+            @Value("${observability.tracing.max-pending-traces:10000}") int maxPendingTraces,
+            @Value("${observability.tracing.max-trace-age:30s}") Duration maxTraceAge,
+            MeterRegistry meterRegistry) {
+        if (endpoint.isEmpty()) {
+            return SpanExporter.composite();
+        }
+        OtlpHttpSpanExporter otlp = OtlpHttpSpanExporter.builder()
+                .setEndpoint(endpoint)
+                .build();
+        TailSamplingSpanExporter exporter =
+                new TailSamplingSpanExporter(otlp, slowThreshold, baselineRatio, maxPendingTraces, maxTraceAge);
+        Gauge.builder("tracing.tail_sampling.dropped_spans", exporter, TailSamplingSpanExporter::droppedSpans)
+                .description("Spans dropped because the pending-trace buffer was full or the trace timed out")
+                .register(meterRegistry);
+        return exporter;
+    }
+}
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import site.ohgun.api.observability.AuthObservations;
 import site.ohgun.api.user.entity.LoginHistory;
 import site.ohgun.api.user.entity.User;
 import site.ohgun.api.user.repository.LoginHistoryRepository;
@@ -18,6 +19,8 @@ import java.util.Optional;
  * 역할:
  * - 사용자 생성/조회/업데이트
  * - 로그인 이력 저장
+ *
+ * 쿼리는 auth.datastore{datastore=postgres, operation=...} 로 계측합니다. (트랜잭션 커밋 시간은 제외)
  */
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final LoginHistoryRepository loginHistoryRepository;
+    private final AuthObservations observations;
 
     /**
      * OAuth 제공자와 제공자 ID로 사용자 찾기 또는 생성
@@ -48,9 +52,8 @@ public class UserService {
             String profileImageUrl
     ) {
         // 기존 사용자 찾기
-        Optional<User> existingUser = userRepository.findByOauthProviderAndOauthProviderId(
-                oauthProvider, oauthProviderId
-        );
+        Optional<User> existingUser = observations.datastore(AuthObservations.POSTGRES, "user.find_by_provider",
+                () -> userRepository.findByOauthProviderAndOauthProviderId(oauthProvider, oauthProviderId));
 
         if (existingUser.isPresent()) {
             User user = existingUser.get();
@@ -60,8 +63,8 @@ public class UserService {
             user.setNickname(nickname);
             user.setProfileImageUrl(profileImageUrl);
             user.setLastLoginAt(LocalDateTime.now());
-            
-            return userRepository.save(user);
+
+            return observations.datastore(AuthObservations.POSTGRES, "user.update", () -> userRepository.save(user));
         } else {
             // 새 사용자 생성
             User newUser = User.builder()
@@ -77,7 +80,7 @@ public class UserService {
                     .build();
 
             log.info("New user created: {} ({})", email, oauthProvider);
-            return userRepository.save(newUser);
+            return observations.datastore(AuthObservations.POSTGRES, "user.insert", () -> userRepository.save(newUser));
         }
     }
 
@@ -85,7 +88,7 @@ public class UserService {
      * 사용자 ID로 조회
      */
     public Optional<User> findById(Long userId) {
-        return userRepository.findById(userId);
+        return observations.datastore(AuthObservations.POSTGRES, "user.find_by_id", () -> userRepository.findById(userId));
     }
 
     /**
@@ -116,7 +119,7 @@ public class UserService {
                 .userAgent(userAgent)
                 .build();
 
-        loginHistoryRepository.save(loginHistory);
+        observations.datastore(AuthObservations.POSTGRES, "login_history.insert", () -> loginHistoryRepository.save(loginHistory));
         log.debug("Login history saved for user: {} (success: {})", user.getEmail(), success);
     }
 }
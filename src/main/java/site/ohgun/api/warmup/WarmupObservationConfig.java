@@ -0,0 +1,32 @@
+package site.ohgun.api.warmup;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+/**
+ * 워밍업 요청을 계측에서 제외
+ *
+ * 워밍업 요청(WarmupRequests)과 그 안에서 열리는 Observation, WarmupRunner 가 직접 실행하는 단계의
+ * Observation 은 NOOP 이 되어 http.server.requests, auth.stage / auth.datastore 메트릭, span, JFR 이벤트가 남지 않습니다.
+ * - WarmupRunner 스레드: WarmupRequests.inProcess() 구간으로 판단
+ * - http.server.requests: 요청 Observation 의 carrier(HttpServletRequest) 로 판단
+ * - 그 외: RequestContextHolder 의 현재 요청으로 판단
+ */
+@Configuration
+public class WarmupObservationConfig {
+
+    @Bean
+    public ObservationPredicate warmupObservationPredicate(WarmupRequests warmupRequests) {
+        return (name, context) -> {
+            if (warmupRequests.isInProcessWarmup()) {
+                return false;
+            }
+            if (context instanceof ServerRequestObservationContext serverContext) {
+                return !warmupRequests.isWarmup(serverContext.getCarrier());
+            }
+            return !warmupRequests.isCurrentRequestWarmup();
+        };
+    }
+}
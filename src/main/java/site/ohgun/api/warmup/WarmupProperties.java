@@ -0,0 +1,37 @@
+package site.ohgun.api.warmup;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 기동 시 워밍업 설정
+ *
+ * readiness 가 ACCEPTING_TRAFFIC 으로 바뀌기 전에 인증 핫패스를 미리 실행하는 횟수/시간 예산
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * JWT 서명/파싱, Jackson 직렬화 반복 횟수 (JIT C2 컴파일 임계값 이상)
+     */
+    private int iterations = 20000;
+
+    /**
+     * 자기 자신(/api/auth/verify)으로 보내는 HTTP 요청 횟수
+     */
+    private int httpIterations = 500;
+
+    /**
+     * 워밍업 전체 시간 상한 (초과 시 남은 단계는 건너뛰고 트래픽 수신 시작)
+     */
+    private Duration maxDuration = Duration.ofSeconds(30);
+}
@@ -0,0 +1,69 @@
+package site.ohgun.api.warmup;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+
+/**
+ * 워밍업 HTTP 요청 식별
+ *
+ * WarmupRunner 가 보내는 요청에는 X-Warmup 헤더로 프로세스마다 새로 만든 토큰을 붙입니다.
+ * 토큰이 일치하는 요청만 워밍업으로 보므로 외부 클라이언트가 헤더를 붙여 계측을 피할 수 없습니다.
+ *
+ * 요청 밖에서 실행되는 워밍업 단계(JWT, Jackson 등)는 inProcess() 구간으로 표시합니다.
+ */
+@Component
+public class WarmupRequests {
+
+    public static final String HEADER = "X-Warmup";
+
+    private final String token = UUID.randomUUID().toString();
+
+    private final ThreadLocal<Boolean> inProcess = new ThreadLocal<>();
+
+    String token() {
+        return token;
+    }
+
+    public boolean isWarmup(HttpServletRequest request) {
+        String value = request.getHeader(HEADER);
+        return value != null && MessageDigest.isEqual(
+                value.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 이 스레드에서 실행하는 작업을 워밍업으로 표시 (try-with-resources 로 닫음)
+     */
+    public Scope inProcess() {
+        inProcess.set(Boolean.TRUE);
+        return inProcess::remove;
+    }
+
+    /**
+     * 현재 스레드가 inProcess() 구간 안에서 워밍업을 실행 중인지
+     */
+    public boolean isInProcessWarmup() {
+        return inProcess.get() != null;
+    }
+
+    /**
+     * 현재 스레드가 처리 중인 요청이 워밍업 요청인지 (요청 밖이면 false)
+     */
+    public boolean isCurrentRequestWarmup() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                && isWarmup(servletAttributes.getRequest());
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
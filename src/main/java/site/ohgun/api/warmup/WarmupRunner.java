@@ -0,0 +1,233 @@
+package site.ohgun.api.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.stereotype.Component;
+import site.ohgun.api.oauth.dto.LoginUrlResponse;
+import site.ohgun.api.oauth.dto.TokenRefreshResponse;
+import site.ohgun.api.oauth.dto.TokenVerifyResponse;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.oauth.naver.dto.NaverTokenResponse;
+import site.ohgun.api.oauth.naver.dto.NaverUserInfo;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 시 워밍업 (JIT / 커넥션)
+ *
+ * 동작 방식:
+ * - ApplicationRunner 는 ApplicationReadyEvent 이전에 실행되므로,
+ *   워밍업이 끝나기 전까지 readiness 프로브는 트래픽을 받지 않습니다.
+ * 1. JWT 서명/파싱 반복 (JwtTokenProvider)
+ * 2. 인증 DTO Jackson 직렬화/역직렬화 반복
+ * 3. Hikari 커넥션 풀 minimumIdle 만큼 미리 연결 (Neon)
+ * 4. Lettuce 커넥션 미리 연결 (Upstash)
+ * 5. 자기 자신의 /api/auth/verify 호출 (JwtAuthenticationFilter, Security 필터 체인, MVC)
+ *
+ * 모든 단계는 합성(synthetic) 데이터만 사용하며 DB/Redis 에 데이터를 쓰지 않습니다.
+ * 워밍업 스레드의 작업(WarmupRequests.inProcess)과 5단계 요청(X-Warmup 헤더)은
+ * 요청/인증 메트릭과 Observation 에서 빠집니다. (WarmupObservationConfig)
+ * 5단계 요청은 남은 시간 예산을 타임아웃으로 사용하므로 응답이 없어도 max-duration 을 넘기지 않습니다.
+ * 단계 실패는 기동 실패로 이어지지 않고 경고 로그와 메트릭(outcome=error)으로만 남습니다.
+ *
+ * 메트릭: auth.warmup.duration{phase, outcome}
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String SYNTHETIC_USER_ID = "0";
+    private static final Map<String, Object> SYNTHETIC_CLAIMS = Map.of(
+            "userId", 0L,
+            "email", "warmup@ohgun.local",
+            "name", "warmup",
+            "role", "ROLE_USER"
+    );
+    private static final byte[] SYNTHETIC_NAVER_TOKEN = """
+            {"access_token":"warmup","refresh_token":"warmup","token_type":"bearer","expires_in":3600}"""
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SYNTHETIC_NAVER_USER = """
+            {"resultcode":"00","message":"success","response":{"id":"warmup","email":"warmup@ohgun.local",\
+            "name":"warmup","nickname":"warmup","profile_image":"https://ohgun.local/warmup.png"}}"""
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final WarmupProperties warmupProperties;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final ObjectProvider<RedisConnectionFactory> redisConnectionFactoryProvider;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationContext applicationContext;
+    private final WarmupRequests warmupRequests;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + warmupProperties.getMaxDuration().toNanos();
+        long start = System.nanoTime();
+
+        try (WarmupRequests.Scope ignored = warmupRequests.inProcess()) {
+            phase("jwt", deadline, this::warmUpJwt);
+            phase("jackson", deadline, this::warmUpJackson);
+            phase("datasource", deadline, this::warmUpDataSource);
+            phase("redis", deadline, this::warmUpRedis);
+            phase("http", deadline, this::warmUpHttp);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        timer("total", "success").record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Warm-up finished in {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private void warmUpJwt(long deadline) {
+        for (int i = 0; i < warmupProperties.getIterations() && System.nanoTime() < deadline; i++) {
+            String accessToken = jwtTokenProvider.createAccessToken(SYNTHETIC_USER_ID, SYNTHETIC_CLAIMS);
+            jwtTokenProvider.createRefreshToken(SYNTHETIC_USER_ID, SYNTHETIC_CLAIMS);
+            Claims claims = jwtTokenProvider.parseToken(accessToken);
+            claims.get("userId", Long.class);
+        }
+    }
+
+    private void warmUpJackson(long deadline) throws Exception {
+        String accessToken = jwtTokenProvider.createAccessToken(SYNTHETIC_USER_ID, SYNTHETIC_CLAIMS);
+        for (int i = 0; i < warmupProperties.getIterations() && System.nanoTime() < deadline; i++) {
+            objectMapper.writeValueAsBytes(TokenRefreshResponse.of(accessToken));
+            objectMapper.writeValueAsBytes(TokenVerifyResponse.valid(0L, "warmup@ohgun.local", "ROLE_USER", 0L));
+            objectMapper.writeValueAsBytes(new LoginUrlResponse("https://ohgun.local/authorize", "warmup"));
+            objectMapper.readValue(SYNTHETIC_NAVER_TOKEN, NaverTokenResponse.class);
+            objectMapper.readValue(SYNTHETIC_NAVER_USER, NaverUserInfo.class);
+        }
+    }
+
+    /**
+     * 풀의 minimumIdle 개수만큼 동시에 커넥션을 열어 TLS 핸드셰이크/인증 비용을 미리 지불
+     */
+    private void warmUpDataSource(long deadline) throws Exception {
+        DataSource dataSource = dataSourceProvider.getIfAvailable();
+        if (dataSource == null) {
+            return;
+        }
+
+        int connections = 1;
+        if (dataSource instanceof HikariDataSource hikari) {
+            connections = Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+        }
+
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections && System.nanoTime() < deadline; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                connection.isValid(2);
+            }
+        } finally {
+            for (Connection connection : opened) {
+                connection.close();
+            }
+        }
+    }
+
+    private void warmUpRedis(long deadline) {
+        RedisConnectionFactory connectionFactory = redisConnectionFactoryProvider.getIfAvailable();
+        if (connectionFactory == null) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        }
+    }
+
+    /**
+     * 실제 HTTP 경로로 /api/auth/verify 호출 (Authorization 헤더 포함 → JwtAuthenticationFilter 실행)
+     */
+    private void warmUpHttp(long deadline) throws Exception {
+        if (!(applicationContext instanceof WebServerApplicationContext webServerContext)
+                || webServerContext.getWebServer() == null) {
+            return;
+        }
+
+        int port = webServerContext.getWebServer().getPort();
+        URI verifyUri = URI.create("http://localhost:" + port + "/api/auth/verify");
+        String accessToken = jwtTokenProvider.createAccessToken(SYNTHETIC_USER_ID, SYNTHETIC_CLAIMS);
+        String validBody = "{\"token\":\"" + accessToken + "\"}";
+        String invalidBody = "{\"token\":\"warmup.invalid.token\"}";
+
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(remaining(deadline)).build();
+        for (int i = 0; i < warmupProperties.getHttpIterations() && System.nanoTime() < deadline; i++) {
+            HttpRequest request = HttpRequest.newBuilder(verifyUri)
+                    .timeout(remaining(deadline))
+                    .header("Content-Type", "application/json")
+                    .header("Authorization", "Bearer " + accessToken)
+                    .header(WarmupRequests.HEADER, warmupRequests.token())
+                    .POST(HttpRequest.BodyPublishers.ofString(i % 10 == 0 ? invalidBody : validBody))
+                    .build();
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    /**
+     * 남은 시간 예산 (HttpClient 는 0 이하의 타임아웃을 허용하지 않으므로 최소 1ms)
+     */
+    private static Duration remaining(long deadline) {
+        return Duration.ofNanos(Math.max(TimeUnit.MILLISECONDS.toNanos(1), deadline - System.nanoTime()));
+    }
+
+    private void phase(String name, long deadline, WarmupPhase phase) {
+        if (System.nanoTime() >= deadline) {
+            log.warn("Warm-up phase skipped (time budget exceeded): {}", name);
+            return;
+        }
+
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            phase.run(deadline);
+        } catch (Exception e) {
+            outcome = "error";
+            log.warn("Warm-up phase failed: {} - {}", name, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+        timer(name, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Warm-up phase {} finished in {} ms ({})", name, TimeUnit.NANOSECONDS.toMillis(elapsed), outcome);
+    }
+
+    private Timer timer(String phase, String outcome) {
+        return Timer.builder("auth.warmup.duration")
+                .description("Startup warm-up duration before readiness")
+                .tag("phase", phase)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @FunctionalInterface
+    private interface WarmupPhase {
+        void run(long deadline) throws Exception;
+    }
+}
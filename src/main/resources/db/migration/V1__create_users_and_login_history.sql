@@ -0,0 +1,39 @@
+-- ========================================
+-- V1: users / login_history
+-- User, LoginHistory 엔티티와 동일한 스키마
+-- 기존에 ddl-auto: update 로 생성된 DB 에도 적용할 수 있도록 IF NOT EXISTS 사용
+-- ========================================
+
+CREATE TABLE IF NOT EXISTS users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    oauth_provider    VARCHAR(20)  NOT NULL,
+    oauth_provider_id VARCHAR(100) NOT NULL,
+    email             VARCHAR(255),
+    name              VARCHAR(100),
+    nickname          VARCHAR(100),
+    profile_image_url VARCHAR(500),
+    role              VARCHAR(20)  NOT NULL,
+    enabled           BOOLEAN      NOT NULL,
+    last_login_at     TIMESTAMP(6),
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_email ON users (email);
+CREATE INDEX IF NOT EXISTS idx_oauth_provider_id ON users (oauth_provider, oauth_provider_id);
+
+CREATE TABLE IF NOT EXISTS login_history (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id        BIGINT       NOT NULL,
+    oauth_provider VARCHAR(20)  NOT NULL,
+    success        BOOLEAN      NOT NULL,
+    failure_reason VARCHAR(500),
+    ip_address     VARCHAR(45),
+    user_agent     VARCHAR(500),
+    login_at       TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_login_history_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_user_id ON login_history (user_id);
+CREATE INDEX IF NOT EXISTS idx_login_at ON login_history (login_at);
+CREATE INDEX IF NOT EXISTS idx_success ON login_history (success);
@@ -0,0 +1,33 @@
+package site.ohgun.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.jackson.JsonComponentModule;
+import org.springframework.boot.jackson.JsonMixinModule;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Blackbird 등록이 Boot 가 구성한 모듈 목록을 유지하는지 검증
+ */
+class JacksonConfigTests {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class))
+            .withUserConfiguration(JacksonConfig.class);
+
+    @Test
+    void blackbirdIsAddedNextToBootModules() {
+        contextRunner.run(context -> assertThat(context.getBean(ObjectMapper.class).getRegisteredModuleIds())
+                .contains(
+                        BlackbirdModule.class.getName(),
+                        ParameterNamesModule.class.getName(),
+                        JsonComponentModule.class.getName(),
+                        JsonMixinModule.class.getName()));
+    }
+}
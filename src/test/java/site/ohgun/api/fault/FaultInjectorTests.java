@@ -0,0 +1,60 @@
+package site.ohgun.api.fault;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FaultInjectorTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FaultInjector injector = new FaultInjector(meterRegistry);
+
+    @Test
+    void noRuleInjectsNothing() {
+        for (FaultTarget target : FaultTarget.values()) {
+            assertThat(injector.inject(target)).isEqualTo(FaultInjector.Fault.NONE);
+        }
+        assertThat(meterRegistry.find("fault.injected").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    @Test
+    void latencyDelaysOnlyTheTargetedDependency() {
+        injector.setRule(FaultTarget.REDIS, FaultRule.latency(Duration.ofMillis(30)));
+
+        long start = System.nanoTime();
+        assertThat(injector.inject(FaultTarget.REDIS)).isEqualTo(FaultInjector.Fault.NONE);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(30));
+
+        start = System.nanoTime();
+        injector.inject(FaultTarget.POSTGRES);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(30));
+
+        assertThat(meterRegistry.get("fault.injected").tag("target", "redis").tag("kind", "latency").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void dropAndErrorRatesAreApplied() {
+        injector.setRule(FaultTarget.NAVER, FaultRule.drops(1.0));
+        assertThat(injector.inject(FaultTarget.NAVER)).isEqualTo(FaultInjector.Fault.DROP);
+
+        injector.setRule(FaultTarget.NAVER, FaultRule.errors(1.0));
+        assertThat(injector.inject(FaultTarget.NAVER)).isEqualTo(FaultInjector.Fault.ERROR);
+
+        injector.clear();
+        assertThat(injector.inject(FaultTarget.NAVER)).isEqualTo(FaultInjector.Fault.NONE);
+    }
+
+    @Test
+    void rejectsRatesAboveOne() {
+        assertThatThrownBy(() -> new FaultRule(Duration.ZERO, Duration.ZERO, 0.6, 0.6))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FaultTarget.of("mysql"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
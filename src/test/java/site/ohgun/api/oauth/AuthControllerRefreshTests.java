@@ -0,0 +1,84 @@
+package site.ohgun.api.oauth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.oauth.redis.RefreshTokenService;
+import site.ohgun.api.oauth.refresh.RefreshCoalescer;
+import site.ohgun.api.oauth.revocation.AccessTokenDenyList;
+import site.ohgun.api.oauth.revocation.TokenRevocationService;
+import site.ohgun.api.observability.AuthObservations;
+import site.ohgun.api.user.repository.UserRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 회전된 Refresh Token 재사용 처리 (grace 기간 안은 거부만, 이후는 탈취로 보고 전체 폐기)
+ */
+class AuthControllerRefreshTests {
+
+    private static final String ROTATED = "rotated-refresh-token";
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+
+    private AuthController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        jwtProperties.setRefreshReuseGraceSeconds(10);
+        controller = new AuthController(mock(JwtTokenProvider.class), jwtProperties, refreshTokenService,
+                new RefreshCoalescer(jwtProperties), tokenRevocationService, mock(AccessTokenDenyList.class),
+                mock(UserRepository.class), new AuthResponses(new ObjectMapper()), AuthObservations.noop());
+        when(refreshTokenService.isValidRefreshToken(anyString())).thenReturn(false);
+    }
+
+    @Test
+    void reuseAfterGraceRevokesEveryTokenOfTheUser() {
+        when(refreshTokenService.getRotation(ROTATED))
+                .thenReturn(new RefreshTokenService.Rotation("42", System.currentTimeMillis() - 60_000));
+
+        ResponseEntity<?> response = refresh(ROTATED);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(refreshTokenService).deleteAllUserTokens("42");
+        verify(tokenRevocationService).revokeAllForUser("42");
+    }
+
+    @Test
+    void reuseWithinGraceIsOnlyRejected() {
+        // 다른 노드에서 방금 회전된 동시 요청
+        when(refreshTokenService.getRotation(ROTATED))
+                .thenReturn(new RefreshTokenService.Rotation("42", System.currentTimeMillis() - 1_000));
+
+        ResponseEntity<?> response = refresh(ROTATED);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(refreshTokenService, never()).deleteAllUserTokens(anyString());
+        verify(tokenRevocationService, never()).revokeAllForUser(anyString());
+    }
+
+    @Test
+    void unknownTokensAreOnlyRejected() {
+        ResponseEntity<?> response = refresh("unknown-refresh-token");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(tokenRevocationService, never()).revokeAllForUser(anyString());
+    }
+
+    private ResponseEntity<?> refresh(String refreshToken) {
+        return controller.refreshToken(refreshToken, new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+}
@@ -0,0 +1,99 @@
+package site.ohgun.api.oauth.degraded;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalTokenCacheTests {
+
+    private final DegradedModeProperties properties = new DegradedModeProperties();
+
+    @Test
+    void remembersIssuedTokens() {
+        LocalTokenCache cache = cache(Duration.ofMinutes(1), 10);
+
+        cache.remember("token-1", "user-1");
+
+        assertThat(cache.validUserId("token-1")).isEqualTo("user-1");
+        assertThat(cache.validUserId("unknown")).isNull();
+    }
+
+    @Test
+    void revokedTokenSurvivesRemember() {
+        LocalTokenCache cache = cache(Duration.ofMinutes(1), 10);
+        cache.remember("token-1", "user-1");
+
+        cache.revoke("token-1");
+        cache.remember("token-1", "user-1");
+
+        assertThat(cache.validUserId("token-1")).isNull();
+        assertThat(cache.isRevoked("token-1")).isTrue();
+    }
+
+    @Test
+    void rotatedTokenSurvivesRememberAndKeepsRotation() {
+        LocalTokenCache cache = cache(Duration.ofMinutes(1), 10);
+
+        cache.rotated("token-1", "user-1", 1234L);
+        cache.remember("token-1", "user-1");
+
+        assertThat(cache.validUserId("token-1")).isNull();
+        assertThat(cache.rotation("token-1").rotatedAtMillis()).isEqualTo(1234L);
+        assertThat(cache.rotation("token-1").userId()).isEqualTo("user-1");
+    }
+
+    @Test
+    void revokeUserRevokesOnlyThatUsersTokens() {
+        LocalTokenCache cache = cache(Duration.ofMinutes(1), 10);
+        cache.remember("token-1", "user-1");
+        cache.remember("token-2", "user-1");
+        cache.remember("token-3", "user-2");
+
+        cache.revokeUser("user-1");
+        cache.remember("token-1", "user-1");
+
+        assertThat(cache.validUserId("token-1")).isNull();
+        assertThat(cache.validUserId("token-2")).isNull();
+        assertThat(cache.validUserId("token-3")).isEqualTo("user-2");
+    }
+
+    @Test
+    void entriesExpireAfterTtlAndArePurgedWhenFull() throws InterruptedException {
+        LocalTokenCache cache = cache(Duration.ofMillis(50), 2);
+        cache.remember("token-1", "user-1");
+        cache.revoke("token-2");
+
+        Thread.sleep(100);
+
+        assertThat(cache.validUserId("token-1")).isNull();
+        assertThat(cache.isRevoked("token-2")).isFalse();
+
+        // 가득 찬 상태에서 기억하면 만료 항목을 먼저 정리
+        cache.remember("token-3", "user-3");
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.validUserId("token-3")).isEqualTo("user-3");
+    }
+
+    @Test
+    void fullCacheSkipsNewValidTokensButAlwaysRecordsRevocations() {
+        LocalTokenCache cache = cache(Duration.ofMinutes(1), 2);
+        cache.remember("token-1", "user-1");
+        cache.remember("token-2", "user-1");
+
+        cache.remember("token-3", "user-1");
+        cache.revoke("token-4");
+        cache.rotated("token-5", "user-1", 1L);
+
+        assertThat(cache.validUserId("token-3")).isNull();
+        assertThat(cache.isRevoked("token-4")).isTrue();
+        assertThat(cache.isRevoked("token-5")).isTrue();
+    }
+
+    private LocalTokenCache cache(Duration ttl, int size) {
+        properties.setValidityCacheTtl(ttl);
+        properties.setValidityCacheSize(size);
+        return new LocalTokenCache(properties);
+    }
+}
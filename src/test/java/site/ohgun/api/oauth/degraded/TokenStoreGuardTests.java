@@ -0,0 +1,135 @@
+package site.ohgun.api.oauth.degraded;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenStoreGuardTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DegradedModeProperties properties = new DegradedModeProperties();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults(DegradedModeConfig.CIRCUIT_BREAKER);
+
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+    private final List<String> redis = new CopyOnWriteArrayList<>();
+
+    private TokenStoreGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        if (guard != null) {
+            guard.destroy();
+        }
+    }
+
+    @Test
+    void readFallsBackWhenRedisFails() {
+        guard = guard(10);
+        redisDown.set(true);
+
+        String value = guard.read("refresh_token.get", () -> redisGet("user-1"), () -> "local");
+
+        assertThat(value).isEqualTo("local");
+        assertThat(meterRegistry.get("token_store.fallback").tag("operation", "refresh_token.get").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void failedWritesAreJournaledAndReplayedInOrder() throws Exception {
+        guard = guard(10);
+        redisDown.set(true);
+
+        guard.write("refresh_token.save", 60, ttl -> redisSet("save"));
+        assertThat(guard.hasPendingWrites()).isTrue();
+
+        // 저널이 비기 전의 쓰기는 Redis 가 살아 있어도 순서를 지키기 위해 저널로
+        redisDown.set(false);
+        guard.write("refresh_token.delete", 0, ttl -> redisSet("delete"));
+
+        await(() -> !guard.hasPendingWrites());
+        assertThat(redis).containsExactly("save", "delete");
+        assertThat(meterRegistry.get("token_store.journal.replayed").counter().count()).isPositive();
+        assertThat(guard.isDegraded()).isFalse();
+    }
+
+    @Test
+    void tracksPendingWritesPerKeyUntilReplayed() throws Exception {
+        guard = guard(10);
+        redisDown.set(true);
+
+        guard.write("refresh_token.save", 60, "token-1", ttl -> redisSet("token-1"));
+        guard.write("refresh_token.save", 60, "token-1", ttl -> redisSet("token-1 again"));
+        guard.write("refresh_token.save", 60, "token-2", ttl -> redisSet("token-2"));
+
+        assertThat(guard.hasPendingWrite("token-1")).isTrue();
+        assertThat(guard.hasPendingWrite("token-3")).isFalse();
+
+        redisDown.set(false);
+        await(() -> !guard.hasPendingWrites());
+        assertThat(guard.hasPendingWrite("token-1")).isFalse();
+        assertThat(guard.hasPendingWrite("token-2")).isFalse();
+    }
+
+    @Test
+    void rejectsWritesWhenJournalIsFull() {
+        guard = guard(1);
+        redisDown.set(true);
+
+        guard.write("rotation.save", 60, ttl -> redisSet("first"));
+
+        assertThatThrownBy(() -> guard.write("rotation.save", 60, ttl -> redisSet("second")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("token_store.journal.dropped").tag("reason", "full").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void disabledGuardPropagatesRedisErrors() {
+        properties.setEnabled(false);
+        guard = guard(10);
+        redisDown.set(true);
+
+        assertThatThrownBy(() -> guard.read("refresh_token.get", () -> redisGet("user-1"), () -> "local"))
+                .isInstanceOf(QueryTimeoutException.class);
+        assertThatThrownBy(() -> guard.write("refresh_token.save", 60, ttl -> redisSet("save")))
+                .isInstanceOf(QueryTimeoutException.class);
+    }
+
+    private TokenStoreGuard guard(int journalCapacity) {
+        properties.setJournalCapacity(journalCapacity);
+        properties.setReplayInterval(Duration.ofMillis(50));
+        return new TokenStoreGuard(properties, circuitBreaker, meterRegistry);
+    }
+
+    private String redisGet(String value) {
+        if (redisDown.get()) {
+            throw new QueryTimeoutException("Redis command timed out");
+        }
+        return value;
+    }
+
+    private void redisSet(String value) {
+        if (redisDown.get()) {
+            throw new QueryTimeoutException("Redis command timed out");
+        }
+        redis.add(value);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int attempt = 0; attempt < 100 && !condition.getAsBoolean(); attempt++) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
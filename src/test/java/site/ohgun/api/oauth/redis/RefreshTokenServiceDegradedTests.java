@@ -0,0 +1,140 @@
+package site.ohgun.api.oauth.redis;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import site.ohgun.api.oauth.degraded.DegradedModeConfig;
+import site.ohgun.api.oauth.degraded.DegradedModeProperties;
+import site.ohgun.api.oauth.degraded.LocalTokenCache;
+import site.ohgun.api.oauth.degraded.TokenStoreGuard;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 장애/복구 중 Refresh Token 재발급 판단 (Redis 는 메모리 맵으로 흉내)
+ */
+class RefreshTokenServiceDegradedTests {
+
+    private final DegradedModeProperties properties = new DegradedModeProperties();
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+    private final AtomicInteger writeAttempts = new AtomicInteger();
+    private final Map<String, String> redis = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+
+    private TokenStoreGuard guard;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        properties.setReplayInterval(Duration.ofHours(1));
+        guard = new TokenStoreGuard(properties, CircuitBreaker.ofDefaults(DegradedModeConfig.CIRCUIT_BREAKER),
+                new SimpleMeterRegistry());
+        service = new RefreshTokenService(redisTemplate, AuthObservations.noop(), guard,
+                new LocalTokenCache(properties));
+
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        SetOperations<String, String> sets = mock(SetOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.opsForSet()).thenReturn(sets);
+        when(values.get(anyString())).thenAnswer(invocation -> {
+            failIfDown();
+            return redis.get(invocation.<String>getArgument(0));
+        });
+        doAnswer(invocation -> {
+            writeAttempts.incrementAndGet();
+            failIfDown();
+            redis.put(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(values).set(anyString(), anyString(), anyLong(), any(TimeUnit.class));
+        when(redisTemplate.hasKey(anyString())).thenAnswer(invocation -> {
+            failIfDown();
+            return redis.containsKey(invocation.<String>getArgument(0));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        guard.destroy();
+    }
+
+    @Test
+    void tokenIssuedDuringOutageIsRefreshableAndRotationIsEnforced() {
+        redisDown.set(true);
+
+        service.saveRefreshToken("user-1", "token-1", 600);
+        assertThat(service.isValidRefreshToken("token-1")).isTrue();
+
+        service.rotateRefreshToken("user-1", "token-1", "token-2", 600);
+
+        assertThat(service.isValidRefreshToken("token-1")).isFalse();
+        assertThat(service.getRotation("token-1").userId()).isEqualTo("user-1");
+        assertThat(service.isValidRefreshToken("token-2")).isTrue();
+    }
+
+    @Test
+    void tokenDeletedInRedisIsRejectedDespiteUnrelatedPendingWrites() throws InterruptedException {
+        service.saveRefreshToken("user-1", "token-1", 600);
+        assertThat(service.isValidRefreshToken("token-1")).isTrue();
+
+        // 다른 토큰의 저장이 저널에 남은 상태에서, 다른 노드가 token-1 을 삭제
+        redisDown.set(true);
+        service.saveRefreshToken("user-2", "token-2", 600);
+        awaitWriteAttempts(3);
+        redisDown.set(false);
+        redis.remove("refresh_token:token-1");
+
+        assertThat(guard.hasPendingWrites()).isTrue();
+        assertThat(service.getUserIdByRefreshToken("token-1")).isNull();
+    }
+
+    @Test
+    void tokenWithPendingSaveIsHonouredWhileRedisCatchesUp() throws InterruptedException {
+        redisDown.set(true);
+        service.saveRefreshToken("user-1", "token-1", 600);
+        awaitWriteAttempts(2);
+        redisDown.set(false);
+
+        assertThat(guard.hasPendingWrite("token-1")).isTrue();
+        assertThat(service.getUserIdByRefreshToken("token-1")).isEqualTo("user-1");
+    }
+
+    private void failIfDown() {
+        if (redisDown.get()) {
+            throw new QueryTimeoutException("Redis command timed out");
+        }
+    }
+
+    /**
+     * 장애 중 즉시 재반영 시도가 끝날 때까지 대기 (이후 재반영은 replayInterval 뒤)
+     */
+    private void awaitWriteAttempts(int attempts) throws InterruptedException {
+        for (int i = 0; i < 100 && writeAttempts.get() < attempts; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(writeAttempts.get()).isGreaterThanOrEqualTo(attempts);
+        Thread.sleep(50);
+    }
+}
@@ -0,0 +1,135 @@
+package site.ohgun.api.oauth.refresh;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import site.ohgun.api.oauth.AuthResponses.Constant;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 동시 재발급 병합, grace 기간 재사용, grace 이후 재사용(탈취 경로) 판단
+ */
+class RefreshCoalescerTests {
+
+    private static final String TOKEN = "refresh-token";
+
+    private final AtomicInteger rotations = new AtomicInteger();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentRefreshesShareOneRotation() throws Exception {
+        RefreshCoalescer coalescer = coalescer(10, 5000);
+        CountDownLatch rotating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<RefreshResult> leader = executor.submit(() -> coalescer.refresh(TOKEN, () -> {
+            rotating.countDown();
+            await(release);
+            return rotate();
+        }));
+        assertThat(rotating.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<RefreshResult>> waiters = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            waiters.add(executor.submit(() -> coalescer.refresh(TOKEN, this::rotate)));
+        }
+        release.countDown();
+
+        RefreshResult issued = leader.get(5, TimeUnit.SECONDS);
+        for (Future<RefreshResult> waiter : waiters) {
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(issued);
+        }
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    void reuseWithinGraceReturnsTheSameTokens() {
+        RefreshCoalescer coalescer = coalescer(10, 5000);
+
+        RefreshResult first = coalescer.refresh(TOKEN, this::rotate);
+        RefreshResult reused = coalescer.refresh(TOKEN, this::rotate);
+
+        assertThat(reused).isSameAs(first);
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    void reuseAfterGraceGoesThroughRotationAgain() {
+        RefreshCoalescer coalescer = coalescer(0, 5000);
+
+        coalescer.refresh(TOKEN, this::rotate);
+        RefreshResult reused = coalescer.refresh(TOKEN, () -> RefreshResult.failed(Constant.INVALID_REFRESH_TOKEN));
+
+        // 캐시된 토큰 쌍을 주지 않고 회전 경로로 보내야 AuthController 가 탈취 여부를 판별
+        assertThat(reused.error()).isEqualTo(Constant.INVALID_REFRESH_TOKEN);
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    void failuresAreNotKept() {
+        RefreshCoalescer coalescer = coalescer(10, 5000);
+
+        assertThat(coalescer.refresh(TOKEN, () -> RefreshResult.failed(Constant.USER_NOT_FOUND)).isIssued()).isFalse();
+        assertThatThrownBy(() -> coalescer.refresh(TOKEN, () -> {
+            throw new IllegalStateException("redis down");
+        })).hasMessage("redis down");
+
+        assertThat(coalescer.refresh(TOKEN, this::rotate).isIssued()).isTrue();
+    }
+
+    @Test
+    void waitersGiveUpWhenTheRotationIsSlow() throws Exception {
+        RefreshCoalescer coalescer = coalescer(10, 50);
+        CountDownLatch rotating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<RefreshResult> leader = executor.submit(() -> coalescer.refresh(TOKEN, () -> {
+            rotating.countDown();
+            await(release);
+            return rotate();
+        }));
+        assertThat(rotating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        RefreshResult waiter = coalescer.refresh(TOKEN, this::rotate);
+
+        assertThat(waiter.error()).isEqualTo(Constant.REFRESH_FAILED);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS).isIssued()).isTrue();
+        assertThat(rotations).hasValue(1);
+    }
+
+    private RefreshResult rotate() {
+        int n = rotations.incrementAndGet();
+        return RefreshResult.issued("access-" + n, "refresh-" + n);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RefreshCoalescer coalescer(long graceSeconds, long waitTimeoutMillis) {
+        JwtProperties properties = new JwtProperties();
+        properties.setRefreshReuseGraceSeconds(graceSeconds);
+        properties.setRefreshWaitTimeoutMillis(waitTimeoutMillis);
+        return new RefreshCoalescer(properties);
+    }
+}
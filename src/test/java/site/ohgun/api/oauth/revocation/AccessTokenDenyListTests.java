@@ -0,0 +1,86 @@
+package site.ohgun.api.oauth.revocation;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * jti 폐기와 사용자 epoch(밀리초) 폐기 판단
+ */
+class AccessTokenDenyListTests {
+
+    private final AccessTokenDenyList denyList = new AccessTokenDenyList(new JwtProperties());
+
+    @Test
+    void revokedJtiIsRejectedUntilItExpires() {
+        long now = System.currentTimeMillis();
+        denyList.revokeToken("jti-1", now / 1000 + 600);
+        denyList.revokeToken("jti-expired", now / 1000 - 1);
+
+        assertThat(denyList.isRevoked(claims("1", "jti-1", now))).isTrue();
+        assertThat(denyList.isRevoked(claims("1", "jti-2", now))).isFalse();
+        assertThat(denyList.isRevoked(claims("1", "jti-expired", now))).isFalse();
+    }
+
+    @Test
+    void userEpochRevokesTokensIssuedUpToIt() {
+        long epoch = System.currentTimeMillis();
+        denyList.revokeUser("1", epoch);
+
+        assertThat(denyList.isRevoked(claims("1", "before", epoch - 1))).isTrue();
+        assertThat(denyList.isRevoked(claims("1", "same", epoch))).isTrue();
+        assertThat(denyList.isRevoked(claims("2", "other-user", epoch - 1))).isFalse();
+    }
+
+    @Test
+    void tokenIssuedLaterInTheSameSecondIsAccepted() {
+        // 강제 로그아웃 직후 같은 초 안에 다시 로그인해 받은 토큰
+        long epoch = System.currentTimeMillis() / 1000 * 1000 + 100;
+        denyList.revokeUser("1", epoch);
+
+        assertThat(denyList.isRevoked(claims("1", "relogin", epoch + 1))).isFalse();
+    }
+
+    @Test
+    void tokensWithoutMillisecondIssueTimeAreComparedConservatively() {
+        long epoch = System.currentTimeMillis() / 1000 * 1000 + 100;
+        denyList.revokeUser("1", epoch);
+
+        Claims sameSecond = legacyClaims("1", epoch);
+        Claims nextSecond = legacyClaims("1", epoch + 1000);
+        Claims noIssuedAt = Jwts.claims().setSubject("1");
+
+        assertThat(denyList.isRevoked(sameSecond)).isTrue();
+        assertThat(denyList.isRevoked(nextSecond)).isFalse();
+        assertThat(denyList.isRevoked(noIssuedAt)).isTrue();
+    }
+
+    @Test
+    void laterEpochWinsAndResyncOnlyAdds() {
+        long epoch = System.currentTimeMillis();
+        denyList.revokeUser("1", epoch);
+        denyList.mergeAll(Map.of(), Map.of("1", epoch - 60_000));
+
+        assertThat(denyList.isRevoked(claims("1", "between", epoch - 1))).isTrue();
+
+        denyList.mergeAll(Map.of("jti-3", epoch / 1000 + 600), Map.of());
+        assertThat(denyList.isRevoked(claims("2", "jti-3", epoch))).isTrue();
+    }
+
+    private static Claims claims(String subject, String jti, long issuedAtMillis) {
+        Claims claims = legacyClaims(subject, issuedAtMillis).setId(jti);
+        claims.put(JwtTokenProvider.ISSUED_AT_MILLIS, issuedAtMillis);
+        return claims;
+    }
+
+    private static Claims legacyClaims(String subject, long issuedAtMillis) {
+        return Jwts.claims().setSubject(subject).setIssuedAt(new Date(issuedAtMillis));
+    }
+}
@@ -0,0 +1,121 @@
+package site.ohgun.api.oauth.revocation;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import site.ohgun.api.oauth.jwt.JwtProperties;
+import site.ohgun.api.oauth.jwt.JwtTokenProvider;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 폐기 이벤트 발행/수신과 재구독 시 재동기화 (Redis 는 mock)
+ */
+class RevocationMessageListenerTests {
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ZSetOperations<String, String> zSet = mock(ZSetOperations.class);
+
+    private final JwtProperties jwtProperties = new JwtProperties();
+
+    private TokenRevocationService publisher;
+    private AccessTokenDenyList remoteDenyList;
+    private RevocationMessageListener remoteListener;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSet);
+        publisher = new TokenRevocationService(redisTemplate, new AccessTokenDenyList(jwtProperties), jwtProperties,
+                AuthObservations.noop());
+        remoteDenyList = new AccessTokenDenyList(jwtProperties);
+        remoteListener = new RevocationMessageListener(
+                new TokenRevocationService(redisTemplate, remoteDenyList, jwtProperties, AuthObservations.noop()),
+                Runnable::run);
+    }
+
+    @Test
+    void tokenRevocationReachesOtherNodes() {
+        Claims claims = Jwts.claims().setSubject("1").setId("jti-1")
+                .setExpiration(new Date(System.currentTimeMillis() + 600_000));
+
+        publisher.revokeAccessToken(claims);
+
+        verify(zSet).add(eq("revoked_access_tokens"), eq("jti-1"), anyDouble());
+        assertThat(remoteDenyList.isRevoked(claims)).isFalse();
+        deliver(publishedEvent());
+        assertThat(remoteDenyList.isRevoked(claims)).isTrue();
+    }
+
+    @Test
+    void userRevocationReachesOtherNodesInMilliseconds() {
+        long before = System.currentTimeMillis();
+
+        publisher.revokeAllForUser("1");
+
+        String event = publishedEvent();
+        assertThat(event).startsWith("user_ms 1 ");
+        assertThat(Long.parseLong(event.substring("user_ms 1 ".length()))).isGreaterThanOrEqualTo(before);
+        deliver(event);
+        assertThat(remoteDenyList.isRevoked(issuedAt("1", before - 1))).isTrue();
+        assertThat(remoteDenyList.isRevoked(issuedAt("1", System.currentTimeMillis() + 1))).isFalse();
+    }
+
+    @Test
+    void malformedAndUnknownEventsAreIgnored() {
+        deliver("user_ms 1");
+        deliver("user_ms 1 not-a-number");
+        deliver("user 1 " + System.currentTimeMillis() / 1000);
+
+        assertThat(remoteDenyList.size()).isZero();
+    }
+
+    @Test
+    void resubscribingResyncsFromRedis() {
+        long epoch = System.currentTimeMillis();
+        when(zSet.rangeByScoreWithScores(eq("revoked_access_tokens"), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(new DefaultTypedTuple<>("jti-9", (double) (epoch / 1000 + 600))));
+        when(zSet.rangeByScoreWithScores(eq("revoked_user_epochs_ms"), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(new DefaultTypedTuple<>("1", (double) epoch)));
+
+        remoteListener.onChannelSubscribed(TokenRevocationService.CHANNEL.getBytes(StandardCharsets.UTF_8), 1);
+
+        assertThat(remoteDenyList.isRevoked(Jwts.claims().setSubject("2").setId("jti-9"))).isTrue();
+        assertThat(remoteDenyList.isRevoked(issuedAt("1", epoch - 1))).isTrue();
+        assertThat(remoteDenyList.isRevoked(issuedAt("1", epoch + 1))).isFalse();
+    }
+
+    private String publishedEvent() {
+        ArgumentCaptor<String> event = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TokenRevocationService.CHANNEL), event.capture());
+        return event.getValue();
+    }
+
+    private void deliver(String event) {
+        remoteListener.onMessage(new DefaultMessage(TokenRevocationService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                event.getBytes(StandardCharsets.UTF_8)), null);
+    }
+
+    private static Claims issuedAt(String subject, long issuedAtMillis) {
+        Claims claims = Jwts.claims().setSubject(subject).setIssuedAt(new Date(issuedAtMillis));
+        claims.put(JwtTokenProvider.ISSUED_AT_MILLIS, issuedAtMillis);
+        return claims;
+    }
+}
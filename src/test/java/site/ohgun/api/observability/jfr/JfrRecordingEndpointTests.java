@@ -0,0 +1,34 @@
+package site.ohgun.api.observability.jfr;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTests {
+
+    private final JfrRecordingEndpoint endpoint = new JfrRecordingEndpoint(Duration.ofMinutes(1), DataSize.ofMegabytes(8));
+
+    @AfterEach
+    void tearDown() throws Exception {
+        endpoint.stop();
+    }
+
+    @Test
+    void recordingLeavesOutEventsThatMayCarrySecrets() throws Exception {
+        endpoint.start(Duration.ofSeconds(10), null);
+
+        Recording recording = FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(candidate -> "ohgun-auth".equals(candidate.getName()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(JfrRecordingEndpoint.SENSITIVE_EVENTS).allSatisfy(event ->
+                assertThat(recording.getSettings()).containsEntry(event + "#enabled", "false"));
+    }
+}
@@ -0,0 +1,129 @@
+package site.ohgun.api.observability.query;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import site.ohgun.api.observability.AuthObservations;
+import site.ohgun.api.user.entity.LoginHistory;
+import site.ohgun.api.user.entity.User;
+import site.ohgun.api.user.repository.LoginHistoryRepository;
+import site.ohgun.api.user.service.UserService;
+import site.ohgun.api.warmup.WarmupRequests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static site.ohgun.api.observability.query.QueryCountAssertions.assertStatementsAtMost;
+import static site.ohgun.api.observability.query.QueryCountAssertions.countStatements;
+
+/**
+ * 로그인 흐름(UserService)의 SQL 문장 수 검증 (PostgreSQL 컨테이너)
+ *
+ * StatementInspector 는 속성으로 지정하지 않고 QueryCountConfig 를 그대로 가져와 등록합니다.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryCountConfig.class, WarmupRequests.class, UserService.class})
+@Testcontainers(disabledWithoutDocker = true)
+class LoginHistoryQueryCountTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LoginHistoryRepository loginHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = entityManager.persist(User.builder()
+                    .oauthProvider("naver")
+                    .oauthProviderId("query-count-" + i)
+                    .email("user" + i + "@ohgun.kr")
+                    .name("user" + i)
+                    .role("ROLE_USER")
+                    .enabled(true)
+                    .build());
+            entityManager.persist(LoginHistory.builder()
+                    .user(user)
+                    .oauthProvider("naver")
+                    .success(true)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void returningUserLoginRunsOneStatementPerStep() {
+        // NaverController 콜백과 같은 순서: 사용자 조회/갱신 → 로그인 이력 저장
+        QueryCounter.Counts counts = assertStatementsAtMost(3, () -> {
+            User user = userService.findOrCreateUser("naver", "query-count-0", "user0@ohgun.kr",
+                    "renamed", "nick", null);
+            userService.saveLoginHistory(user, "naver", true, null, "203.0.113.7", "JUnit");
+            entityManager.flush();
+        });
+
+        assertThat(counts.select()).isEqualTo(1);
+        assertThat(counts.update()).isEqualTo(1);
+        assertThat(counts.insert()).isEqualTo(1);
+    }
+
+    @Test
+    void firstLoginInsertsUserAndHistory() {
+        QueryCounter.Counts counts = assertStatementsAtMost(3, () -> {
+            User user = userService.findOrCreateUser("naver", "new-user", "new@ohgun.kr", "new", null, null);
+            userService.saveLoginHistory(user, "naver", true, null, "203.0.113.7", "JUnit");
+            entityManager.flush();
+        });
+
+        assertThat(counts.select()).isEqualTo(1);
+        assertThat(counts.insert()).isEqualTo(2);
+    }
+
+    @Test
+    void lazyUserAccessIsReportedAsNPlusOne() {
+        QueryCounter.Counts counts = countStatements(() ->
+                loginHistoryRepository.findAll().forEach(history -> history.getUser().getEmail()));
+
+        assertThat(counts.select()).isEqualTo(1 + 3);
+
+        entityManager.clear();
+        assertThatThrownBy(() -> assertStatementsAtMost(1, () ->
+                loginHistoryRepository.findAll().forEach(history -> history.getUser().getEmail())))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("Expected at most 1 SQL statements");
+    }
+
+    @TestConfiguration
+    static class Dependencies {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        AuthObservations authObservations() {
+            return AuthObservations.noop();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package site.ohgun.api.observability.query;
+
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+/**
+ * SQL 문장 수 검증 (테스트용)
+ *
+ * 예: MockMvc 요청이 문장 2개 이하로 처리되는지
+ * <pre>
+ * QueryCountAssertions.assertStatementsAtMost(2, () -> mockMvc.perform(get("/api/...")));
+ * </pre>
+ * 검증 구간은 호출한 스레드 기준이므로 MockMvc, 리포지토리 직접 호출에 사용할 수 있습니다.
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    /**
+     * 구간에서 실행된 문장 수
+     */
+    public static QueryCounter.Counts countStatements(ThrowingCallable action) {
+        try (QueryCounter.Scope scope = QueryCounter.start()) {
+            action.call();
+            return scope.counts();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static QueryCounter.Counts assertStatementsAtMost(int max, ThrowingCallable action) {
+        QueryCounter.Counts counts = countStatements(action);
+        if (counts.total() > max) {
+            throw new AssertionError("Expected at most " + max + " SQL statements but got " + counts
+                    + System.lineSeparator() + String.join(System.lineSeparator(), counts.statements()));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,122 @@
+package site.ohgun.api.observability.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 꼬리 기반 샘플링 및 인증 span 구조 테스트
+ *
+ * 컬렉터 없이 InMemorySpanExporter 로 내보낸 span 을 확인합니다.
+ */
+class TailSamplingSpanExporterTests {
+
+    private InMemorySpanExporter spans;
+    private TailSamplingSpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+
+    @BeforeEach
+    void setUp() {
+        spans = InMemorySpanExporter.create();
+        exporter = new TailSamplingSpanExporter(spans, Duration.ofMillis(500), 0.0, 100, Duration.ofSeconds(30));
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        tracer = tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void fastSuccessfulTraceIsDropped() {
+        Span root = tracer.spanBuilder("GET /api/auth/verify").startSpan();
+        try (Scope ignored = root.makeCurrent()) {
+            tracer.spanBuilder("jwt.verify").startSpan().end();
+        }
+        root.end();
+
+        assertThat(spans.getFinishedSpanItems()).isEmpty();
+        assertThat(exporter.pendingTraces()).isZero();
+    }
+
+    @Test
+    void slowTraceIsKeptWithChildren() {
+        long start = System.nanoTime();
+        Span root = tracer.spanBuilder("POST /api/auth/refresh").setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        try (Scope ignored = root.makeCurrent()) {
+            tracer.spanBuilder("refresh_token.get").startSpan().end();
+        }
+        root.end(start + TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS);
+
+        assertThat(spans.getFinishedSpanItems())
+                .extracting(SpanData::getName)
+                .containsExactly("refresh_token.get", "POST /api/auth/refresh");
+    }
+
+    @Test
+    void errorInChildKeepsWholeTrace() {
+        Span root = tracer.spanBuilder("GET /oauth/naver/callback").startSpan();
+        try (Scope ignored = root.makeCurrent()) {
+            tracer.spanBuilder("naver.token").startSpan().setStatus(StatusCode.ERROR).end();
+            tracer.spanBuilder("user.find_by_provider").startSpan().end();
+        }
+        root.end();
+
+        assertThat(spans.getFinishedSpanItems()).hasSize(3);
+    }
+
+    @Test
+    void authObservationsNestUnderCurrentSpan() {
+        ObservationRegistry registry = ObservationRegistry.create();
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        OtelTracer otelTracer = new OtelTracer(tracer, currentTraceContext, event -> {
+        }, new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(otelTracer));
+        AuthObservations observations = new AuthObservations(registry);
+
+        Span root = tracer.spanBuilder("POST /api/auth/refresh").startSpan();
+        try (Scope ignored = root.makeCurrent()) {
+            assertThatThrownBy(() -> observations.stage("jwt.verify", () -> {
+                observations.datastore(AuthObservations.REDIS, "blacklist.check", () -> Boolean.FALSE);
+                throw new IllegalStateException("expired");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+        root.end();
+
+        List<SpanData> finished = spans.getFinishedSpanItems();
+        assertThat(finished).extracting(SpanData::getName)
+                .containsExactly("auth.datastore", "auth.stage", "POST /api/auth/refresh");
+        SpanData datastore = finished.get(0);
+        SpanData stage = finished.get(1);
+        assertThat(datastore.getParentSpanId()).isEqualTo(stage.getSpanId());
+        assertThat(stage.getParentSpanId()).isEqualTo(root.getSpanContext().getSpanId());
+        assertThat(stage.getAttributes().get(AttributeKey.stringKey("outcome"))).isEqualTo("error");
+        assertThat(stage.getStatus().getStatusCode()).isEqualTo(StatusCode.ERROR);
+    }
+}
@@ -0,0 +1,46 @@
+package site.ohgun.api.observability.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 엔드포인트 유무를 실행 시점에 판단하는지 (AOT 로 빈 조건이 고정돼도 같은 빈으로 동작)
+ */
+class TracingConfigTests {
+
+    private final TracingConfig config = new TracingConfig();
+
+    @Test
+    void withoutEndpointHeadSamplingAndNoExport() {
+        assertThat(config.tailSamplingSampler("", 0.0).getDescription()).contains("TraceIdRatioBased");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SpanExporter exporter = exporter("", meterRegistry);
+
+        assertThat(exporter).isNotInstanceOf(TailSamplingSpanExporter.class);
+        assertThat(meterRegistry.find("tracing.tail_sampling.dropped_spans").gauge()).isNull();
+    }
+
+    @Test
+    void withEndpointRecordsEverythingAndTailSamples() {
+        assertThat(config.tailSamplingSampler("http://collector:4318/v1/traces", 0.0).getDescription())
+                .isEqualTo("AlwaysOnSampler");
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SpanExporter exporter = exporter("http://collector:4318/v1/traces", meterRegistry);
+
+        assertThat(exporter).isInstanceOf(TailSamplingSpanExporter.class);
+        assertThat(meterRegistry.find("tracing.tail_sampling.dropped_spans").gauge()).isNotNull();
+        exporter.shutdown();
+    }
+
+    private SpanExporter exporter(String endpoint, SimpleMeterRegistry meterRegistry) {
+        return config.tailSamplingSpanExporter(endpoint, Duration.ofMillis(500), 0.01, 100, Duration.ofSeconds(30),
+                meterRegistry);
+    }
+}
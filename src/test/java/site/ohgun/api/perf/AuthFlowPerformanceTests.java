@@ -0,0 +1,167 @@
+package site.ohgun.api.perf;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import site.ohgun.api.perf.PerfBaseline.OperationStats;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 인증 플로우 성능 회귀 테스트 (./gradlew perfTest)
+ *
+ * PerfTestSupport 환경에서 login → verify → refresh → logout 을 작업별로 고정 횟수만큼 순서대로 실행합니다.
+ * 작업별 p99 지연, 요청당 SQL 문장 수/Redis 명령 수/할당 바이트를 auth-flow-baseline.json 예산과 비교합니다.
+ *
+ * 결과: build/reports/perf/auth-flow.json
+ */
+@Tag("perf")
+@Testcontainers(disabledWithoutDocker = true)
+class AuthFlowPerformanceTests extends PerfTestSupport {
+
+    private static final int WARMUP_ITERATIONS = Integer.getInteger("perf.warmup-iterations", 200);
+    private static final int ITERATIONS = Integer.getInteger("perf.iterations", 500);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ServerProbe probe;
+
+    @BeforeEach
+    void setUp() {
+        probe = new ServerProbe(meterRegistry, redis, REDIS_PASSWORD);
+    }
+
+    @Test
+    void authFlowStaysWithinBaseline() throws Exception {
+        runWorkload(WARMUP_ITERATIONS);
+        Map<String, OperationStats> measured = runWorkload(ITERATIONS);
+
+        Path baselineFile = pathProperty("perf.baseline-file");
+        PerfBaseline baseline = PerfBaseline.load(baselineFile);
+        Path reportFile = pathProperty("perf.report-file");
+        baseline.withOperations(measured).write(reportFile != null ? reportFile : Path.of("build/reports/perf/auth-flow.json"));
+
+        if (Boolean.getBoolean("perf.update-baseline") && baselineFile != null) {
+            baseline.withOperations(measured).write(baselineFile);
+            return;
+        }
+
+        List<String> violations = baseline.violations(measured);
+        assertThat(violations)
+                .as("auth flow exceeded its performance baseline (measured: %s)", measured)
+                .isEmpty();
+    }
+
+    /**
+     * 작업별로 모아서 실행 (구간 전후 스냅샷이 한 작업의 비용만 담도록)
+     */
+    private Map<String, OperationStats> runWorkload(int iterations) throws Exception {
+        Map<String, OperationStats> results = new LinkedHashMap<>();
+
+        List<Session> sessions = phase("login", "/oauth/naver/callback",
+                IntStream.range(0, iterations).boxed().toList(), ignored -> login(), results);
+        phase("verify", "/api/auth/verify", sessions, this::verify, results);
+        List<Session> refreshed = phase("refresh", "/api/auth/refresh", sessions, this::refresh, results);
+        phase("logout", "/api/auth/logout", refreshed, this::logout, results);
+
+        return results;
+    }
+
+    private <I, O> List<O> phase(
+            String operation,
+            String uri,
+            List<I> inputs,
+            Call<I, O> call,
+            Map<String, OperationStats> results
+    ) throws Exception {
+        int count = inputs.size();
+        ServerProbe.Snapshot before = probe.snapshot(uri);
+
+        long[] latencies = new long[count];
+        List<O> outputs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long start = System.nanoTime();
+            outputs.add(call.apply(inputs.get(i)));
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        ServerProbe.Snapshot after = awaitRecorded(uri, before.requests() + count);
+        Arrays.sort(latencies);
+        results.put(operation, new OperationStats(
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                (after.statements() - before.statements()) / count,
+                (double) (after.redisCommands() - before.redisCommands()) / count,
+                (after.allocatedBytes() - before.allocatedBytes()) / count
+        ));
+        return outputs;
+    }
+
+    /**
+     * QueryCountFilter 는 응답 후 기록하므로 마지막 요청이 반영될 때까지 대기
+     */
+    private ServerProbe.Snapshot awaitRecorded(String uri, long expectedRequests) throws Exception {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ServerProbe.Snapshot snapshot = probe.snapshot(uri);
+            if (snapshot.requests() >= expectedRequests) {
+                return snapshot;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Expected " + expectedRequests + " recorded requests for " + uri);
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private Session login() throws Exception {
+        HttpResponse<Void> response = http.send(loginRequest(), HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(302);
+        Session session = sessionFromLogin(response);
+        assertThat(session).as("login redirect with tokens").isNotNull();
+        return session;
+    }
+
+    private Session verify(Session session) throws Exception {
+        HttpResponse<Void> response = http.send(verifyRequest(session), HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return session;
+    }
+
+    private Session refresh(Session session) throws Exception {
+        HttpResponse<String> response = http.send(refreshRequest(session), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return sessionFromRefresh(response);
+    }
+
+    private Session logout(Session session) throws Exception {
+        HttpResponse<Void> response = http.send(logoutRequest(session), HttpResponse.BodyHandlers.discarding());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return session;
+    }
+
+    private static Path pathProperty(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? null : Path.of(value);
+    }
+
+    @FunctionalInterface
+    private interface Call<I, O> {
+        O apply(I input) throws Exception;
+    }
+}
@@ -0,0 +1,277 @@
+package site.ohgun.api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import site.ohgun.api.fault.FaultInjector;
+import site.ohgun.api.fault.FaultRule;
+import site.ohgun.api.fault.FaultTarget;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 의존성 장애 시나리오 측정 (./gradlew perfTest)
+ *
+ * FaultInjector 로 Redis/Postgres/네이버를 느리게 하거나 실패시키고, 동시 요청 아래에서
+ * 처리량, 지연, 응답 상태 분포, Tomcat 워커/Hikari 대기 최대치를 기록합니다.
+ * 단언은 장애가 실제로 주입되었는지와 현재 동작(Redis 는 degraded mode, 그 외 타임아웃 없음)만 확인하며,
+ * 수치는 build/reports/perf/degraded-dependencies.json 으로 비교합니다.
+ */
+@Tag("perf")
+@Testcontainers(disabledWithoutDocker = true)
+@TestPropertySource(properties = {
+        "fault-injection.enabled=true",
+        // tomcat.threads.busy 게이지
+        "server.tomcat.mbeanregistry.enabled=true"
+})
+class DegradedDependencyTests extends PerfTestSupport {
+
+    private static final int CONCURRENCY = Integer.getInteger("perf.degraded.concurrency", 32);
+    private static final int REQUESTS = Integer.getInteger("perf.degraded.requests", 200);
+
+    private static final Map<String, ScenarioResult> RESULTS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private FaultInjector faults;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void clearFaults() {
+        faults.clear();
+    }
+
+    @AfterAll
+    static void writeReport() throws Exception {
+        String file = System.getProperty("perf.degraded-report-file", "build/reports/perf/degraded-dependencies.json");
+        Path path = Path.of(file);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), new TreeMap<>(RESULTS));
+    }
+
+    @Test
+    void refreshWithSlowRedis() throws Exception {
+        List<Session> sessions = login(REQUESTS);
+        faults.setRule(FaultTarget.REDIS, FaultRule.latency(Duration.ofMillis(50)));
+
+        ScenarioResult result = run("refresh.redis-latency-50ms", sessions, this::refreshRequest, status(200));
+
+        // 느린 호출 기준(300ms)보다 빠르므로 서킷이 열리지 않고 느려질 뿐 (재발급 한 번에 Redis 작업 여러 번)
+        assertThat(result.succeeded()).isEqualTo(REQUESTS);
+        assertThat(result.p50Millis()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    void refreshWithRedisErrors() throws Exception {
+        List<Session> sessions = login(REQUESTS);
+        faults.setRule(FaultTarget.REDIS, FaultRule.errors(0.2));
+
+        ScenarioResult result = run("refresh.redis-errors-20pct", sessions, this::refreshRequest, status(200));
+
+        // 실패한 조회는 로컬 유효성 캐시, 실패한 쓰기는 저널로 (degraded mode)
+        assertThat(result.succeeded()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void refreshWithRedisDown() throws Exception {
+        List<Session> sessions = login(REQUESTS);
+        faults.setRule(FaultTarget.REDIS, FaultRule.drops(1.0));
+
+        ScenarioResult result = run("refresh.redis-down", sessions, this::refreshRequest, status(200));
+
+        // 이 노드가 발급한 토큰이므로 로컬 유효성 캐시로 재발급, 회전은 저널에 보관
+        assertThat(result.succeeded()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void loginWithSlowPostgres() throws Exception {
+        login(1); // 사용자 행을 미리 만들어 동시 최초 로그인 경합을 측정에서 제외
+        faults.setRule(FaultTarget.POSTGRES, FaultRule.latency(Duration.ofMillis(100)));
+
+        ScenarioResult result = run("login.postgres-latency-100ms", times(REQUESTS),
+                ignored -> loginRequest(), response -> sessionFromLogin(response) != null);
+
+        // 커넥션을 문장 수만큼 붙잡으므로 동시 요청이 풀 크기를 넘으면 Hikari 대기가 생김
+        assertThat(result.succeeded()).isEqualTo(REQUESTS);
+        assertThat(result.p50Millis()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void loginWithHangingNaver() throws Exception {
+        int requests = CONCURRENCY * 2;
+        login(1); // 사용자 행을 미리 만들어 동시 최초 로그인 경합을 측정에서 제외
+        faults.setRule(FaultTarget.NAVER, FaultRule.latency(Duration.ofSeconds(2)));
+
+        ScenarioResult result = run("login.naver-latency-2s", times(requests),
+                ignored -> loginRequest(), response -> sessionFromLogin(response) != null);
+
+        // RestTemplate 에 타임아웃이 없어 네이버가 느린 만큼 Tomcat 워커가 묶임
+        assertThat(result.succeeded()).isEqualTo(requests);
+        assertThat(result.p50Millis()).isGreaterThanOrEqualTo(2000);
+    }
+
+    @Test
+    void loginWithNaverErrors() throws Exception {
+        login(1); // 사용자 행을 미리 만들어 동시 최초 로그인 경합을 측정에서 제외
+        faults.setRule(FaultTarget.NAVER, FaultRule.errors(0.5));
+
+        ScenarioResult result = run("login.naver-errors-50pct", times(REQUESTS),
+                ignored -> loginRequest(), response -> sessionFromLogin(response) != null);
+
+        assertThat(result.succeeded()).isBetween(1, REQUESTS - 1);
+    }
+
+    /**
+     * 장애 없는 상태에서 로그인해 재발급용 토큰 쌍 준비
+     */
+    private List<Session> login(int count) throws Exception {
+        List<Session> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Session session = sessionFromLogin(http.send(loginRequest(), HttpResponse.BodyHandlers.discarding()));
+            assertThat(session).as("login before fault injection").isNotNull();
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    /**
+     * inputs 를 CONCURRENCY 개의 클라이언트 스레드로 보내고, 그동안 서버 자원 게이지의 최대치를 샘플링
+     */
+    private <I> ScenarioResult run(
+            String scenario,
+            List<I> inputs,
+            RequestFactory<I> requests,
+            Predicate<HttpResponse<String>> success
+    ) throws Exception {
+        DoubleAccumulator peakBusyThreads = new DoubleAccumulator(Math::max, 0);
+        DoubleAccumulator peakPending = new DoubleAccumulator(Math::max, 0);
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakBusyThreads.accumulate(gauge("tomcat.threads.busy"));
+            peakPending.accumulate(gauge("hikaricp.connections.pending"));
+        }, 0, 10, TimeUnit.MILLISECONDS);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        long[] latencies = new long[inputs.size()];
+        Map<Integer, Integer> statuses = new ConcurrentHashMap<>();
+        List<Future<Boolean>> outcomes = new ArrayList<>(inputs.size());
+        long started = System.nanoTime();
+        try {
+            for (int i = 0; i < inputs.size(); i++) {
+                int index = i;
+                HttpRequest request = requests.create(inputs.get(i));
+                outcomes.add(clients.submit(() -> {
+                    long start = System.nanoTime();
+                    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                    latencies[index] = System.nanoTime() - start;
+                    statuses.merge(response.statusCode(), 1, Integer::sum);
+                    return success.test(response);
+                }));
+            }
+            int succeeded = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get()) {
+                    succeeded++;
+                }
+            }
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            ScenarioResult result = new ScenarioResult(
+                    inputs.size(),
+                    CONCURRENCY,
+                    succeeded,
+                    new TreeMap<>(statuses),
+                    inputs.size() / (elapsed / 1_000_000_000.0),
+                    percentileMillis(latencies, 0.50),
+                    percentileMillis(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1_000_000.0,
+                    peakBusyThreads.get(),
+                    peakPending.get()
+            );
+            RESULTS.put(scenario, result);
+            return result;
+        } finally {
+            clients.shutdownNow();
+            sampler.shutdownNow();
+        }
+    }
+
+    private static List<Integer> times(int count) {
+        return Collections.nCopies(count, 0);
+    }
+
+    private double gauge(String name) {
+        Gauge gauge = meterRegistry.find(name).gauge();
+        return gauge != null ? gauge.value() : 0;
+    }
+
+    private static Predicate<HttpResponse<String>> status(int expected) {
+        return response -> response.statusCode() == expected;
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory<I> {
+        HttpRequest create(I input) throws Exception;
+    }
+
+    /**
+     * @param requests - 보낸 요청 수
+     * @param concurrency - 동시 클라이언트 수
+     * @param succeeded - 성공 판정 요청 수
+     * @param statuses - HTTP 상태별 응답 수
+     * @param throughputPerSecond - 초당 완료 요청 수
+     * @param p50Millis - 중앙값 지연
+     * @param p99Millis - p99 지연
+     * @param maxMillis - 최대 지연
+     * @param peakTomcatBusyThreads - 바쁜 Tomcat 워커 최대치
+     * @param peakHikariPending - 커넥션을 기다린 스레드 최대치
+     */
+    record ScenarioResult(
+            int requests,
+            int concurrency,
+            int succeeded,
+            Map<Integer, Integer> statuses,
+            double throughputPerSecond,
+            double p50Millis,
+            double p99Millis,
+            double maxMillis,
+            double peakTomcatBusyThreads,
+            double peakHikariPending
+    ) {
+    }
+}
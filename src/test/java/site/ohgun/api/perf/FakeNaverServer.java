@@ -0,0 +1,68 @@
+package site.ohgun.api.perf;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 네이버 토큰/사용자 정보 API 대체 서버 (JDK HttpServer)
+ *
+ * scripts/smoke/wiremock/mappings 와 같은 응답을 고정으로 돌려줍니다.
+ * 외부 호출 지연이 측정에 섞이지 않도록 응답 본문은 미리 만들어 둡니다.
+ */
+class FakeNaverServer implements AutoCloseable {
+
+    static final String ACCESS_TOKEN = "perf-naver-access-token";
+
+    private static final byte[] TOKEN_BODY = ("""
+            {"access_token":"%s","refresh_token":"perf-naver-refresh-token","token_type":"bearer","expires_in":3600}
+            """.formatted(ACCESS_TOKEN)).getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] USER_INFO_BODY = """
+            {"resultcode":"00","message":"success","response":{"id":"perf-naver-user","email":"perf@ohgun.kr",\
+            "name":"perf","nickname":"perf","profile_image":"https://ssl.pstatic.net/static/pwe/address/img_profile.png"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+
+    private FakeNaverServer(HttpServer server) {
+        this.server = server;
+    }
+
+    static FakeNaverServer start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/oauth2.0/token", exchange -> respond(exchange, 200, TOKEN_BODY));
+        server.createContext("/v1/nid/me", exchange -> {
+            String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (!("Bearer " + ACCESS_TOKEN).equals(authorization)) {
+                respond(exchange, 401, new byte[0]);
+                return;
+            }
+            respond(exchange, 200, USER_INFO_BODY);
+        });
+        server.start();
+        return new FakeNaverServer(server);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,117 @@
+package site.ohgun.api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 인증 플로우 성능 예산 (src/test/resources/perf/auth-flow-baseline.json)
+ *
+ * - SQL 문장 수, Redis 명령 수: 결정적인 값이므로 기준값을 넘으면 실패 (왕복 한 번 추가도 잡음)
+ * - p99 지연, 할당 바이트: 실행 환경 편차가 있으므로 tolerance 비율만큼 여유를 둠
+ *
+ * 기준값 갱신: ./gradlew perfTest -PperfUpdateBaseline (의도한 변경일 때만, 변경 내용과 함께 커밋)
+ *
+ * @param tolerance - 지연/할당 허용 비율
+ * @param operations - 작업 이름(login, verify, refresh, logout)별 기준값
+ */
+record PerfBaseline(Tolerance tolerance, Map<String, OperationStats> operations) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * 정수 평균 비교 시 부동소수점 오차 여유
+     */
+    private static final double COUNT_EPSILON = 0.01;
+
+    static PerfBaseline load(Path file) throws IOException {
+        if (file != null && Files.exists(file)) {
+            return MAPPER.readValue(file.toFile(), PerfBaseline.class);
+        }
+        try (InputStream in = PerfBaseline.class.getResourceAsStream("/perf/auth-flow-baseline.json")) {
+            if (in == null) {
+                throw new IllegalStateException("perf/auth-flow-baseline.json not found on the test classpath");
+            }
+            return MAPPER.readValue(in, PerfBaseline.class);
+        }
+    }
+
+    /**
+     * 측정값을 같은 tolerance 로 새 기준값 파일에 기록
+     */
+    PerfBaseline withOperations(Map<String, OperationStats> measured) {
+        return new PerfBaseline(tolerance, new LinkedHashMap<>(measured));
+    }
+
+    void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * 예산 초과 항목 목록 (비어 있으면 통과)
+     */
+    List<String> violations(Map<String, OperationStats> measured) {
+        List<String> violations = new ArrayList<>();
+        operations.forEach((operation, budget) -> {
+            OperationStats actual = measured.get(operation);
+            if (actual == null) {
+                violations.add(operation + ": not measured");
+                return;
+            }
+            double p99Limit = budget.p99Millis() * (1 + tolerance.latency());
+            if (actual.p99Millis() > p99Limit) {
+                violations.add("%s: p99 %.2f ms > %.2f ms (baseline %.2f ms +%.0f%%)".formatted(
+                        operation, actual.p99Millis(), p99Limit, budget.p99Millis(), tolerance.latency() * 100));
+            }
+            if (actual.queriesPerRequest() > budget.queriesPerRequest() + COUNT_EPSILON) {
+                violations.add("%s: %.2f SQL statements/request > baseline %.2f".formatted(
+                        operation, actual.queriesPerRequest(), budget.queriesPerRequest()));
+            }
+            if (actual.redisCommandsPerRequest() > budget.redisCommandsPerRequest() + COUNT_EPSILON) {
+                violations.add("%s: %.2f Redis commands/request > baseline %.2f".formatted(
+                        operation, actual.redisCommandsPerRequest(), budget.redisCommandsPerRequest()));
+            }
+            long allocationLimit = Math.round(budget.allocatedBytesPerRequest() * (1 + tolerance.allocations()));
+            if (actual.allocatedBytesPerRequest() > allocationLimit) {
+                violations.add("%s: %d bytes allocated/request > %d (baseline %d +%.0f%%)".formatted(
+                        operation, actual.allocatedBytesPerRequest(), allocationLimit,
+                        budget.allocatedBytesPerRequest(), tolerance.allocations() * 100));
+            }
+        });
+        return violations;
+    }
+
+    /**
+     * @param latency - p99 허용 비율 (0.5 = 기준값의 1.5배까지)
+     * @param allocations - 요청당 할당 바이트 허용 비율
+     */
+    record Tolerance(double latency, double allocations) {
+    }
+
+    /**
+     * 작업별 측정값 / 기준값
+     *
+     * @param p50Millis - 중앙값 지연 (참고용, 비교하지 않음)
+     * @param p99Millis - p99 지연 (클라이언트 측정)
+     * @param queriesPerRequest - 요청당 SQL 문장 수
+     * @param redisCommandsPerRequest - 요청당 Redis 명령 수
+     * @param allocatedBytesPerRequest - 요청당 서버 스레드 할당 바이트
+     */
+    record OperationStats(
+            double p50Millis,
+            double p99Millis,
+            double queriesPerRequest,
+            double redisCommandsPerRequest,
+            long allocatedBytesPerRequest
+    ) {
+    }
+}
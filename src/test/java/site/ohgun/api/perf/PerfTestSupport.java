@@ -0,0 +1,152 @@
+package site.ohgun.api.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+/**
+ * 성능 테스트 공통 환경
+ *
+ * 로컬 Postgres/Redis 컨테이너와 가짜 네이버 서버를 상대로 앱을 띄우고,
+ * 인증 플로우(login, verify, refresh, logout) 요청을 만드는 도우미를 제공합니다.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "jwt.secret=b2hndW4tYXBpLXBlcmYtc3VpdGUtc2VjcmV0LWtleS1mb3ItaHMyNTYtc2lnbmluZw==",
+                "jwt.access-token-validity-in-seconds=3600",
+                "jwt.refresh-token-validity-in-seconds=86400",
+                "oauth.naver.client-id=perf",
+                "oauth.naver.client-secret=perf",
+                "oauth.naver.redirect-uri=http://localhost/oauth/naver/callback",
+                // 측정 구간은 테스트가 직접 워밍업
+                "warmup.enabled=false",
+                "observability.jfr.enabled=false",
+                // DEBUG 로그 출력은 측정 대상이 아님
+                "logging.level.site.ohgun.api=INFO"
+        }
+)
+abstract class PerfTestSupport {
+
+    static final String REDIS_PASSWORD = "perf1234";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine")
+            .withCommand("redis-server", "--requirepass", REDIS_PASSWORD)
+            .withExposedPorts(6379);
+
+    private static FakeNaverServer naver;
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        naver = FakeNaverServer.start();
+        registry.add("UPSTASH_REDIS_HOST", redis::getHost);
+        registry.add("UPSTASH_REDIS_PORT", () -> redis.getMappedPort(6379));
+        registry.add("UPSTASH_REDIS_PASSWORD", () -> REDIS_PASSWORD);
+        registry.add("UPSTASH_REDIS_SSL", () -> false);
+        registry.add("oauth.naver.token-url", () -> naver.baseUrl() + "/oauth2.0/token");
+        registry.add("oauth.naver.user-info-url", () -> naver.baseUrl() + "/v1/nid/me");
+    }
+
+    @AfterAll
+    static void stopNaver() {
+        if (naver != null) {
+            naver.close();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+    HttpRequest loginRequest() {
+        return request("/oauth/naver/callback?code=perf-code&state=perf-state").GET().build();
+    }
+
+    HttpRequest verifyRequest(Session session) throws IOException {
+        String body = objectMapper.writeValueAsString(Map.of("token", session.accessToken()));
+        return request("/api/auth/verify")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    HttpRequest refreshRequest(Session session) {
+        return request("/api/auth/refresh")
+                .header("Cookie", "refreshToken=" + session.refreshToken())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    HttpRequest logoutRequest(Session session) {
+        return request("/api/auth/logout")
+                .header("Cookie", "refreshToken=" + session.refreshToken())
+                .header("Authorization", "Bearer " + session.accessToken())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    /**
+     * 로그인 성공 리다이렉트(Location)에서 토큰 쌍 추출 (실패 리다이렉트면 null)
+     */
+    static Session sessionFromLogin(HttpResponse<?> response) {
+        String location = response.headers().firstValue("Location").orElse(null);
+        if (response.statusCode() != 302 || location == null) {
+            return null;
+        }
+        MultiValueMap<String, String> params = UriComponentsBuilder.fromUriString(location).build().getQueryParams();
+        if (!"true".equals(params.getFirst("success"))) {
+            return null;
+        }
+        return new Session(params.getFirst("accessToken"), params.getFirst("refreshToken"));
+    }
+
+    /**
+     * 재발급 응답 본문(accessToken)과 Set-Cookie(refreshToken)에서 새 토큰 쌍 추출
+     */
+    Session sessionFromRefresh(HttpResponse<String> response) throws IOException {
+        String accessToken = objectMapper.readTree(response.body()).get("accessToken").asText();
+        String refreshToken = response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith("refreshToken="))
+                .map(cookie -> cookie.substring("refreshToken=".length(), cookie.indexOf(';')))
+                .findFirst()
+                .orElseThrow();
+        return new Session(accessToken, refreshToken);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+    }
+
+    record Session(String accessToken, String refreshToken) {
+    }
+}
@@ -0,0 +1,91 @@
+package site.ohgun.api.perf;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.testcontainers.containers.Container;
+import org.testcontainers.containers.GenericContainer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+/**
+ * 서버 측 요청당 비용 스냅샷
+ *
+ * - SQL 문장 수: QueryCountFilter 가 기록하는 http.server.requests.queries{uri}
+ * - Redis 명령 수: Redis INFO commandstats 의 calls 합 (측정용/연결 핸드셰이크 명령 제외)
+ * - 할당 바이트: Tomcat 워커와 Lettuce 이벤트 루프 스레드의 누적 할당량
+ *
+ * 구간 전후 스냅샷의 차이를 요청 수로 나눠 요청당 값을 구합니다.
+ */
+class ServerProbe {
+
+    private static final Set<String> IGNORED_REDIS_COMMANDS = Set.of("info", "auth", "hello", "client", "ping");
+    private static final Set<String> SERVER_THREAD_PREFIXES = Set.of("http-nio-", "lettuce-");
+
+    private final MeterRegistry meterRegistry;
+    private final GenericContainer<?> redis;
+    private final String redisPassword;
+    private final com.sun.management.ThreadMXBean threads;
+
+    ServerProbe(MeterRegistry meterRegistry, GenericContainer<?> redis, String redisPassword) {
+        this.meterRegistry = meterRegistry;
+        this.redis = redis;
+        this.redisPassword = redisPassword;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    Snapshot snapshot(String uri) throws Exception {
+        long requests = 0;
+        double statements = 0;
+        for (DistributionSummary summary : meterRegistry.find("http.server.requests.queries").tag("uri", uri).summaries()) {
+            requests += summary.count();
+            statements += summary.totalAmount();
+        }
+        return new Snapshot(requests, statements, redisCommands(), allocatedBytes());
+    }
+
+    private long redisCommands() throws Exception {
+        Container.ExecResult result = redis.execInContainer(
+                "redis-cli", "-a", redisPassword, "--no-auth-warning", "INFO", "commandstats");
+        if (result.getExitCode() != 0) {
+            throw new IllegalStateException("redis-cli INFO commandstats failed: " + result.getStderr());
+        }
+        long calls = 0;
+        for (String line : result.getStdout().split("\r?\n")) {
+            // cmdstat_get:calls=3,usec=12,usec_per_call=4.00,...
+            if (!line.startsWith("cmdstat_")) {
+                continue;
+            }
+            String command = line.substring("cmdstat_".length(), line.indexOf(':'));
+            if (IGNORED_REDIS_COMMANDS.contains(command.split("\\|")[0])) {
+                continue;
+            }
+            int start = line.indexOf("calls=") + "calls=".length();
+            int end = line.indexOf(',', start);
+            calls += Long.parseLong(line.substring(start, end));
+        }
+        return calls;
+    }
+
+    private long allocatedBytes() {
+        long total = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (SERVER_THREAD_PREFIXES.stream().anyMatch(thread.getName()::startsWith)) {
+                long allocated = threads.getThreadAllocatedBytes(thread.threadId());
+                if (allocated > 0) {
+                    total += allocated;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @param requests - uri 로 기록된 요청 수
+     * @param statements - uri 로 기록된 SQL 문장 수 합
+     * @param redisCommands - Redis 명령 수 합 (서버 전체)
+     * @param allocatedBytes - 서버 스레드 누적 할당 바이트
+     */
+    record Snapshot(long requests, double statements, long redisCommands, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,112 @@
+package site.ohgun.api.warmup;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import site.ohgun.api.observability.AuthObservations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 워밍업 요청 Observation 제외 테스트
+ */
+class WarmupObservationConfigTests {
+
+    private final WarmupRequests warmupRequests = new WarmupRequests();
+    private final List<String> observed = new ArrayList<>();
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    @BeforeEach
+    void setUp() {
+        registry.observationConfig()
+                .observationPredicate(new WarmupObservationConfig().warmupObservationPredicate(warmupRequests))
+                .observationHandler(new ObservationHandler<>() {
+                    @Override
+                    public void onStart(Observation.Context context) {
+                        observed.add(context.getName());
+                    }
+
+                    @Override
+                    public boolean supportsContext(Observation.Context context) {
+                        return true;
+                    }
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void warmupRequestsAreNotObserved() {
+        MockHttpServletRequest request = request(warmupRequests.token());
+
+        observeRequest(request);
+
+        assertThat(observed).isEmpty();
+    }
+
+    @Test
+    void requestsWithoutTheProcessTokenAreObserved() {
+        observeRequest(request(null));
+        observeRequest(request("guessed-token"));
+
+        assertThat(observed).containsExactly("http.server.requests", "auth.stage", "http.server.requests", "auth.stage");
+    }
+
+    @Test
+    void warmupPhaseObservationsAreNotObserved() {
+        try (WarmupRequests.Scope ignored = warmupRequests.inProcess()) {
+            new AuthObservations(registry).stage("jwt.sign", () -> null);
+            new AuthObservations(registry).stage("jwt.verify", () -> null);
+        }
+
+        assertThat(observed).isEmpty();
+    }
+
+    @Test
+    void observationsOutsideRequestsAndWarmupAreObserved() {
+        try (WarmupRequests.Scope ignored = warmupRequests.inProcess()) {
+            new AuthObservations(registry).stage("jwt.sign", () -> null);
+        }
+        new AuthObservations(registry).stage("jwt.sign", () -> null);
+
+        assertThat(observed).containsExactly("auth.stage");
+    }
+
+    /**
+     * ServerHttpObservationFilter 가 요청 Observation 을 열고, 그 안에서 인증 단계가 실행되는 흐름
+     */
+    private void observeRequest(MockHttpServletRequest request) {
+        ServerRequestObservationContext context =
+                new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        Observation.createNotStarted("http.server.requests", () -> context, registry).observe(() -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                new AuthObservations(registry).stage("jwt.verify", () -> null);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private static MockHttpServletRequest request(String warmupToken) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/verify");
+        if (warmupToken != null) {
+            request.addHeader(WarmupRequests.HEADER, warmupToken);
+        }
+        return request;
+    }
+}